@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Startup comparison of the packaging variants: plain jar, AOT-processed jar with an AppCDS archive,
+# and the GraalVM native executable.
+#
+# Starts each variant RUNS times against the same database and prints the median time from launch
+# to the first answered listing request, and the resident memory (RSS) of the process right after it.
+# Variants whose artifact is missing are skipped.
+#
+# Requirements: Linux (RSS is read from /proc), artifacts built with
+#   ./mvnw -DskipTests package                        -> target/feedback-1.0.0-SNAPSHOT.jar
+#   ./mvnw -Pcds -DskipTests package                  -> target/cds/ (run after the plain build, without clean)
+#   ./mvnw -Pnative -DskipTests native:compile        -> target/skillsync-feedback (GraalVM)
+# and the datasource configured through the usual SPRING_DATASOURCE_* environment variables.
+#
+# Usage: scripts/compare-startup.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAR=${JAR:-target/feedback-1.0.0-SNAPSHOT.jar}
+CDS_DIR=${CDS_DIR:-target/cds}
+NATIVE=${NATIVE:-target/skillsync-feedback}
+URL="http://localhost:${PORT}/api/feedback?size=1"
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+median() {
+  sort -n | awk '{v[NR] = $1} END {print v[int((NR + 1) / 2)]}'
+}
+
+# Prints "<ms to first request> <RSS in MB>" for one start of the command
+measure() {
+  local start pid
+  start=$(now_ms)
+  "$@" --server.port="$PORT" > target/startup-run.log 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited, see target/startup-run.log" >&2
+      return 1
+    fi
+    sleep 0.02
+  done
+  local elapsed=$(( $(now_ms) - start ))
+  local rss_kb
+  rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+  echo "$elapsed $(( rss_kb / 1024 ))"
+}
+
+run_variant() {
+  local name=$1 artifact=$2
+  shift 2
+  if [ ! -e "$artifact" ]; then
+    printf "%-8s %s not found, skipped\n" "$name" "$artifact"
+    return
+  fi
+  local results=()
+  for _ in $(seq 1 "$RUNS"); do
+    results+=("$(measure "$@")")
+  done
+  printf "%-8s %12s %10s\n" "$name" \
+    "$(printf "%s\n" "${results[@]}" | cut -d' ' -f1 | median)" \
+    "$(printf "%s\n" "${results[@]}" | cut -d' ' -f2 | median)"
+}
+
+mkdir -p target
+printf "%-8s %12s %10s\n" "variant" "first req ms" "RSS MB"
+run_variant jvm "$JAR" java -jar "$JAR"
+# The archive only matches when the jar is started from the path it was trained with
+run_variant cds "$CDS_DIR/feedback.jsa" bash -c 'cd "$0" && exec java -XX:SharedArchiveFile=feedback.jsa \
+  -Dspring.aot.enabled=true -jar feedback-1.0.0-SNAPSHOT.jar "$@"' "$CDS_DIR"
+run_variant native "$NATIVE" "$NATIVE"
@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Load-test comparison of platform-thread vs virtual-thread request execution.
+#
+# Starts the packaged app twice (virtual threads off, then on) against the same database,
+# drives the listing and submission endpoints with `hey`, and prints throughput, p50 and p99.
+#
+# Requirements: Java 21, `hey` (https://github.com/rakyll/hey), a jar built with
+#   ./mvnw -Pjava21 -DskipTests package
+# and the datasource configured through the usual SPRING_DATASOURCE_* environment variables.
+#
+# Usage: scripts/compare-thread-modes.sh [requests] [concurrency]
+set -euo pipefail
+
+REQUESTS=${1:-20000}
+CONCURRENCY=${2:-400}
+PORT=${PORT:-18080}
+COURSE_ID=${COURSE_ID:-1}
+JAR=${JAR:-target/feedback-1.0.0-SNAPSHOT.jar}
+BASE="http://localhost:${PORT}/api/feedback"
+SUBMISSION='{"userId":1,"courseId":'"${COURSE_ID}"',"trainerId":1,"rating":4,"comment":"load test"}'
+
+command -v hey >/dev/null || { echo "hey not found on PATH" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "$JAR not found; build with ./mvnw -Pjava21 -DskipTests package" >&2; exit 1; }
+
+wait_for_app() {
+  for _ in $(seq 1 60); do
+    curl -sf -o /dev/null "${BASE}/course/${COURSE_ID}/count" && return 0
+    sleep 1
+  done
+  echo "application did not start" >&2
+  return 1
+}
+
+# Prints "<requests/sec> <p50 seconds> <p99 seconds>" from hey's summary
+measure() {
+  hey -n "$REQUESTS" -c "$CONCURRENCY" "$@" \
+    | awk '/Requests\/sec/ {rps=$2} /50% in/ {p50=$3} /99% in/ {p99=$3} END {printf "%10s %10s %10s\n", rps, p50, p99}'
+}
+
+run_mode() {
+  local mode=$1 enabled=$2
+  java -jar "$JAR" --server.port="$PORT" --skillsync.feedback.virtual-threads.enabled="$enabled" \
+    > "target/load-test-${mode}.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  wait_for_app
+
+  # Warm-up so the JIT and the connection pool are settled before measuring
+  hey -n 2000 -c 50 "${BASE}/course/${COURSE_ID}?size=50" > /dev/null
+
+  printf "%-9s %-11s %s" "$mode" "listing" "$(measure "${BASE}/course/${COURSE_ID}?size=50")"
+  echo
+  printf "%-9s %-11s %s" "$mode" "submission" "$(measure -m POST -T application/json -d "$SUBMISSION" "$BASE")"
+  echo
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+mkdir -p target
+printf "%-9s %-11s %10s %10s %10s\n" "mode" "endpoint" "req/s" "p50 (s)" "p99 (s)"
+run_mode platform false
+run_mode virtual true
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Records the JMH baseline that `mvn verify -Pbenchmarks` compares against, by running the same
+# benchmarks at the base revision on this machine. Absolute scores only compare on the same hardware,
+# JDK and load, so the baseline is never committed: record it, then benchmark the change right after.
+#
+# The base revision is checked out into a temporary git worktree; the result is written to
+# target/jmh-baseline.json (the profile's default benchmarks.baseline).
+#
+# Usage: scripts/record-benchmark-baseline.sh [base-ref] [include-regex]
+#   e.g. scripts/record-benchmark-baseline.sh main 'RepositoryReadBenchmark'
+#        mvn -B verify -Pbenchmarks -Dbenchmarks.include='RepositoryReadBenchmark'
+set -euo pipefail
+
+BASE_REF=${1:-main}
+INCLUDE=${2:-com.skillsync.benchmarks.*}
+ROOT=$(git rev-parse --show-toplevel)
+WORKTREE=$(mktemp -d)
+
+trap 'git -C "$ROOT" worktree remove --force "$WORKTREE"' EXIT
+git -C "$ROOT" worktree add --detach "$WORKTREE" "$BASE_REF"
+
+mkdir -p "$ROOT/target"
+# No baseline for the base run itself, so its own comparison step only prints the scores
+(cd "$WORKTREE" && mvn -B -DskipTests verify -Pbenchmarks \
+  -Dbenchmarks.include="$INCLUDE" \
+  -Dbenchmarks.result="$ROOT/target/jmh-baseline.json" \
+  -Dbenchmarks.baseline="$WORKTREE/target/no-baseline.json")
+echo "Baseline of $BASE_REF ($(git -C "$ROOT" rev-parse --short "$BASE_REF")) written to $ROOT/target/jmh-baseline.json"
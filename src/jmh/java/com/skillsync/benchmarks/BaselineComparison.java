@@ -0,0 +1,108 @@
+package com.skillsync.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with a baseline and exits non-zero when a benchmark got
+ * slower (average time) or lost throughput by more than the allowed fraction and the two 99.9%
+ * confidence intervals do not overlap, so noise on a shared machine alone does not fail the build.
+ * Benchmarks missing from the baseline are reported but do not fail the run. Only the allowed fraction
+ * is fixed: the baseline is a result file recorded from the base revision on the same machine
+ * (scripts/record-benchmark-baseline.sh), as absolute scores from another machine mean nothing here.
+ * Usage: BaselineComparison &lt;result.json&gt; &lt;baseline.json&gt; &lt;maxRegression, e.g. 0.20&gt;
+ */
+public final class BaselineComparison {
+
+    private record Score(String mode, double score, double error, String unit) {
+    }
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: BaselineComparison <result.json> <baseline.json> <maxRegression>");
+            System.exit(2);
+        }
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        double maxRegression = Double.parseDouble(args[2]);
+
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline at " + baselineFile
+                    + "; record one from the base revision with scripts/record-benchmark-baseline.sh");
+            return;
+        }
+        Map<String, Score> results = read(resultFile);
+        Map<String, Score> baseline = read(baselineFile);
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score current = entry.getValue();
+            Score previous = baseline.get(entry.getKey());
+            if (previous == null || !previous.unit().equals(current.unit())) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", current.score(), "new");
+                continue;
+            }
+            // Positive change is always "worse": more time per op, or fewer ops per time unit
+            boolean lowerIsBetter = !current.mode().equals("thrpt");
+            double change = lowerIsBetter
+                    ? current.score() / previous.score() - 1
+                    : previous.score() / current.score() - 1;
+            boolean separated = lowerIsBetter
+                    ? current.score() - current.error() > previous.score() + previous.error()
+                    : current.score() + current.error() < previous.score() - previous.error();
+            boolean regressed = change > maxRegression && separated;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), previous.score(), current.score(),
+                    change * 100, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%% against %s%n",
+                    regressions, maxRegression * 100, baselineFile);
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark method plus its @Param values, e.g. "...serializeList{size=100}"
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.size() > 0) {
+                key.append('{');
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (it.hasNext()) {
+                        key.append(',');
+                    }
+                }
+                key.append('}');
+            }
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                    errorOf(metric), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    // JMH writes "NaN" when there were too few iterations to compute an error
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
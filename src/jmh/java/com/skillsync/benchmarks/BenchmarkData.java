@@ -0,0 +1,58 @@
+package com.skillsync.benchmarks;
+
+import com.skillsync.model.Feedback;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+// Deterministic, roughly production-shaped feedback rows shared by the benchmarks
+final class BenchmarkData {
+
+    static final int COURSES = 200;
+    static final int USERS = 5_000;
+    static final int TRAINERS = 50;
+    static final List<String> TAG_VOCABULARY = List.of(
+            "ui_bug", "improvement", "content", "pace", "audio", "video", "slides", "examples", "exercises",
+            "too_fast", "too_slow", "great_trainer", "unclear", "outdated", "helpful", "practical", "theory",
+            "labs", "setup", "certificate", "schedule", "platform", "mobile", "accessibility", "quiz",
+            "feedback", "support", "pricing", "duration", "level", "beginner", "advanced", "projects",
+            "community", "mentoring", "resources", "recording", "subtitles", "language", "other");
+    private static final List<String> STATUSES = List.of("New", "Reviewed", "Actioned", "Closed");
+
+    private BenchmarkData() {
+    }
+
+    static List<Feedback> feedback(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Feedback> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Feedback feedback = new Feedback();
+            feedback.setComment("Benchmark comment " + i + " about pacing, examples and the lab setup of the course.");
+            feedback.setRating(1 + random.nextInt(5));
+            feedback.setUserId(1L + random.nextInt(USERS));
+            feedback.setCourseId(1L + random.nextInt(COURSES));
+            feedback.setTrainerId(1L + random.nextInt(TRAINERS));
+            feedback.setContentRelevanceRating(random.nextInt(6) == 0 ? null : 1 + random.nextInt(5));
+            feedback.setTrainerEffectivenessRating(random.nextInt(6) == 0 ? null : 1 + random.nextInt(5));
+            feedback.setWouldRecommend(random.nextInt(4) != 0);
+            feedback.setTags(tags(random, random.nextInt(4)));
+            feedback.setStatus(STATUSES.get(random.nextInt(STATUSES.size())));
+            feedback.setSubmissionTimestamp(start.plusMinutes(i * 5L));
+            rows.add(feedback);
+        }
+        return rows;
+    }
+
+    static String tags(Random random, int count) {
+        SortedSet<String> tags = new TreeSet<>();
+        while (tags.size() < count) {
+            tags.add(TAG_VOCABULARY.get(random.nextInt(TAG_VOCABULARY.size())));
+        }
+        return tags.isEmpty() ? null : String.join(",", tags);
+    }
+}
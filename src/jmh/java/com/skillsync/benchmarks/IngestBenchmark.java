@@ -0,0 +1,105 @@
+package com.skillsync.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.feedback.SkillsyncFeedbackApplication;
+import com.skillsync.feedback.service.FeedbackIngestService;
+import com.skillsync.feedback.service.FeedbackService;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.dto.BatchIngestResult;
+import com.skillsync.model.dto.FeedbackRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Rows stored per second through POST /api/feedback (one request and transaction per item) against
+// POST /api/feedback/batch (JSON array or NDJSON, JDBC batches of skillsync.feedback.ingest.batch-size).
+// Both start from the JSON body and run the same validation and change listeners; HTTP itself is left out.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(IngestBenchmark.ROWS)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class IngestBenchmark {
+
+    static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private FeedbackService feedbackService;
+    private FeedbackIngestService ingestService;
+    private ObjectMapper objectMapper;
+    private List<String> items;
+    private byte[] jsonArray;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(SkillsyncFeedbackApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:ingest-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+                        "logging.level.root=WARN")
+                .run();
+        feedbackService = context.getBean(FeedbackService.class);
+        ingestService = context.getBean(FeedbackIngestService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        items = new ArrayList<>(ROWS);
+        for (Feedback feedback : BenchmarkData.feedback(ROWS, 5)) {
+            items.add(objectMapper.writeValueAsString(new FeedbackRequest(feedback.getComment(), feedback.getRating(),
+                    feedback.getUserId(), feedback.getCourseId(), feedback.getTrainerId(),
+                    feedback.getContentRelevanceRating(), feedback.getTrainerEffectivenessRating(),
+                    feedback.getWouldRecommend(), feedback.getIsAnonymous(), feedback.getTags(), feedback.getStatus(),
+                    null)));
+        }
+        jsonArray = ("[" + String.join(",", items) + "]").getBytes(StandardCharsets.UTF_8);
+        ndjson = (String.join("\n", items) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void perItemPost(Blackhole blackhole) throws JsonProcessingException {
+        for (String item : items) {
+            FeedbackRequest request = objectMapper.readValue(item, FeedbackRequest.class);
+            blackhole.consume(feedbackService.saveFeedback(request.toFeedback()));
+        }
+    }
+
+    @Benchmark
+    public BatchIngestResult batchJsonArray() throws IOException {
+        return ingestService.ingest(new ByteArrayInputStream(jsonArray), false);
+    }
+
+    @Benchmark
+    public BatchIngestResult batchNdjson() throws IOException {
+        return ingestService.ingest(new ByteArrayInputStream(ndjson), true);
+    }
+}
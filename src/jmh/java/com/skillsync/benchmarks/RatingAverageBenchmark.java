@@ -0,0 +1,71 @@
+package com.skillsync.benchmarks;
+
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.RatingTally;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+
+// Course averages: the former stream over every row of the course versus folding rows into a
+// RatingTally (what the aggregate listener does per write)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class RatingAverageBenchmark {
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    private List<Feedback> feedback;
+    private List<FeedbackSnapshot> snapshots;
+
+    @Setup
+    public void setUp() {
+        feedback = BenchmarkData.feedback(rows, 7);
+        snapshots = feedback.stream().map(FeedbackSnapshot::of).toList();
+    }
+
+    @Benchmark
+    public Double streamAverageRating() {
+        OptionalDouble average = feedback.stream()
+                .filter(f -> f.getRating() != null)
+                .mapToInt(Feedback::getRating)
+                .average();
+        return average.isPresent() ? average.getAsDouble() : null;
+    }
+
+    @Benchmark
+    public double[] streamAllAverages() {
+        return new double[] {
+                feedback.stream().filter(f -> f.getRating() != null).mapToInt(Feedback::getRating).average().orElse(0),
+                feedback.stream().filter(f -> f.getContentRelevanceRating() != null)
+                        .mapToInt(Feedback::getContentRelevanceRating).average().orElse(0),
+                feedback.stream().filter(f -> f.getTrainerEffectivenessRating() != null)
+                        .mapToInt(Feedback::getTrainerEffectivenessRating).average().orElse(0)};
+    }
+
+    @Benchmark
+    public RatingTally tallyAllRows() {
+        RatingTally tally = new RatingTally();
+        for (FeedbackSnapshot snapshot : snapshots) {
+            tally.add(snapshot);
+        }
+        return tally;
+    }
+}
@@ -0,0 +1,102 @@
+package com.skillsync.benchmarks;
+
+import com.skillsync.feedback.SkillsyncFeedbackApplication;
+import com.skillsync.feedback.service.FeedbackIngestService;
+import com.skillsync.feedback.service.FeedbackService;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackPage;
+import com.skillsync.model.dto.CourseSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Service-level reads against an embedded H2 (MySQL mode) migrated by Flyway and seeded through
+// the bulk ingest path, so tag rows and course aggregates are populated as in production.
+// The read-through cache is off: these numbers are for the database paths.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class RepositoryReadBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private FeedbackService feedbackService;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(SkillsyncFeedbackApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+                        "skillsync.feedback.cache.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        feedbackService = context.getBean(FeedbackService.class);
+        FeedbackIngestService ingestService = context.getBean(FeedbackIngestService.class);
+        List<Feedback> seed = BenchmarkData.feedback(rows, 3);
+        for (int from = 0; from < seed.size(); from += 1000) {
+            ingestService.insertBatch(seed.subList(from, Math.min(from + 1000, seed.size())));
+        }
+        maxId = seed.get(seed.size() - 1).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Feedback findById() {
+        return feedbackService.getFeedbackById(1L + ThreadLocalRandom.current().nextLong(maxId));
+    }
+
+    @Benchmark
+    public FeedbackPage firstPageByCourse() {
+        return feedbackService.getFeedbackPage(FeedbackFilter.byCourse(randomCourse()), null, null, 50);
+    }
+
+    @Benchmark
+    public FeedbackPage firstPageByTag() {
+        String tag = BenchmarkData.TAG_VOCABULARY.get(ThreadLocalRandom.current().nextInt(BenchmarkData.TAG_VOCABULARY.size()));
+        return feedbackService.getFeedbackPage(FeedbackFilter.byTag(tag), null, null, 50);
+    }
+
+    @Benchmark
+    public List<Feedback> allRowsOfCourse() {
+        return feedbackService.getFeedbackByCourse(randomCourse());
+    }
+
+    @Benchmark
+    public CourseSummary courseSummary() {
+        return feedbackService.getCourseSummary(randomCourse());
+    }
+
+    private static long randomCourse() {
+        return 1L + ThreadLocalRandom.current().nextInt(BenchmarkData.COURSES);
+    }
+}
@@ -0,0 +1,61 @@
+package com.skillsync.benchmarks;
+
+import com.skillsync.model.FeedbackTags;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Tag merging of addTagsToFeedback: the current parse/join versus the former split/stream/HashSet code
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class TagMergeBenchmark {
+
+    @Param({"0", "5", "20"})
+    public int existingTags;
+
+    private String existing;
+    private String toAdd;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        existing = BenchmarkData.tags(random, existingTags);
+        toAdd = " " + BenchmarkData.tags(random, 3).replace(",", " , ") + " ";
+    }
+
+    @Benchmark
+    public String parseAndJoin() {
+        SortedSet<String> tags = FeedbackTags.parse(existing);
+        tags.addAll(FeedbackTags.parse(toAdd));
+        return FeedbackTags.join(tags);
+    }
+
+    @Benchmark
+    public String legacyStreamMerge() {
+        Set<String> tags = existing != null && !existing.isEmpty()
+                ? Arrays.stream(existing.split(",")).map(String::trim).collect(Collectors.toSet())
+                : new HashSet<>();
+        tags.addAll(Arrays.stream(toAdd.split(",")).map(String::trim).collect(Collectors.toSet()));
+        return String.join(",", tags);
+    }
+}
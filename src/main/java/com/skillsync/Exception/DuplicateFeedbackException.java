@@ -0,0 +1,17 @@
+package com.skillsync.Exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// A data integrity violation, so batch writers isolate and reject the offending row as for any other
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateFeedbackException extends DataIntegrityViolationException {
+    public DuplicateFeedbackException(Long userId, Long courseId) {
+        super("⚠️ User " + userId + " has already given feedback for course " + courseId);
+    }
+
+    public DuplicateFeedbackException(Throwable cause) {
+        super("⚠️ A user in this write has already given feedback for the course", cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ExportJobStateException extends RuntimeException {
+    public ExportJobStateException(String jobId, String message) {
+        super("⚠️ Export job " + jobId + " " + message);
+    }
+}
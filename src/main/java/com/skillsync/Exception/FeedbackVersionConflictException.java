@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class FeedbackVersionConflictException extends RuntimeException {
+    public FeedbackVersionConflictException(Long id) {
+        super("⚠️ Feedback with ID " + id + " was modified concurrently; reload it and retry");
+    }
+}
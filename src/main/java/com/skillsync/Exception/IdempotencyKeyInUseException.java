@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyKeyInUseException extends RuntimeException {
+    public IdempotencyKeyInUseException(String key) {
+        super("⚠️ A request with Idempotency-Key '" + key + "' is still being processed, retry later");
+    }
+}
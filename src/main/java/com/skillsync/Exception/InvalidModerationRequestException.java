@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidModerationRequestException extends RuntimeException {
+    public InvalidModerationRequestException(String message) {
+        super("⚠️ Invalid moderation request: " + message);
+    }
+}
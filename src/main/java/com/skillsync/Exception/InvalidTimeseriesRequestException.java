@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTimeseriesRequestException extends RuntimeException {
+    public InvalidTimeseriesRequestException(String message) {
+        super("⚠️ Invalid timeseries request: " + message);
+    }
+}
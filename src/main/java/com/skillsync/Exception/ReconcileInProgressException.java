@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ReconcileInProgressException extends RuntimeException {
+    public ReconcileInProgressException() {
+        super("⚠️ Aggregate reconciliation is already running, retry when it has finished");
+    }
+}
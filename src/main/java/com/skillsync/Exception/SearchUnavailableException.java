@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SearchUnavailableException extends RuntimeException {
+    public SearchUnavailableException() {
+        super("⚠️ Full-text search is disabled (skillsync.feedback.search.enabled=false)");
+    }
+}
@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class SubmissionQueueFullException extends RuntimeException {
+    public SubmissionQueueFullException(int capacity) {
+        super("⚠️ Feedback submission queue is full (" + capacity + " pending), retry later");
+    }
+}
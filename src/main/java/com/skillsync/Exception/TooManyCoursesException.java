@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class TooManyCoursesException extends RuntimeException {
+    public TooManyCoursesException(int requested, int max) {
+        super("⚠️ Too many course ids in one request: " + requested + " (max " + max + ")");
+    }
+}
@@ -0,0 +1,11 @@
+package com.skillsync.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class WriteBehindUnavailableException extends RuntimeException {
+    public WriteBehindUnavailableException() {
+        super("⚠️ Feedback submissions are not being accepted right now (starting up or shutting down), retry later");
+    }
+}
@@ -1,50 +1,339 @@
 package com.skillsync.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.skillsync.Exception.InvalidPatchException;
+import com.skillsync.Exception.InvalidTimeseriesRequestException;
 import com.skillsync.model.Feedback;
+import com.skillsync.feedback.config.DataSourceRouting;
+import com.skillsync.feedback.service.AutoTagService;
+import com.skillsync.feedback.service.CourseRatingAggregateService;
+import com.skillsync.feedback.service.FeedbackArchiveService;
+import com.skillsync.feedback.service.FeedbackExportService;
+import com.skillsync.feedback.service.FeedbackCache;
+import com.skillsync.feedback.service.FeedbackIngestService;
+import com.skillsync.feedback.service.FeedbackRollupService;
+import com.skillsync.feedback.service.FeedbackSearchService;
 import com.skillsync.feedback.service.FeedbackService;
+import com.skillsync.feedback.service.FeedbackStreamService;
+import com.skillsync.feedback.service.FeedbackTagService;
+import com.skillsync.feedback.service.FeedbackWriteBehindService;
+import com.skillsync.feedback.service.IdempotencyStore;
+import com.skillsync.feedback.service.ModerationService;
+import com.skillsync.feedback.service.TrainerLeaderboardService;
+import com.skillsync.model.ExportFormat;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackPage;
+import com.skillsync.model.FeedbackSearchQuery;
+import com.skillsync.model.FeedbackView;
+import com.skillsync.model.LeaderboardMetric;
+import com.skillsync.model.RollupGranularity;
+import com.skillsync.model.RollupScope;
+import com.skillsync.model.dto.AggregateReconcileReport;
+import com.skillsync.model.dto.ArchiveRunStatus;
+import com.skillsync.model.dto.AutoTagRunStatus;
+import com.skillsync.model.dto.BatchIngestResult;
+import com.skillsync.model.dto.CacheStatistics;
+import com.skillsync.model.dto.CourseSummary;
+import com.skillsync.model.dto.ExportJob;
+import com.skillsync.model.dto.ExportRequest;
+import com.skillsync.model.dto.FeedbackRequest;
+import com.skillsync.model.dto.FeedbackSearchResult;
+import com.skillsync.model.dto.ModerationJob;
+import com.skillsync.model.dto.ModerationRequest;
+import com.skillsync.model.dto.RollupBackfillStatus;
+import com.skillsync.model.dto.StatusUpdate;
+import com.skillsync.model.dto.StatusUpdateResult;
+import com.skillsync.model.dto.SubmissionReceipt;
+import com.skillsync.model.dto.TimeseriesPoint;
+import com.skillsync.model.dto.TrainerLeaderboard;
+import com.skillsync.model.dto.WriteBehindStats;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Slf4j
-@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3009", "*"}) // Allow all origins for testing
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3009", "*"}, // Allow all origins for testing
+        exposedHeaders = {FeedbackController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 @RestController
 @RequestMapping("/api/feedback")
 public class FeedbackController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final FeedbackService feedbackService;
+    private final CourseRatingAggregateService courseRatingAggregateService;
+    private final FeedbackTagService feedbackTagService;
+    private final FeedbackIngestService feedbackIngestService;
+    private final FeedbackWriteBehindService feedbackWriteBehindService;
+    private final ModerationService moderationService;
+    private final FeedbackSearchService feedbackSearchService;
+    private final FeedbackRollupService feedbackRollupService;
+    private final TrainerLeaderboardService trainerLeaderboardService;
+    private final FeedbackStreamService feedbackStreamService;
+    private final FeedbackExportService feedbackExportService;
+    private final FeedbackArchiveService feedbackArchiveService;
+    private final AutoTagService autoTagService;
+    private final FeedbackCache feedbackCache;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    // Analytics may be served by a shared cache for this long without asking us
+    private final CacheControl analyticsCacheControl;
+    // Rows and listings may be stored, but are revalidated on every use (a 304 costs no query)
+    private final CacheControl rowCacheControl = CacheControl.noCache();
 
     @Autowired
-    public FeedbackController(FeedbackService feedbackService) {
+    public FeedbackController(FeedbackService feedbackService,
+                              CourseRatingAggregateService courseRatingAggregateService,
+                              FeedbackTagService feedbackTagService,
+                              FeedbackIngestService feedbackIngestService,
+                              FeedbackWriteBehindService feedbackWriteBehindService,
+                              ModerationService moderationService,
+                              FeedbackSearchService feedbackSearchService,
+                              FeedbackRollupService feedbackRollupService,
+                              TrainerLeaderboardService trainerLeaderboardService,
+                              FeedbackStreamService feedbackStreamService,
+                              FeedbackExportService feedbackExportService,
+                              FeedbackArchiveService feedbackArchiveService,
+                              AutoTagService autoTagService,
+                              FeedbackCache feedbackCache,
+                              IdempotencyStore idempotencyStore,
+                              ObjectMapper objectMapper,
+                              @Value("${skillsync.feedback.http.analytics-max-age-seconds:60}") long analyticsMaxAgeSeconds) {
         this.feedbackService = feedbackService;
+        this.courseRatingAggregateService = courseRatingAggregateService;
+        this.feedbackTagService = feedbackTagService;
+        this.feedbackIngestService = feedbackIngestService;
+        this.feedbackWriteBehindService = feedbackWriteBehindService;
+        this.moderationService = moderationService;
+        this.feedbackSearchService = feedbackSearchService;
+        this.feedbackRollupService = feedbackRollupService;
+        this.trainerLeaderboardService = trainerLeaderboardService;
+        this.feedbackStreamService = feedbackStreamService;
+        this.feedbackExportService = feedbackExportService;
+        this.feedbackArchiveService = feedbackArchiveService;
+        this.autoTagService = autoTagService;
+        this.feedbackCache = feedbackCache;
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.analyticsCacheControl = CacheControl.maxAge(analyticsMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
     }
 
+    // With write-behind enabled the submission is journaled and queued: 202 with a tracking id (429
+    // when the queue is full, 503 while the writer is not running). Otherwise it is written
+    // synchronously: 201 with the stored row.
+    // A retry carrying the same Idempotency-Key gets the first response again (Idempotent-Replayed:
+    // true); 409 while the first is still running, 422 if the body differs. 409 as well when the
+    // one-feedback-per-course policy is on and the user already has feedback for the course.
     @PostMapping
-    public ResponseEntity<Feedback> submitFeedback(@Valid @RequestBody Feedback feedback) {
-        log.info("Received feedback submission: {}", feedback);
+    public ResponseEntity<?> submitFeedback(@Valid @RequestBody FeedbackRequest request,
+                                            @RequestHeader(value = "Idempotency-Key", required = false) String key) {
+        if (key == null || key.isBlank()) {
+            return submit(request);
+        }
+        return idempotencyStore.execute(key, request, () -> submit(request));
+    }
+
+    private ResponseEntity<?> submit(FeedbackRequest request) {
+        Feedback feedback = request.toFeedback();
+        log.debug("Received feedback submission for course {} from user {}", feedback.getCourseId(), feedback.getUserId());
+        if (feedbackWriteBehindService.isEnabled()) {
+            SubmissionReceipt receipt = feedbackWriteBehindService.submit(feedback);
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create("/api/feedback/submissions/" + receipt.trackingId()))
+                    .body(receipt);
+        }
         Feedback saved = feedbackService.saveFeedback(feedback);
         return ResponseEntity
                 .created(URI.create("/api/feedback/" + saved.getId()))
                 .body(saved);
     }
 
+    @GetMapping("/submissions/{trackingId}")
+    public ResponseEntity<SubmissionReceipt> getSubmission(@PathVariable String trackingId) {
+        return ResponseEntity.of(feedbackWriteBehindService.getReceipt(trackingId));
+    }
+
+    // Queue depth, throughput and flush latency of the write-behind pipeline
+    @GetMapping("/submissions/stats")
+    public ResponseEntity<WriteBehindStats> getSubmissionStats() {
+        return ResponseEntity.ok(feedbackWriteBehindService.getStats());
+    }
+
+    // Bulk import: a JSON array or an NDJSON stream, validated per item and written in JDBC batches
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public ResponseEntity<BatchIngestResult> submitFeedbackBatch(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                 InputStream body) throws IOException {
+        boolean ndjson = contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON));
+        return ResponseEntity.ok(feedbackIngestService.ingest(body, ndjson));
+    }
+
+    // Listing endpoints return one keyset page; the X-Next-Cursor header carries the opaque
+    // continuation token to pass back as ?cursor= (absent on the last page).
+    // Optional filters: courseId, userId, trainerId, status, tags=a,b with tagMatch=ALL|ANY,
+    // minRating, startDate, endDate. Archived feedback is left out unless includeArchived=true.
+    // Rows carry every field except adminNotes, with a 'snippet' of the comment instead of the full
+    // text; ?fields=id,rating,status,snippet picks the fields (only those columns are read) and
+    // ?fields=all returns full rows.
+    // Every listing carries a weak ETag that changes with any write its filter can see; send it back
+    // as If-None-Match to get a 304 without the listing being read again.
     @GetMapping
-    public ResponseEntity<List<Feedback>> getAllFeedback() {
-        return ResponseEntity.ok(feedbackService.getAllFeedback());
+    public ResponseEntity<List<FeedbackView>> getAllFeedback(FeedbackFilter filter,
+                                                             @RequestParam(required = false) String fields,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer size,
+                                                             ServletWebRequest request) {
+        return listing(request, filter, fields, cursor, size);
+    }
+
+    // NDJSON export of every row matching the filter, written as rows come off the JDBC cursor;
+    // full rows unless ?fields= narrows them
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamFeedback(FeedbackFilter filter,
+                                                                @RequestParam(required = false) String fields) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> feedbackService.streamFeedback(filter, fields, feedback -> {
+            try {
+                out.write(writer.writeValueAsBytes(feedback));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
+    // Download for offline analytics: ?format=CSV|ARROW plus the listing filters and ?fields=, full
+    // rows by default. Written in chunks as they are read, so the heap never holds the result.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(FeedbackFilter filter,
+                                                        @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                        @RequestParam(required = false) String fields) {
+        StreamingResponseBody body = out -> feedbackExportService.export(filter, format, fields, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment("feedback." + format.extension()))
+                .body(body);
+    }
+
+    // Large exports as a background job writing a local file, e.g.
+    // {"filter":{"courseId":7,"startDate":"2024-01-01T00:00:00"},"format":"ARROW"}. A job that fails
+    // or is cut off by a restart continues from its last chunk via POST /exports/{jobId}/resume.
+    @PostMapping("/exports")
+    public ResponseEntity<ExportJob> startExport(@RequestBody ExportRequest request) {
+        ExportJob job = feedbackExportService.start(request);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/feedback/exports/" + job.jobId()))
+                .body(job);
+    }
+
+    @GetMapping("/exports/{jobId}")
+    public ResponseEntity<ExportJob> getExport(@PathVariable String jobId) {
+        return ResponseEntity.of(feedbackExportService.getJob(jobId));
+    }
+
+    // 409 unless the job FAILED or was INTERRUPTED
+    @PostMapping("/exports/{jobId}/resume")
+    public ResponseEntity<ExportJob> resumeExport(@PathVariable String jobId) {
+        return feedbackExportService.resume(jobId)
+                .map(job -> ResponseEntity.accepted().body(job))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // The output of a COMPLETED job; 404 before that
+    @GetMapping("/exports/{jobId}/file")
+    public ResponseEntity<Resource> getExportFile(@PathVariable String jobId) {
+        Optional<ExportJob> job = feedbackExportService.getJob(jobId);
+        Optional<Path> file = feedbackExportService.getFile(jobId);
+        if (job.isEmpty() || file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        ExportFormat format = job.get().format();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment("feedback-" + jobId + "." + format.extension()))
+                .body(new FileSystemResource(file.get()));
+    }
+
+    @DeleteMapping("/exports/{jobId}")
+    public ResponseEntity<Void> deleteExport(@PathVariable String jobId) {
+        return feedbackExportService.delete(jobId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // e.g. /search?q=slow+"screen share"&courseId=7&minRating=1&maxRating=2&tags=ui&page=0&size=20
+    @GetMapping("/search")
+    public ResponseEntity<FeedbackSearchResult> searchFeedback(FeedbackSearchQuery query,
+                                                               @RequestParam(required = false) Integer page,
+                                                               @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(feedbackSearchService.search(query, page, size));
+    }
+
+    // 202 while the rebuild runs in the background, 409 when one is already running
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        return new ResponseEntity<>(feedbackSearchService.startRebuild() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT);
+    }
+
+    // Live feed instead of polling: fetch a listing once, then apply these events (created, updated,
+    // deleted, patched, archived - gone from the live listing like deleted), skipping any whose
+    // lastUpdatedTimestamp is older than the row already held.
+    // A 'reset' event means the missed events are gone and the listing must be fetched again.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(required = false) Long courseId,
+                                   @RequestParam(required = false) Long trainerId,
+                                   @RequestParam(required = false) String status,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                   HttpServletRequest request) {
+        SseEmitter emitter = feedbackStreamService.subscribe(courseId, trainerId, status, lastEventId);
+        request.setAttribute(FeedbackStreamService.EMITTER_ATTRIBUTE, emitter);
+        return emitter;
+    }
+
+    // ETag is the feedback's version (the one If-Match takes), Last-Modified its lastUpdatedTimestamp
     @GetMapping("/{id}")
-    public ResponseEntity<Feedback> getFeedbackById(@PathVariable Long id) {
+    public ResponseEntity<Feedback> getFeedbackById(@PathVariable Long id, ServletWebRequest request) {
         Feedback feedback = feedbackService.getFeedbackById(id);
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, rowCacheControl.getHeaderValue());
+        long lastModified = feedback.getLastUpdatedTimestamp() != null
+                ? feedback.getLastUpdatedTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        if (request.checkNotModified(weakETag(String.valueOf(feedback.getVersion())), lastModified)) {
+            return null;
+        }
         return ResponseEntity.ok(feedback);
     }
 
@@ -55,59 +344,102 @@ public class FeedbackController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Feedback> updateFeedback(@PathVariable Long id, @Valid @RequestBody Feedback updatedFeedback) {
-        Feedback feedback = feedbackService.updateFeedback(id, updatedFeedback);
+    public ResponseEntity<Feedback> updateFeedback(@PathVariable Long id, @Valid @RequestBody FeedbackRequest request) {
+        Feedback feedback = feedbackService.updateFeedback(id, request.toFeedback());
         return ResponseEntity.ok(feedback);
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<Feedback>> getFeedbackByCourse(@PathVariable Long courseId) {
-        List<Feedback> feedback = feedbackService.getFeedbackByCourse(courseId);
-        return ResponseEntity.ok(feedback);
+    public ResponseEntity<List<FeedbackView>> getFeedbackByCourse(@PathVariable Long courseId,
+                                                                  @RequestParam(required = false) String fields,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer size,
+                                                                  ServletWebRequest request) {
+        return listing(request, FeedbackFilter.byCourse(courseId), fields, cursor, size);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Feedback>> getFeedbackByUser(@PathVariable Long userId) {
-        List<Feedback> feedback = feedbackService.getFeedbackByUser(userId);
-        return ResponseEntity.ok(feedback);
+    public ResponseEntity<List<FeedbackView>> getFeedbackByUser(@PathVariable Long userId,
+                                                                @RequestParam(required = false) String fields,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size,
+                                                                ServletWebRequest request) {
+        return listing(request, FeedbackFilter.byUser(userId), fields, cursor, size);
     }
 
     @GetMapping("/trainer/{trainerId}")
-    public ResponseEntity<List<Feedback>> getFeedbackByTrainer(@PathVariable Long trainerId) {
-        List<Feedback> feedback = feedbackService.getFeedbackByTrainer(trainerId);
-        return ResponseEntity.ok(feedback);
+    public ResponseEntity<List<FeedbackView>> getFeedbackByTrainer(@PathVariable Long trainerId,
+                                                                   @RequestParam(required = false) String fields,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size,
+                                                                   ServletWebRequest request) {
+        return listing(request, FeedbackFilter.byTrainer(trainerId), fields, cursor, size);
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<Feedback>> getFeedbackByDateRange(
+    public ResponseEntity<List<FeedbackView>> getFeedbackByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<Feedback> feedback = feedbackService.getFeedbackByDateRange(startDate, endDate);
-        return ResponseEntity.ok(feedback);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            ServletWebRequest request) {
+        return listing(request, FeedbackFilter.byDateRange(startDate, endDate), fields, cursor, size);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Feedback>> getFeedbackByStatus(@PathVariable String status) {
-        List<Feedback> feedback = feedbackService.getFeedbackByStatus(status);
-        return ResponseEntity.ok(feedback);
+    public ResponseEntity<List<FeedbackView>> getFeedbackByStatus(@PathVariable String status,
+                                                                  @RequestParam(required = false) String fields,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer size,
+                                                                  ServletWebRequest request) {
+        return listing(request, FeedbackFilter.byStatus(status), fields, cursor, size);
+    }
+
+    // Number of feedback rows per tag
+    @GetMapping("/tags")
+    public ResponseEntity<Map<String, Long>> getTagCounts(ServletWebRequest request) {
+        return conditional(request, feedbackCache.globalVersion(), analyticsCacheControl,
+                () -> ResponseEntity.ok(feedbackTagService.getTagCounts()));
     }
 
     @GetMapping("/tag/{tag}")
-    public ResponseEntity<List<Feedback>> getFeedbackByTag(@PathVariable String tag) {
-        List<Feedback> feedback = feedbackService.getFeedbackByTag(tag);
-        return ResponseEntity.ok(feedback);
+    public ResponseEntity<List<FeedbackView>> getFeedbackByTag(@PathVariable String tag,
+                                                               @RequestParam(required = false) String fields,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size,
+                                                               ServletWebRequest request) {
+        return listing(request, FeedbackFilter.byTag(tag), fields, cursor, size);
+    }
+
+    // Partial updates take an optional If-Match with the feedback's version; a stale version answers 409
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchFeedback(@PathVariable Long id, @RequestBody Map<String, Object> patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        feedbackService.patchFeedback(id, patch, expectedVersion(ifMatch));
+        return ResponseEntity.noContent().build();
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Void> updateFeedbackStatus(@PathVariable Long id, @RequestBody Map<String, String> payload) {
+    public ResponseEntity<Void> updateFeedbackStatus(@PathVariable Long id, @RequestBody Map<String, String> payload,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         String status = payload.get("status");
         if (status == null || status.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        feedbackService.updateFeedbackStatus(id, status);
+        feedbackService.updateFeedbackStatus(id, status, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    // Bulk moderation: [{"id":1,"status":"Reviewed","version":3}, ...]; one outcome per item
+    @PatchMapping("/status")
+    public ResponseEntity<List<StatusUpdateResult>> updateStatuses(@RequestBody List<StatusUpdate> updates) {
+        if (updates.stream().anyMatch(u -> u == null || u.id() == null || u.status() == null || u.status().isEmpty())) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(feedbackService.updateStatuses(updates));
+    }
+
     @PatchMapping("/{id}/tags")
     public ResponseEntity<Void> addTagsToFeedback(@PathVariable Long id, @RequestBody Map<String, String> payload) {
         String tagsToAdd = payload.get("tags");
@@ -118,27 +450,227 @@ public class FeedbackController {
         return ResponseEntity.noContent().build();
     }
 
+    // Bulk status change and/or tag append for a list of ids or everything matching a filter, e.g.
+    // {"filter":{"courseId":7,"status":"New"},"status":"Reviewed","tags":"triaged"}.
+    // Small id lists answer 200 with the finished job, larger ones 202 with a job to poll. Archived
+    // feedback is never changed.
+    @PostMapping("/moderation")
+    public ResponseEntity<ModerationJob> moderate(@RequestBody ModerationRequest request) {
+        ModerationJob job = moderationService.start(request);
+        if (job.state() != ModerationJob.State.RUNNING) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/feedback/moderation/" + job.jobId()))
+                .body(job);
+    }
+
+    @GetMapping("/moderation/{jobId}")
+    public ResponseEntity<ModerationJob> getModerationJob(@PathVariable String jobId) {
+        return ResponseEntity.of(moderationService.getJob(jobId));
+    }
+
     @GetMapping("/course/{courseId}/average-rating")
-    public ResponseEntity<Double> getAverageOverallRatingForCourse(@PathVariable Long courseId) {
-        Double avg = feedbackService.getAverageOverallRatingForCourse(courseId);
-        return ResponseEntity.ok(avg != null ? avg : 0.0);
+    public ResponseEntity<Double> getAverageOverallRatingForCourse(@PathVariable Long courseId,
+                                                                   ServletWebRequest request) {
+        return conditional(request, courseAggregateVersion(courseId), analyticsCacheControl,
+                () -> {
+                    Double avg = feedbackService.getAverageOverallRatingForCourse(courseId);
+                    return ResponseEntity.ok(avg != null ? avg : 0.0);
+                });
     }
 
     @GetMapping("/course/{courseId}/count")
-    public ResponseEntity<Long> getFeedbackCountForCourse(@PathVariable Long courseId) {
-        Long count = feedbackService.getFeedbackCountForCourse(courseId);
-        return ResponseEntity.ok(count);
+    public ResponseEntity<Long> getFeedbackCountForCourse(@PathVariable Long courseId,
+                                                          ServletWebRequest request) {
+        return conditional(request, courseAggregateVersion(courseId), analyticsCacheControl,
+                () -> ResponseEntity.ok(feedbackService.getFeedbackCountForCourse(courseId)));
     }
 
     @GetMapping("/course/{courseId}/average-content-relevance")
-    public ResponseEntity<Double> getAverageContentRelevanceRatingForCourse(@PathVariable Long courseId) {
-        Double avg = feedbackService.getAverageContentRelevanceRatingForCourse(courseId);
-        return ResponseEntity.ok(avg != null ? avg : 0.0);
+    public ResponseEntity<Double> getAverageContentRelevanceRatingForCourse(@PathVariable Long courseId,
+                                                                            ServletWebRequest request) {
+        return conditional(request, courseAggregateVersion(courseId), analyticsCacheControl,
+                () -> {
+                    Double avg = feedbackService.getAverageContentRelevanceRatingForCourse(courseId);
+                    return ResponseEntity.ok(avg != null ? avg : 0.0);
+                });
     }
 
     @GetMapping("/course/{courseId}/average-trainer-effectiveness")
-    public ResponseEntity<Double> getAverageTrainerEffectivenessRatingForCourse(@PathVariable Long courseId) {
-        Double avg = feedbackService.getAverageTrainerEffectivenessRatingForCourse(courseId);
-        return ResponseEntity.ok(avg != null ? avg : 0.0);
+    public ResponseEntity<Double> getAverageTrainerEffectivenessRatingForCourse(@PathVariable Long courseId,
+                                                                                ServletWebRequest request) {
+        return conditional(request, courseAggregateVersion(courseId), analyticsCacheControl,
+                () -> {
+                    Double avg = feedbackService.getAverageTrainerEffectivenessRatingForCourse(courseId);
+                    return ResponseEntity.ok(avg != null ? avg : 0.0);
+                });
+    }
+
+    // All dashboard numbers of a course in one response
+    @GetMapping("/course/{courseId}/summary")
+    public ResponseEntity<CourseSummary> getCourseSummary(@PathVariable Long courseId,
+                                                          ServletWebRequest request) {
+        // Status counts and top tags follow in-place patches too, so this uses the listing version
+        FeedbackCache.Version version = feedbackCache.listingVersion(FeedbackFilter.byCourse(courseId));
+        return conditional(request, version, analyticsCacheControl,
+                () -> ResponseEntity.ok(feedbackService.getCourseSummary(courseId)));
+    }
+
+    // Batch variant for admin overviews: a JSON array of course ids in, one summary per id out
+    @PostMapping("/course/summaries")
+    public ResponseEntity<List<CourseSummary>> getCourseSummaries(@RequestBody List<Long> courseIds) {
+        return ResponseEntity.ok(feedbackService.getCourseSummaries(courseIds));
+    }
+
+    // Rebuilds the per-course aggregates behind the average/count endpoints from the feedback table;
+    // 409 while a reconciliation is already running
+    @PostMapping("/aggregates/reconcile")
+    public ResponseEntity<AggregateReconcileReport> reconcileCourseAggregates() {
+        return ResponseEntity.ok(courseRatingAggregateService.reconcile());
+    }
+
+    // Rating trend of one course or one trainer, e.g. ?courseId=7&granularity=DAY&from=2024-01-01T00:00:00.
+    // Only buckets that received feedback are returned; 'from' snaps back to the start of its bucket.
+    @GetMapping("/analytics/timeseries")
+    public ResponseEntity<List<TimeseriesPoint>> getTimeseries(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Long trainerId,
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            ServletWebRequest request) {
+        if ((courseId == null) == (trainerId == null)) {
+            throw new InvalidTimeseriesRequestException("pass exactly one of courseId and trainerId");
+        }
+        FeedbackCache.Version version = courseId != null
+                ? feedbackCache.aggregateVersion(FeedbackCache.Scope.COURSE, courseId)
+                : feedbackCache.aggregateVersion(FeedbackCache.Scope.TRAINER, trainerId);
+        return conditional(request, version, analyticsCacheControl, () -> ResponseEntity.ok(courseId != null
+                ? feedbackRollupService.getTimeseries(RollupScope.COURSE, courseId, granularity, from, to)
+                : feedbackRollupService.getTimeseries(RollupScope.TRAINER, trainerId, granularity, from, to)));
+    }
+
+    // Recomputes the rollups from the feedback table in the background; 409 while one is running
+    @PostMapping("/analytics/rollups/backfill")
+    public ResponseEntity<RollupBackfillStatus> startRollupBackfill() {
+        if (!feedbackRollupService.startBackfill()) {
+            return new ResponseEntity<>(feedbackRollupService.getBackfillStatus(), HttpStatus.CONFLICT);
+        }
+        return ResponseEntity.accepted().body(feedbackRollupService.getBackfillStatus());
+    }
+
+    @GetMapping("/analytics/rollups/backfill")
+    public ResponseEntity<RollupBackfillStatus> getRollupBackfillStatus() {
+        return ResponseEntity.ok(feedbackRollupService.getBackfillStatus());
+    }
+
+    // Runs the archiver now instead of waiting for its schedule; 409 while a run is going
+    @PostMapping("/archive/run")
+    public ResponseEntity<ArchiveRunStatus> startArchiving() {
+        if (!feedbackArchiveService.startArchiving()) {
+            return new ResponseEntity<>(feedbackArchiveService.getStatus(), HttpStatus.CONFLICT);
+        }
+        return ResponseEntity.accepted().body(feedbackArchiveService.getStatus());
+    }
+
+    @GetMapping("/archive/run")
+    public ResponseEntity<ArchiveRunStatus> getArchiveStatus() {
+        return ResponseEntity.ok(feedbackArchiveService.getStatus());
+    }
+
+    // Runs the auto-tagger now over comments not read since they changed, or over every row with
+    // reprocess=true (after a dictionary change); 409 while a run is going
+    @PostMapping("/auto-tag/run")
+    public ResponseEntity<AutoTagRunStatus> startAutoTagging(@RequestParam(defaultValue = "false") boolean reprocess) {
+        if (!autoTagService.startRun(reprocess)) {
+            return new ResponseEntity<>(autoTagService.getStatus(), HttpStatus.CONFLICT);
+        }
+        return ResponseEntity.accepted().body(autoTagService.getStatus());
+    }
+
+    @GetMapping("/auto-tag/run")
+    public ResponseEntity<AutoTagRunStatus> getAutoTagStatus() {
+        return ResponseEntity.ok(autoTagService.getStatus());
+    }
+
+    // Best (order=TOP) or worst (order=BOTTOM) trainers by a sample-size adjusted score,
+    // across all courses or within one, e.g. ?metric=TRAINER_EFFECTIVENESS&courseId=7&limit=5
+    @GetMapping("/trainers/leaderboard")
+    public ResponseEntity<TrainerLeaderboard> getTrainerLeaderboard(
+            @RequestParam(defaultValue = "TRAINER_EFFECTIVENESS") LeaderboardMetric metric,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(defaultValue = "TOP") TrainerLeaderboard.Order order,
+            @RequestParam(required = false) Integer limit,
+            ServletWebRequest request) {
+        FeedbackCache.Version version = courseId != null
+                ? courseAggregateVersion(courseId)
+                : feedbackCache.globalVersion();
+        return conditional(request, version, analyticsCacheControl,
+                () -> ResponseEntity.ok(trainerLeaderboardService.getLeaderboard(metric, courseId, order, limit)));
+    }
+
+    // Hit/miss counters of the single-row and listing-page caches
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, CacheStatistics>> getCacheStatistics() {
+        return ResponseEntity.ok(feedbackCache.getStatistics());
+    }
+
+    // Accepts 3, "3" and W/"3"; no header means unconditional
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new InvalidPatchException("If-Match must carry the feedback version");
+        }
+    }
+
+    private ResponseEntity<List<FeedbackView>> listing(ServletWebRequest request, FeedbackFilter filter, String fields,
+                                                       String cursor, Integer size) {
+        return conditional(request, feedbackCache.listingVersion(filter), rowCacheControl,
+                () -> page(feedbackService.getFeedbackPage(filter, fields, cursor, size)));
+    }
+
+    private FeedbackCache.Version courseAggregateVersion(Long courseId) {
+        return feedbackCache.aggregateVersion(FeedbackCache.Scope.COURSE, courseId);
+    }
+
+    // 304 before the body is computed when If-None-Match still matches. The version is read first,
+    // so a write racing with the read can only make the body newer than its tag, never older.
+    // The tags are weak: they stand for the data, not the bytes, and Tomcat only compresses
+    // responses whose ETag is weak.
+    private <T> ResponseEntity<T> conditional(ServletWebRequest request, FeedbackCache.Version version,
+                                              CacheControl cacheControl, Supplier<ResponseEntity<T>> response) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (request.checkNotModified(weakETag(version.tag()))) {
+            return null;
+        }
+        // Right after a change a lagging replica could pair the new tag with the old body
+        return version.settled() ? response.get() : DataSourceRouting.onPrimary(response);
+    }
+
+    private static String attachment(String filename) {
+        return ContentDisposition.attachment().filename(filename).build().toString();
+    }
+
+    private static String weakETag(String version) {
+        return "W/\"" + version + "\"";
+    }
+
+    private static ResponseEntity<List<FeedbackView>> page(FeedbackPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
-}
\ No newline at end of file
+}
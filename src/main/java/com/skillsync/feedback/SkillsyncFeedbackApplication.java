@@ -1,10 +1,13 @@
 package com.skillsync.feedback;
 
+import com.skillsync.feedback.config.FeedbackRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = {
@@ -15,6 +18,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 })
 @EntityScan(basePackages = "com.skillsync.model") // JPA entities
 @EnableJpaRepositories(basePackages = "com.skillsync.repository") // JPA repositories
+@EnableScheduling // Aggregate reconciliation and other background jobs
+@ImportRuntimeHints(FeedbackRuntimeHints.class) // Native image (-Pnative)
 public class SkillsyncFeedbackApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,68 @@
+package com.skillsync.feedback.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead for virtual-thread mode: at most as many API requests run at once as the JDBC pool has
+ * connections. With a platform worker pool Tomcat's thread count did this; with a virtual thread per
+ * request every excess request would otherwise wait inside Hikari's getConnection, holding its
+ * request state and failing only after the pool's connection timeout. Here a request waits at most
+ * maxWaitMillis for a slot and is then answered 503 with a Retry-After. An asynchronous request
+ * (SSE, streamed export) frees its slot once the handler has started it.
+ */
+@Slf4j
+class ConnectionBulkheadFilter extends OncePerRequestFilter {
+
+    private static final String PATH = "/api/";
+
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+
+    ConnectionBulkheadFilter(int permits, long maxWaitMillis) {
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.debug("Bulkhead full, rejecting {} {}", request.getMethod(), request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "⚠️ Too many requests in progress, retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,46 @@
+package com.skillsync.feedback.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread override of the read/write routing (see {@link ReplicaRoutingDataSource}): work run
+ * through {@link #onPrimary} reads from the primary even inside a read-only transaction. Used where
+ * a replica that has not caught up yet would give a wrong answer, e.g. right after a change.
+ * Without replicas configured it has no effect.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private DataSourceRouting() {
+    }
+
+    // The connection is chosen on first use, so this must wrap the transaction's first statement
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean previous = pinPrimary();
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static boolean isPrimaryPinned() {
+        return PRIMARY.get();
+    }
+
+    // Returns the previous state for restore; for callers whose work throws checked exceptions
+    static boolean pinPrimary() {
+        boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restore(boolean previous) {
+        if (previous) {
+            PRIMARY.set(Boolean.TRUE);
+        } else {
+            PRIMARY.remove();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.skillsync.feedback.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * What a native image needs beyond what Spring's AOT processing and the GraalVM reachability
+ * metadata find on their own. Types written or read with the ObjectMapper directly (outside MVC)
+ * are declared with @RegisterReflectionForBinding on the beans that serialize them.
+ */
+public class FeedbackRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Boot's Flyway hints cover db/migration only, not the vendor directories
+        hints.resources().registerPattern("db/migration-*/*.sql");
+        // The auto-tagger's dictionaries, loaded through a configurable Resource
+        hints.resources().registerPattern("auto-tag/*.properties");
+        // Lucene unmaps index files through sun.misc.Unsafe.invokeCleaner, found reflectively
+        hints.reflection().registerType(TypeReference.of("sun.misc.Unsafe"),
+                MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        // StatementCountingDataSource hands out JDK proxies of the JDBC interfaces
+        hints.proxies().registerJdkProxy(java.sql.Connection.class);
+        hints.proxies().registerJdkProxy(java.sql.Statement.class);
+        hints.proxies().registerJdkProxy(java.sql.PreparedStatement.class);
+        hints.proxies().registerJdkProxy(java.sql.CallableStatement.class);
+    }
+}
@@ -0,0 +1,38 @@
+package com.skillsync.feedback.config;
+
+import com.skillsync.feedback.service.FeedbackStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Starts live feed subscriptions only once the DispatcherServlet has seen async processing start.
+ * A sender thread that writes earlier makes Tomcat report the request as no longer async, and the
+ * dispatch then finishes it as a plain request (closing the stream and the open-in-view session).
+ */
+@Configuration
+public class FeedbackStreamConfig implements WebMvcConfigurer {
+
+    private final FeedbackStreamService feedbackStreamService;
+
+    public FeedbackStreamConfig(FeedbackStreamService feedbackStreamService) {
+        this.feedbackStreamService = feedbackStreamService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                       Object handler) {
+                if (request.getAttribute(FeedbackStreamService.EMITTER_ATTRIBUTE) instanceof SseEmitter emitter) {
+                    feedbackStreamService.start(emitter);
+                }
+            }
+        }).addPathPatterns("/api/feedback/events");
+    }
+}
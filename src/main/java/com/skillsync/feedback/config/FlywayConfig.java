@@ -0,0 +1,15 @@
+package com.skillsync.feedback.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Java migrations are registered here rather than found by classpath scanning, which a native image cannot do
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer javaMigrations() {
+        return configuration -> configuration.javaMigrations(new LegacyTagRowsMigration());
+    }
+}
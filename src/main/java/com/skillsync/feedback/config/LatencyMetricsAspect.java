@@ -0,0 +1,117 @@
+package com.skillsync.feedback.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code skillsync.service} timers for every service interface method (class, method, exception tags) and
+ * {@code skillsync.repository.rows} with the number of rows each repository call returned. Repository
+ * latency itself is already timed by Spring Data ({@code spring.data.repository.invocations}).
+ */
+@Aspect
+@Component
+public class LatencyMetricsAspect {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> componentNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LatencyMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Only the methods of the service interfaces, not lifecycle or listener callbacks of the implementations
+    @Around("execution(public * com.skillsync.feedback.service.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("skillsync.service", joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        String component = componentName(joinPoint);
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags("class", component, "method", method, "exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    // Spring Data repository proxies, including the inherited CRUD methods and the custom JDBC fragments
+    @AfterReturning(pointcut = "execution(public !void *(..)) && target(org.springframework.data.repository.Repository)",
+            returning = "result")
+    public void countRepositoryRows(JoinPoint joinPoint, Object result) {
+        long rows = rowCount(result);
+        if (rows >= 0) {
+            DistributionSummary.builder("skillsync.repository.rows")
+                    .description("Rows returned per repository call")
+                    .tags("class", componentName(joinPoint), "method", joinPoint.getSignature().getName())
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+    }
+
+    // Interface name (FeedbackService, FeedbackRepository) rather than the proxy or implementation class
+    private String componentName(JoinPoint joinPoint) {
+        Object bean = joinPoint.getThis();
+        return componentNames.computeIfAbsent(bean.getClass(), type -> {
+            List<Class<?>> interfaces = new ArrayList<>(List.of(AopProxyUtils.proxiedUserInterfaces(bean)));
+            interfaces.addAll(ClassUtils.getAllInterfacesForClassAsSet(AopProxyUtils.ultimateTargetClass(bean)));
+            for (Class<?> candidate : interfaces) {
+                if (candidate.getName().startsWith("com.skillsync.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return AopProxyUtils.ultimateTargetClass(bean).getSimpleName();
+        });
+    }
+
+    // -1 when the result is not a row container (counts, void, booleans)
+    private static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+}
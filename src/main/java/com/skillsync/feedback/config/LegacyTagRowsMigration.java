@@ -0,0 +1,77 @@
+package com.skillsync.feedback.config;
+
+import com.skillsync.model.FeedbackTags;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * V11: copies the comma-separated Feedback.tags text of rows written before feedback_tag existed into
+ * feedback_tag, once. Written in Java because the tags are split exactly as {@link FeedbackTags#parse}
+ * does (trimmed, de-duplicated, capped in length), which has no portable SQL equivalent. Every later
+ * write keeps both in step, so nothing has to scan for missing rows again.
+ */
+class LegacyTagRowsMigration implements JavaMigration {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final String MISSING_SQL = "SELECT f.id, f.tags FROM feedback f"
+            + " WHERE f.id > ? AND f.tags IS NOT NULL AND f.tags <> ''"
+            + " AND NOT EXISTS (SELECT 1 FROM feedback_tag t WHERE t.feedback_id = f.id) ORDER BY f.id LIMIT ?";
+    private static final String INSERT_SQL = "INSERT INTO feedback_tag (feedback_id, tag) VALUES (?, ?)";
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("11");
+    }
+
+    @Override
+    public String getDescription() {
+        return "feedback tag backfill";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        long lastId = 0;
+        Map<Long, String> chunk;
+        do {
+            chunk = new LinkedHashMap<>();
+            try (PreparedStatement select = connection.prepareStatement(MISSING_SQL)) {
+                select.setLong(1, lastId);
+                select.setInt(2, CHUNK_SIZE);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        chunk.put(rs.getLong(1), rs.getString(2));
+                    }
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                for (Map.Entry<Long, String> row : chunk.entrySet()) {
+                    lastId = row.getKey();
+                    for (String tag : FeedbackTags.parse(row.getValue())) {
+                        insert.setLong(1, row.getKey());
+                        insert.setString(2, tag);
+                        insert.addBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+}
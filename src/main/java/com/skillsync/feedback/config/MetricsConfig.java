@@ -0,0 +1,102 @@
+package com.skillsync.feedback.config;
+
+import com.skillsync.feedback.service.FeedbackStreamService;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrics beyond what Actuator binds on its own (http.server.requests, hikaricp.*, hibernate.*, jvm.*):
+ * the number of SQL statements executed per request (JPA and JdbcTemplate alike), to spot N+1 loads
+ * and over-fetching, and the JDBC pool saturation.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricsConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Wraps the application DataSource, so the count sees every statement whatever issued it; static so
+    // that this configuration's own dependencies are not created before post-processing is in place
+    @Bean
+    public static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                StatementCountingDataSource.reset();
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("skillsync.request.jdbc.statements")
+                        .description("SQL statements executed (JPA and JDBC) while handling one request")
+                        .tags("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                        .register(meterRegistry.getObject())
+                        .record(StatementCountingDataSource.count());
+            }
+        });
+    }
+
+    // Share of the pool's connections in use (1.0 = every connection is checked out)
+    @Bean
+    public MeterBinder jdbcPoolSaturationMetrics(DataSource dataSource) {
+        return registry -> {
+            HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+            if (hikari == null) {
+                return;
+            }
+            Gauge.builder("skillsync.jdbc.pool.saturation", hikari, MetricsConfig::saturation)
+                    .description("Active connections divided by the maximum pool size")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder feedbackStreamMetrics(FeedbackStreamService feedbackStreamService) {
+        return registry -> Gauge.builder("skillsync.stream.subscribers", feedbackStreamService,
+                        FeedbackStreamService::getSubscriberCount)
+                .description("Open live feed (SSE) connections")
+                .register(registry);
+    }
+
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return pool == null ? 0.0 : (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,126 @@
+package com.skillsync.feedback.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in read replicas: read-only transactions (the FeedbackService listings and analytics) are
+ * spread over one Hikari pool per replica, everything else stays on the primary, which is still
+ * configured through spring.datasource.*. See {@link ReplicaRoutingDataSource} for the routing and
+ * {@link ReadYourWritesFilter} for how a client sees its own writes straight away.
+ * <p>
+ * Replicas are given as a comma-separated list of JDBC URLs, e.g.
+ * {@code skillsync.feedback.replicas.urls=jdbc:mysql://replica-1/skillsync,jdbc:mysql://replica-2/skillsync}.
+ * The optional lag query must return the replica's delay in milliseconds; without one a replica only
+ * has to answer {@code SELECT 1}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "skillsync.feedback.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private ReplicaRoutingDataSource router;
+
+    // Replaces Boot's pooled DataSource; the primary pool keeps the spring.datasource.hikari.* settings
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${skillsync.feedback.replicas.urls}") List<String> urls,
+                                 @Value("${skillsync.feedback.replicas.username:${spring.datasource.username:}}") String username,
+                                 @Value("${skillsync.feedback.replicas.password:${spring.datasource.password:}}") String password,
+                                 @Value("${skillsync.feedback.replicas.pool-size:5}") int poolSize,
+                                 @Value("${skillsync.feedback.replicas.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                                 @Value("${skillsync.feedback.replicas.lag-query:}") String lagQuery,
+                                 @Value("${skillsync.feedback.replicas.max-lag-ms:1000}") long maxLagMs) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("feedback-" + name);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Fail fast so a dead replica costs a read one short wait, not the primary's timeout
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            // A replica that is down at startup must not keep the application from starting
+            replica.setInitializationFailTimeout(-1);
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, replica));
+        }
+        log.info("Routing read-only transactions over {} read replica(s)", replicas.size());
+        router = new ReplicaRoutingDataSource(primary, replicas, lagQuery, maxLagMs);
+        return new LazyConnectionDataSourceProxy(router);
+    }
+
+    // Spring's default (hold the connection until the EntityManager closes) would keep a replica
+    // connection for the rest of an open-in-view request, including any write that follows it
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${skillsync.feedback.replicas.read-your-writes-seconds:5}") int windowSeconds) {
+        return new ReadYourWritesFilter(windowSeconds);
+    }
+
+    // Reads fall back to the primary, so losing every replica costs capacity but not availability: the
+    // indicator then reports DEGRADED, which management.endpoint.health.status.* ranks below UP but answers with 200
+    @Bean
+    public HealthIndicator readReplicasHealthIndicator(DataSource dataSource) {
+        return () -> router.health();
+    }
+
+    @Bean
+    public MeterBinder readReplicaMetrics(DataSource dataSource) {
+        return registry -> router.bindTo(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${skillsync.feedback.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        if (router != null) {
+            router.checkReplicas();
+        }
+    }
+
+    // The proxy has no close method of its own, so the pools are shut down here
+    @PreDestroy
+    public void closePools() {
+        if (router != null) {
+            router.close();
+        }
+    }
+}
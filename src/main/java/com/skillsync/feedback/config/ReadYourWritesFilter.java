@@ -0,0 +1,64 @@
+package com.skillsync.feedback.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes for clients of the feedback API while replicas are in use: a write hands the
+ * client a short-lived cookie, and requests that carry it read from the primary, so someone who has
+ * just submitted or edited feedback sees it in the next listing even if the replicas lag behind.
+ * The window should be longer than the replicas' maximum lag.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "skillsync-recent-write";
+    private static final String PATH = "/api/feedback";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration window;
+
+    ReadYourWritesFilter(int windowSeconds) {
+        this.window = Duration.ofSeconds(windowSeconds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            // Set before the handler runs; streamed and async responses are committed early
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, "1")
+                    .path(PATH)
+                    .maxAge(window)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+        if (!write && WebUtils.getCookie(request, COOKIE_NAME) == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean previous = DataSourceRouting.pinPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.restore(previous);
+        }
+    }
+}
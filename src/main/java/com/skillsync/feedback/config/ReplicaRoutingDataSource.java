@@ -0,0 +1,230 @@
+package com.skillsync.feedback.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read/write router behind the application DataSource. Connections taken inside a read-only
+ * transaction come from one of the replica pools, round robin over the healthy ones; everything
+ * else (writes, non-transactional work, threads pinned through {@link DataSourceRouting}) goes to
+ * the primary. A replica that fails a health check, lags more than the configured maximum or
+ * cannot hand out a connection is skipped until a later check finds it healthy again; with no
+ * healthy replica every read falls back to the primary.
+ * <p>
+ * The decision is taken when the connection is fetched, so the router must sit behind a
+ * LazyConnectionDataSourceProxy: Hibernate asks for its connection while the transaction is being
+ * begun, before Spring has marked it read-only.
+ */
+@Slf4j
+class ReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder {
+
+    static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final AtomicLong connections = new AtomicLong();
+        // Unhealthy until the first check has passed
+        private volatile boolean healthy;
+        private volatile String problem = "not checked yet";
+        private volatile Long lagMillis;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    // Every read is on the primary: still serving, but without the capacity the replicas were added for
+    static final Status DEGRADED = new Status("DEGRADED", "No healthy read replica, reads fall back to the primary");
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, String lagQuery, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = routesToReplica() ? nextHealthyReplica() : null;
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.connections.incrementAndGet();
+                return connection;
+            } catch (SQLException e) {
+                // Down or exhausted: shed its reads to the primary until the next check
+                markDown(replica, e.getMessage());
+            }
+        }
+        primaryConnections.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    // Explicit credentials are only ever used against the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryConnections.incrementAndGet();
+        return primary.getConnection(username, password);
+    }
+
+    private static boolean routesToReplica() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !DataSourceRouting.isPrimaryPinned();
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // Until the first run every read goes to the primary
+    void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (lagQuery == null) {
+                statement.execute("SELECT 1");
+                markUp(replica, null);
+                return;
+            }
+            try (ResultSet result = statement.executeQuery(lagQuery)) {
+                Long lag = null;
+                if (result.next()) {
+                    long value = result.getLong(1);
+                    lag = result.wasNull() ? null : value;
+                }
+                if (lag == null) {
+                    markDown(replica, "lag query returned no value (replication stopped?)");
+                } else if (lag > maxLagMillis) {
+                    replica.lagMillis = lag;
+                    markDown(replica, "lagging " + lag + " ms behind the primary (max " + maxLagMillis + " ms)");
+                } else {
+                    markUp(replica, lag);
+                }
+            }
+        } catch (SQLException e) {
+            markDown(replica, e.getMessage());
+        }
+    }
+
+    private static void markUp(Replica replica, Long lagMillis) {
+        replica.lagMillis = lagMillis;
+        replica.problem = null;
+        if (!replica.healthy) {
+            replica.healthy = true;
+            log.info("Read replica {} is healthy, routing read-only transactions to it", replica.name);
+        }
+    }
+
+    private static void markDown(Replica replica, String problem) {
+        replica.problem = problem;
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} taken out of rotation: {}", replica.name, problem);
+        }
+    }
+
+    Map<String, Object> describeReplicas() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("healthy", replica.healthy);
+            if (replica.lagMillis != null) {
+                state.put("lagMillis", replica.lagMillis);
+            }
+            if (replica.problem != null) {
+                state.put("problem", replica.problem);
+            }
+            details.put(replica.name, state);
+        }
+        return details;
+    }
+
+    long healthyReplicaCount() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    // UP while at least one replica takes reads, DEGRADED once they have all been dropped
+    Health health() {
+        long healthy = healthyReplicaCount();
+        return Health.status(healthy > 0 ? Status.UP : DEGRADED)
+                .withDetail("healthy", healthy)
+                .withDetail("replicas", describeReplicas())
+                .build();
+    }
+
+    // skillsync.jdbc.route.connections{target=primary|replica-N} counts the routing decisions
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("skillsync.jdbc.route.connections", primaryConnections, AtomicLong::get)
+                .description("Connections handed out by the read/write router, by target")
+                .tag("target", "primary")
+                .register(registry);
+        for (Replica replica : replicas) {
+            FunctionCounter.builder("skillsync.jdbc.route.connections", replica.connections, AtomicLong::get)
+                    .description("Connections handed out by the read/write router, by target")
+                    .tag("target", replica.name)
+                    .register(registry);
+            Gauge.builder("skillsync.jdbc.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the replica is in the read rotation")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+    }
+
+    // Unwrapping (pool metrics, saturation gauge) reaches the primary pool
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        if (primary instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.skillsync.feedback.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the SQL statements executed on the calling thread, whoever issues them: Hibernate,
+ * JdbcTemplate and plain JDBC all go through the connections handed out here. Each execute call is
+ * one statement, and a JDBC batch is one round trip however many rows it carries. Used by
+ * {@link MetricsConfig} for the per-request statement count.
+ */
+class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+
+    StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    static void reset() {
+        STATEMENTS.get()[0] = 0;
+    }
+
+    static int count() {
+        return STATEMENTS.get()[0];
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, result) -> {
+            if (result instanceof CallableStatement statement) {
+                return counting(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return counting(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return counting(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private static <S extends Statement> S counting(Class<S> type, S statement) {
+        return proxy(type, statement, (method, result) -> {
+            if (method.getName().startsWith("execute")) {
+                STATEMENTS.get()[0]++;
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface AfterCall {
+        Object apply(Method method, Object result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            try {
+                return afterCall.apply(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
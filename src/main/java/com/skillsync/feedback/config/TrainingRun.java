@@ -0,0 +1,57 @@
+package com.skillsync.feedback.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Ends the class-data-sharing training run of the {@code cds} Maven profile and the Docker image
+ * (the {@code training} Spring profile): once the application is ready it serves one listing
+ * request to itself, so the classes of the first request are loaded too, and exits. The JVM then
+ * writes every class it loaded to the archive named by -XX:ArchiveClassesAtExit.
+ * Switched by a property read at runtime, not a condition, since an AOT build fixes conditions
+ * when it is compiled.
+ */
+@Slf4j
+@Component
+public class TrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final boolean enabled;
+
+    public TrainingRun(@Value("${skillsync.startup.training-run:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        if (port != null) {
+            try {
+                HttpResponse<Void> response = HttpClient.newHttpClient().send(
+                        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/feedback?size=1")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                log.info("Training run: first request answered {}", response.statusCode());
+            } catch (IOException e) {
+                log.warn("Training run: first request failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("Training run finished, exiting");
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,70 @@
+package com.skillsync.feedback.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in virtual-thread mode (requires a Java 21 runtime; build with {@code -Pjava21}).
+ * Tomcat request processing and the application task executor (MVC async / streaming responses)
+ * run on virtual threads. Without a fixed worker pool nothing bounds the requests in flight any more,
+ * so {@link ConnectionBulkheadFilter} admits as many API requests as the JDBC pool has connections.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "skillsync.feedback.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private final ExecutorService virtualThreadExecutor;
+
+    public VirtualThreadConfig() {
+        this.virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+    }
+
+    // Hikari's default pool size is 10; a request waits up to max-wait-ms for a slot before a 503
+    @Bean
+    public ConnectionBulkheadFilter connectionBulkheadFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPoolSize,
+            @Value("${skillsync.feedback.virtual-threads.bulkhead.max-wait-ms:2000}") long maxWaitMs) {
+        log.info("Serving requests on virtual threads, at most {} API requests at once (the JDBC pool size)",
+                maxPoolSize);
+        return new ConnectionBulkheadFilter(maxPoolSize, maxWaitMs);
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    // Same bean name as Boot's default so MVC async handling and @Async pick it up
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, destroyMethod = "")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    // Runs after the web server has stopped; lets in-flight tasks finish on their own
+    @PreDestroy
+    public void shutdown() {
+        virtualThreadExecutor.shutdown();
+    }
+
+    // The project still compiles for Java 17, so the Java 21 factory is looked up at runtime
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("⚠️ Virtual threads require Java 21 or newer (running "
+                    + Runtime.version() + "); unset skillsync.feedback.virtual-threads.enabled", e);
+        }
+    }
+}
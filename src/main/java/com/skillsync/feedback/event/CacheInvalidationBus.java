@@ -0,0 +1,14 @@
+package com.skillsync.feedback.event;
+
+import java.util.function.Consumer;
+
+/**
+ * Fan-out of cache invalidations. The in-process implementation only reaches this instance;
+ * a broker-backed implementation can replace it to keep several instances coherent.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(FeedbackCacheInvalidation invalidation);
+
+    void subscribe(Consumer<FeedbackCacheInvalidation> subscriber);
+}
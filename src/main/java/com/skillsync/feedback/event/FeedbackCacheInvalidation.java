@@ -0,0 +1,9 @@
+package com.skillsync.feedback.event;
+
+import java.util.Set;
+
+// Plain-id message so it can later be carried between instances by a remote bus implementation.
+// 'unscoped' marks changes that carry no course/trainer (in-place patches of status, notes, tags...).
+public record FeedbackCacheInvalidation(Set<Long> feedbackIds, Set<Long> courseIds, Set<Long> trainerIds,
+                                        boolean unscoped) {
+}
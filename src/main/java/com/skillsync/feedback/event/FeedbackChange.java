@@ -0,0 +1,36 @@
+package com.skillsync.feedback.event;
+
+import com.skillsync.model.FeedbackSnapshot;
+
+import java.util.Set;
+
+// One row-level mutation. 'before' is null for CREATED, 'after' is null for DELETED.
+// PATCHED is an in-place update of fields that feed no derived data (status, notes, comment, appended
+// tags); it carries only the changed field names, no snapshots, so it never needs a read of the row.
+// ARCHIVED moves the row to the archive table ('after' is null): it leaves the listings, tag index and
+// search like a deletion, but stays counted in the aggregates and rollups, which therefore ignore it.
+public record FeedbackChange(Type type, Long feedbackId, FeedbackSnapshot before, FeedbackSnapshot after,
+                             Set<String> fields) {
+
+    public enum Type { CREATED, UPDATED, DELETED, PATCHED, ARCHIVED }
+
+    public static FeedbackChange created(FeedbackSnapshot after) {
+        return new FeedbackChange(Type.CREATED, after.id(), null, after, Set.of());
+    }
+
+    public static FeedbackChange updated(FeedbackSnapshot before, FeedbackSnapshot after) {
+        return new FeedbackChange(Type.UPDATED, after.id(), before, after, Set.of());
+    }
+
+    public static FeedbackChange deleted(FeedbackSnapshot before) {
+        return new FeedbackChange(Type.DELETED, before.id(), before, null, Set.of());
+    }
+
+    public static FeedbackChange archived(FeedbackSnapshot before) {
+        return new FeedbackChange(Type.ARCHIVED, before.id(), before, null, Set.of());
+    }
+
+    public static FeedbackChange patched(Long feedbackId, Set<String> fields) {
+        return new FeedbackChange(Type.PATCHED, feedbackId, null, null, Set.copyOf(fields));
+    }
+}
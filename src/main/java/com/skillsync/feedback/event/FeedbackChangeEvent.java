@@ -0,0 +1,16 @@
+package com.skillsync.feedback.event;
+
+import java.util.List;
+
+/**
+ * Published by the feedback service for every committed-to-be mutation.
+ * Plain {@code @EventListener}s run inside the publishing transaction (used by
+ * derived tables that must stay consistent with the feedback table), while
+ * {@code @TransactionalEventListener}s see it only after commit.
+ */
+public record FeedbackChangeEvent(List<FeedbackChange> changes) {
+
+    public static FeedbackChangeEvent of(FeedbackChange change) {
+        return new FeedbackChangeEvent(List.of(change));
+    }
+}
@@ -0,0 +1,24 @@
+package com.skillsync.feedback.event;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Single-instance stand-in: delivers synchronously to the subscribers of this JVM
+@Component
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Consumer<FeedbackCacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(FeedbackCacheInvalidation invalidation) {
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<FeedbackCacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,210 @@
+package com.skillsync.feedback.service;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import com.skillsync.model.FeedbackField;
+import com.skillsync.model.FeedbackView;
+import org.apache.arrow.flatbuf.Bool;
+import org.apache.arrow.flatbuf.Buffer;
+import org.apache.arrow.flatbuf.Endianness;
+import org.apache.arrow.flatbuf.Field;
+import org.apache.arrow.flatbuf.FieldNode;
+import org.apache.arrow.flatbuf.Int;
+import org.apache.arrow.flatbuf.Message;
+import org.apache.arrow.flatbuf.MessageHeader;
+import org.apache.arrow.flatbuf.MetadataVersion;
+import org.apache.arrow.flatbuf.RecordBatch;
+import org.apache.arrow.flatbuf.Schema;
+import org.apache.arrow.flatbuf.TimeUnit;
+import org.apache.arrow.flatbuf.Timestamp;
+import org.apache.arrow.flatbuf.Type;
+import org.apache.arrow.flatbuf.Utf8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arrow IPC streaming format (what pyarrow.ipc.open_stream and the other Arrow readers take): a
+ * schema message, one record batch per chunk and the end-of-stream marker. Messages are assembled
+ * on the heap with the Arrow flatbuffer classes, as Arrow's vector library needs off-heap memory
+ * and --add-opens on JDK 17. Every column is nullable; timestamps are timestamp[us] without a time
+ * zone, i.e. the stored local time.
+ */
+class ArrowStreamExportWriter implements FeedbackExportWriter {
+
+    private static final int CONTINUATION = 0xFFFFFFFF;
+    private static final int ALIGNMENT = 8;
+
+    private final List<FeedbackField> columns;
+    private final OutputStream out;
+    // Reused between chunks, so a batch costs at most the largest chunk seen so far
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+    private final ByteArrayOutputStream strings = new ByteArrayOutputStream(64 * 1024);
+    private final List<long[]> buffers = new ArrayList<>();
+
+    ArrowStreamExportWriter(List<FeedbackField> columns, OutputStream out) {
+        this.columns = columns;
+        this.out = out;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+        int[] fields = new int[columns.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = field(builder, columns.get(i));
+        }
+        int schema = Schema.createSchema(builder, Endianness.Little, Schema.createFieldsVector(builder, fields), 0, 0);
+        writeMessage(builder, MessageHeader.Schema, schema, 0);
+    }
+
+    @Override
+    public void writeChunk(List<FeedbackView> rows) throws IOException {
+        int length = rows.size();
+        body.reset();
+        buffers.clear();
+        long[] nullCounts = new long[columns.size()];
+        for (int c = 0; c < columns.size(); c++) {
+            FeedbackField column = columns.get(c);
+            byte[] validity = new byte[bitmapLength(length)];
+            for (int i = 0; i < length; i++) {
+                if (rows.get(i).get(column) != null) {
+                    validity[i >> 3] |= (byte) (1 << (i & 7));
+                } else {
+                    nullCounts[c]++;
+                }
+            }
+            addBuffer(validity, validity.length);
+            writeValues(column, rows);
+        }
+
+        FlatBufferBuilder builder = new FlatBufferBuilder(256 + 64 * columns.size());
+        // Vectors of structs are written back to front
+        RecordBatch.startNodesVector(builder, columns.size());
+        for (int c = columns.size() - 1; c >= 0; c--) {
+            FieldNode.createFieldNode(builder, length, nullCounts[c]);
+        }
+        int nodes = builder.endVector();
+        RecordBatch.startBuffersVector(builder, buffers.size());
+        for (int b = buffers.size() - 1; b >= 0; b--) {
+            Buffer.createBuffer(builder, buffers.get(b)[0], buffers.get(b)[1]);
+        }
+        int bufferVector = builder.endVector();
+        int batch = RecordBatch.createRecordBatch(builder, length, nodes, bufferVector, 0);
+        writeMessage(builder, MessageHeader.RecordBatch, batch, body.size());
+        body.writeTo(out);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writeInt(CONTINUATION);
+        writeInt(0);
+    }
+
+    private static int field(FlatBufferBuilder builder, FeedbackField column) {
+        int name = builder.createString(column.jsonName());
+        Class<?> javaType = column.type();
+        byte typeType;
+        int type;
+        if (javaType == Long.class || javaType == Integer.class) {
+            typeType = Type.Int;
+            type = Int.createInt(builder, javaType == Long.class ? 64 : 32, true);
+        } else if (javaType == Boolean.class) {
+            typeType = Type.Bool;
+            Bool.startBool(builder);
+            type = Bool.endBool(builder);
+        } else if (javaType == LocalDateTime.class) {
+            typeType = Type.Timestamp;
+            type = Timestamp.createTimestamp(builder, TimeUnit.MICROSECOND, 0);
+        } else {
+            typeType = Type.Utf8;
+            Utf8.startUtf8(builder);
+            type = Utf8.endUtf8(builder);
+        }
+        int children = Field.createChildrenVector(builder, new int[0]);
+        return Field.createField(builder, name, true, typeType, type, 0, children, 0);
+    }
+
+    // The buffers after the validity bitmap: values (fixed width, nulls left zero), or offsets and
+    // UTF-8 data for strings
+    private void writeValues(FeedbackField column, List<FeedbackView> rows) {
+        int length = rows.size();
+        Class<?> javaType = column.type();
+        if (javaType == Boolean.class) {
+            byte[] bits = new byte[bitmapLength(length)];
+            for (int i = 0; i < length; i++) {
+                if (Boolean.TRUE.equals(rows.get(i).get(column))) {
+                    bits[i >> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            addBuffer(bits, bits.length);
+        } else if (javaType == String.class) {
+            ByteBuffer offsets = ByteBuffer.allocate(4 * (length + 1)).order(ByteOrder.LITTLE_ENDIAN);
+            strings.reset();
+            offsets.putInt(0);
+            for (FeedbackView row : rows) {
+                Object value = row.get(column);
+                if (value != null) {
+                    strings.writeBytes(value.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                offsets.putInt(strings.size());
+            }
+            addBuffer(offsets.array(), offsets.capacity());
+            addBuffer(strings.toByteArray(), strings.size());
+        } else {
+            int width = javaType == Integer.class ? 4 : 8;
+            ByteBuffer values = ByteBuffer.allocate(width * length).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < length; i++) {
+                Object value = rows.get(i).get(column);
+                if (value instanceof Integer number) {
+                    values.putInt(i * width, number);
+                } else if (value instanceof Long number) {
+                    values.putLong(i * width, number);
+                } else if (value instanceof LocalDateTime time) {
+                    values.putLong(i * width, time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000);
+                }
+            }
+            addBuffer(values.array(), values.capacity());
+        }
+    }
+
+    // Buffers start 8-byte aligned within the body; the padding is not part of their length
+    private void addBuffer(byte[] bytes, int length) {
+        buffers.add(new long[]{body.size(), length});
+        body.write(bytes, 0, length);
+        body.write(new byte[padding(length)], 0, padding(length));
+    }
+
+    // Encapsulated message: continuation marker, metadata length, flatbuffer padded so the body that
+    // follows starts 8-byte aligned, then the body
+    private void writeMessage(FlatBufferBuilder builder, byte headerType, int header, long bodyLength)
+            throws IOException {
+        int message = Message.createMessage(builder, MetadataVersion.V5, headerType, header, bodyLength, 0);
+        builder.finish(message);
+        byte[] metadata = builder.sizedByteArray();
+        int paddedLength = metadata.length + padding(metadata.length + 8);
+        writeInt(CONTINUATION);
+        writeInt(paddedLength);
+        out.write(metadata);
+        out.write(new byte[paddedLength - metadata.length]);
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array());
+    }
+
+    private static int bitmapLength(int length) {
+        return (length + 7) / 8;
+    }
+
+    private static int padding(int length) {
+        return (ALIGNMENT - length % ALIGNMENT) % ALIGNMENT;
+    }
+}
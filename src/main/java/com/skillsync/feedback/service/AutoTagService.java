@@ -0,0 +1,13 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.dto.AutoTagRunStatus;
+
+public interface AutoTagService {
+
+    // Tags comments in the background from the keyword and sentiment dictionaries: those not read since
+    // they last changed, or every live row with reprocess (after a dictionary change). False when a run
+    // is already going.
+    boolean startRun(boolean reprocess);
+
+    AutoTagRunStatus getStatus();
+}
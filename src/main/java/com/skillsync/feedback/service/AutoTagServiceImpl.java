@@ -0,0 +1,294 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackTags;
+import com.skillsync.model.JobCheckpoint;
+import com.skillsync.model.dto.AutoTagRunStatus;
+import com.skillsync.repository.FeedbackRepository;
+import com.skillsync.repository.JobCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background tagging of comments from a keyword dictionary and a sentiment lexicon. A run reads live
+ * feedback in id order, chunk-size rows at a time; the comments of a chunk are analyzed in parallel on
+ * a pool of 'threads' workers, and the chunk's results are written back in one transaction: the rows are
+ * marked as read (auto_tagged_at), the new tags appended as one batch, and the position saved in
+ * job_checkpoint. A run cut short by a restart resumes from there. Tags are only ever added, so
+ * tags removed by hand stay removed until the comment changes.
+ * <p>
+ * A changed comment clears the mark, so the next incremental run reads the row again; a reprocess run
+ * reads every row, for after a dictionary change.
+ */
+@Slf4j
+@Service
+public class AutoTagServiceImpl implements AutoTagService, ApplicationRunner {
+
+    private static final String JOB_NAME = "auto-tag";
+
+    private final FeedbackRepository feedbackRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final FeedbackTagService feedbackTagService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final CommentTagExtractor extractor;
+    private final int chunkSize;
+    private final int threads;
+    private final int maxRowsPerSecond;
+    private final boolean resumeOnStartup;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile AutoTagRunStatus lastRun;
+
+    @Autowired
+    public AutoTagServiceImpl(FeedbackRepository feedbackRepository,
+                              JobCheckpointRepository jobCheckpointRepository,
+                              FeedbackTagService feedbackTagService,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${skillsync.feedback.auto-tag.keywords:classpath:auto-tag/keywords.properties}")
+                              Resource keywords,
+                              @Value("${skillsync.feedback.auto-tag.sentiment:classpath:auto-tag/sentiment.properties}")
+                              Resource sentiment,
+                              @Value("${skillsync.feedback.auto-tag.chunk-size:500}") int chunkSize,
+                              @Value("${skillsync.feedback.auto-tag.threads:2}") int threads,
+                              @Value("${skillsync.feedback.auto-tag.max-rows-per-second:0}") int maxRowsPerSecond,
+                              @Value("${skillsync.feedback.auto-tag.resume-on-startup:true}") boolean resumeOnStartup)
+            throws IOException {
+        this.feedbackRepository = feedbackRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.feedbackTagService = feedbackTagService;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.extractor = loadExtractor(keywords, sentiment);
+        this.chunkSize = chunkSize;
+        this.threads = Math.max(1, threads);
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.resumeOnStartup = resumeOnStartup;
+    }
+
+    // A checkpoint left behind means the last run did not finish
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!resumeOnStartup) {
+            return;
+        }
+        jobCheckpointRepository.findById(JOB_NAME).ifPresent(checkpoint -> {
+            if (running.compareAndSet(false, true)) {
+                log.info("Resuming the auto-tagger after id {}", checkpoint.getLastId());
+                start(checkpoint);
+            }
+        });
+    }
+
+    @Override
+    public boolean startRun(boolean reprocess) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        // An unfinished reprocess covers an incremental run too; an unfinished incremental one is
+        // simply restarted by a reprocess
+        LocalDateTime now = LocalDateTime.now();
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JOB_NAME)
+                .filter(saved -> saved.getFullScan() || !reprocess)
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME, 0L, reprocess, now, now));
+        start(checkpoint);
+        return true;
+    }
+
+    @Override
+    public AutoTagRunStatus getStatus() {
+        AutoTagRunStatus status = lastRun;
+        return status != null ? status
+                : new AutoTagRunStatus(false, false, 0, 0, 0, 0, null, 0, null, null, null);
+    }
+
+    @Scheduled(cron = "${skillsync.feedback.auto-tag.cron:-}")
+    public void scheduledRun() {
+        if (!startRun(false)) {
+            log.info("Scheduled auto-tagging skipped: a run is already going");
+        }
+    }
+
+    @Scheduled(cron = "${skillsync.feedback.auto-tag.reprocess-cron:-}")
+    public void scheduledReprocess() {
+        if (!startRun(true)) {
+            log.info("Scheduled auto-tag reprocessing skipped: a run is already going");
+        }
+    }
+
+    // Runs inside the write's transaction, so the cleared mark commits (or rolls back) with the new comment
+    @EventListener
+    public void onFeedbackChange(FeedbackChangeEvent event) {
+        List<Long> changed = event.changes().stream()
+                .filter(AutoTagServiceImpl::commentChanged)
+                .map(FeedbackChange::feedbackId)
+                .toList();
+        feedbackRepository.clearAutoTagged(changed);
+    }
+
+    private static boolean commentChanged(FeedbackChange change) {
+        return switch (change.type()) {
+            case UPDATED -> !Objects.equals(change.before().comment(), change.after().comment());
+            case PATCHED -> change.fields().contains("comment");
+            default -> false;
+        };
+    }
+
+    private void start(JobCheckpoint checkpoint) {
+        lastRun = new AutoTagRunStatus(true, checkpoint.getFullScan(), checkpoint.getLastId(), 0, 0, 0, Map.of(), 0,
+                LocalDateTime.now(), null, null);
+        Thread thread = new Thread(() -> tag(checkpoint), "feedback-auto-tagger");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void tag(JobCheckpoint checkpoint) {
+        boolean fullScan = checkpoint.getFullScan();
+        LocalDateTime startedAt = lastRun.startedAt();
+        long start = System.nanoTime();
+        long lastId = checkpoint.getLastId();
+        long scanned = 0;
+        long tagged = 0;
+        long tagsAdded = 0;
+        Map<String, Long> tagCounts = new TreeMap<>();
+        String error = null;
+        ForkJoinPool workers = new ForkJoinPool(threads);
+        try {
+            List<Feedback> rows;
+            do {
+                rows = feedbackRepository.findAutoTagCandidates(lastId, fullScan, chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Feedback> chunk = rows;
+                List<SortedSet<String>> extracted = workers.submit(() -> chunk.parallelStream()
+                        .map(row -> extractor.extract(row.getComment()))
+                        .toList()).get();
+                Map<Long, SortedSet<String>> added = writeChunk(checkpoint, rows, extracted);
+                lastId = checkpoint.getLastId();
+                scanned += rows.size();
+                tagged += added.size();
+                for (SortedSet<String> tags : added.values()) {
+                    tagsAdded += tags.size();
+                    tags.forEach(tag -> tagCounts.merge(tag, 1L, Long::sum));
+                }
+                lastRun = new AutoTagRunStatus(true, fullScan, lastId, scanned, tagged, tagsAdded, Map.copyOf(tagCounts),
+                        rate(scanned, start), startedAt, null, null);
+                throttle(scanned, start);
+            } while (rows.size() == chunkSize);
+            // Finished: the next start begins afresh
+            jobCheckpointRepository.deleteById(JOB_NAME);
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Auto-tagging failed after id {}", lastId, e);
+            error = e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "interrupted";
+        } finally {
+            workers.shutdownNow();
+            lastRun = new AutoTagRunStatus(false, fullScan, lastId, scanned, tagged, tagsAdded, new TreeMap<>(tagCounts),
+                    rate(scanned, start), startedAt, LocalDateTime.now(), error);
+            running.set(false);
+        }
+        log.info("Auto-tagging finished: {} rows at {} rows/s, {} tags added to {} rows ({})", scanned,
+                Math.round(lastRun.rowsPerSecond()), tagsAdded, tagged, tagCounts);
+    }
+
+    // Only rows still at the version they were read with are marked and tagged; one edited meanwhile is
+    // read again by the next run. Returns the tags added per row.
+    private Map<Long, SortedSet<String>> writeChunk(JobCheckpoint checkpoint, List<Feedback> rows,
+                                                    List<SortedSet<String>> extracted) {
+        return chunkTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            boolean[] marked = feedbackRepository.markAutoTagged(rows, now);
+            Map<Long, SortedSet<String>> added = new LinkedHashMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (!marked[i]) {
+                    continue;
+                }
+                SortedSet<String> missing = new TreeSet<>(extracted.get(i));
+                missing.removeAll(FeedbackTags.parse(rows.get(i).getTags()));
+                if (!missing.isEmpty()) {
+                    added.put(rows.get(i).getId(), missing);
+                }
+            }
+            if (!added.isEmpty()) {
+                feedbackTagService.addTags(added);
+                feedbackRepository.refreshTagsColumns(added.keySet());
+                eventPublisher.publishEvent(new FeedbackChangeEvent(added.keySet().stream()
+                        .map(id -> FeedbackChange.patched(id, Set.of("tags")))
+                        .toList()));
+            }
+            checkpoint.setLastId(rows.get(rows.size() - 1).getId());
+            checkpoint.setUpdatedAt(now);
+            jobCheckpointRepository.save(checkpoint);
+            return added;
+        });
+    }
+
+    // Holds the run to max-rows-per-second on average; 0 leaves it unlimited
+    private void throttle(long scanned, long start) throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long due = start + TimeUnit.SECONDS.toNanos(scanned) / maxRowsPerSecond;
+        long wait = due - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private static double rate(long rows, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return seconds > 0 ? Math.round(rows / seconds * 10) / 10.0 : 0;
+    }
+
+    private static CommentTagExtractor loadExtractor(Resource keywords, Resource sentiment) throws IOException {
+        Properties topics = PropertiesLoaderUtils.loadProperties(keywords);
+        Properties lexicon = PropertiesLoaderUtils.loadProperties(sentiment);
+        Map<String, List<String>> keywordsByTag = new TreeMap<>();
+        topics.stringPropertyNames().forEach(tag -> keywordsByTag.put(tag, words(topics.getProperty(tag))));
+        return new CommentTagExtractor(keywordsByTag, words(lexicon.getProperty("positive")),
+                words(lexicon.getProperty("negative")), words(lexicon.getProperty("negations")));
+    }
+
+    private static List<String> words(String list) {
+        if (list == null) {
+            return List.of();
+        }
+        return Arrays.stream(list.split(",")).map(String::trim).filter(word -> !word.isEmpty()).toList();
+    }
+}
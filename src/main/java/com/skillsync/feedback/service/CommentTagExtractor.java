@@ -0,0 +1,138 @@
+package com.skillsync.feedback.service;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.en.EnglishPossessiveFilter;
+import org.apache.lucene.analysis.en.PorterStemFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Rule-based tags for a feedback comment: topic tags from a keyword dictionary, plus
+ * sentiment:positive or sentiment:negative from a polarity lexicon where a negation within the
+ * three words before flips a word ("not helpful"). Comments and dictionary entries go through the
+ * same analysis (lower case, Porter stems, stop words kept for the negations), so "slides" matches
+ * "slide" and multi-word keywords match as phrases. Immutable; safe to use from several threads.
+ */
+final class CommentTagExtractor {
+
+    static final String POSITIVE = "sentiment:positive";
+    static final String NEGATIVE = "sentiment:negative";
+    private static final int NEGATION_WINDOW = 3;
+
+    private record Keyword(List<String> terms, String tag) {
+    }
+
+    private final Analyzer analyzer = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream stream = new EnglishPossessiveFilter(source);
+            stream = new LowerCaseFilter(stream);
+            return new TokenStreamComponents(source, new PorterStemFilter(stream));
+        }
+    };
+    // Keywords by their first term, so a comment is matched in one pass over its terms
+    private final Map<String, List<Keyword>> keywords = new HashMap<>();
+    private final Set<String> positive;
+    private final Set<String> negative;
+    private final Set<String> negations;
+
+    CommentTagExtractor(Map<String, ? extends Collection<String>> keywordsByTag, Collection<String> positive,
+                        Collection<String> negative, Collection<String> negations) {
+        keywordsByTag.forEach((tag, phrases) -> {
+            for (String phrase : phrases) {
+                List<String> terms = terms(phrase);
+                if (!terms.isEmpty()) {
+                    keywords.computeIfAbsent(terms.get(0), t -> new ArrayList<>()).add(new Keyword(terms, tag));
+                }
+            }
+        });
+        this.positive = lexicon(positive);
+        this.negative = lexicon(negative);
+        this.negations = lexicon(negations);
+    }
+
+    SortedSet<String> extract(String comment) {
+        SortedSet<String> tags = new TreeSet<>();
+        if (comment == null || comment.isBlank()) {
+            return tags;
+        }
+        List<String> terms = terms(comment);
+        int sentiment = 0;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            for (Keyword keyword : keywords.getOrDefault(term, List.of())) {
+                if (matchesAt(terms, i, keyword.terms())) {
+                    tags.add(keyword.tag());
+                }
+            }
+            int polarity = positive.contains(term) ? 1 : negative.contains(term) ? -1 : 0;
+            if (polarity != 0) {
+                sentiment += negatedAt(terms, i) ? -polarity : polarity;
+            }
+        }
+        if (sentiment > 0) {
+            tags.add(POSITIVE);
+        } else if (sentiment < 0) {
+            tags.add(NEGATIVE);
+        }
+        return tags;
+    }
+
+    private static boolean matchesAt(List<String> terms, int start, List<String> phrase) {
+        if (start + phrase.size() > terms.size()) {
+            return false;
+        }
+        for (int j = 1; j < phrase.size(); j++) {
+            if (!phrase.get(j).equals(terms.get(start + j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean negatedAt(List<String> terms, int index) {
+        for (int j = Math.max(0, index - NEGATION_WINDOW); j < index; j++) {
+            if (negations.contains(terms.get(j))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> lexicon(Collection<String> words) {
+        Set<String> terms = new HashSet<>();
+        words.forEach(word -> terms.addAll(terms(word)));
+        return terms;
+    }
+
+    private List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream("comment", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,20 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.CourseRatingAggregate;
+import com.skillsync.model.dto.AggregateReconcileReport;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseRatingAggregateService {
+
+    Optional<CourseRatingAggregate> getAggregate(Long courseId);
+
+    // One lookup for many courses; courses without feedback are simply absent
+    List<CourseRatingAggregate> getAggregates(Collection<Long> courseIds);
+
+    // Recomputes every course from the feedback table and repairs the aggregates that drifted;
+    // ReconcileInProgressException (409) while another reconciliation is running
+    AggregateReconcileReport reconcile();
+}
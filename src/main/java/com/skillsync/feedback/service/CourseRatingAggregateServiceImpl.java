@@ -0,0 +1,152 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.Exception.ReconcileInProgressException;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.CourseRatingAggregate;
+import com.skillsync.model.RatingTally;
+import com.skillsync.model.dto.AggregateReconcileReport;
+import com.skillsync.repository.CourseRatingAggregateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class CourseRatingAggregateServiceImpl implements CourseRatingAggregateService {
+
+    private final CourseRatingAggregateRepository aggregateRepository;
+    private final TransactionTemplate repairTransaction;
+    private final FeedbackCache feedbackCache;
+    private final AtomicBoolean reconcileRunning = new AtomicBoolean();
+
+    @Autowired
+    public CourseRatingAggregateServiceImpl(CourseRatingAggregateRepository aggregateRepository,
+                                            PlatformTransactionManager transactionManager,
+                                            FeedbackCache feedbackCache) {
+        this.aggregateRepository = aggregateRepository;
+        this.feedbackCache = feedbackCache;
+        // Each drifted course is repaired in its own short transaction; READ COMMITTED so the
+        // recount after taking the row lock sees every writer that committed before us.
+        this.repairTransaction = new TransactionTemplate(transactionManager);
+        this.repairTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.repairTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    @Override
+    public Optional<CourseRatingAggregate> getAggregate(Long courseId) {
+        return aggregateRepository.findById(courseId);
+    }
+
+    @Override
+    public List<CourseRatingAggregate> getAggregates(Collection<Long> courseIds) {
+        return aggregateRepository.findAllById(courseIds);
+    }
+
+    // Runs synchronously inside the feedback write transaction, so the counters commit or roll back with it
+    @EventListener
+    public void onFeedbackChange(FeedbackChangeEvent event) {
+        Map<Long, RatingTally> deltas = new HashMap<>();
+        for (FeedbackChange change : event.changes()) {
+            // Archived feedback keeps counting in the course aggregates
+            if (change.type() == FeedbackChange.Type.ARCHIVED) {
+                continue;
+            }
+            if (change.before() != null && change.before().courseId() != null) {
+                deltas.computeIfAbsent(change.before().courseId(), id -> new RatingTally()).subtract(change.before());
+            }
+            if (change.after() != null && change.after().courseId() != null) {
+                deltas.computeIfAbsent(change.after().courseId(), id -> new RatingTally()).add(change.after());
+            }
+        }
+        aggregateRepository.applyDeltas(deltas);
+    }
+
+    @Scheduled(cron = "${skillsync.feedback.aggregates.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (ReconcileInProgressException e) {
+            log.info("Scheduled aggregate reconciliation skipped: one is already running");
+        }
+    }
+
+    @Override
+    public AggregateReconcileReport reconcile() {
+        if (!reconcileRunning.compareAndSet(false, true)) {
+            throw new ReconcileInProgressException();
+        }
+        try {
+            long start = System.currentTimeMillis();
+
+            // Cheap lock-free pass: one GROUP BY over the table, compared with the stored rows
+            Map<Long, RatingTally> actual = aggregateRepository.tallyFeedbackByCourse();
+            Map<Long, RatingTally> stored = new HashMap<>();
+            aggregateRepository.findAll().forEach(a -> stored.put(a.getCourseId(), a.getStats().toTally()));
+
+            Set<Long> suspects = new HashSet<>();
+            actual.forEach((courseId, tally) -> {
+                if (!tally.equals(stored.get(courseId))) {
+                    suspects.add(courseId);
+                }
+            });
+            stored.keySet().stream().filter(courseId -> !actual.containsKey(courseId)).forEach(suspects::add);
+
+            // The first pass races with live writers, so confirm each suspect under the row lock
+            int corrected = 0;
+            int removed = 0;
+            for (Long courseId : suspects) {
+                RepairOutcome outcome = repairTransaction.execute(status -> repair(courseId));
+                if (outcome == RepairOutcome.CORRECTED) {
+                    corrected++;
+                } else if (outcome == RepairOutcome.REMOVED) {
+                    removed++;
+                }
+            }
+
+            AggregateReconcileReport report = new AggregateReconcileReport(
+                    actual.size(), corrected, removed, System.currentTimeMillis() - start);
+            if (corrected > 0 || removed > 0) {
+                log.warn("Course rating aggregates drifted and were repaired: {}", report);
+                // The repairs publish no change events: retire the validators handed out for the old values
+                feedbackCache.invalidateAll();
+            } else {
+                log.info("Course rating aggregates reconciled: {}", report);
+            }
+            return report;
+        } finally {
+            reconcileRunning.set(false);
+        }
+    }
+
+    private enum RepairOutcome { UNCHANGED, CORRECTED, REMOVED }
+
+    private RepairOutcome repair(Long courseId) {
+        Optional<CourseRatingAggregate> current = aggregateRepository.findForUpdate(courseId);
+        RatingTally recount = aggregateRepository.tallyFeedbackForCourse(courseId);
+        RatingTally stored = current.map(a -> a.getStats().toTally()).orElse(new RatingTally());
+        if (recount.equals(stored)) {
+            return RepairOutcome.UNCHANGED;
+        }
+        if (recount.isZero()) {
+            aggregateRepository.deleteById(courseId);
+            return RepairOutcome.REMOVED;
+        }
+        aggregateRepository.replaceTally(courseId, recount);
+        return RepairOutcome.CORRECTED;
+    }
+}
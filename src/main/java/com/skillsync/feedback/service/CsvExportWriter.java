@@ -0,0 +1,80 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.FeedbackField;
+import com.skillsync.model.FeedbackView;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+// RFC 4180 CSV in UTF-8: a header of JSON field names, CRLF line ends, null as an empty cell,
+// quotes only around values that need them
+class CsvExportWriter implements FeedbackExportWriter {
+
+    private final List<FeedbackField> columns;
+    private final OutputStream out;
+    private final StringBuilder line = new StringBuilder(512);
+
+    CsvExportWriter(List<FeedbackField> columns, OutputStream out) {
+        this.columns = columns;
+        this.out = out;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            appendCell(i, columns.get(i).jsonName());
+        }
+        writeLine();
+    }
+
+    @Override
+    public void writeChunk(List<FeedbackView> rows) throws IOException {
+        for (FeedbackView row : rows) {
+            line.setLength(0);
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = row.get(columns.get(i));
+                appendCell(i, value == null ? null
+                        : value instanceof LocalDateTime time ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time)
+                        : value.toString());
+            }
+            writeLine();
+        }
+    }
+
+    @Override
+    public void finish() {
+        // CSV has no trailer
+    }
+
+    private void appendCell(int column, String value) {
+        if (column > 0) {
+            line.append(',');
+        }
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void writeLine() throws IOException {
+        line.append("\r\n");
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,177 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.Exception.DuplicateFeedbackException;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.FeedbackSubmission;
+import com.skillsync.repository.FeedbackSubmissionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The optional one-feedback-per-user-and-course policy. New submissions are checked against an
+ * in-memory Bloom filter of the (user, course) pairs that already have feedback: a miss is certain
+ * and costs no query, only a possible hit is confirmed against feedback_submission. That table is
+ * kept in the write transaction by the change events, and its primary key rejects whatever the
+ * check could not see (concurrent submissions, other instances).
+ * <p>
+ * The filter is warmed from the table at startup; until then every check asks the database.
+ */
+@Slf4j
+@Component
+public class DuplicateSubmissionGuard implements ApplicationRunner, MeterBinder {
+
+    private final FeedbackSubmissionRepository submissionRepository;
+    private final boolean enabled;
+    private final long expectedPairs;
+    private final double falsePositiveRate;
+
+    private volatile LongBloomFilter filter;
+    private volatile boolean warmed;
+    private final AtomicLong filterMisses = new AtomicLong();
+    private final AtomicLong confirmedNew = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+
+    @Autowired
+    public DuplicateSubmissionGuard(FeedbackSubmissionRepository submissionRepository,
+                                    @Value("${skillsync.feedback.submissions.one-per-user-course:false}") boolean enabled,
+                                    @Value("${skillsync.feedback.submissions.filter.expected-pairs:1000000}") long expectedPairs,
+                                    @Value("${skillsync.feedback.submissions.filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.submissionRepository = submissionRepository;
+        this.enabled = enabled;
+        this.expectedPairs = expectedPairs;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    // Catches up with feedback written while the policy was off, then loads every pair. Pairs claimed
+    // meanwhile go into the same filter, so none is missed once it is marked warm.
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int reconciled = submissionRepository.reconcile();
+        long pairs = submissionRepository.count();
+        // Room to grow: the filter is only rebuilt on restart
+        LongBloomFilter fresh = new LongBloomFilter(Math.max(expectedPairs, pairs * 2), falsePositiveRate);
+        filter = fresh;
+        submissionRepository.forEachKey((userId, courseId) -> fresh.put(key(userId, courseId)));
+        warmed = true;
+        log.info("Duplicate submission filter warmed with {} pairs ({} KB, {} rows reconciled) in {} ms",
+                pairs, fresh.sizeInBytes() / 1024, reconciled, System.currentTimeMillis() - start);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // True when the user already has feedback for the course (always false with the policy off)
+    public boolean isSubmitted(Long userId, Long courseId) {
+        if (!enabled || userId == null || courseId == null) {
+            return false;
+        }
+        LongBloomFilter current = filter;
+        if (warmed && !current.mightContain(key(userId, courseId))) {
+            filterMisses.incrementAndGet();
+            return false;
+        }
+        if (submissionRepository.existsById(new FeedbackSubmission.Key(userId, courseId))) {
+            duplicates.incrementAndGet();
+            return true;
+        }
+        confirmedNew.incrementAndGet();
+        return false;
+    }
+
+    public void checkNotSubmitted(Long userId, Long courseId) {
+        if (isSubmitted(userId, courseId)) {
+            throw new DuplicateFeedbackException(userId, courseId);
+        }
+    }
+
+    // Runs inside the write transaction: a claim that hits the primary key rolls the whole write back
+    @EventListener
+    public void onFeedbackChange(FeedbackChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<FeedbackSubmission> released = new ArrayList<>();
+        List<FeedbackSubmission> claimed = new ArrayList<>();
+        for (FeedbackChange change : event.changes()) {
+            // PATCHED never changes user or course; archived feedback keeps its claim
+            if (change.type() == FeedbackChange.Type.PATCHED || change.type() == FeedbackChange.Type.ARCHIVED) {
+                continue;
+            }
+            FeedbackSubmission before = submission(change.feedbackId(), change.before());
+            FeedbackSubmission after = submission(change.feedbackId(), change.after());
+            if (Objects.equals(before, after)) {
+                continue;
+            }
+            if (before != null) {
+                released.add(before);
+            }
+            if (after != null) {
+                claimed.add(after);
+            }
+        }
+        submissionRepository.release(released);
+        try {
+            submissionRepository.insertAll(claimed);
+        } catch (DuplicateKeyException e) {
+            duplicates.incrementAndGet();
+            throw claimed.size() == 1
+                    ? new DuplicateFeedbackException(claimed.get(0).getUserId(), claimed.get(0).getCourseId())
+                    : new DuplicateFeedbackException(e);
+        }
+        LongBloomFilter current = filter;
+        if (current != null) {
+            claimed.forEach(s -> current.put(key(s.getUserId(), s.getCourseId())));
+        }
+    }
+
+    private static FeedbackSubmission submission(Long feedbackId, FeedbackSnapshot snapshot) {
+        if (snapshot == null || snapshot.userId() == null || snapshot.courseId() == null) {
+            return null;
+        }
+        return new FeedbackSubmission(snapshot.userId(), snapshot.courseId(), feedbackId);
+    }
+
+    private static long key(long userId, long courseId) {
+        return userId * 0x9E3779B97F4A7C15L + courseId;
+    }
+
+    // skillsync.submissions.duplicate.checks{outcome=filter_miss|confirmed_new|duplicate}: filter_miss
+    // needed no query, confirmed_new counts the filter's false positives
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        register(registry, "filter_miss", filterMisses);
+        register(registry, "confirmed_new", confirmedNew);
+        register(registry, "duplicate", duplicates);
+    }
+
+    private static void register(MeterRegistry registry, String outcome, AtomicLong count) {
+        FunctionCounter.builder("skillsync.submissions.duplicate.checks", count, AtomicLong::get)
+                .description("One-feedback-per-course checks by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.dto.ArchiveRunStatus;
+
+public interface FeedbackArchiveService {
+
+    // Moves closed feedback past the configured age to the archive in the background; false when a run is
+    // already going
+    boolean startArchiving();
+
+    ArchiveRunStatus getStatus();
+}
@@ -0,0 +1,179 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.dto.ArchiveRunStatus;
+import com.skillsync.repository.FeedbackRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the live feedback table down to its working set. The archiver moves feedback that has been
+ * closed for longer than the configured age to feedback_archive, one small chunk per transaction with
+ * a pause in between, so live writers only ever wait on a chunk's row locks. Archived feedback leaves
+ * the listings (unless a filter asks for it), the tag index and search, but keeps counting in the
+ * aggregates, rollups and leaderboards.
+ * <p>
+ * On MySQL the live table is also range-partitioned by month of submission; the partitions for the
+ * coming months are split off p_future here, ahead of the rows that will fill them.
+ */
+@Slf4j
+@Service
+public class FeedbackArchiveServiceImpl implements FeedbackArchiveService, ApplicationRunner {
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final FeedbackRepository feedbackRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final String closedStatus;
+    private final int maxAgeDays;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final int partitionMonthsAhead;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ArchiveRunStatus lastRun;
+
+    @Autowired
+    public FeedbackArchiveServiceImpl(FeedbackRepository feedbackRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${skillsync.feedback.archive.closed-status:Closed}") String closedStatus,
+                                      @Value("${skillsync.feedback.archive.max-age-days:365}") int maxAgeDays,
+                                      @Value("${skillsync.feedback.archive.chunk-size:500}") int chunkSize,
+                                      @Value("${skillsync.feedback.archive.pause-ms:200}") long pauseMs,
+                                      @Value("${skillsync.feedback.archive.partition-months-ahead:3}") int partitionMonthsAhead) {
+        this.feedbackRepository = feedbackRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.closedStatus = closedStatus;
+        this.maxAgeDays = maxAgeDays;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.partitionMonthsAhead = partitionMonthsAhead;
+    }
+
+    // The first boundaries depend on when the migration ran, so catch up before any rows need them
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            maintainPartitions();
+        } catch (RuntimeException e) {
+            log.error("Could not add the upcoming feedback partitions", e);
+        }
+    }
+
+    @Override
+    public boolean startArchiving() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+        lastRun = new ArchiveRunStatus(true, cutoff, 0, 0, LocalDateTime.now(), null, null);
+        Thread thread = new Thread(() -> archive(cutoff), "feedback-archiver");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    @Override
+    public ArchiveRunStatus getStatus() {
+        ArchiveRunStatus status = lastRun;
+        return status != null ? status : new ArchiveRunStatus(false, null, 0, 0, null, null, null);
+    }
+
+    @Scheduled(cron = "${skillsync.feedback.archive.cron:-}")
+    public void scheduledArchive() {
+        if (!startArchiving()) {
+            log.info("Scheduled feedback archiving skipped: a run is already going");
+        }
+    }
+
+    // Splits monthly partitions off p_future until the one holding the month 'partition-months-ahead'
+    // from now exists; a no-op while the table is not partitioned
+    @Scheduled(cron = "${skillsync.feedback.archive.partition-cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        List<LocalDateTime> bounds = feedbackRepository.findPartitionBounds();
+        if (bounds.isEmpty()) {
+            return;
+        }
+        LocalDateTime until = LocalDate.now().withDayOfMonth(1).plusMonths(partitionMonthsAhead + 1L).atStartOfDay();
+        LocalDateTime last = bounds.get(bounds.size() - 1);
+        while (last.isBefore(until)) {
+            // Named after the month it holds: p202611 takes November 2026
+            LocalDateTime next = last.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay();
+            String name = last.format(PARTITION_NAME);
+            feedbackRepository.addPartition(name, next);
+            log.info("Added feedback partition {} for submissions before {}", name, next);
+            last = next;
+        }
+    }
+
+    private void archive(LocalDateTime cutoff) {
+        LocalDateTime startedAt = lastRun.startedAt();
+        int chunks = 0;
+        long archived = 0;
+        String error = null;
+        try {
+            List<Long> ids;
+            do {
+                ids = feedbackRepository.findArchivableIds(closedStatus, cutoff, chunkSize);
+                if (!ids.isEmpty()) {
+                    archived += archiveChunk(ids, cutoff);
+                    chunks++;
+                    lastRun = new ArchiveRunStatus(true, cutoff, chunks, archived, startedAt, null, null);
+                }
+                if (ids.size() == chunkSize && pauseMs > 0) {
+                    // Leaves the primary to live traffic between chunks
+                    Thread.sleep(pauseMs);
+                }
+            } while (ids.size() == chunkSize);
+        } catch (RuntimeException e) {
+            log.error("Feedback archiving failed after {} rows", archived, e);
+            error = e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "interrupted";
+        } finally {
+            lastRun = new ArchiveRunStatus(false, cutoff, chunks, archived, startedAt, LocalDateTime.now(), error);
+            running.set(false);
+        }
+        log.info("Feedback archiving finished: {}", lastRun);
+    }
+
+    // Rows are locked and re-checked first: one reopened or edited since it was picked stays live. The
+    // ARCHIVED changes go out with the commit, like those of any other write.
+    private int archiveChunk(List<Long> ids, LocalDateTime cutoff) {
+        return chunkTransaction.execute(status -> {
+            List<Feedback> rows = feedbackRepository.lockArchivable(ids, closedStatus, cutoff);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            int moved = feedbackRepository.moveToArchive(rows.stream().map(Feedback::getId).toList(),
+                    LocalDateTime.now());
+            eventPublisher.publishEvent(new FeedbackChangeEvent(rows.stream()
+                    .map(feedback -> FeedbackChange.archived(FeedbackSnapshot.of(feedback)))
+                    .toList()));
+            return moved;
+        });
+    }
+}
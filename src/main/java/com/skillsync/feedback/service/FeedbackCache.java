@@ -0,0 +1,278 @@
+package com.skillsync.feedback.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.skillsync.feedback.config.DataSourceRouting;
+import com.skillsync.feedback.event.CacheInvalidationBus;
+import com.skillsync.feedback.event.FeedbackCacheInvalidation;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackPage;
+import com.skillsync.model.FeedbackProjection;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.dto.CacheStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Size- and TTL-bounded read-through cache for single feedback rows and for per-course /
+ * per-trainer listing pages. Page keys carry a per-scope generation that is bumped on every
+ * change in that scope, plus the unscoped generation bumped by in-place patches (which do not say
+ * which course they touched), so a page loaded concurrently with a write can never be served after it.
+ * Invalidations go through the {@link CacheInvalidationBus} after commit.
+ * <p>
+ * The same generations back the HTTP validators of the listing and aggregate endpoints (see
+ * {@link #listingVersion} and {@link #aggregateVersion}). They live in memory, so every version also
+ * carries an epoch that is new on each start and on {@link #invalidateAll()}.
+ * <p>
+ * With read replicas, a scope stays unsettled for the replicas' maximum lag after each change:
+ * pages, rows and versioned responses of an unsettled scope are loaded from the primary, as a
+ * lagging replica would otherwise store old data under the new generation or tag.
+ */
+@Component
+public class FeedbackCache implements MeterBinder {
+
+    public enum Scope { COURSE, TRAINER }
+
+    private record ScopeKey(Scope scope, Long id) {
+    }
+
+    private record PageKey(ScopeKey scope, long generation, long unscopedGeneration, FeedbackProjection projection,
+                           String cursor, int size) {
+    }
+
+    // A validator for the HTTP layer; settled once the replicas can be trusted to have the data it stands for
+    public record Version(String tag, boolean settled) {
+    }
+
+    // Seeded with the start time so a restarted instance never reuses an earlier epoch
+    private static final AtomicLong EPOCHS = new AtomicLong(System.currentTimeMillis());
+    // Keys of the recent-change window besides ScopeKeys and feedback ids
+    private static final String ANY_CHANGE = "any";
+    private static final String UNSCOPED_CHANGE = "unscoped";
+    private static final String EVERYTHING_CHANGED = "all";
+
+    private final boolean enabled;
+    private final Cache<Long, Feedback> entities;
+    private final Cache<PageKey, FeedbackPage> pages;
+    // Scopes, feedback ids and markers changed within the replicas' maximum lag; null without replicas
+    private final Cache<Object, Boolean> recentChanges;
+    private final Map<ScopeKey, AtomicLong> generations = new ConcurrentHashMap<>();
+    // Bumped on every change, and on every change without scope information, respectively
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final AtomicLong unscopedGeneration = new AtomicLong();
+    private volatile String epoch = newEpoch();
+    private final CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    public FeedbackCache(CacheInvalidationBus invalidationBus,
+                         @Value("${skillsync.feedback.cache.enabled:true}") boolean enabled,
+                         @Value("${skillsync.feedback.cache.entity.max-size:10000}") long entityMaxSize,
+                         @Value("${skillsync.feedback.cache.entity.ttl-seconds:60}") long entityTtlSeconds,
+                         @Value("${skillsync.feedback.cache.page.max-size:1000}") long pageMaxSize,
+                         @Value("${skillsync.feedback.cache.page.ttl-seconds:30}") long pageTtlSeconds,
+                         @Value("${skillsync.feedback.replicas.enabled:false}") boolean replicasEnabled,
+                         @Value("${skillsync.feedback.replicas.max-lag-ms:1000}") long replicaMaxLagMs) {
+        this.enabled = enabled;
+        this.invalidationBus = invalidationBus;
+        this.entities = Caffeine.newBuilder()
+                .maximumSize(entityMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(entityTtlSeconds))
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(pageTtlSeconds))
+                .recordStats()
+                .build();
+        this.recentChanges = replicasEnabled
+                ? Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(replicaMaxLagMs)).build()
+                : null;
+        invalidationBus.subscribe(this::apply);
+    }
+
+    // The loader runs inside the cache's per-key computation, so an invalidation arriving
+    // mid-load waits for it and then removes the (possibly stale) result.
+    public Feedback getFeedback(Long id, Function<Long, Feedback> loader) {
+        Function<Long, Feedback> load = changedRecently(id)
+                ? key -> DataSourceRouting.onPrimary(() -> loader.apply(key))
+                : loader;
+        return enabled ? entities.get(id, load) : load.apply(id);
+    }
+
+    // Only plain course or trainer listings are cached; any other filter goes straight to the loader
+    public FeedbackPage getPage(FeedbackFilter filter, FeedbackProjection projection, String cursor, int size,
+                                Supplier<FeedbackPage> loader) {
+        ScopeKey scope = enabled ? cacheableScope(filter) : null;
+        Supplier<FeedbackPage> load = listingSettled(filter) ? loader : () -> DataSourceRouting.onPrimary(loader);
+        if (scope == null) {
+            return load.get();
+        }
+        // Both generations are read before the load, the same pair listingVersion hands out
+        PageKey key = new PageKey(scope, generation(scope.scope(), scope.id()), unscopedGeneration.get(), projection,
+                cursor, size);
+        return pages.get(key, k -> load.get());
+    }
+
+    // Changes whenever anything in the scope changes; usable as a cheap collection version
+    public long generation(Scope scope, Long id) {
+        AtomicLong generation = generations.get(new ScopeKey(scope, id));
+        return generation != null ? generation.get() : 0L;
+    }
+
+    // Changes whenever a row a listing with this filter may return changes. In-place patches do not
+    // say which course they touched, so course and trainer listings also follow the unscoped generation.
+    public Version listingVersion(FeedbackFilter filter) {
+        if (filter.courseId() != null) {
+            return new Version(epoch + "-c" + filter.courseId() + "." + generation(Scope.COURSE, filter.courseId())
+                    + "." + unscopedGeneration.get(), listingSettled(filter));
+        }
+        if (filter.trainerId() != null) {
+            return new Version(epoch + "-t" + filter.trainerId() + "." + generation(Scope.TRAINER, filter.trainerId())
+                    + "." + unscopedGeneration.get(), listingSettled(filter));
+        }
+        return globalVersion();
+    }
+
+    // Changes whenever the ratings or counts of the scope may change; in-place patches never touch them
+    public Version aggregateVersion(Scope scope, Long id) {
+        return new Version(epoch + "-" + (scope == Scope.COURSE ? "c" : "t") + id + "." + generation(scope, id),
+                !changedRecently(new ScopeKey(scope, id)));
+    }
+
+    public Version globalVersion() {
+        return new Version(epoch + "-g" + globalGeneration.get(), !changedRecently(ANY_CHANGE));
+    }
+
+    private boolean listingSettled(FeedbackFilter filter) {
+        ScopeKey scope = filter.courseId() != null ? new ScopeKey(Scope.COURSE, filter.courseId())
+                : filter.trainerId() != null ? new ScopeKey(Scope.TRAINER, filter.trainerId())
+                : null;
+        return scope != null
+                ? !changedRecently(scope) && !changedRecently(UNSCOPED_CHANGE)
+                : !changedRecently(ANY_CHANGE);
+    }
+
+    private boolean changedRecently(Object key) {
+        return recentChanges != null
+                && (recentChanges.getIfPresent(key) != null || recentChanges.getIfPresent(EVERYTHING_CHANGED) != null);
+    }
+
+    @TransactionalEventListener
+    public void onFeedbackChange(FeedbackChangeEvent event) {
+        Set<Long> feedbackIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        Set<Long> trainerIds = new HashSet<>();
+        boolean unscoped = false;
+        for (FeedbackChange change : event.changes()) {
+            feedbackIds.add(change.feedbackId());
+            collectScopes(change.before(), courseIds, trainerIds);
+            collectScopes(change.after(), courseIds, trainerIds);
+            unscoped |= change.type() == FeedbackChange.Type.PATCHED;
+        }
+        invalidationBus.publish(new FeedbackCacheInvalidation(feedbackIds, courseIds, trainerIds, unscoped));
+    }
+
+    private static void collectScopes(FeedbackSnapshot snapshot, Set<Long> courseIds, Set<Long> trainerIds) {
+        if (snapshot == null) {
+            return;
+        }
+        if (snapshot.courseId() != null) {
+            courseIds.add(snapshot.courseId());
+        }
+        if (snapshot.trainerId() != null) {
+            trainerIds.add(snapshot.trainerId());
+        }
+    }
+
+    void apply(FeedbackCacheInvalidation invalidation) {
+        invalidation.courseIds().forEach(id -> bump(Scope.COURSE, id));
+        invalidation.trainerIds().forEach(id -> bump(Scope.TRAINER, id));
+        if (invalidation.unscoped()) {
+            unscopedGeneration.incrementAndGet();
+        }
+        globalGeneration.incrementAndGet();
+        if (recentChanges != null) {
+            invalidation.courseIds().forEach(id -> recentChanges.put(new ScopeKey(Scope.COURSE, id), Boolean.TRUE));
+            invalidation.trainerIds().forEach(id -> recentChanges.put(new ScopeKey(Scope.TRAINER, id), Boolean.TRUE));
+            invalidation.feedbackIds().forEach(id -> recentChanges.put(id, Boolean.TRUE));
+            if (invalidation.unscoped()) {
+                recentChanges.put(UNSCOPED_CHANGE, Boolean.TRUE);
+            }
+            recentChanges.put(ANY_CHANGE, Boolean.TRUE);
+        }
+        // Pages need no removal: their keys no longer match, and the old entries age out
+        entities.invalidateAll(invalidation.feedbackIds());
+    }
+
+    private void bump(Scope scope, Long id) {
+        generations.computeIfAbsent(new ScopeKey(scope, id), k -> new AtomicLong()).incrementAndGet();
+    }
+
+    // For changes made behind the event stream (aggregate repairs, rollup backfills): drops both
+    // caches and starts a new epoch, so every version handed out so far stops matching
+    public void invalidateAll() {
+        epoch = newEpoch();
+        if (recentChanges != null) {
+            recentChanges.put(EVERYTHING_CHANGED, Boolean.TRUE);
+        }
+        entities.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    private static String newEpoch() {
+        return Long.toString(EPOCHS.incrementAndGet(), 36);
+    }
+
+    // cache.gets / cache.size / cache.evictions meters, tagged cache=feedback.entities|feedback.pages
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entities, "feedback.entities");
+        CaffeineCacheMetrics.monitor(registry, pages, "feedback.pages");
+    }
+
+    public Map<String, CacheStatistics> getStatistics() {
+        Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+        statistics.put("feedback", statistics(entities.estimatedSize(), entities.stats()));
+        statistics.put("pages", statistics(pages.estimatedSize(), pages.stats()));
+        return statistics;
+    }
+
+    private static CacheStatistics statistics(long size, CacheStats stats) {
+        return new CacheStatistics(size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+
+    private static ScopeKey cacheableScope(FeedbackFilter filter) {
+        boolean othersEmpty = filter.userId() == null && filter.status() == null && !filter.hasTags()
+                && filter.minRating() == null && filter.startDate() == null && filter.endDate() == null
+                && !filter.includesArchive();
+        if (!othersEmpty) {
+            return null;
+        }
+        if (filter.courseId() != null && filter.trainerId() == null) {
+            return new ScopeKey(Scope.COURSE, filter.courseId());
+        }
+        if (filter.trainerId() != null && filter.courseId() == null) {
+            return new ScopeKey(Scope.TRAINER, filter.trainerId());
+        }
+        return null;
+    }
+}
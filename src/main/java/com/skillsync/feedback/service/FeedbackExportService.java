@@ -0,0 +1,30 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.ExportFormat;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.dto.ExportJob;
+import com.skillsync.model.dto.ExportRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface FeedbackExportService {
+
+    // Writes every row matching the filter to the stream, one flushed chunk at a time
+    void export(FeedbackFilter filter, ExportFormat format, String fields, OutputStream out) throws IOException;
+
+    // Starts a background export to a local file; followed through getJob
+    ExportJob start(ExportRequest request);
+
+    Optional<ExportJob> getJob(String jobId);
+
+    // Continues a FAILED or INTERRUPTED job after its last committed chunk
+    Optional<ExportJob> resume(String jobId);
+
+    // The output of a COMPLETED job
+    Optional<Path> getFile(String jobId);
+
+    boolean delete(String jobId);
+}
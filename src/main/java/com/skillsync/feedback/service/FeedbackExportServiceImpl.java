@@ -0,0 +1,351 @@
+package com.skillsync.feedback.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.Exception.ExportJobStateException;
+import com.skillsync.model.ExportFormat;
+import com.skillsync.model.FeedbackCursor;
+import com.skillsync.model.FeedbackField;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackProjection;
+import com.skillsync.model.FeedbackView;
+import com.skillsync.model.dto.ExportJob;
+import com.skillsync.model.dto.ExportRequest;
+import com.skillsync.repository.FeedbackRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exports for offline analytics. Rows are read in keyset chunks, each one short statement outside
+ * any transaction, and written out before the next chunk is read: a running export holds one chunk,
+ * however many rows match, and no connection or snapshot between chunks. File exports save a
+ * checkpoint (keyset position and committed file length) next to the output after every chunk, so a
+ * failed job, or one cut off by a shutdown, resumes after its last chunk instead of starting over.
+ */
+@Slf4j
+@Service
+@RegisterReflectionForBinding(FeedbackExportServiceImpl.Checkpoint.class)
+public class FeedbackExportServiceImpl implements FeedbackExportService, ApplicationRunner {
+
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint.json";
+
+    // What is saved after every chunk: the file holds exactly 'bytes' bytes for the 'rows' rows up to 'cursor'
+    record Checkpoint(String jobId, ExportRequest request, String cursor, long rows, long bytes, int resumes,
+                      ExportJob.State state, String error, LocalDateTime startedAt, LocalDateTime finishedAt) {
+
+        Checkpoint chunk(FeedbackCursor after, int chunkRows, long length) {
+            return new Checkpoint(jobId, request, after != null ? after.encode() : cursor, rows + chunkRows, length,
+                    resumes, state, error, startedAt, finishedAt);
+        }
+
+        Checkpoint finish(ExportJob.State outcome, String failure) {
+            return new Checkpoint(jobId, request, cursor, rows, bytes, resumes, outcome, failure, startedAt,
+                    LocalDateTime.now());
+        }
+
+        Checkpoint resumed() {
+            return new Checkpoint(jobId, request, cursor, rows, bytes, resumes + 1, ExportJob.State.RUNNING, null,
+                    startedAt, null);
+        }
+
+        ExportJob toJob() {
+            return new ExportJob(jobId, state, request.format(), rows, bytes, resumes, error, startedAt, finishedAt);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkListener {
+        void written(FeedbackCursor after, int rows) throws IOException;
+    }
+
+    private final FeedbackRepository feedbackRepository;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int chunkSize;
+    private final boolean fsync;
+    private final long retentionHours;
+    private final int snippetLength;
+    private final ExecutorService executor;
+    private final Map<String, Checkpoint> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FeedbackExportServiceImpl(FeedbackRepository feedbackRepository,
+                                     ObjectMapper objectMapper,
+                                     @Value("${skillsync.feedback.export.directory:data/exports}") String directory,
+                                     @Value("${skillsync.feedback.export.chunk-size:2000}") int chunkSize,
+                                     @Value("${skillsync.feedback.export.max-concurrent:2}") int maxConcurrent,
+                                     @Value("${skillsync.feedback.export.fsync:true}") boolean fsync,
+                                     @Value("${skillsync.feedback.export.retention-hours:72}") long retentionHours,
+                                     @Value("${skillsync.feedback.pagination.snippet-length:200}") int snippetLength) {
+        this.feedbackRepository = feedbackRepository;
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+        this.chunkSize = chunkSize;
+        this.fsync = fsync;
+        this.retentionHours = retentionHours;
+        this.snippetLength = snippetLength;
+        // Jobs beyond the limit wait in the queue (state RUNNING, no rows yet)
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent,
+                runnable -> new Thread(runnable, "feedback-export-" + threads.incrementAndGet()));
+    }
+
+    // Picks up the jobs of earlier runs; any that were still running were cut off and can be resumed
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + CHECKPOINT_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    Checkpoint checkpoint = objectMapper.readValue(file.toFile(), Checkpoint.class);
+                    if (checkpoint.state() == ExportJob.State.RUNNING) {
+                        checkpoint = checkpoint.finish(ExportJob.State.INTERRUPTED, "interrupted by a shutdown");
+                        save(checkpoint);
+                    }
+                    jobs.put(checkpoint.jobId(), checkpoint);
+                } catch (IOException e) {
+                    log.warn("Ignoring unreadable export checkpoint {}", file, e);
+                }
+            }
+        }
+        if (!jobs.isEmpty()) {
+            log.info("Loaded {} export jobs from {}", jobs.size(), directory.toAbsolutePath());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void export(FeedbackFilter filter, ExportFormat format, String fields, OutputStream out) throws IOException {
+        FeedbackProjection projection = projection(fields);
+        FeedbackExportWriter writer = FeedbackExportWriter.of(format, columns(projection), out);
+        writer.begin();
+        writeChunks(filter, projection, null, writer, out, (after, rows) -> {
+        });
+    }
+
+    @Override
+    public ExportJob start(ExportRequest request) {
+        ExportRequest normalized = new ExportRequest(
+                request.filter() != null ? request.filter() : FeedbackFilter.none(),
+                request.format() != null ? request.format() : ExportFormat.CSV,
+                request.fields());
+        projection(normalized.fields()); // rejects unknown fields before anything is created
+        Checkpoint checkpoint = new Checkpoint(UUID.randomUUID().toString(), normalized, null, 0, 0, 0,
+                ExportJob.State.RUNNING, null, LocalDateTime.now(), null);
+        try {
+            Files.createDirectories(directory);
+            save(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create export job", e);
+        }
+        jobs.put(checkpoint.jobId(), checkpoint);
+        executor.execute(() -> runJob(checkpoint.jobId()));
+        return checkpoint.toJob();
+    }
+
+    @Override
+    public Optional<ExportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Checkpoint::toJob);
+    }
+
+    @Override
+    public Optional<ExportJob> resume(String jobId) {
+        Checkpoint resumed = jobs.computeIfPresent(jobId, (id, job) -> {
+            if (job.state() == ExportJob.State.RUNNING || job.state() == ExportJob.State.COMPLETED) {
+                throw new ExportJobStateException(id, "is " + job.state() + "; only FAILED or INTERRUPTED jobs resume");
+            }
+            return job.resumed();
+        });
+        if (resumed == null) {
+            return Optional.empty();
+        }
+        try {
+            save(resumed);
+        } catch (IOException e) {
+            log.warn("Could not save checkpoint of resumed export {}", jobId, e);
+        }
+        executor.execute(() -> runJob(jobId));
+        return Optional.of(resumed.toJob());
+    }
+
+    @Override
+    public Optional<Path> getFile(String jobId) {
+        Checkpoint job = jobs.get(jobId);
+        return job != null && job.state() == ExportJob.State.COMPLETED
+                ? Optional.of(outputFile(job))
+                : Optional.empty();
+    }
+
+    @Override
+    public boolean delete(String jobId) {
+        Checkpoint job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        if (job.state() == ExportJob.State.RUNNING) {
+            throw new ExportJobStateException(jobId, "is still running");
+        }
+        jobs.remove(jobId);
+        try {
+            Files.deleteIfExists(outputFile(job));
+            Files.deleteIfExists(checkpointFile(jobId));
+            Files.deleteIfExists(temporaryFile(checkpointFile(jobId)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete export " + jobId, e);
+        }
+        return true;
+    }
+
+    // Finished jobs, with their files, are kept for skillsync.feedback.export.retention-hours
+    @Scheduled(fixedDelayString = "${skillsync.feedback.export.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        jobs.values().stream()
+                .filter(job -> job.state() != ExportJob.State.RUNNING && job.finishedAt() != null
+                        && job.finishedAt().isBefore(cutoff))
+                .map(Checkpoint::jobId)
+                .toList()
+                .forEach(jobId -> {
+                    try {
+                        delete(jobId);
+                    } catch (RuntimeException e) {
+                        log.warn("Could not purge export {}", jobId, e);
+                    }
+                });
+    }
+
+    private void runJob(String jobId) {
+        long start = System.currentTimeMillis();
+        Checkpoint checkpoint = jobs.get(jobId);
+        ExportRequest request = checkpoint.request();
+        try (FileChannel channel = FileChannel.open(outputFile(checkpoint), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            // Anything past the checkpoint is a partial chunk of an earlier attempt
+            channel.truncate(checkpoint.bytes());
+            channel.position(checkpoint.bytes());
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            FeedbackProjection projection = projection(request.fields());
+            FeedbackExportWriter writer = FeedbackExportWriter.of(request.format(), columns(projection), out);
+            if (checkpoint.bytes() == 0) {
+                writer.begin();
+            }
+            FeedbackCursor after = checkpoint.cursor() != null ? FeedbackCursor.decode(checkpoint.cursor()) : null;
+            writeChunks(request.filter(), projection, after, writer, out, (cursor, rows) -> {
+                if (fsync) {
+                    channel.force(false);
+                }
+                update(jobs.get(jobId).chunk(cursor, rows, channel.position()));
+            });
+            finish(jobId, ExportJob.State.COMPLETED, null);
+        } catch (ClosedByInterruptException | InterruptedIOException e) {
+            Thread.interrupted(); // lets the checkpoint be written; the thread is on its way out anyway
+            finish(jobId, ExportJob.State.INTERRUPTED, "interrupted by a shutdown");
+        } catch (IOException | RuntimeException e) {
+            log.error("Export {} failed after {} rows", jobId, jobs.get(jobId).rows(), e);
+            finish(jobId, ExportJob.State.FAILED, e.getMessage());
+        }
+        Checkpoint done = jobs.get(jobId);
+        log.info("Export {} {}: {} rows, {} bytes in {} ms", jobId, done.state(), done.rows(), done.bytes(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Keyset walk in (submissionTimestamp DESC, id DESC) order. Rows submitted after the export began
+    // sort before the position already reached, so they do not shift the rows still to come.
+    private void writeChunks(FeedbackFilter filter, FeedbackProjection projection, FeedbackCursor after,
+                             FeedbackExportWriter writer, OutputStream out, ChunkListener listener) throws IOException {
+        List<FeedbackView> rows;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("export interrupted");
+            }
+            rows = feedbackRepository.findPage(filter, projection, after, chunkSize);
+            if (!rows.isEmpty()) {
+                writer.writeChunk(rows);
+                after = FeedbackCursor.after(rows.get(rows.size() - 1));
+            }
+            if (rows.size() < chunkSize) {
+                writer.finish();
+            }
+            out.flush();
+            listener.written(after, rows.size());
+        } while (rows.size() == chunkSize);
+    }
+
+    // Full rows unless fields= narrows them; a selected snippet uses the listing length
+    private FeedbackProjection projection(String fields) {
+        FeedbackProjection full = new FeedbackProjection(FeedbackProjection.full().fields(), snippetLength);
+        return FeedbackProjection.parse(fields, full);
+    }
+
+    private static List<FeedbackField> columns(FeedbackProjection projection) {
+        return List.copyOf(projection.fields());
+    }
+
+    private void update(Checkpoint checkpoint) throws IOException {
+        jobs.put(checkpoint.jobId(), checkpoint);
+        save(checkpoint);
+    }
+
+    private void finish(String jobId, ExportJob.State state, String error) {
+        try {
+            update(jobs.get(jobId).finish(state, error));
+        } catch (IOException e) {
+            log.warn("Could not save checkpoint of export {}", jobId, e);
+        }
+    }
+
+    // Written beside the target and moved over it, so a crash never leaves a torn checkpoint
+    private void save(Checkpoint checkpoint) throws IOException {
+        Path file = checkpointFile(checkpoint.jobId());
+        Path temp = temporaryFile(file);
+        Files.write(temp, objectMapper.writeValueAsBytes(checkpoint));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path temporaryFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    private Path outputFile(Checkpoint checkpoint) {
+        return directory.resolve(checkpoint.jobId() + "." + checkpoint.request().format().extension());
+    }
+
+    private Path checkpointFile(String jobId) {
+        return directory.resolve(jobId + CHECKPOINT_SUFFIX);
+    }
+}
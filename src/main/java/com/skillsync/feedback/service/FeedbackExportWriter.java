@@ -0,0 +1,31 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.ExportFormat;
+import com.skillsync.model.FeedbackField;
+import com.skillsync.model.FeedbackView;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Serializes export chunks in one format. {@link #begin()} writes the header or schema and is
+ * skipped when appending to a resumed file; after each {@link #writeChunk} the output ends on a
+ * boundary a resumed export can continue from.
+ */
+interface FeedbackExportWriter {
+
+    void begin() throws IOException;
+
+    void writeChunk(List<FeedbackView> rows) throws IOException;
+
+    // Trailer, if the format has one; nothing may be written after it
+    void finish() throws IOException;
+
+    static FeedbackExportWriter of(ExportFormat format, List<FeedbackField> columns, OutputStream out) {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(columns, out);
+            case ARROW -> new ArrowStreamExportWriter(columns, out);
+        };
+    }
+}
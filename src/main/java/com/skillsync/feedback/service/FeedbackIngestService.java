@@ -0,0 +1,18 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.Feedback;
+import com.skillsync.model.dto.BatchIngestResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface FeedbackIngestService {
+
+    // Validates and stores a JSON array (or NDJSON stream) of feedback in JDBC batches,
+    // reporting per-item errors instead of failing the whole request
+    BatchIngestResult ingest(InputStream body, boolean ndjson) throws IOException;
+
+    // Inserts already validated feedback in one transaction and returns them with ids assigned
+    List<Feedback> insertBatch(List<Feedback> feedback);
+}
@@ -0,0 +1,252 @@
+package com.skillsync.feedback.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.FeedbackTags;
+import com.skillsync.model.dto.BatchIngestResult;
+import com.skillsync.model.dto.BatchItemError;
+import com.skillsync.model.dto.FeedbackRequest;
+import com.skillsync.repository.FeedbackRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+
+@Slf4j
+@Service
+@RegisterReflectionForBinding(FeedbackRequest.class)
+public class FeedbackIngestServiceImpl implements FeedbackIngestService {
+
+    private final FeedbackRepository feedbackRepository;
+    private final FeedbackTagService feedbackTagService;
+    private final DuplicateSubmissionGuard duplicateSubmissionGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    @Autowired
+    public FeedbackIngestServiceImpl(FeedbackRepository feedbackRepository,
+                                     FeedbackTagService feedbackTagService,
+                                     DuplicateSubmissionGuard duplicateSubmissionGuard,
+                                     ApplicationEventPublisher eventPublisher,
+                                     ObjectMapper objectMapper,
+                                     Validator validator,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${skillsync.feedback.ingest.batch-size:500}") int batchSize,
+                                     @Value("${skillsync.feedback.ingest.max-reported-errors:1000}") int maxReportedErrors) {
+        this.feedbackRepository = feedbackRepository;
+        this.feedbackTagService = feedbackTagService;
+        this.duplicateSubmissionGuard = duplicateSubmissionGuard;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public BatchIngestResult ingest(InputStream body, boolean ndjson) throws IOException {
+        Ingestion ingestion = new Ingestion();
+        if (ndjson) {
+            readNdjson(body, ingestion);
+        } else {
+            readJsonArray(body, ingestion);
+        }
+        ingestion.flush();
+        return ingestion.result();
+    }
+
+    // One JSON document per non-blank line; a malformed line only rejects that item
+    private void readNdjson(InputStream body, Ingestion ingestion) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long index = ingestion.nextIndex();
+            try {
+                ingestion.accept(index, objectMapper.readTree(line));
+            } catch (JsonProcessingException e) {
+                ingestion.reject(index, List.of("Malformed JSON: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    // Elements are read one at a time from the parser, so the array is never held in memory.
+    // A syntax error leaves the parser unusable: the item is rejected and the rest of the body ignored.
+    private void readJsonArray(InputStream body, Ingestion ingestion) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                ingestion.reject(ingestion.nextIndex(), List.of("Request body must be a JSON array"));
+                return;
+            }
+            JsonToken token;
+            while (true) {
+                long index = ingestion.nextIndex();
+                try {
+                    token = parser.nextToken();
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        ingestion.unread();
+                        return;
+                    }
+                    ingestion.accept(index, parser.readValueAsTree());
+                } catch (JsonProcessingException e) {
+                    ingestion.reject(index, List.of("Malformed JSON, remaining input ignored: " + e.getOriginalMessage()));
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<Feedback> insertBatch(List<Feedback> feedback) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, SortedSet<String>> tagsByFeedback = new HashMap<>();
+            List<SortedSet<String>> tags = new ArrayList<>(feedback.size());
+            for (Feedback f : feedback) {
+                SortedSet<String> parsed = FeedbackTags.parse(f.getTags());
+                f.setTags(FeedbackTags.join(parsed));
+                tags.add(parsed);
+            }
+            feedbackRepository.insertAll(feedback);
+
+            List<FeedbackChange> changes = new ArrayList<>(feedback.size());
+            for (int i = 0; i < feedback.size(); i++) {
+                Feedback f = feedback.get(i);
+                if (!tags.get(i).isEmpty()) {
+                    tagsByFeedback.put(f.getId(), tags.get(i));
+                }
+                changes.add(FeedbackChange.created(FeedbackSnapshot.of(f)));
+            }
+            feedbackTagService.addTags(tagsByFeedback);
+            // Derived tables apply the whole batch at once (e.g. one aggregate upsert per course)
+            eventPublisher.publishEvent(new FeedbackChangeEvent(changes));
+            return feedback;
+        });
+    }
+
+    // Per-request state: the pending batch plus running counts and reported errors
+    private final class Ingestion {
+        private final long start = System.nanoTime();
+        private final List<Feedback> pending = new ArrayList<>();
+        private final List<Long> pendingIndexes = new ArrayList<>();
+        // (user, course) pairs of the pending batch, for the one-feedback-per-course policy
+        private final Set<List<Long>> pendingPairs = new HashSet<>();
+        private final List<BatchItemError> errors = new ArrayList<>();
+        private long received;
+        private long inserted;
+        private long rejected;
+
+        long nextIndex() {
+            return received++;
+        }
+
+        void unread() {
+            received--;
+        }
+
+        // Items bind to the same request DTO as POST /api/feedback: id, version and the timestamps are
+        // never taken from the client
+        void accept(long index, JsonNode node) {
+            FeedbackRequest request;
+            try {
+                request = objectMapper.treeToValue(node, FeedbackRequest.class);
+            } catch (JsonProcessingException e) {
+                reject(index, List.of("Invalid feedback: " + e.getOriginalMessage()));
+                return;
+            } catch (IllegalArgumentException e) {
+                reject(index, List.of("Invalid feedback: " + e.getMessage()));
+                return;
+            }
+            if (request == null) {
+                reject(index, List.of("Invalid feedback: expected a JSON object"));
+                return;
+            }
+            List<String> violations = validator.validate(request).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList();
+            if (!violations.isEmpty()) {
+                reject(index, violations);
+                return;
+            }
+            Feedback feedback = request.toFeedback();
+            if (duplicateSubmissionGuard.isEnabled()
+                    && (!pendingPairs.add(List.of(feedback.getUserId(), feedback.getCourseId()))
+                    || duplicateSubmissionGuard.isSubmitted(feedback.getUserId(), feedback.getCourseId()))) {
+                reject(index, List.of("User " + feedback.getUserId() + " has already given feedback for course "
+                        + feedback.getCourseId()));
+                return;
+            }
+            pending.add(feedback);
+            pendingIndexes.add(index);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long index, List<String> messages) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BatchItemError(index, messages));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                insertBatch(pending);
+                inserted += pending.size();
+            } catch (DataAccessException e) {
+                String message = "Batch insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                log.warn("Feedback batch of {} items failed", pending.size(), e);
+                pendingIndexes.forEach(index -> reject(index, List.of(message)));
+            }
+            pending.clear();
+            pendingIndexes.clear();
+            pendingPairs.clear();
+        }
+
+        BatchIngestResult result() {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            double rowsPerSecond = elapsedMillis == 0 ? inserted : inserted * 1000.0 / elapsedMillis;
+            return new BatchIngestResult(received, inserted, rejected, elapsedMillis, rowsPerSecond,
+                    List.copyOf(errors), rejected > errors.size());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.RollupGranularity;
+import com.skillsync.model.RollupScope;
+import com.skillsync.model.dto.RollupBackfillStatus;
+import com.skillsync.model.dto.TimeseriesPoint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FeedbackRollupService {
+
+    // Buckets with feedback in [from, to), oldest first; from/to default to a range suiting the granularity
+    List<TimeseriesPoint> getTimeseries(RollupScope scope, Long scopeId, RollupGranularity granularity,
+                                        LocalDateTime from, LocalDateTime to);
+
+    // Recomputes the rollups of all history in the background; false when a backfill is already running
+    boolean startBackfill();
+
+    RollupBackfillStatus getBackfillStatus();
+}
@@ -0,0 +1,255 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.Exception.InvalidTimeseriesRequestException;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.FeedbackRollup;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.RatingTally;
+import com.skillsync.model.RollupGranularity;
+import com.skillsync.model.RollupScope;
+import com.skillsync.model.dto.RollupBackfillStatus;
+import com.skillsync.model.dto.TimeseriesPoint;
+import com.skillsync.repository.FeedbackRepository;
+import com.skillsync.repository.FeedbackRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Hourly, daily and weekly rating tallies per course and per trainer. Feedback writes add their
+ * deltas in the same transaction (like the course aggregates); the backfill recomputes history one
+ * week-aligned window at a time, several windows in parallel, and also repairs any drift.
+ */
+@Slf4j
+@Service
+public class FeedbackRollupServiceImpl implements FeedbackRollupService, ApplicationRunner {
+
+    private final FeedbackRollupRepository rollupRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final TransactionTemplate windowTransaction;
+    private final FeedbackCache feedbackCache;
+    private final boolean backfillOnStartup;
+    private final int backfillThreads;
+    private final int maxPoints;
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+    private volatile RollupBackfillStatus lastBackfill;
+
+    @Autowired
+    public FeedbackRollupServiceImpl(FeedbackRollupRepository rollupRepository,
+                                     FeedbackRepository feedbackRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     FeedbackCache feedbackCache,
+                                     @Value("${skillsync.feedback.rollups.backfill-on-startup:true}") boolean backfillOnStartup,
+                                     @Value("${skillsync.feedback.rollups.backfill-threads:4}") int backfillThreads,
+                                     @Value("${skillsync.feedback.rollups.max-points:2000}") int maxPoints) {
+        this.rollupRepository = rollupRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.feedbackCache = feedbackCache;
+        // REPEATABLE READ: the stored rollups and the feedback rows of a window are read from one snapshot
+        this.windowTransaction = new TransactionTemplate(transactionManager);
+        this.windowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.windowTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.backfillOnStartup = backfillOnStartup;
+        this.backfillThreads = backfillThreads;
+        this.maxPoints = maxPoints;
+    }
+
+    // First start after the rollup table was added: fill it from the existing feedback
+    @Override
+    public void run(ApplicationArguments args) {
+        if (backfillOnStartup && rollupRepository.count() == 0 && feedbackRepository.count() > 0) {
+            startBackfill();
+        }
+    }
+
+    // Runs synchronously inside the feedback write transaction, so the buckets commit or roll back with it
+    @EventListener
+    public void onFeedbackChange(FeedbackChangeEvent event) {
+        Map<FeedbackRollup.Key, RatingTally> deltas = new HashMap<>();
+        for (FeedbackChange change : event.changes()) {
+            // PATCHED changes carry no snapshots and never touch ratings; archived feedback keeps counting
+            if (change.type() == FeedbackChange.Type.ARCHIVED) {
+                continue;
+            }
+            addBuckets(deltas, change.before(), -1);
+            addBuckets(deltas, change.after(), 1);
+        }
+        rollupRepository.applyDeltas(deltas);
+    }
+
+    private static void addBuckets(Map<FeedbackRollup.Key, RatingTally> tallies, FeedbackSnapshot feedback, int sign) {
+        if (feedback == null || feedback.submissionTimestamp() == null) {
+            return;
+        }
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime bucket = granularity.bucketStart(feedback.submissionTimestamp());
+            if (feedback.courseId() != null) {
+                addBucket(tallies, new FeedbackRollup.Key(RollupScope.COURSE, feedback.courseId(), granularity, bucket),
+                        feedback, sign);
+            }
+            if (feedback.trainerId() != null) {
+                addBucket(tallies, new FeedbackRollup.Key(RollupScope.TRAINER, feedback.trainerId(), granularity, bucket),
+                        feedback, sign);
+            }
+        }
+    }
+
+    private static void addBucket(Map<FeedbackRollup.Key, RatingTally> tallies, FeedbackRollup.Key key,
+                                  FeedbackSnapshot feedback, int sign) {
+        RatingTally tally = tallies.computeIfAbsent(key, k -> new RatingTally());
+        if (sign > 0) {
+            tally.add(feedback);
+        } else {
+            tally.subtract(feedback);
+        }
+    }
+
+    @Override
+    public List<TimeseriesPoint> getTimeseries(RollupScope scope, Long scopeId, RollupGranularity granularity,
+                                               LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = granularity.bucketStart(from != null ? from : end.minus(defaultRange(granularity)));
+        if (!start.isBefore(end)) {
+            throw new InvalidTimeseriesRequestException("'from' must be before 'to'");
+        }
+        long points = Duration.between(start, end).dividedBy(granularity.length()) + 1;
+        if (points > maxPoints) {
+            throw new InvalidTimeseriesRequestException(points + " " + granularity + " buckets requested (max "
+                    + maxPoints + "); use a coarser granularity or a shorter range");
+        }
+        return rollupRepository.findSeries(scope, scopeId, granularity, start, end).stream()
+                .map(TimeseriesPoint::of)
+                .toList();
+    }
+
+    private static Duration defaultRange(RollupGranularity granularity) {
+        return switch (granularity) {
+            case HOUR -> Duration.ofDays(7);
+            case DAY -> Duration.ofDays(90);
+            case WEEK -> Duration.ofDays(364);
+        };
+    }
+
+    @Override
+    public boolean startBackfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        lastBackfill = new RollupBackfillStatus(true, 0, 0, 0, 0, LocalDateTime.now(), null, null);
+        Thread thread = new Thread(this::backfill, "rollup-backfill");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    @Override
+    public RollupBackfillStatus getBackfillStatus() {
+        RollupBackfillStatus status = lastBackfill;
+        return status != null ? status : new RollupBackfillStatus(false, 0, 0, 0, 0, null, null, null);
+    }
+
+    @Scheduled(cron = "${skillsync.feedback.rollups.backfill-cron:-}")
+    public void scheduledBackfill() {
+        if (!startBackfill()) {
+            log.info("Scheduled rollup backfill skipped: one is already running");
+        }
+    }
+
+    private void backfill() {
+        LocalDateTime startedAt = lastBackfill.startedAt();
+        AtomicInteger windowsDone = new AtomicInteger();
+        AtomicLong scanned = new AtomicLong();
+        AtomicLong corrected = new AtomicLong();
+        List<LocalDateTime> windows = new ArrayList<>();
+        String error = null;
+        ExecutorService workers = Executors.newFixedThreadPool(backfillThreads);
+        try {
+            // Archived feedback keeps counting in the rollups, so the windows start at the oldest of either
+            LocalDateTime first = Stream.of(feedbackRepository.findFirstSubmissionTimestamp(),
+                            feedbackRepository.findFirstArchivedSubmissionTimestamp())
+                    .filter(Objects::nonNull)
+                    .min(Comparator.naturalOrder())
+                    .orElse(null);
+            if (first != null) {
+                LocalDateTime last = RollupGranularity.WEEK.bucketStart(LocalDateTime.now());
+                for (LocalDateTime week = RollupGranularity.WEEK.bucketStart(first); !week.isAfter(last);
+                     week = week.plusWeeks(1)) {
+                    windows.add(week);
+                }
+            }
+            List<Future<?>> tasks = new ArrayList<>();
+            for (LocalDateTime week : windows) {
+                tasks.add(workers.submit(() -> {
+                    reconcileWindow(week, week.plusWeeks(1), scanned, corrected);
+                    lastBackfill = new RollupBackfillStatus(true, windows.size(), windowsDone.incrementAndGet(),
+                            scanned.get(), corrected.get(), startedAt, null, null);
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Rollup backfill failed after {} of {} windows", windowsDone.get(), windows.size(), e);
+            error = e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "interrupted";
+        } finally {
+            workers.shutdownNow();
+            lastBackfill = new RollupBackfillStatus(false, windows.size(), windowsDone.get(), scanned.get(),
+                    corrected.get(), startedAt, LocalDateTime.now(), error);
+            backfillRunning.set(false);
+        }
+        if (lastBackfill.bucketsCorrected() > 0) {
+            // Corrections bypass the change events, so the timeseries validators must not match any more
+            feedbackCache.invalidateAll();
+        }
+        log.info("Rollup backfill finished: {}", lastBackfill);
+    }
+
+    // Adds (recount - stored) to every bucket of the window. Both sides come from the same snapshot,
+    // and the increments apply on top of whatever writers committed since, so nothing is locked
+    // beyond the rows being corrected and concurrent feedback writes are never lost.
+    private void reconcileWindow(LocalDateTime from, LocalDateTime to, AtomicLong scanned, AtomicLong corrected) {
+        windowTransaction.executeWithoutResult(status -> {
+            Map<FeedbackRollup.Key, RatingTally> stored = rollupRepository.findTalliesStartingBetween(from, to);
+            Map<FeedbackRollup.Key, RatingTally> corrections = new HashMap<>();
+            feedbackRepository.forEachSubmittedBetween(from, to, true, feedback -> {
+                addBuckets(corrections, FeedbackSnapshot.of(feedback), 1);
+                scanned.incrementAndGet();
+            });
+            stored.forEach((key, tally) -> corrections.computeIfAbsent(key, k -> new RatingTally()).subtract(tally));
+            corrections.values().removeIf(RatingTally::isZero);
+            rollupRepository.applyDeltas(corrections);
+            rollupRepository.deleteEmptyStartingBetween(from, to);
+            corrected.addAndGet(corrections.size());
+        });
+    }
+}
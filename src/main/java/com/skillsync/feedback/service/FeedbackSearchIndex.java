@@ -0,0 +1,244 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackSearchQuery;
+import com.skillsync.model.FeedbackTags;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lucene index of feedback text on local disk, one document per row keyed by id. Writes go to
+ * the IndexWriter straight away and become searchable at the next {@link #refresh()} (near
+ * real-time, no commit needed); {@link #commit()} makes them durable.
+ */
+class FeedbackSearchIndex implements Closeable {
+
+    record Hit(long id, float score, Map<String, String> highlights) {
+    }
+
+    record Hits(long total, boolean exact, List<Hit> hits) {
+    }
+
+    private static final String ID = "id";
+    private static final String COMMENT = "comment";
+    private static final String ADMIN_NOTES = "adminNotes";
+    private static final String COURSE = "courseId";
+    private static final String TRAINER = "trainerId";
+    private static final String RATING = "rating";
+    private static final String STATUS = "status";
+    private static final String TAG = "tag";
+    private static final String SUBMITTED = "submitted";
+    private static final String ID_ORDER = "idOrder";
+
+    private static final String[] HIGHLIGHT_FIELDS = {COMMENT, ADMIN_NOTES};
+    private static final int[] HIGHLIGHT_PASSAGES = {2, 1};
+
+    // Offsets in the postings let the highlighter find passages without re-analyzing the text
+    private static final FieldType TEXT = new FieldType(TextField.TYPE_STORED);
+
+    static {
+        TEXT.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT.freeze();
+    }
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    FeedbackSearchIndex(Path path, double ramBufferMb) throws IOException {
+        this.directory = FSDirectory.open(path);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBufferMb);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    // Insert or replace; safe to call from several threads at once
+    void index(Feedback feedback) throws IOException {
+        writer.updateDocument(idTerm(feedback.getId()), toDocument(feedback));
+    }
+
+    void delete(Long id) throws IOException {
+        writer.deleteDocuments(idTerm(id));
+    }
+
+    void deleteAll() throws IOException {
+        writer.deleteAll();
+    }
+
+    void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    void commit() throws IOException {
+        writer.commit();
+    }
+
+    int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    // Ranked by relevance when there is free text, newest first otherwise
+    Hits search(FeedbackSearchQuery query, int offset, int limit) throws IOException {
+        Query luceneQuery = toQuery(query);
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = query.hasText()
+                    ? searcher.search(luceneQuery, offset + limit)
+                    : searcher.search(luceneQuery, offset + limit,
+                            new Sort(new SortField(SUBMITTED, SortField.Type.LONG, true),
+                                    new SortField(ID_ORDER, SortField.Type.LONG, true)));
+            ScoreDoc[] page = top.scoreDocs.length > offset
+                    ? Arrays.copyOfRange(top.scoreDocs, offset, top.scoreDocs.length)
+                    : new ScoreDoc[0];
+            Map<String, String[]> snippets = query.hasText() && page.length > 0
+                    ? highlight(searcher, luceneQuery, page)
+                    : Map.of();
+            StoredFields storedFields = searcher.storedFields();
+            List<Hit> hits = new ArrayList<>(page.length);
+            for (int i = 0; i < page.length; i++) {
+                long id = Long.parseLong(storedFields.document(page[i].doc, Set.of(ID)).get(ID));
+                Map<String, String> highlights = new LinkedHashMap<>();
+                for (Map.Entry<String, String[]> field : snippets.entrySet()) {
+                    if (field.getValue()[i] != null) {
+                        highlights.put(field.getKey(), field.getValue()[i]);
+                    }
+                }
+                hits.add(new Hit(id, query.hasText() ? page[i].score : 0f, highlights));
+            }
+            return new Hits(top.totalHits.value, top.totalHits.relation == TotalHits.Relation.EQUAL_TO, hits);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Map<String, String[]> highlight(IndexSearcher searcher, Query query, ScoreDoc[] page) throws IOException {
+        int[] docIds = new int[page.length];
+        for (int i = 0; i < page.length; i++) {
+            docIds[i] = page[i].doc;
+        }
+        // Only fields that actually matched get a snippet
+        UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                .withMaxNoHighlightPassages(0)
+                .build();
+        return highlighter.highlightFields(HIGHLIGHT_FIELDS, query, docIds, HIGHLIGHT_PASSAGES);
+    }
+
+    private Query toQuery(FeedbackSearchQuery query) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        if (query.hasText()) {
+            // SimpleQueryParser never rejects user input; comment matches weigh more than admin notes
+            SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(COMMENT, 1.0f, ADMIN_NOTES, 0.5f));
+            parser.setDefaultOperator(BooleanClause.Occur.MUST);
+            builder.add(parser.parse(query.q()), BooleanClause.Occur.MUST);
+        } else {
+            builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        // Structured criteria filter without affecting the score
+        if (query.courseId() != null) {
+            builder.add(LongPoint.newExactQuery(COURSE, query.courseId()), BooleanClause.Occur.FILTER);
+        }
+        if (query.trainerId() != null) {
+            builder.add(LongPoint.newExactQuery(TRAINER, query.trainerId()), BooleanClause.Occur.FILTER);
+        }
+        if (query.minRating() != null || query.maxRating() != null) {
+            int min = query.minRating() != null ? query.minRating() : Integer.MIN_VALUE;
+            int max = query.maxRating() != null ? query.maxRating() : Integer.MAX_VALUE;
+            builder.add(IntPoint.newRangeQuery(RATING, min, max), BooleanClause.Occur.FILTER);
+        }
+        if (query.status() != null) {
+            builder.add(new TermQuery(new Term(STATUS, query.status())), BooleanClause.Occur.FILTER);
+        }
+        if (query.tags() != null) {
+            for (String tag : query.tags()) {
+                builder.add(new TermQuery(new Term(TAG, tag.trim())), BooleanClause.Occur.FILTER);
+            }
+        }
+        return builder.build();
+    }
+
+    private static Document toDocument(Feedback feedback) {
+        Document document = new Document();
+        document.add(new StringField(ID, feedback.getId().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_ORDER, feedback.getId()));
+        if (feedback.getComment() != null) {
+            document.add(new Field(COMMENT, feedback.getComment(), TEXT));
+        }
+        if (feedback.getAdminNotes() != null) {
+            document.add(new Field(ADMIN_NOTES, feedback.getAdminNotes(), TEXT));
+        }
+        if (feedback.getCourseId() != null) {
+            document.add(new LongPoint(COURSE, feedback.getCourseId()));
+        }
+        if (feedback.getTrainerId() != null) {
+            document.add(new LongPoint(TRAINER, feedback.getTrainerId()));
+        }
+        if (feedback.getRating() != null) {
+            document.add(new IntPoint(RATING, feedback.getRating()));
+        }
+        if (feedback.getStatus() != null) {
+            document.add(new StringField(STATUS, feedback.getStatus(), Field.Store.NO));
+        }
+        for (String tag : FeedbackTags.parse(feedback.getTags())) {
+            document.add(new StringField(TAG, tag, Field.Store.NO));
+        }
+        if (feedback.getSubmissionTimestamp() != null) {
+            document.add(new NumericDocValuesField(SUBMITTED,
+                    feedback.getSubmissionTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli()));
+        }
+        return document;
+    }
+
+    private static Term idTerm(Long id) {
+        return new Term(ID, id.toString());
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close(); // commits pending changes
+        directory.close();
+    }
+}
@@ -0,0 +1,13 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.FeedbackSearchQuery;
+import com.skillsync.model.dto.FeedbackSearchResult;
+
+public interface FeedbackSearchService {
+
+    // page is 0-based; size is capped, and hits beyond the configured depth are not reachable
+    FeedbackSearchResult search(FeedbackSearchQuery query, Integer page, Integer size);
+
+    // Starts a background rebuild from the feedback table; false when one is already running
+    boolean startRebuild();
+}
@@ -0,0 +1,268 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.Exception.SearchUnavailableException;
+import com.skillsync.feedback.config.DataSourceRouting;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackSearchQuery;
+import com.skillsync.model.dto.FeedbackSearchHit;
+import com.skillsync.model.dto.FeedbackSearchResult;
+import com.skillsync.repository.FeedbackRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full-text search backed by an embedded Lucene index. Service writes are applied to the index
+ * after commit and become searchable within the refresh interval. A rebuild re-reads the table
+ * in primary-key ranges on several threads; searches keep seeing the previous index until it
+ * finishes. Like the tag index, the search index only sees this instance's writes between
+ * rebuilds, so multi-instance deployments should schedule rebuilds (rebuild-cron).
+ */
+@Slf4j
+@Service
+public class FeedbackSearchServiceImpl implements FeedbackSearchService, ApplicationRunner {
+
+    private final FeedbackRepository feedbackRepository;
+    private final boolean enabled;
+    private final boolean rebuildOnStartup;
+    private final int rebuildThreads;
+    private final long rebuildRangeSize;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxDepth;
+    private final FeedbackSearchIndex index;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public FeedbackSearchServiceImpl(FeedbackRepository feedbackRepository,
+                                     @Value("${skillsync.feedback.search.enabled:true}") boolean enabled,
+                                     @Value("${skillsync.feedback.search.index-path:data/search-index}") String indexPath,
+                                     @Value("${skillsync.feedback.search.ram-buffer-mb:64}") double ramBufferMb,
+                                     @Value("${skillsync.feedback.search.rebuild-on-startup:false}") boolean rebuildOnStartup,
+                                     @Value("${skillsync.feedback.search.rebuild-threads:4}") int rebuildThreads,
+                                     @Value("${skillsync.feedback.search.rebuild-range-size:50000}") long rebuildRangeSize,
+                                     @Value("${skillsync.feedback.search.default-page-size:20}") int defaultPageSize,
+                                     @Value("${skillsync.feedback.search.max-page-size:100}") int maxPageSize,
+                                     @Value("${skillsync.feedback.search.max-depth:1000}") int maxDepth) {
+        this.feedbackRepository = feedbackRepository;
+        this.enabled = enabled;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildThreads = rebuildThreads;
+        this.rebuildRangeSize = rebuildRangeSize;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxDepth = maxDepth;
+        try {
+            this.index = enabled ? new FeedbackSearchIndex(Path.of(indexPath), ramBufferMb) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the search index at " + indexPath, e);
+        }
+    }
+
+    // An empty index (first start, deleted directory) is always built; otherwise only when asked to
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled && (rebuildOnStartup || index.size() == 0)) {
+            startRebuild();
+        }
+    }
+
+    @Override
+    public FeedbackSearchResult search(FeedbackSearchQuery query, Integer page, Integer size) {
+        if (!enabled) {
+            throw new SearchUnavailableException();
+        }
+        int pageSize = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        long offset = (long) pageNumber * pageSize;
+        if (offset >= maxDepth) {
+            return new FeedbackSearchResult(0, false, pageNumber, pageSize, List.of());
+        }
+        FeedbackSearchIndex.Hits found;
+        try {
+            found = index.search(query, (int) offset, (int) Math.min(pageSize, maxDepth - offset));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search index read failed", e);
+        }
+        // The hits carry ids only; the rows come from the database in one primary-key lookup
+        Map<Long, Feedback> rows = new HashMap<>();
+        feedbackRepository.findAllById(found.hits().stream().map(FeedbackSearchIndex.Hit::id).toList())
+                .forEach(feedback -> rows.put(feedback.getId(), feedback));
+        List<FeedbackSearchHit> hits = new ArrayList<>(found.hits().size());
+        for (FeedbackSearchIndex.Hit hit : found.hits()) {
+            Feedback feedback = rows.get(hit.id());
+            if (feedback != null) { // deleted since the last refresh
+                hits.add(new FeedbackSearchHit(feedback, hit.score(), hit.highlights()));
+            }
+        }
+        return new FeedbackSearchResult(found.total(), found.exact(), pageNumber, pageSize, hits);
+    }
+
+    // Runs after commit so rolled-back writes never reach the index
+    @TransactionalEventListener
+    public void onFeedbackChange(FeedbackChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> deleted = new HashSet<>();
+        Set<Long> changed = new HashSet<>();
+        for (FeedbackChange change : event.changes()) {
+            boolean gone = change.type() == FeedbackChange.Type.DELETED || change.type() == FeedbackChange.Type.ARCHIVED;
+            (gone ? deleted : changed).add(change.feedbackId());
+        }
+        if (rebuilding.get()) {
+            changedDuringRebuild.addAll(deleted);
+            changedDuringRebuild.addAll(changed);
+        }
+        try {
+            for (Long id : deleted) {
+                index.delete(id);
+            }
+            sync(changed);
+        } catch (IOException e) {
+            log.warn("Search index update failed for {} feedback; it stays stale until the next rebuild",
+                    deleted.size() + changed.size(), e);
+        }
+    }
+
+    // Re-reads the rows in one query; ids that no longer exist are removed from the index. The rows
+    // have only just changed, so they are read from the primary rather than a replica.
+    private void sync(Set<Long> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        for (Feedback feedback : DataSourceRouting.onPrimary(() -> feedbackRepository.findAllById(ids))) {
+            index.index(feedback);
+            missing.remove(feedback.getId());
+        }
+        for (Long id : missing) {
+            index.delete(id);
+        }
+    }
+
+    @Override
+    public boolean startRebuild() {
+        if (!enabled) {
+            throw new SearchUnavailableException();
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::rebuild, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        AtomicLong indexed = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(rebuildThreads);
+        try {
+            changedDuringRebuild.clear();
+            Long minId = feedbackRepository.findMinId();
+            Long maxId = feedbackRepository.findMaxId();
+            // Not refreshed until the end: searches keep the previous point-in-time view meanwhile
+            index.deleteAll();
+            List<Future<?>> ranges = new ArrayList<>();
+            if (minId != null) {
+                for (long after = minId - 1; after < maxId; after += rebuildRangeSize) {
+                    long from = after;
+                    long upTo = Math.min(after + rebuildRangeSize, maxId);
+                    ranges.add(workers.submit(() -> feedbackRepository.forEachInIdRange(from, upTo, feedback -> {
+                        try {
+                            index.index(feedback);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        indexed.incrementAndGet();
+                    })));
+                }
+            }
+            for (Future<?> range : ranges) {
+                range.get();
+            }
+            // Writes that committed while the ranges were read may have been indexed from an older row
+            // (or re-added after their delete); settle them against the table once more
+            sync(Set.copyOf(changedDuringRebuild));
+            index.commit();
+            index.refresh();
+            log.info("Search index rebuilt: {} feedback in {} ms with {} threads", indexed.get(),
+                    System.currentTimeMillis() - start, rebuildThreads);
+        } catch (IOException | ExecutionException | RuntimeException e) {
+            log.error("Search index rebuild failed after {} feedback; run it again", indexed.get(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+            changedDuringRebuild.clear();
+            rebuilding.set(false);
+        }
+    }
+
+    // Near real-time visibility of the writes applied since the last refresh
+    @Scheduled(fixedDelayString = "${skillsync.feedback.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (enabled && !rebuilding.get()) {
+            try {
+                index.refresh();
+            } catch (IOException e) {
+                log.warn("Search index refresh failed", e);
+            }
+        }
+    }
+
+    // Durability only; a crash loses at most this interval, which the next rebuild repairs
+    @Scheduled(fixedDelayString = "${skillsync.feedback.search.commit-interval-ms:60000}")
+    public void commit() {
+        if (enabled && !rebuilding.get()) {
+            try {
+                index.commit();
+            } catch (IOException e) {
+                log.warn("Search index commit failed", e);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${skillsync.feedback.search.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        if (enabled && !startRebuild()) {
+            log.info("Scheduled search index rebuild skipped: one is already running");
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (index != null) {
+            index.close();
+        }
+    }
+}
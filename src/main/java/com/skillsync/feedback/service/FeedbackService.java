@@ -1,8 +1,17 @@
 package com.skillsync.feedback.service;
 
 import com.skillsync.model.Feedback; // Corrected import path
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackPage;
+import com.skillsync.model.FeedbackView;
+import com.skillsync.model.dto.CourseSummary;
+import com.skillsync.model.dto.StatusUpdate;
+import com.skillsync.model.dto.StatusUpdateResult;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface FeedbackService {
     // Existing CRUD methods
@@ -13,8 +22,13 @@ public interface FeedbackService {
     Feedback updateFeedback(Long id, Feedback updatedFeedback);
 
     // NEW: For Comment Management & Tagging
-    void updateFeedbackStatus(Long id, String status);
+    // expectedVersion (nullable) makes the change conditional; a mismatch throws FeedbackVersionConflictException
+    void updateFeedbackStatus(Long id, String status, Long expectedVersion);
     void addTagsToFeedback(Long id, String tagsToAdd);
+    // JSON Merge Patch: only the fields present in the patch are changed
+    void patchFeedback(Long id, Map<String, Object> patch, Long expectedVersion);
+    // One result per update, in order; a failed item does not stop the others
+    List<StatusUpdateResult> updateStatuses(List<StatusUpdate> updates);
 
     // NEW: Retrieval methods for Centralized Feedback Dashboard filtering
     List<Feedback> getFeedbackByCourse(Long courseId);
@@ -26,9 +40,20 @@ public interface FeedbackService {
     List<Feedback> getFeedbackByTag(String tag);
     List<Feedback> getFeedbackByCourseAndStatus(Long courseId, String status); // Added for completeness if needed
 
+    // Keyset-paginated listing (newest first); pageSize is capped, cursor is the previous page's nextCursor.
+    // fields selects the returned (and fetched) fields; without it rows come with a comment snippet
+    FeedbackPage getFeedbackPage(FeedbackFilter filter, String fields, String cursor, Integer pageSize);
+    // Pushes every matching row to the consumer without materializing the result; full rows unless fields is given
+    void streamFeedback(FeedbackFilter filter, String fields, Consumer<FeedbackView> consumer);
+
     // NEW: Analytics methods for Centralized Feedback Dashboard
     Double getAverageOverallRatingForCourse(Long courseId);
     Long getFeedbackCountForCourse(Long courseId);
     Double getAverageContentRelevanceRatingForCourse(Long courseId);
     Double getAverageTrainerEffectivenessRatingForCourse(Long courseId);
+
+    // Averages, distributions, status breakdown and top tags of a course in one call
+    CourseSummary getCourseSummary(Long courseId);
+    // Same for many courses at once, in the order requested (unknown courses come back empty)
+    List<CourseSummary> getCourseSummaries(Collection<Long> courseIds);
 }
\ No newline at end of file
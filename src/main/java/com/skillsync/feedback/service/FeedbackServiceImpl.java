@@ -3,55 +3,133 @@ package com.skillsync.feedback.service;
 import com.skillsync.model.Feedback; // Corrected import path
 import com.skillsync.repository.FeedbackRepository; // Keep original package path
 import com.skillsync.Exception.FeedbackNotFoundException; // Ensure this exception class exists
+import com.skillsync.Exception.FeedbackVersionConflictException;
+import com.skillsync.Exception.TooManyCoursesException;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.FeedbackCursor;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackPage;
+import com.skillsync.model.FeedbackProjection;
+import com.skillsync.model.FeedbackView;
+import com.skillsync.model.FeedbackPatch;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.FeedbackTags;
+import com.skillsync.model.CourseRatingAggregate;
+import com.skillsync.model.RatingStats;
+import com.skillsync.model.dto.CourseSummary;
+import com.skillsync.model.dto.StatusUpdate;
+import com.skillsync.model.dto.StatusUpdateResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.OptionalDouble;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.SortedSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class FeedbackServiceImpl implements FeedbackService {
 
     private final FeedbackRepository feedbackRepository;
+    private final CourseRatingAggregateService courseRatingAggregateService;
+    private final FeedbackTagService feedbackTagService;
+    private final FeedbackCache feedbackCache;
+    private final DuplicateSubmissionGuard duplicateSubmissionGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final FeedbackProjection listProjection;
+    private final int summaryTopTags;
+    private final int summaryMaxCourses;
 
     @Autowired
-    public FeedbackServiceImpl(FeedbackRepository feedbackRepository) {
+    public FeedbackServiceImpl(FeedbackRepository feedbackRepository,
+                               CourseRatingAggregateService courseRatingAggregateService,
+                               FeedbackTagService feedbackTagService,
+                               FeedbackCache feedbackCache,
+                               DuplicateSubmissionGuard duplicateSubmissionGuard,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${skillsync.feedback.pagination.default-page-size:50}") int defaultPageSize,
+                               @Value("${skillsync.feedback.pagination.max-page-size:500}") int maxPageSize,
+                               @Value("${skillsync.feedback.pagination.snippet-length:200}") int snippetLength,
+                               @Value("${skillsync.feedback.summary.top-tags:10}") int summaryTopTags,
+                               @Value("${skillsync.feedback.summary.max-courses:1000}") int summaryMaxCourses) {
         this.feedbackRepository = feedbackRepository;
+        this.courseRatingAggregateService = courseRatingAggregateService;
+        this.feedbackTagService = feedbackTagService;
+        this.feedbackCache = feedbackCache;
+        this.duplicateSubmissionGuard = duplicateSubmissionGuard;
+        this.eventPublisher = eventPublisher;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.listProjection = FeedbackProjection.list(snippetLength);
+        this.summaryTopTags = summaryTopTags;
+        this.summaryMaxCourses = summaryMaxCourses;
     }
 
     @Override
+    @Transactional
     public Feedback saveFeedback(Feedback feedback) {
         // @PrePersist in Feedback entity handles submissionTimestamp
-        return feedbackRepository.save(feedback);
+        duplicateSubmissionGuard.checkNotSubmitted(feedback.getUserId(), feedback.getCourseId());
+        SortedSet<String> tags = FeedbackTags.parse(feedback.getTags());
+        feedback.setTags(FeedbackTags.join(tags));
+        Feedback saved = feedbackRepository.save(feedback);
+        if (!tags.isEmpty()) {
+            feedbackTagService.replaceTags(saved.getId(), tags);
+        }
+        publish(FeedbackChange.created(FeedbackSnapshot.of(saved)));
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Feedback> getAllFeedback() {
         return feedbackRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Feedback getFeedbackById(Long id) {
+        // Misses are not cached: the loader throws and nothing is stored
+        return feedbackCache.getFeedback(id, this::loadForUpdate);
+    }
+
+    // Mutations always work on a freshly loaded row, never on the shared cached instance
+    private Feedback loadForUpdate(Long id) {
         return feedbackRepository.findById(id)
                 .orElseThrow(() -> new FeedbackNotFoundException(id));
     }
 
     @Override
+    @Transactional
     public void deleteFeedback(Long id) {
-        if (!feedbackRepository.existsById(id)) {
-            throw new FeedbackNotFoundException(id);
-        }
-        feedbackRepository.deleteById(id);
+        Feedback feedback = loadForUpdate(id); // Throws if not found
+        FeedbackSnapshot before = FeedbackSnapshot.of(feedback);
+        feedbackTagService.removeAllTags(id);
+        feedbackRepository.delete(feedback);
+        publish(FeedbackChange.deleted(before));
     }
 
     @Override
+    @Transactional
     public Feedback updateFeedback(Long id, Feedback updatedFeedback) {
         // Retrieve existing feedback by ID, will throw FeedbackNotFoundException if not found
-        Feedback existingFeedback = getFeedbackById(id);
+        Feedback existingFeedback = loadForUpdate(id);
+        FeedbackSnapshot before = FeedbackSnapshot.of(existingFeedback);
 
         // Update all relevant fields from the incoming updatedFeedback object
         // The @Data annotation in Feedback.java generates these setters
@@ -69,125 +147,277 @@ public class FeedbackServiceImpl implements FeedbackService {
         existingFeedback.setWouldRecommend(updatedFeedback.getWouldRecommend());
         existingFeedback.setIsAnonymous(updatedFeedback.getIsAnonymous());
 
-        // Update management fields
-        existingFeedback.setTags(updatedFeedback.getTags());
+        // Update management fields; feedback_tag follows the new tag list
+        SortedSet<String> tags = FeedbackTags.parse(updatedFeedback.getTags());
+        feedbackTagService.replaceTags(id, tags);
+        existingFeedback.setTags(FeedbackTags.join(tags));
         existingFeedback.setStatus(updatedFeedback.getStatus());
         existingFeedback.setAdminNotes(updatedFeedback.getAdminNotes());
 
         // @PreUpdate in Feedback entity handles lastUpdatedTimestamp
-        return feedbackRepository.save(existingFeedback);
+        Feedback saved = saveVersioned(existingFeedback);
+        publish(FeedbackChange.updated(before, FeedbackSnapshot.of(saved)));
+        return saved;
+    }
+
+    // Flushes right away so a stale @Version surfaces here as a 409 instead of failing the commit
+    private Feedback saveVersioned(Feedback feedback) {
+        try {
+            return feedbackRepository.saveAndFlush(feedback);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new FeedbackVersionConflictException(feedback.getId());
+        }
     }
 
     // --- New Methods for Comment Management & Tagging ---
 
+    // Partial updates below change only the columns involved, straight in the database. Status, notes,
+    // comment and tags feed none of the rating aggregates, so these paths never read the row first.
+
     @Override
-    public void updateFeedbackStatus(Long id, String status) {
-        Feedback feedback = getFeedbackById(id); // Throws if not found
-        feedback.setStatus(status);
-        feedbackRepository.save(feedback);
+    @Transactional
+    public void updateFeedbackStatus(Long id, String status, Long expectedVersion) {
+        StatusUpdateResult result = updateStatuses(List.of(new StatusUpdate(id, status, expectedVersion))).get(0);
+        switch (result.outcome()) {
+            case CONFLICT -> throw new FeedbackVersionConflictException(id);
+            case NOT_FOUND -> throw new FeedbackNotFoundException(id);
+            default -> { }
+        }
     }
 
     @Override
+    @Transactional
     public void addTagsToFeedback(Long id, String tagsToAdd) {
-        Feedback feedback = getFeedbackById(id); // Throws if not found
-
-        // Get existing tags, split by comma, trim whitespace, collect into a Set to manage uniqueness
-        Set<String> existingTags = (feedback.getTags() != null && !feedback.getTags().isEmpty())
-                                 ? Arrays.stream(feedback.getTags().split(","))
-                                         .map(String::trim)
-                                         .collect(Collectors.toSet())
-                                 : new java.util.HashSet<>();
+        SortedSet<String> tags = FeedbackTags.parse(tagsToAdd);
+        if (tags.isEmpty()) {
+            if (!feedbackRepository.existsById(id)) {
+                throw new FeedbackNotFoundException(id);
+            }
+            return;
+        }
+        // feedback_tag ignores tags the feedback already has; the column is then rebuilt from feedback_tag
+        // by the UPDATE itself, so concurrent appends all end up in it
+        feedbackTagService.addTags(Map.of(id, tags));
+        if (feedbackRepository.refreshTagsColumns(List.of(id)) == 0) {
+            throw new FeedbackNotFoundException(id); // rolls the tag rows back too
+        }
+        publish(FeedbackChange.patched(id, Set.of("tags")));
+    }
 
-        // Split new tags, trim, and collect into a Set
-        Set<String> newTags = Arrays.stream(tagsToAdd.split(","))
-                                     .map(String::trim)
-                                     .collect(Collectors.toSet());
+    @Override
+    @Transactional
+    public void patchFeedback(Long id, Map<String, Object> body, Long expectedVersion) {
+        FeedbackPatch patch = FeedbackPatch.of(body);
+        if (!patch.touchesDerivedData()) {
+            if (feedbackRepository.updateColumns(id, patch.columns(), expectedVersion) == 0) {
+                throw missingOrConflict(id);
+            }
+            publish(FeedbackChange.patched(id, patch.fields()));
+            return;
+        }
+        // Ratings, course, trainer and tags feed derived data, which needs the previous values:
+        // go through the versioned entity
+        Feedback feedback = loadForUpdate(id);
+        if (expectedVersion != null && !expectedVersion.equals(feedback.getVersion())) {
+            throw new FeedbackVersionConflictException(id);
+        }
+        FeedbackSnapshot before = FeedbackSnapshot.of(feedback);
+        patch.applyTo(feedback);
+        if (patch.fields().contains("tags")) {
+            SortedSet<String> tags = FeedbackTags.parse(feedback.getTags());
+            feedbackTagService.replaceTags(id, tags);
+            feedback.setTags(FeedbackTags.join(tags));
+        }
+        Feedback saved = saveVersioned(feedback);
+        publish(FeedbackChange.updated(before, FeedbackSnapshot.of(saved)));
+    }
 
-        // Add all new tags to the existing set; Set automatically handles duplicates
-        existingTags.addAll(newTags);
+    // One JDBC batch of conditional UPDATEs; ids are only looked up again for the items that did not apply
+    @Override
+    @Transactional
+    public List<StatusUpdateResult> updateStatuses(List<StatusUpdate> updates) {
+        boolean[] changed = feedbackRepository.updateStatuses(updates);
+        List<Long> unchanged = new ArrayList<>();
+        for (int i = 0; i < changed.length; i++) {
+            if (!changed[i] && updates.get(i).id() != null) {
+                unchanged.add(updates.get(i).id());
+            }
+        }
+        Set<Long> existing = feedbackRepository.findExistingIds(unchanged);
+        List<StatusUpdateResult> results = new ArrayList<>(updates.size());
+        List<FeedbackChange> changes = new ArrayList<>();
+        for (int i = 0; i < changed.length; i++) {
+            Long id = updates.get(i).id();
+            if (changed[i]) {
+                results.add(new StatusUpdateResult(id, StatusUpdateResult.Outcome.UPDATED));
+                changes.add(FeedbackChange.patched(id, Set.of("status")));
+            } else {
+                results.add(new StatusUpdateResult(id, existing.contains(id)
+                        ? StatusUpdateResult.Outcome.CONFLICT : StatusUpdateResult.Outcome.NOT_FOUND));
+            }
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new FeedbackChangeEvent(changes));
+        }
+        return results;
+    }
 
-        // Convert the combined set back into a comma-separated string
-        feedback.setTags(String.join(",", existingTags));
-        feedbackRepository.save(feedback);
+    private RuntimeException missingOrConflict(Long id) {
+        return feedbackRepository.existsById(id)
+                ? new FeedbackVersionConflictException(id)
+                : new FeedbackNotFoundException(id);
     }
 
     // --- New Retrieval Methods for Centralized Feedback Dashboard Filtering ---
 
     @Override
+    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackByCourse(Long courseId) {
         return feedbackRepository.findByCourseId(courseId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackByUser(Long userId) {
         return feedbackRepository.findByUserId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackByTrainer(Long trainerId) {
         return feedbackRepository.findByTrainerId(trainerId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return feedbackRepository.findBySubmissionTimestampBetween(startDate, endDate);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackByOverallRatingGreaterThanEqual(Integer rating) {
         return feedbackRepository.findByRatingGreaterThanEqual(rating);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackByStatus(String status) {
         return feedbackRepository.findByStatus(status);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackByTag(String tag) {
-        // This performs a 'LIKE %tag%' search on the tags column.
-        return feedbackRepository.findByTagsContaining(tag);
+        // Exact match through the feedback_tag index (no substring matches)
+        return feedbackRepository.findByTag(tag);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Feedback> getFeedbackByCourseAndStatus(Long courseId, String status) {
         return feedbackRepository.findByCourseIdAndStatus(courseId, status);
     }
 
+    // --- Keyset Pagination & Streaming ---
+
+    @Override
+    @Transactional(readOnly = true)
+    public FeedbackPage getFeedbackPage(FeedbackFilter filter, String fields, String cursor, Integer pageSize) {
+        int size = pageSize == null || pageSize < 1 ? defaultPageSize : Math.min(pageSize, maxPageSize);
+        FeedbackProjection projection = FeedbackProjection.parse(fields, listProjection);
+        FeedbackCursor after = cursor == null || cursor.isEmpty() ? null : FeedbackCursor.decode(cursor);
+        return feedbackCache.getPage(filter, projection, cursor, size, () -> loadPage(filter, projection, after, size));
+    }
+
+    private FeedbackPage loadPage(FeedbackFilter filter, FeedbackProjection projection, FeedbackCursor after, int size) {
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<FeedbackView> rows;
+        // The tag index only knows live feedback
+        Optional<Collection<Long>> tagged = filter.hasTags() && !filter.includesArchive()
+                ? feedbackTagService.findCandidateIds(filter.tags(), filter.effectiveTagMatch())
+                : Optional.empty();
+        if (tagged.isPresent()) {
+            // Small tag matches resolved by the in-memory index become a primary-key lookup
+            rows = feedbackRepository.findPageWithin(tagged.get(), filter, projection, after, size + 1);
+        } else {
+            rows = feedbackRepository.findPage(filter, projection, after, size + 1);
+        }
+        if (rows.size() <= size) {
+            return new FeedbackPage(rows, null);
+        }
+        List<FeedbackView> items = rows.subList(0, size);
+        return new FeedbackPage(items, FeedbackCursor.after(items.get(size - 1)).encode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamFeedback(FeedbackFilter filter, String fields, Consumer<FeedbackView> consumer) {
+        feedbackRepository.forEach(filter, FeedbackProjection.parse(fields, FeedbackProjection.full()), consumer);
+    }
+
     // --- New Analytics Methods for Centralized Feedback Dashboard ---
+    // Served from the per-course running aggregates instead of loading every row of the course.
 
     @Override
+    @Transactional(readOnly = true)
     public Double getAverageOverallRatingForCourse(Long courseId) {
-        List<Feedback> feedbackList = feedbackRepository.findByCourseId(courseId);
-        OptionalDouble average = feedbackList.stream()
-                .filter(f -> f.getRating() != null)
-                .mapToInt(Feedback::getRating)
-                .average();
-        return average.isPresent() ? average.getAsDouble() : null;
+        return courseStat(courseId, RatingStats::averageRating);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Long getFeedbackCountForCourse(Long courseId) {
-        return feedbackRepository.countByCourseId(courseId);
+        Long count = courseStat(courseId, RatingStats::getFeedbackCount);
+        return count != null ? count : 0L;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Double getAverageContentRelevanceRatingForCourse(Long courseId) {
-        List<Feedback> feedbackList = feedbackRepository.findByCourseId(courseId);
-        OptionalDouble average = feedbackList.stream()
-                .filter(f -> f.getContentRelevanceRating() != null)
-                .mapToInt(Feedback::getContentRelevanceRating)
-                .average();
-        return average.isPresent() ? average.getAsDouble() : null;
+        return courseStat(courseId, RatingStats::averageContentRelevance);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Double getAverageTrainerEffectivenessRatingForCourse(Long courseId) {
-        List<Feedback> feedbackList = feedbackRepository.findByCourseId(courseId);
-        OptionalDouble average = feedbackList.stream()
-                .filter(f -> f.getTrainerEffectivenessRating() != null)
-                .mapToInt(Feedback::getTrainerEffectivenessRating)
-                .average();
-        return average.isPresent() ? average.getAsDouble() : null;
-    }
-}
\ No newline at end of file
+        return courseStat(courseId, RatingStats::averageTrainerEffectiveness);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CourseSummary getCourseSummary(Long courseId) {
+        return getCourseSummaries(List.of(courseId)).get(0);
+    }
+
+    // Three set-based statements for any number of courses: the precomputed rating aggregates,
+    // one grouped status count and one ranked tag count, each filtered by the id list
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseSummary> getCourseSummaries(Collection<Long> courseIds) {
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(courseIds);
+        ids.remove(null);
+        if (ids.size() > summaryMaxCourses) {
+            throw new TooManyCoursesException(ids.size(), summaryMaxCourses);
+        }
+        Map<Long, RatingStats> stats = new HashMap<>();
+        for (CourseRatingAggregate aggregate : courseRatingAggregateService.getAggregates(ids)) {
+            stats.put(aggregate.getCourseId(), aggregate.getStats());
+        }
+        Map<Long, Map<String, Long>> statusCounts = feedbackRepository.countStatusByCourse(ids);
+        Map<Long, Map<String, Long>> topTags = feedbackRepository.topTagsByCourse(ids, summaryTopTags);
+        return ids.stream()
+                .map(id -> CourseSummary.of(id, stats.get(id), statusCounts.get(id), topTags.get(id)))
+                .toList();
+    }
+
+    private <T> T courseStat(Long courseId, Function<RatingStats, T> stat) {
+        return courseRatingAggregateService.getAggregate(courseId)
+                .map(aggregate -> stat.apply(aggregate.getStats()))
+                .orElse(null);
+    }
+
+    private void publish(FeedbackChange change) {
+        eventPublisher.publishEvent(FeedbackChangeEvent.of(change));
+    }
+}
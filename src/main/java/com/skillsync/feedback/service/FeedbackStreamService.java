@@ -0,0 +1,20 @@
+package com.skillsync.feedback.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface FeedbackStreamService {
+
+    // Request attribute holding the emitter of a live feed request until it is started
+    String EMITTER_ATTRIBUTE = FeedbackStreamService.class.getName() + ".emitter";
+
+    // Live feed of committed changes matching the (optional) course, trainer and status; with a
+    // Last-Event-ID the missed events are replayed first, or a 'reset' event asks for a fresh snapshot.
+    // Nothing is written until start(emitter) is called.
+    SseEmitter subscribe(Long courseId, Long trainerId, String status, String lastEventId);
+
+    // Called once MVC has handed the response over to async processing; writing from another
+    // thread before that races with the dispatch that is still unwinding on the request thread
+    void start(SseEmitter emitter);
+
+    int getSubscriberCount();
+}
@@ -0,0 +1,371 @@
+package com.skillsync.feedback.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.Exception.TooManySubscribersException;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.dto.FeedbackStreamEvent;
+import com.skillsync.repository.FeedbackRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events feed of committed feedback changes. Each change is serialized once, numbered
+ * and kept in a bounded replay buffer; subscribers get a bounded queue each, drained by a sender
+ * task so a slow client never blocks the writer that published the change. A subscriber whose
+ * queue overflows is disconnected and resumes from its Last-Event-ID on reconnect (EventSource
+ * does this by itself) as long as the replay buffer still reaches back that far.
+ * Event ids are "epoch-sequence"; ids from before a restart always get a 'reset'.
+ */
+@Slf4j
+@Service
+@RegisterReflectionForBinding(FeedbackStreamEvent.class)
+public class FeedbackStreamServiceImpl implements FeedbackStreamService {
+
+    private static final String RESET = "reset";
+
+    // One numbered event; json is the shared, already serialized data
+    private record Entry(long sequence, String name, String json, FeedbackSnapshot before, FeedbackSnapshot after,
+                         Set<String> fields) {
+    }
+
+    private record Pending(String name, String json, FeedbackSnapshot before, FeedbackSnapshot after,
+                           Set<String> fields) {
+    }
+
+    // Queue markers that are not feed events
+    private static final Entry CONNECTED = new Entry(-1, null, null, null, null, Set.of());
+    private static final Entry HEARTBEAT = new Entry(-1, null, null, null, null, Set.of());
+
+    private final FeedbackRepository feedbackRepository;
+    private final ObjectMapper objectMapper;
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Object publishLock = new Object();
+    private final Deque<Entry> replay = new ArrayDeque<>();
+    private long sequence;
+    private long oldestReplayable = 1; // first sequence number still in (or after) the replay buffer
+
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    // At most one sender task per subscriber, so at most max-subscribers threads
+    private final ExecutorService senders;
+
+    @Autowired
+    public FeedbackStreamServiceImpl(FeedbackRepository feedbackRepository,
+                                     ObjectMapper objectMapper,
+                                     @Value("${skillsync.feedback.stream.replay-size:10000}") int replaySize,
+                                     @Value("${skillsync.feedback.stream.subscriber-buffer:1000}") int subscriberBuffer,
+                                     @Value("${skillsync.feedback.stream.max-subscribers:500}") int maxSubscribers,
+                                     @Value("${skillsync.feedback.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.feedbackRepository = feedbackRepository;
+        this.objectMapper = objectMapper;
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "feedback-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public SseEmitter subscribe(Long courseId, Long trainerId, String status, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManySubscribersException(maxSubscribers);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, courseId, trainerId, status);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        // Under the publish lock so nothing falls between the replayed backlog and the live events
+        synchronized (publishLock) {
+            subscriber.queue.add(CONNECTED);
+            if (lastEventId != null && !lastEventId.isBlank() && !replayTo(subscriber, lastEventId)) {
+                subscriber.queue.clear();
+                subscriber.queue.add(CONNECTED);
+                subscriber.queue.add(resetEntry());
+            }
+            subscribers.put(emitter, subscriber);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void start(SseEmitter emitter) {
+        Subscriber subscriber = subscribers.get(emitter);
+        if (subscriber != null) {
+            subscriber.started = true;
+            subscriber.schedule();
+        }
+    }
+
+    // Queues the missed events after lastEventId; false when they are no longer all available
+    private boolean replayTo(Subscriber subscriber, String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return false;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (last + 1 < oldestReplayable || last > sequence) {
+            return false;
+        }
+        for (Entry entry : replay) {
+            if (entry.sequence() > last && subscriber.matches(entry) && !subscriber.queue.offer(entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Entry resetEntry() {
+        return new Entry(sequence, RESET, "{}", null, null, Set.of());
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Runs after commit so subscribers only ever see committed changes
+    @TransactionalEventListener
+    public void onFeedbackChange(FeedbackChangeEvent event) {
+        synchronized (publishLock) {
+            if (subscribers.isEmpty()) {
+                // Nobody to serialize for: skip the numbers so a later resume across them gets a reset
+                sequence += event.changes().size();
+                replay.clear();
+                oldestReplayable = sequence + 1;
+                return;
+            }
+        }
+        List<Pending> pending = toPending(event.changes());
+        synchronized (publishLock) {
+            for (Pending p : pending) {
+                Entry entry = new Entry(++sequence, p.name(), p.json(), p.before(), p.after(), p.fields());
+                replay.addLast(entry);
+                if (replay.size() > replaySize) {
+                    replay.removeFirst();
+                    oldestReplayable = replay.isEmpty() ? sequence + 1 : replay.getFirst().sequence();
+                }
+                for (Subscriber subscriber : subscribers.values()) {
+                    if (subscriber.matches(entry)) {
+                        subscriber.offer(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Pending> toPending(List<FeedbackChange> changes) {
+        // Partial updates carry no row; read the current rows in one query (over JDBC, so never a stale entity)
+        List<Long> patchedIds = changes.stream()
+                .filter(change -> change.type() == FeedbackChange.Type.PATCHED)
+                .map(FeedbackChange::feedbackId)
+                .distinct()
+                .toList();
+        Map<Long, FeedbackSnapshot> patched = new HashMap<>();
+        if (!patchedIds.isEmpty()) {
+            for (Feedback feedback : feedbackRepository.findPageWithin(patchedIds, FeedbackFilter.none(), null,
+                    patchedIds.size())) {
+                patched.put(feedback.getId(), FeedbackSnapshot.of(feedback));
+            }
+        }
+        List<Pending> pending = new ArrayList<>(changes.size());
+        for (FeedbackChange change : changes) {
+            FeedbackSnapshot after = change.type() == FeedbackChange.Type.PATCHED
+                    ? patched.get(change.feedbackId())
+                    : change.after();
+            if (change.type() == FeedbackChange.Type.PATCHED && after == null) {
+                continue; // deleted since; its own DELETED event follows
+            }
+            FeedbackSnapshot shown = after != null ? after : change.before();
+            FeedbackStreamEvent data = new FeedbackStreamEvent(change.feedbackId(), shown, change.fields());
+            try {
+                pending.add(new Pending(change.type().name().toLowerCase(), objectMapper.writeValueAsString(data),
+                        change.before(), after, change.fields()));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return pending;
+    }
+
+    // Keeps idle connections (and the proxies in between) open and detects clients that went away
+    @Scheduled(fixedDelayString = "${skillsync.feedback.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers.values()) {
+            if (!subscriber.started) {
+                // Never handed over (the request failed before async processing started)
+                if (subscriber.parkedHeartbeats++ > 0) {
+                    subscriber.close();
+                }
+            } else if (subscriber.queue.offer(HEARTBEAT)) {
+                subscriber.schedule();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(Subscriber::evict);
+        senders.shutdown();
+    }
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        final Long courseId;
+        final Long trainerId;
+        final String status;
+        final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean started;
+        int parkedHeartbeats; // heartbeat thread only
+        volatile boolean evicted;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Long courseId, Long trainerId, String status) {
+            this.emitter = emitter;
+            this.courseId = courseId;
+            this.trainerId = trainerId;
+            this.status = status;
+        }
+
+        // A change is delivered when the row matches before or after it, so clients also learn
+        // about rows leaving their filter. A partial update has no 'before': if it touched the
+        // status, status-filtered subscribers get it either way.
+        boolean matches(Entry entry) {
+            if (entry.name() == null || RESET.equals(entry.name())) {
+                return true;
+            }
+            if (matches(entry.after()) || matches(entry.before())) {
+                return true;
+            }
+            return status != null && entry.fields().contains("status") && matchesIgnoringStatus(entry.after());
+        }
+
+        private boolean matches(FeedbackSnapshot feedback) {
+            return matchesIgnoringStatus(feedback) && (status == null || status.equals(feedback.status()));
+        }
+
+        private boolean matchesIgnoringStatus(FeedbackSnapshot feedback) {
+            return feedback != null
+                    && (courseId == null || courseId.equals(feedback.courseId()))
+                    && (trainerId == null || trainerId.equals(feedback.trainerId()));
+        }
+
+        // Called under the publish lock; never blocks and never touches the emitter
+        void offer(Entry entry) {
+            if (evicted) {
+                return;
+            }
+            if (queue.offer(entry)) {
+                schedule();
+            } else {
+                log.info("Live feed subscriber fell {} events behind and was disconnected", subscriberBuffer);
+                evict();
+            }
+        }
+
+        void evict() {
+            evicted = true;
+            subscribers.remove(emitter);
+            queue.clear();
+            schedule();
+        }
+
+        void schedule() {
+            if (started && !closed && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Entry entry;
+                while (!closed && !evicted && (entry = queue.poll()) != null) {
+                    send(entry);
+                }
+                if (evicted && !closed) {
+                    emitter.complete();
+                    close();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's callbacks may not fire for a half-closed connection
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && (evicted || !queue.isEmpty())) {
+                schedule();
+            }
+        }
+
+        // Holds the same monitor as close(): Tomcat runs the emitter's error callback (and so close())
+        // before it recycles the response, so a write failing on a dead connection has finished before
+        // the response can be handed to the next request
+        private synchronized void send(Entry entry) throws IOException {
+            if (closed) {
+                return;
+            }
+            if (entry == CONNECTED) {
+                emitter.send(SseEmitter.event().comment("connected"));
+            } else if (entry == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(epoch + "-" + entry.sequence())
+                        .name(entry.name())
+                        .data(entry.json(), MediaType.APPLICATION_JSON));
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            subscribers.remove(emitter);
+            queue.clear();
+        }
+    }
+}
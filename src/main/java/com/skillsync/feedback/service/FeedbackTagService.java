@@ -0,0 +1,31 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.TagMatch;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+
+public interface FeedbackTagService {
+
+    // Makes feedback_tag hold exactly the given tags for the feedback
+    void replaceTags(Long feedbackId, Collection<String> tags);
+
+    // Adds the tags (duplicates ignored) and returns the feedback's full tag set
+    SortedSet<String> addTags(Long feedbackId, Collection<String> tags);
+
+    // Batch variant of addTags for freshly inserted rows
+    void addTags(Map<Long, ? extends Collection<String>> tagsByFeedback);
+
+    void removeAllTags(Long feedbackId);
+
+    // Matching ids from the in-memory index, or empty when the index is disabled or the
+    // match is too large to be worth passing to the database as an id list
+    Optional<Collection<Long>> findCandidateIds(List<String> tags, TagMatch match);
+
+    Map<String, Long> getTagCounts();
+
+    void rebuildIndex();
+}
@@ -0,0 +1,155 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.FeedbackTags;
+import com.skillsync.model.TagMatch;
+import com.skillsync.repository.FeedbackTagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+@Slf4j
+@Service
+public class FeedbackTagServiceImpl implements FeedbackTagService, ApplicationRunner {
+
+    private final FeedbackTagRepository feedbackTagRepository;
+    private final boolean indexEnabled;
+    private final int maxCandidateIds;
+    private final TagInvertedIndex index = new TagInvertedIndex();
+
+    // The index is per instance and only sees this instance's writes (plus periodic rebuilds),
+    // so it is off by default; enable it on single-instance or read-mostly deployments.
+    @Autowired
+    public FeedbackTagServiceImpl(FeedbackTagRepository feedbackTagRepository,
+                                  @Value("${skillsync.feedback.tags.index.enabled:false}") boolean indexEnabled,
+                                  @Value("${skillsync.feedback.tags.index.max-candidate-ids:2000}") int maxCandidateIds) {
+        this.feedbackTagRepository = feedbackTagRepository;
+        this.indexEnabled = indexEnabled;
+        this.maxCandidateIds = maxCandidateIds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (indexEnabled) {
+            rebuildIndex();
+        }
+    }
+
+    @Override
+    @Transactional
+    public void replaceTags(Long feedbackId, Collection<String> tags) {
+        Set<String> wanted = new TreeSet<>(tags);
+        List<String> current = feedbackTagRepository.findTagsByFeedbackId(feedbackId);
+        List<String> stale = current.stream().filter(tag -> !wanted.contains(tag)).toList();
+        if (!stale.isEmpty()) {
+            feedbackTagRepository.deleteTags(feedbackId, stale);
+        }
+        wanted.removeAll(current);
+        if (!wanted.isEmpty()) {
+            feedbackTagRepository.insertIgnoringDuplicates(Map.of(feedbackId, wanted));
+        }
+    }
+
+    @Override
+    @Transactional
+    public SortedSet<String> addTags(Long feedbackId, Collection<String> tags) {
+        feedbackTagRepository.insertIgnoringDuplicates(Map.of(feedbackId, tags));
+        return new TreeSet<>(feedbackTagRepository.findTagsByFeedbackId(feedbackId));
+    }
+
+    @Override
+    @Transactional
+    public void addTags(Map<Long, ? extends Collection<String>> tagsByFeedback) {
+        feedbackTagRepository.insertIgnoringDuplicates(tagsByFeedback);
+    }
+
+    @Override
+    @Transactional
+    public void removeAllTags(Long feedbackId) {
+        feedbackTagRepository.deleteByFeedbackId(feedbackId);
+    }
+
+    @Override
+    public Optional<Collection<Long>> findCandidateIds(List<String> tags, TagMatch match) {
+        if (!indexEnabled) {
+            return Optional.empty();
+        }
+        Roaring64Bitmap ids = index.match(tags, match);
+        if (ids.getLongCardinality() > maxCandidateIds) {
+            return Optional.empty();
+        }
+        List<Long> candidates = new ArrayList<>((int) ids.getLongCardinality());
+        LongIterator iterator = ids.getLongIterator();
+        while (iterator.hasNext()) {
+            candidates.add(iterator.next());
+        }
+        return Optional.of(candidates);
+    }
+
+    @Override
+    public Map<String, Long> getTagCounts() {
+        return indexEnabled ? index.counts() : feedbackTagRepository.countByTag();
+    }
+
+    // Index maintenance happens only after commit so rolled-back writes never become visible
+    @TransactionalEventListener
+    public void onFeedbackChange(FeedbackChangeEvent event) {
+        if (!indexEnabled) {
+            return;
+        }
+        List<Long> appended = new ArrayList<>();
+        for (FeedbackChange change : event.changes()) {
+            if (change.type() == FeedbackChange.Type.PATCHED) {
+                if (change.fields().contains("tags")) {
+                    appended.add(change.feedbackId());
+                }
+                continue;
+            }
+            SortedSet<String> before = FeedbackTags.parse(change.before() != null ? change.before().tags() : null);
+            SortedSet<String> after = FeedbackTags.parse(change.after() != null ? change.after().tags() : null);
+            for (String tag : before) {
+                if (!after.contains(tag)) {
+                    index.remove(tag, change.feedbackId());
+                }
+            }
+            for (String tag : after) {
+                if (!before.contains(tag)) {
+                    index.add(tag, change.feedbackId());
+                }
+            }
+        }
+        // Patches only ever append tags: (re-)adding the committed sets, read in one query, is enough
+        feedbackTagRepository.forEachTagOf(appended, (feedbackId, tag) -> index.add(tag, feedbackId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${skillsync.feedback.tags.index.rebuild-interval-ms:3600000}",
+               initialDelayString = "${skillsync.feedback.tags.index.rebuild-interval-ms:3600000}")
+    public void rebuildIndex() {
+        if (!indexEnabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        index.rebuild(postings -> feedbackTagRepository.forEachTag((feedbackId, tag) ->
+                postings.computeIfAbsent(tag, t -> new Roaring64Bitmap()).addLong(feedbackId)));
+        log.info("Tag index rebuilt in {} ms ({} bytes)", System.currentTimeMillis() - start, index.sizeInBytes());
+    }
+}
@@ -0,0 +1,21 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.Feedback;
+import com.skillsync.model.dto.SubmissionReceipt;
+import com.skillsync.model.dto.WriteBehindStats;
+
+import java.util.Optional;
+
+public interface FeedbackWriteBehindService {
+
+    boolean isEnabled();
+
+    // Journals and queues a validated submission for the background writer.
+    // Throws SubmissionQueueFullException when the queue is at capacity, and
+    // WriteBehindUnavailableException before startup has replayed the journal or once shutdown has begun.
+    SubmissionReceipt submit(Feedback feedback);
+
+    Optional<SubmissionReceipt> getReceipt(String trackingId);
+
+    WriteBehindStats getStats();
+}
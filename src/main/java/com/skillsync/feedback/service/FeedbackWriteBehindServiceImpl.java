@@ -0,0 +1,351 @@
+package com.skillsync.feedback.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.Exception.SubmissionQueueFullException;
+import com.skillsync.Exception.WriteBehindUnavailableException;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.dto.SubmissionReceipt;
+import com.skillsync.model.dto.WriteBehindStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional write-behind path for POST /api/feedback: submissions are journaled to local disk,
+ * acknowledged with a tracking id and written to the database in batches by one background
+ * thread. Delivery is at-least-once: a crash between the database commit and the journal
+ * commit line replays (and so duplicates) that batch on the next start.
+ */
+@Slf4j
+@Service
+@RegisterReflectionForBinding(Feedback.class)
+public class FeedbackWriteBehindServiceImpl implements FeedbackWriteBehindService, SmartLifecycle, MeterBinder {
+
+    private record Pending(String trackingId, Feedback feedback) {
+    }
+
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 30_000;
+
+    private final FeedbackIngestService feedbackIngestService;
+    private final DuplicateSubmissionGuard duplicateSubmissionGuard;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final long shutdownTimeoutMillis;
+    private final Path journalPath;
+    private final boolean fsync;
+    private final long journalCompactBytes;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger(); // queued or being written
+    private final Map<String, SubmissionReceipt> receipts;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong totalFlushMillis = new AtomicLong();
+    private final AtomicLong lastFlushMillis = new AtomicLong();
+    private final AtomicLong maxFlushMillis = new AtomicLong();
+
+    private SubmissionJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public FeedbackWriteBehindServiceImpl(FeedbackIngestService feedbackIngestService,
+                                          DuplicateSubmissionGuard duplicateSubmissionGuard,
+                                          ObjectMapper objectMapper,
+                                          @Value("${skillsync.feedback.write-behind.enabled:false}") boolean enabled,
+                                          @Value("${skillsync.feedback.write-behind.queue-capacity:10000}") int capacity,
+                                          @Value("${skillsync.feedback.write-behind.batch-size:500}") int batchSize,
+                                          @Value("${skillsync.feedback.write-behind.linger-ms:50}") long lingerMillis,
+                                          @Value("${skillsync.feedback.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis,
+                                          @Value("${skillsync.feedback.write-behind.journal-path:data/submission-journal.log}") String journalPath,
+                                          @Value("${skillsync.feedback.write-behind.journal-fsync:true}") boolean fsync,
+                                          @Value("${skillsync.feedback.write-behind.journal-compact-bytes:67108864}") long journalCompactBytes,
+                                          @Value("${skillsync.feedback.write-behind.receipt-retention:100000}") int receiptRetention) {
+        this.feedbackIngestService = feedbackIngestService;
+        this.duplicateSubmissionGuard = duplicateSubmissionGuard;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.journalPath = Path.of(journalPath);
+        this.fsync = fsync;
+        this.journalCompactBytes = journalCompactBytes;
+        // Most recent receipts only; older tracking ids answer 404
+        this.receipts = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SubmissionReceipt> eldest) {
+                return size() > receiptRetention;
+            }
+        });
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public SubmissionReceipt submit(Feedback feedback) {
+        // Enabled but not draining: before the journal replay has finished, or once shutdown has begun
+        if (!running) {
+            throw new WriteBehindUnavailableException();
+        }
+        // Early answer for the common case; a duplicate queued meanwhile still fails when written
+        duplicateSubmissionGuard.checkNotSubmitted(feedback.getUserId(), feedback.getCourseId());
+        if (inFlight.incrementAndGet() > capacity) {
+            inFlight.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new SubmissionQueueFullException(capacity);
+        }
+        String trackingId = UUID.randomUUID().toString();
+        try {
+            journal.append(trackingId, objectMapper.writeValueAsString(feedback));
+        } catch (IOException e) {
+            inFlight.decrementAndGet();
+            throw new UncheckedIOException("Could not journal feedback submission", e);
+        }
+        SubmissionReceipt receipt = SubmissionReceipt.queued(trackingId);
+        receipts.put(trackingId, receipt);
+        queue.add(new Pending(trackingId, feedback));
+        accepted.incrementAndGet();
+        return receipt;
+    }
+
+    @Override
+    public Optional<SubmissionReceipt> getReceipt(String trackingId) {
+        return Optional.ofNullable(receipts.get(trackingId));
+    }
+
+    @Override
+    public WriteBehindStats getStats() {
+        long flushCount = flushes.get();
+        long journalBytes = 0;
+        if (journal != null) {
+            try {
+                journalBytes = journal.size();
+            } catch (IOException e) {
+                journalBytes = -1;
+            }
+        }
+        return new WriteBehindStats(enabled, inFlight.get(), capacity, accepted.get(), rejected.get(),
+                written.get(), failed.get(), flushCount, lastFlushMillis.get(),
+                flushCount == 0 ? 0.0 : (double) totalFlushMillis.get() / flushCount,
+                maxFlushMillis.get(), journalBytes);
+    }
+
+    // Queue depth against capacity, plus the running totals behind /submissions/stats
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("skillsync.write_behind.queue.depth", inFlight, AtomicInteger::get)
+                .description("Submissions accepted but not yet written")
+                .register(registry);
+        Gauge.builder("skillsync.write_behind.queue.capacity", () -> capacity)
+                .register(registry);
+        FunctionCounter.builder("skillsync.write_behind.submissions", accepted, AtomicLong::get)
+                .tag("outcome", "accepted").register(registry);
+        FunctionCounter.builder("skillsync.write_behind.submissions", rejected, AtomicLong::get)
+                .tag("outcome", "rejected").register(registry);
+        FunctionCounter.builder("skillsync.write_behind.submissions", written, AtomicLong::get)
+                .tag("outcome", "written").register(registry);
+        FunctionCounter.builder("skillsync.write_behind.submissions", failed, AtomicLong::get)
+                .tag("outcome", "failed").register(registry);
+        FunctionCounter.builder("skillsync.write_behind.flushes", flushes, AtomicLong::get)
+                .register(registry);
+    }
+
+    // --- Lifecycle: replay the journal before the web server accepts requests, drain after it stops ---
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            journal = new SubmissionJournal(journalPath, fsync, journalCompactBytes);
+            List<SubmissionJournal.Entry> recovered = journal.recover();
+            for (SubmissionJournal.Entry entry : recovered) {
+                Feedback feedback = objectMapper.readValue(entry.payload(), Feedback.class);
+                receipts.put(entry.trackingId(), SubmissionReceipt.queued(entry.trackingId()));
+                queue.add(new Pending(entry.trackingId(), feedback));
+                inFlight.incrementAndGet();
+            }
+            if (!recovered.isEmpty()) {
+                log.info("Replaying {} journaled feedback submissions from {}", recovered.size(), journalPath);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open submission journal " + journalPath, e);
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "feedback-write-behind");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMillis);
+            if (writer.isAlive()) {
+                log.warn("Write-behind writer did not drain within {} ms; {} submissions stay journaled for replay",
+                        shutdownTimeoutMillis, inFlight.get());
+                writer.interrupt();
+            }
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not close submission journal", e);
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // Below the web server's phase: started before it, stopped after it
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2;
+    }
+
+    // --- Background writer ---
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Linger briefly so bursts are written as full batches
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        long backoff = 100;
+        List<Pending> remaining = new ArrayList<>(batch);
+        boolean isolate = false;
+        while (!remaining.isEmpty()) {
+            try {
+                if (isolate) {
+                    writeSingle(remaining.get(0));
+                    remaining.remove(0);
+                } else {
+                    writeBatch(remaining);
+                    remaining.clear();
+                }
+            } catch (DataIntegrityViolationException e) {
+                // A bad row fails the whole batch: isolate it by writing the items one by one
+                isolate = true;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("Database unavailable during shutdown; {} submissions stay journaled", remaining.size());
+                    return;
+                }
+                log.error("Write-behind flush of {} submissions failed, retrying in {} ms", remaining.size(), backoff, e);
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        flushes.incrementAndGet();
+        totalFlushMillis.addAndGet(elapsed);
+        lastFlushMillis.set(elapsed);
+        maxFlushMillis.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        List<Feedback> rows = batch.stream().map(Pending::feedback).toList();
+        feedbackIngestService.insertBatch(rows);
+        List<String> trackingIds = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            receipts.put(pending.trackingId(), SubmissionReceipt.written(pending.trackingId(), pending.feedback().getId()));
+            trackingIds.add(pending.trackingId());
+        }
+        commitJournal(trackingIds);
+        written.addAndGet(batch.size());
+    }
+
+    private void writeSingle(Pending pending) {
+        try {
+            writeBatch(List.of(pending));
+        } catch (DataIntegrityViolationException e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.error("Dropping write-behind submission {}: {}", pending.trackingId(), message);
+            receipts.put(pending.trackingId(), SubmissionReceipt.failed(pending.trackingId(), message));
+            commitJournal(List.of(pending.trackingId()));
+            failed.incrementAndGet();
+        }
+    }
+
+    private void commitJournal(List<String> trackingIds) {
+        inFlight.addAndGet(-trackingIds.size());
+        try {
+            journal.commit(trackingIds);
+        } catch (IOException e) {
+            // The rows are in the database; at worst they are replayed once more after a restart
+            log.error("Could not record journal commit for {} submissions", trackingIds.size(), e);
+        }
+    }
+}
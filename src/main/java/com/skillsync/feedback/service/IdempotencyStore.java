@@ -0,0 +1,79 @@
+package com.skillsync.feedback.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillsync.Exception.IdempotencyKeyInUseException;
+import com.skillsync.Exception.IdempotencyKeyMismatchException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Recent Idempotency-Key values and the responses they produced, so a client retrying a submission
+ * (after a timeout, say) gets the original answer back instead of a second write. Bounded by count
+ * and age; a key evicted early only loses its replay. Kept in memory, so per instance: a retry that
+ * lands on another instance, or after a restart, is handled like a new request.
+ */
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private record Entry(Object request, CompletableFuture<ResponseEntity<?>> response) {
+    }
+
+    private final Cache<String, Entry> entries;
+
+    @Autowired
+    public IdempotencyStore(@Value("${skillsync.feedback.idempotency.max-keys:100000}") long maxKeys,
+                            @Value("${skillsync.feedback.idempotency.retention-minutes:1440}") long retentionMinutes) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMinutes(retentionMinutes))
+                .recordStats()
+                .build();
+    }
+
+    // Runs the action once per key. A repeat with an equal request replays the stored response; one
+    // with a different request, or arriving while the first is still running, is refused. A failed
+    // action leaves no trace, so the client may retry it with the same key.
+    public ResponseEntity<?> execute(String key, Object request, Supplier<ResponseEntity<?>> action) {
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!Objects.equals(existing.request(), request)) {
+                throw new IdempotencyKeyMismatchException(key);
+            }
+            ResponseEntity<?> response = existing.response().getNow(null);
+            if (response == null) {
+                throw new IdempotencyKeyInUseException(key);
+            }
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(response.getBody());
+        }
+        try {
+            ResponseEntity<?> response = action.get();
+            entry.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            entries.asMap().remove(key, entry);
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "feedback.idempotency");
+    }
+}
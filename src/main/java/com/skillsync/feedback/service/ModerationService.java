@@ -0,0 +1,15 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.dto.ModerationJob;
+import com.skillsync.model.dto.ModerationRequest;
+
+import java.util.Optional;
+
+public interface ModerationService {
+
+    // Small id lists are applied before returning (state COMPLETED); anything larger runs in the
+    // background and is followed through getJob
+    ModerationJob start(ModerationRequest request);
+
+    Optional<ModerationJob> getJob(String jobId);
+}
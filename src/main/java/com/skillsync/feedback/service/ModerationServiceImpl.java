@@ -0,0 +1,216 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.Exception.InvalidModerationRequestException;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.FeedbackCursor;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackTags;
+import com.skillsync.model.dto.ModerationJob;
+import com.skillsync.model.dto.ModerationRequest;
+import com.skillsync.repository.FeedbackRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.UUID;
+
+/**
+ * Bulk status changes and tag appends. Rows are handled in chunks of set-based statements
+ * (one UPDATE ... WHERE id IN (...) per change), each chunk in its own transaction, so a
+ * long job holds no locks for long and its progress is visible while it runs. A failed
+ * job keeps the chunks it had already committed.
+ */
+@Slf4j
+@Service
+public class ModerationServiceImpl implements ModerationService {
+
+    private record Target(List<Long> ids, FeedbackFilter filter, String status, SortedSet<String> tags) {
+    }
+
+    private static final class Job {
+        private final String jobId = UUID.randomUUID().toString();
+        private final Long total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<Long> updatedIds = new ArrayList<>();
+        private final List<Long> notFoundIds = new ArrayList<>();
+        private ModerationJob.State state = ModerationJob.State.RUNNING;
+        private long processed;
+        private String error;
+        private LocalDateTime finishedAt;
+
+        private Job(Long total) {
+            this.total = total;
+        }
+
+        synchronized void recordChunk(List<Long> updated, List<Long> notFound) {
+            updatedIds.addAll(updated);
+            notFoundIds.addAll(notFound);
+            processed += updated.size() + notFound.size();
+        }
+
+        synchronized void finish(String failure) {
+            state = failure == null ? ModerationJob.State.COMPLETED : ModerationJob.State.FAILED;
+            error = failure;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized ModerationJob snapshot() {
+            return new ModerationJob(jobId, state, total, processed, List.copyOf(updatedIds),
+                    List.copyOf(notFoundIds), error, startedAt, finishedAt);
+        }
+    }
+
+    private final FeedbackRepository feedbackRepository;
+    private final FeedbackTagService feedbackTagService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int chunkSize;
+    private final int maxIds;
+    private final Map<String, Job> jobs;
+
+    @Autowired
+    public ModerationServiceImpl(FeedbackRepository feedbackRepository,
+                                 FeedbackTagService feedbackTagService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                 @Value("${skillsync.feedback.moderation.chunk-size:500}") int chunkSize,
+                                 @Value("${skillsync.feedback.moderation.max-ids:100000}") int maxIds,
+                                 @Value("${skillsync.feedback.moderation.job-retention:1000}") int jobRetention) {
+        this.feedbackRepository = feedbackRepository;
+        this.feedbackTagService = feedbackTagService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+        // Most recent jobs only; older job ids answer 404
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Job> eldest) {
+                return size() > jobRetention;
+            }
+        });
+    }
+
+    @Override
+    public ModerationJob start(ModerationRequest request) {
+        Target target = validate(request);
+        Job job = new Job(target.ids() != null ? (long) target.ids().size() : null);
+        jobs.put(job.jobId, job);
+        if (target.ids() != null && target.ids().size() <= chunkSize) {
+            run(job, target);
+        } else {
+            taskExecutor.execute(() -> run(job, target));
+        }
+        return job.snapshot();
+    }
+
+    @Override
+    public Optional<ModerationJob> getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        return job != null ? Optional.of(job.snapshot()) : Optional.empty();
+    }
+
+    private Target validate(ModerationRequest request) {
+        String status = request.status();
+        if (status != null && status.isBlank()) {
+            throw new InvalidModerationRequestException("status cannot be blank");
+        }
+        SortedSet<String> tags = FeedbackTags.parse(request.tags());
+        if (status == null && tags.isEmpty()) {
+            throw new InvalidModerationRequestException("give a status and/or tags to apply");
+        }
+        boolean hasIds = request.ids() != null && !request.ids().isEmpty();
+        boolean hasFilter = request.filter() != null && request.filter().hasCriteria();
+        if (hasIds == hasFilter) {
+            // An empty filter would touch every row; that has to be asked for explicitly per course/status/...
+            throw new InvalidModerationRequestException("give either a list of ids or a filter with at least one criterion");
+        }
+        if (!hasIds) {
+            return new Target(null, request.filter(), status, tags);
+        }
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(request.ids());
+        ids.remove(null);
+        if (ids.size() > maxIds) {
+            throw new InvalidModerationRequestException(ids.size() + " ids exceed the limit of " + maxIds
+                    + "; use a filter instead");
+        }
+        return new Target(List.copyOf(ids), null, status, tags);
+    }
+
+    private void run(Job job, Target target) {
+        long start = System.currentTimeMillis();
+        try {
+            if (target.ids() != null) {
+                for (int from = 0; from < target.ids().size(); from += chunkSize) {
+                    applyChunk(job, target, target.ids().subList(from, Math.min(from + chunkSize, target.ids().size())));
+                }
+            } else {
+                // Keyset walk over the filter; positions stay valid while the job changes the rows behind it
+                FeedbackCursor after = null;
+                List<FeedbackCursor> keys;
+                do {
+                    keys = feedbackRepository.findKeys(target.filter(), after, chunkSize);
+                    if (!keys.isEmpty()) {
+                        applyChunk(job, target, keys.stream().map(FeedbackCursor::id).toList());
+                        after = keys.get(keys.size() - 1);
+                    }
+                } while (keys.size() == chunkSize);
+            }
+            job.finish(null);
+        } catch (RuntimeException e) {
+            log.error("Moderation job {} failed", job.jobId, e);
+            job.finish(e.getMessage());
+        }
+        ModerationJob done = job.snapshot();
+        log.info("Moderation job {} {} after {} ids in {} ms", done.jobId(), done.state(), done.processed(),
+                System.currentTimeMillis() - start);
+    }
+
+    private void applyChunk(Job job, Target target, List<Long> ids) {
+        List<Long> updated = transactionTemplate.execute(status -> {
+            Set<Long> existing = feedbackRepository.findExistingIds(ids);
+            List<Long> found = ids.stream().filter(existing::contains).toList();
+            if (found.isEmpty()) {
+                return found;
+            }
+            Set<String> fields = new HashSet<>();
+            if (target.status() != null) {
+                feedbackRepository.updateStatus(found, target.status());
+                fields.add("status");
+            }
+            if (!target.tags().isEmpty()) {
+                Map<Long, SortedSet<String>> rows = new LinkedHashMap<>();
+                found.forEach(id -> rows.put(id, target.tags()));
+                feedbackTagService.addTags(rows);
+                feedbackRepository.refreshTagsColumns(found);
+                fields.add("tags");
+            }
+            eventPublisher.publishEvent(new FeedbackChangeEvent(
+                    found.stream().map(id -> FeedbackChange.patched(id, fields)).toList()));
+            return found;
+        });
+        Set<Long> updatedSet = new HashSet<>(updated);
+        job.recordChunk(updated, ids.stream().filter(id -> !updatedSet.contains(id)).toList());
+    }
+}
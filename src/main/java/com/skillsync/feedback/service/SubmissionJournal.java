@@ -0,0 +1,248 @@
+package com.skillsync.feedback.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only local journal of accepted write-behind submissions. Each accepted submission is
+ * an "A" line, each one written to the database a "C" line; entries without a "C" line are
+ * replayed on startup.
+ *
+ * <p>Appends are group-committed: a writer only holds the lock while its line is written, then
+ * waits until a force covers it. The first waiter forces for everyone queued behind it, so one
+ * fsync completes a whole burst of submissions. Once the file grows past the compaction threshold
+ * and is mostly committed lines, it is rewritten with the outstanding "A" lines only; it is
+ * truncated whenever nothing is outstanding.
+ */
+class SubmissionJournal implements Closeable {
+
+    record Entry(String trackingId, String payload) {
+    }
+
+    private static final String ADDED = "A";
+    private static final String COMMITTED = "C";
+    private static final String SEPARATOR = "\t";
+
+    private final Path path;
+    private final boolean fsync;
+    private final long compactBytes;
+    private volatile FileChannel channel;
+
+    // Outstanding entries by tracking id, as their "A" lines: what a compaction keeps
+    private final Map<String, String> outstanding = new LinkedHashMap<>();
+    private long outstandingBytes;
+
+    // Bytes ever written (never reset by truncation or compaction), guarded by this
+    private long writtenBytes;
+    // Bytes known to be on disk, and whether a waiter is forcing right now, guarded by syncLock
+    private final Object syncLock = new Object();
+    private long durableBytes;
+    private boolean syncing;
+    private long syncs;
+
+    SubmissionJournal(Path path, boolean fsync, long compactBytes) throws IOException {
+        this.path = path;
+        this.fsync = fsync;
+        this.compactBytes = compactBytes;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+    }
+
+    // Entries appended but never committed, in append order. A torn last line left by a crash
+    // mid-append was never acknowledged to the client, so it is cut off and ignored.
+    synchronized List<Entry> recover() throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n') {
+            end--;
+        }
+        if (end < content.length) {
+            channel.truncate(end);
+            channel.position(end);
+        }
+
+        outstanding.clear();
+        outstandingBytes = 0;
+        Map<String, String> pending = new LinkedHashMap<>();
+        for (String line : new String(content, 0, end, StandardCharsets.UTF_8).split("\n")) {
+            String[] parts = line.split(SEPARATOR, 3);
+            if (parts.length == 3 && ADDED.equals(parts[0])) {
+                pending.put(parts[1], parts[2]);
+                track(parts[1], line + "\n");
+            } else if (parts.length == 2 && COMMITTED.equals(parts[0])) {
+                pending.remove(parts[1]);
+                untrack(parts[1]);
+            }
+        }
+        List<Entry> entries = new ArrayList<>(pending.size());
+        pending.forEach((trackingId, payload) -> entries.add(new Entry(trackingId, payload)));
+        return entries;
+    }
+
+    // Returns only once the entry is on disk (when fsync is enabled)
+    void append(String trackingId, String payload) throws IOException {
+        String line = ADDED + SEPARATOR + trackingId + SEPARATOR + payload + "\n";
+        long end;
+        synchronized (this) {
+            end = write(line);
+            track(trackingId, line);
+        }
+        awaitDurable(end);
+    }
+
+    void commit(Collection<String> trackingIds) throws IOException {
+        if (trackingIds.isEmpty()) {
+            return;
+        }
+        long end;
+        synchronized (this) {
+            trackingIds.forEach(this::untrack);
+            if (outstanding.isEmpty()) {
+                channel.truncate(0);
+                channel.position(0);
+                if (fsync) {
+                    channel.force(true);
+                }
+                return;
+            }
+            StringBuilder lines = new StringBuilder();
+            trackingIds.forEach(id -> lines.append(COMMITTED).append(SEPARATOR).append(id).append('\n'));
+            end = write(lines.toString());
+            if (channel.size() > compactBytes && outstandingBytes * 2 < channel.size()) {
+                compact();
+                return;
+            }
+        }
+        awaitDurable(end);
+    }
+
+    synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    // Forces issued so far; fewer than the appends when submissions arrive concurrently
+    long syncs() {
+        synchronized (syncLock) {
+            return syncs;
+        }
+    }
+
+    private void track(String trackingId, String line) {
+        if (outstanding.put(trackingId, line) == null) {
+            outstandingBytes += line.length();
+        }
+    }
+
+    private void untrack(String trackingId) {
+        String line = outstanding.remove(trackingId);
+        if (line != null) {
+            outstandingBytes -= line.length();
+        }
+    }
+
+    // Writes without forcing; returns the position in writtenBytes the caller has to wait for
+    private long write(String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        writtenBytes += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return writtenBytes;
+    }
+
+    private void awaitDurable(long end) throws IOException {
+        if (!fsync) {
+            return;
+        }
+        synchronized (syncLock) {
+            while (durableBytes < end) {
+                if (!syncing) {
+                    syncing = true;
+                    break;
+                }
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for the submission journal to sync");
+                }
+            }
+            if (durableBytes >= end) {
+                return;
+            }
+        }
+        // This thread leads: one force covers everything written up to now, its own line included
+        long target;
+        FileChannel forced;
+        synchronized (this) {
+            target = writtenBytes;
+            forced = channel;
+        }
+        boolean forcedAll = false;
+        try {
+            forced.force(false);
+            forcedAll = true;
+        } catch (ClosedChannelException e) {
+            // A compaction replaced the file meanwhile, and forced the new one before closing this one
+            if (forced == channel) {
+                throw e;
+            }
+            forcedAll = true;
+        } finally {
+            synchronized (syncLock) {
+                syncing = false;
+                if (forcedAll) {
+                    durableBytes = Math.max(durableBytes, target);
+                    syncs++;
+                }
+                syncLock.notifyAll();
+            }
+        }
+    }
+
+    // Rewrites the file with the outstanding "A" lines, then swaps it in; a crash leaves either file whole
+    private void compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(String.join("", outstanding.values()).getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FileChannel previous = channel;
+        channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        // Every line written so far is either in the new file or committed
+        synchronized (syncLock) {
+            durableBytes = Math.max(durableBytes, writtenBytes);
+            syncLock.notifyAll();
+        }
+        previous.close();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
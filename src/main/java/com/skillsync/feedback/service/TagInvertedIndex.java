@@ -0,0 +1,138 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.TagMatch;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory tag -> compressed sorted feedback-id set. Updates and queries are guarded by one
+ * read/write lock; a rebuild loads into a fresh map off-lock and replays the updates that
+ * arrived meanwhile before swapping it in.
+ */
+class TagInvertedIndex {
+
+    private record Update(String tag, long feedbackId, boolean add) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Roaring64Bitmap> postings = new HashMap<>();
+    private List<Update> updatesDuringRebuild; // non-null while a rebuild is loading
+
+    void add(String tag, long feedbackId) {
+        apply(new Update(tag, feedbackId, true));
+    }
+
+    void remove(String tag, long feedbackId) {
+        apply(new Update(tag, feedbackId, false));
+    }
+
+    private void apply(Update update) {
+        lock.writeLock().lock();
+        try {
+            applyTo(postings, update);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void applyTo(Map<String, Roaring64Bitmap> target, Update update) {
+        if (update.add()) {
+            target.computeIfAbsent(update.tag(), t -> new Roaring64Bitmap()).addLong(update.feedbackId());
+            return;
+        }
+        Roaring64Bitmap ids = target.get(update.tag());
+        if (ids != null) {
+            ids.removeLong(update.feedbackId());
+            if (ids.isEmpty()) {
+                target.remove(update.tag());
+            }
+        }
+    }
+
+    // Ids carrying all/any of the tags; the result is a private copy
+    Roaring64Bitmap match(Collection<String> tags, TagMatch match) {
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap result = null;
+            for (String tag : tags) {
+                Roaring64Bitmap ids = postings.get(tag);
+                if (ids == null) {
+                    if (match == TagMatch.ALL) {
+                        return new Roaring64Bitmap();
+                    }
+                    continue;
+                }
+                if (result == null) {
+                    result = ids.clone();
+                } else if (match == TagMatch.ALL) {
+                    result.and(ids);
+                } else {
+                    result.or(ids);
+                }
+            }
+            return result != null ? result : new Roaring64Bitmap();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Map<String, Long> counts() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> counts = new TreeMap<>();
+            postings.forEach((tag, ids) -> counts.put(tag, ids.getLongCardinality()));
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToLong(Roaring64Bitmap::getLongSizeInBytes).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Loads a full copy through 'loader' and swaps it in; concurrent updates are not lost
+    void rebuild(Consumer<Map<String, Roaring64Bitmap>> loader) {
+        lock.writeLock().lock();
+        try {
+            updatesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<String, Roaring64Bitmap> fresh = new HashMap<>();
+        boolean loaded = false;
+        try {
+            loader.accept(fresh);
+            fresh.values().forEach(Roaring64Bitmap::runOptimize);
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    updatesDuringRebuild.forEach(update -> applyTo(fresh, update));
+                    postings = fresh;
+                }
+                updatesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.LeaderboardMetric;
+import com.skillsync.model.dto.TrainerLeaderboard;
+
+public interface TrainerLeaderboardService {
+
+    // Best or worst trainers by a confidence-adjusted score, across all courses or within one
+    TrainerLeaderboard getLeaderboard(LeaderboardMetric metric, Long courseId, TrainerLeaderboard.Order order,
+                                      Integer limit);
+
+    // Reloads the rankings from the aggregate table, picking up writes made by other instances
+    void reload();
+}
@@ -0,0 +1,148 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.LeaderboardMetric;
+import com.skillsync.model.RatingTally;
+import com.skillsync.model.TrainerCourseAggregate;
+import com.skillsync.model.dto.TrainerLeaderboard;
+import com.skillsync.model.dto.TrainerRanking;
+import com.skillsync.repository.TrainerCourseAggregateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trainer leaderboards. The (trainer, course) tallies are kept exact in the database by the write
+ * transaction; after commit the touched rows are re-read by primary key and only those trainers
+ * are re-scored in memory, so a leaderboard read is a walk over an already sorted set. Like the
+ * tag index, an instance only sees other instances' writes at the periodic reload.
+ */
+@Slf4j
+@Service
+public class TrainerLeaderboardServiceImpl implements TrainerLeaderboardService, ApplicationRunner {
+
+    private final TrainerCourseAggregateRepository aggregateRepository;
+    private final TrainerRankings rankings;
+    private final double priorWeight;
+    private final long minSamples;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    // Re-reads and reloads are serialized so an older read can never overwrite a newer one
+    private final Object syncLock = new Object();
+
+    @Autowired
+    public TrainerLeaderboardServiceImpl(TrainerCourseAggregateRepository aggregateRepository,
+                                         @Value("${skillsync.feedback.leaderboard.prior-weight:10}") double priorWeight,
+                                         @Value("${skillsync.feedback.leaderboard.min-samples:5}") long minSamples,
+                                         @Value("${skillsync.feedback.leaderboard.prior-tolerance:0.002}") double priorTolerance,
+                                         @Value("${skillsync.feedback.leaderboard.default-limit:10}") int defaultLimit,
+                                         @Value("${skillsync.feedback.leaderboard.max-limit:100}") int maxLimit) {
+        this.aggregateRepository = aggregateRepository;
+        this.rankings = new TrainerRankings(priorWeight, minSamples, priorTolerance);
+        this.priorWeight = priorWeight;
+        this.minSamples = minSamples;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reload();
+    }
+
+    // Runs synchronously inside the feedback write transaction, so the counters commit or roll back with it
+    @EventListener
+    public void onFeedbackChange(FeedbackChangeEvent event) {
+        Map<TrainerCourseAggregate.Key, RatingTally> deltas = new HashMap<>();
+        for (FeedbackChange change : event.changes()) {
+            // PATCHED changes carry no snapshots and never touch ratings; archived feedback keeps counting
+            if (change.type() == FeedbackChange.Type.ARCHIVED) {
+                continue;
+            }
+            if (hasTrainerAndCourse(change.before())) {
+                deltas.computeIfAbsent(key(change.before()), k -> new RatingTally()).subtract(change.before());
+            }
+            if (hasTrainerAndCourse(change.after())) {
+                deltas.computeIfAbsent(key(change.after()), k -> new RatingTally()).add(change.after());
+            }
+        }
+        aggregateRepository.applyDeltas(deltas);
+    }
+
+    // Runs after commit so the rankings only ever reflect committed counters
+    @TransactionalEventListener
+    public void onFeedbackCommitted(FeedbackChangeEvent event) {
+        Set<TrainerCourseAggregate.Key> touched = new HashSet<>();
+        for (FeedbackChange change : event.changes()) {
+            if (change.type() == FeedbackChange.Type.ARCHIVED) {
+                continue;
+            }
+            if (hasTrainerAndCourse(change.before())) {
+                touched.add(key(change.before()));
+            }
+            if (hasTrainerAndCourse(change.after())) {
+                touched.add(key(change.after()));
+            }
+        }
+        if (touched.isEmpty()) {
+            return;
+        }
+        synchronized (syncLock) {
+            Map<TrainerCourseAggregate.Key, RatingTally> current = aggregateRepository.findTallies(touched);
+            touched.forEach(key -> rankings.put(key, current.get(key)));
+        }
+    }
+
+    private static boolean hasTrainerAndCourse(FeedbackSnapshot feedback) {
+        return feedback != null && feedback.trainerId() != null && feedback.courseId() != null;
+    }
+
+    private static TrainerCourseAggregate.Key key(FeedbackSnapshot feedback) {
+        return new TrainerCourseAggregate.Key(feedback.trainerId(), feedback.courseId());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${skillsync.feedback.leaderboard.reload-interval-ms:300000}",
+               initialDelayString = "${skillsync.feedback.leaderboard.reload-interval-ms:300000}")
+    public void reload() {
+        long start = System.currentTimeMillis();
+        synchronized (syncLock) {
+            rankings.replaceAll(aggregateRepository.findAllTallies());
+        }
+        log.info("Trainer leaderboards loaded: {} trainers in {} ms", rankings.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public TrainerLeaderboard getLeaderboard(LeaderboardMetric metric, Long courseId, TrainerLeaderboard.Order order,
+                                             Integer limit) {
+        int size = limit == null || limit < 1 ? defaultLimit : Math.min(limit, maxLimit);
+        boolean bottom = order == TrainerLeaderboard.Order.BOTTOM;
+        TrainerRankings.Slice slice = rankings.slice(courseId, metric, bottom, size);
+        List<TrainerRanking> entries = new ArrayList<>(slice.entries().size());
+        for (int i = 0; i < slice.entries().size(); i++) {
+            TrainerRankings.Ranked ranked = slice.entries().get(i);
+            int rank = bottom ? slice.rankedTrainers() - i : i + 1;
+            entries.add(new TrainerRanking(rank, ranked.trainerId(), ranked.score(), ranked.average(),
+                    ranked.samples(), ranked.feedbackCount()));
+        }
+        return new TrainerLeaderboard(metric, courseId, order, slice.priorMean(), priorWeight, minSamples,
+                slice.rankedTrainers(), entries);
+    }
+}
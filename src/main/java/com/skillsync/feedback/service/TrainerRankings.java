@@ -0,0 +1,229 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.LeaderboardMetric;
+import com.skillsync.model.RatingTally;
+import com.skillsync.model.TrainerCourseAggregate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trainer rankings over the (trainer, course) tallies: one board across all courses
+ * plus one per course, each holding a sorted set per metric so top/bottom-N reads never sort.
+ * A changed tally re-scores only its trainer, except when the board's mean (the Bayesian prior)
+ * has moved by more than the tolerance, which re-scores the whole board. Guarded by one
+ * read/write lock.
+ */
+class TrainerRankings {
+
+    record Ranked(long trainerId, double score, double average, long samples, long feedbackCount) {
+    }
+
+    record Slice(Double priorMean, int rankedTrainers, List<Ranked> entries) {
+    }
+
+    // Best first; equal scores go to the trainer with more evidence, then to the lower id
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::samples).reversed())
+            .thenComparingLong(Ranked::trainerId);
+
+    private final double priorWeight;
+    private final long minSamples;
+    private final double priorTolerance;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<TrainerCourseAggregate.Key, RatingTally> tallies = new HashMap<>();
+    private Board overall = new Board();
+    private Map<Long, Board> byCourse = new HashMap<>();
+
+    TrainerRankings(double priorWeight, long minSamples, double priorTolerance) {
+        this.priorWeight = priorWeight;
+        this.minSamples = minSamples;
+        this.priorTolerance = priorTolerance;
+    }
+
+    // Sets the absolute tally of one (trainer, course); null or all-zero removes it
+    void put(TrainerCourseAggregate.Key key, RatingTally tally) {
+        lock.writeLock().lock();
+        try {
+            RatingTally previous = tallies.get(key);
+            RatingTally delta = new RatingTally();
+            if (tally != null) {
+                delta.add(tally);
+            }
+            if (previous != null) {
+                delta.subtract(previous);
+            }
+            if (delta.isZero()) {
+                return;
+            }
+            if (tally == null || tally.isZero()) {
+                tallies.remove(key);
+            } else {
+                tallies.put(key, new RatingTally().add(tally));
+            }
+            overall.apply(key.getTrainerId(), delta);
+            Board course = byCourse.computeIfAbsent(key.getCourseId(), id -> new Board());
+            course.apply(key.getTrainerId(), delta);
+            if (course.trainers.isEmpty()) {
+                byCourse.remove(key.getCourseId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Builds fresh boards off-lock and swaps them in
+    void replaceAll(Map<TrainerCourseAggregate.Key, RatingTally> fresh) {
+        Map<TrainerCourseAggregate.Key, RatingTally> freshTallies = new HashMap<>();
+        Board freshOverall = new Board();
+        Map<Long, Board> freshByCourse = new HashMap<>();
+        fresh.forEach((key, tally) -> {
+            if (tally.isZero()) {
+                return;
+            }
+            freshTallies.put(key, tally);
+            freshOverall.add(key.getTrainerId(), tally);
+            freshByCourse.computeIfAbsent(key.getCourseId(), id -> new Board()).add(key.getTrainerId(), tally);
+        });
+        freshOverall.rerank();
+        freshByCourse.values().forEach(Board::rerank);
+        lock.writeLock().lock();
+        try {
+            tallies = freshTallies;
+            overall = freshOverall;
+            byCourse = freshByCourse;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The best (or worst) 'limit' trainers of the overall board or of one course
+    Slice slice(Long courseId, LeaderboardMetric metric, boolean bottom, int limit) {
+        lock.readLock().lock();
+        try {
+            Board board = courseId == null ? overall : byCourse.get(courseId);
+            if (board == null) {
+                return new Slice(null, 0, List.of());
+            }
+            Ranking ranking = board.rankings.get(metric);
+            List<Ranked> entries = new ArrayList<>(Math.min(limit, ranking.order.size()));
+            Iterator<Ranked> it = bottom ? ranking.order.descendingIterator() : ranking.order.iterator();
+            while (it.hasNext() && entries.size() < limit) {
+                entries.add(it.next());
+            }
+            return new Slice(ranking.priorMean, ranking.order.size(), entries);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return overall.trainers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private final class Board {
+
+        final Map<Long, RatingTally> trainers = new HashMap<>();
+        final RatingTally total = new RatingTally();
+        final Map<LeaderboardMetric, Ranking> rankings = new EnumMap<>(LeaderboardMetric.class);
+
+        Board() {
+            for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+                rankings.put(metric, new Ranking(metric, this));
+            }
+        }
+
+        // Counters only; the caller re-ranks once it is done
+        void add(long trainerId, RatingTally delta) {
+            RatingTally trainer = trainers.computeIfAbsent(trainerId, id -> new RatingTally()).add(delta);
+            if (trainer.isZero()) {
+                trainers.remove(trainerId);
+            }
+            total.add(delta);
+        }
+
+        void apply(long trainerId, RatingTally delta) {
+            add(trainerId, delta);
+            for (Ranking ranking : rankings.values()) {
+                ranking.update(trainerId);
+            }
+        }
+
+        void rerank() {
+            rankings.values().forEach(Ranking::rerank);
+        }
+    }
+
+    private final class Ranking {
+
+        final LeaderboardMetric metric;
+        final Board board;
+        final NavigableSet<Ranked> order = new TreeSet<>(BEST_FIRST);
+        final Map<Long, Ranked> byTrainer = new HashMap<>();
+        Double priorMean;
+
+        Ranking(LeaderboardMetric metric, Board board) {
+            this.metric = metric;
+            this.board = board;
+        }
+
+        void update(long trainerId) {
+            if (priorDrifted()) {
+                rerank();
+                return;
+            }
+            Ranked previous = byTrainer.remove(trainerId);
+            if (previous != null) {
+                order.remove(previous);
+            }
+            insert(trainerId, board.trainers.get(trainerId));
+        }
+
+        private boolean priorDrifted() {
+            Double live = metric.mean(board.total);
+            if (live == null || priorMean == null) {
+                return !Objects.equals(live, priorMean);
+            }
+            return Math.abs(live - priorMean) > priorTolerance * metric.maxValue();
+        }
+
+        void rerank() {
+            priorMean = metric.mean(board.total);
+            order.clear();
+            byTrainer.clear();
+            board.trainers.forEach(this::insert);
+        }
+
+        // Bayesian average: the trainer's answers plus priorWeight virtual answers at the board mean
+        private void insert(long trainerId, RatingTally tally) {
+            if (tally == null || priorMean == null) {
+                return;
+            }
+            long samples = metric.samples(tally);
+            if (samples == 0 || samples < minSamples) {
+                return;
+            }
+            double total = metric.total(tally);
+            double score = (priorWeight * priorMean + total) / (priorWeight + samples);
+            Ranked ranked = new Ranked(trainerId, score, total / samples, samples, tally.feedbackCount());
+            order.add(ranked);
+            byTrainer.put(trainerId, ranked);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.skillsync.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Running per-course totals, maintained in the same transaction as every feedback write
+// so the course average/count endpoints never have to touch the feedback table.
+@Data
+@Entity
+@Table(name = "course_rating_aggregate")
+public class CourseRatingAggregate {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Embedded
+    private RatingStats stats = new RatingStats();
+
+    @Column(name = "last_updated_timestamp")
+    private LocalDateTime lastUpdatedTimestamp;
+}
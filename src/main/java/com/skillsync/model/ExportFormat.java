@@ -0,0 +1,24 @@
+package com.skillsync.model;
+
+// Output formats of feedback exports: RFC 4180 CSV, or an Arrow IPC stream (one record batch per chunk)
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    ARROW("application/vnd.apache.arrow.stream", "arrows");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
@@ -1,5 +1,6 @@
 package com.skillsync.model; // Corrected package name as per your structure
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data; // Ensure Lombok is correctly set up in your project
@@ -71,6 +72,13 @@ public class Feedback {
     @Column(name = "last_updated_timestamp")
     private LocalDateTime lastUpdatedTimestamp; // For tracking admin updates
 
+    // --- Optimistic locking ---
+    // Incremented on every update; send it back in If-Match to make a change conditional
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     // --- Constructors ---
     public Feedback() {
         this.submissionTimestamp = LocalDateTime.now(); // Set on creation
@@ -0,0 +1,41 @@
+package com.skillsync.model;
+
+import com.skillsync.Exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (submissionTimestamp DESC, id DESC) listing order.
+ * Clients only ever see the opaque {@link #encode()} form.
+ */
+public record FeedbackCursor(LocalDateTime submissionTimestamp, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static FeedbackCursor after(FeedbackView last) {
+        return new FeedbackCursor(last.getSubmissionTimestamp(), last.getId());
+    }
+
+    public String encode() {
+        String raw = submissionTimestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedbackCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(token);
+            }
+            return new FeedbackCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
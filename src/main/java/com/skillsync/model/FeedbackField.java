@@ -0,0 +1,57 @@
+package com.skillsync.model;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The feedback properties a listing can select with ?fields=, named as in the full JSON
+ * representation and declared in its order. SNIPPET is the comment cut to the configured length.
+ */
+public enum FeedbackField {
+
+    ID("id", Long.class),
+    COMMENT("comment", String.class),
+    SNIPPET("snippet", String.class),
+    RATING("rating", Integer.class),
+    USER_ID("userId", Long.class),
+    COURSE_ID("courseId", Long.class),
+    TRAINER_ID("trainerId", Long.class),
+    CONTENT_RELEVANCE_RATING("contentRelevanceRating", Integer.class),
+    TRAINER_EFFECTIVENESS_RATING("trainerEffectivenessRating", Integer.class),
+    WOULD_RECOMMEND("wouldRecommend", Boolean.class),
+    IS_ANONYMOUS("isAnonymous", Boolean.class),
+    TAGS("tags", String.class),
+    STATUS("status", String.class),
+    ADMIN_NOTES("adminNotes", String.class),
+    SUBMISSION_TIMESTAMP("submissionTimestamp", LocalDateTime.class),
+    LAST_UPDATED_TIMESTAMP("lastUpdatedTimestamp", LocalDateTime.class),
+    VERSION("version", Long.class);
+
+    private static final Map<String, FeedbackField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toMap(field -> field.jsonName.toLowerCase(Locale.ROOT), Function.identity()));
+
+    private final String jsonName;
+    private final Class<?> type;
+
+    FeedbackField(String jsonName, Class<?> type) {
+        this.jsonName = jsonName;
+        this.type = type;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    // Case-insensitive lookup by JSON name; null when there is no such field
+    public static FeedbackField fromJsonName(String name) {
+        return BY_NAME.get(name.trim().toLowerCase(Locale.ROOT));
+    }
+}
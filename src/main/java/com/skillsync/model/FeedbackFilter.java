@@ -0,0 +1,67 @@
+package com.skillsync.model;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Optional listing criteria; null components are not applied. Tags are matched exactly,
+// combined according to tagMatch (ALL when not given). Archived feedback is only included
+// with includeArchived=true.
+public record FeedbackFilter(
+        Long courseId,
+        Long userId,
+        Long trainerId,
+        String status,
+        List<String> tags,
+        TagMatch tagMatch,
+        Integer minRating,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+        Boolean includeArchived) {
+
+    public static FeedbackFilter none() {
+        return new FeedbackFilter(null, null, null, null, null, null, null, null, null, null);
+    }
+
+    public static FeedbackFilter byCourse(Long courseId) {
+        return new FeedbackFilter(courseId, null, null, null, null, null, null, null, null, null);
+    }
+
+    public static FeedbackFilter byUser(Long userId) {
+        return new FeedbackFilter(null, userId, null, null, null, null, null, null, null, null);
+    }
+
+    public static FeedbackFilter byTrainer(Long trainerId) {
+        return new FeedbackFilter(null, null, trainerId, null, null, null, null, null, null, null);
+    }
+
+    public static FeedbackFilter byStatus(String status) {
+        return new FeedbackFilter(null, null, null, status, null, null, null, null, null, null);
+    }
+
+    public static FeedbackFilter byTag(String tag) {
+        return new FeedbackFilter(null, null, null, null, List.of(tag), TagMatch.ALL, null, null, null, null);
+    }
+
+    public static FeedbackFilter byDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return new FeedbackFilter(null, null, null, null, null, null, null, startDate, endDate, null);
+    }
+
+    public boolean hasCriteria() {
+        return courseId != null || userId != null || trainerId != null || status != null || hasTags()
+                || minRating != null || startDate != null || endDate != null;
+    }
+
+    public boolean includesArchive() {
+        return Boolean.TRUE.equals(includeArchived);
+    }
+
+    public boolean hasTags() {
+        return tags != null && !tags.isEmpty();
+    }
+
+    public TagMatch effectiveTagMatch() {
+        return tagMatch != null ? tagMatch : TagMatch.ALL;
+    }
+}
@@ -0,0 +1,7 @@
+package com.skillsync.model;
+
+import java.util.List;
+
+// One keyset page; nextCursor is null on the last page.
+public record FeedbackPage(List<FeedbackView> items, String nextCursor) {
+}
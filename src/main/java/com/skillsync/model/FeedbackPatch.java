@@ -0,0 +1,121 @@
+package com.skillsync.model;
+
+import com.skillsync.Exception.InvalidPatchException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Validated JSON Merge Patch (RFC 7396) for one feedback row: only the fields present are changed,
+ * and an explicit null clears a field where the entity allows it. Identity and bookkeeping fields
+ * (id, userId, submission/update timestamps, version) cannot be patched.
+ */
+public final class FeedbackPatch {
+
+    // 'derived' fields feed the course aggregates or the tag table, so changing them needs the old values
+    private record Field(String column, Class<?> type, boolean nullable, boolean derived, Integer maxLength,
+                         boolean rating, BiConsumer<Feedback, Object> setter) {
+    }
+
+    private static final Map<String, Field> FIELDS = Map.ofEntries(
+            Map.entry("comment", new Field("comment_text", String.class, false, false, 2000, false,
+                    (f, v) -> f.setComment((String) v))),
+            Map.entry("status", new Field("status", String.class, true, false, 255, false,
+                    (f, v) -> f.setStatus((String) v))),
+            Map.entry("adminNotes", new Field("admin_notes", String.class, true, false, 1000, false,
+                    (f, v) -> f.setAdminNotes((String) v))),
+            Map.entry("isAnonymous", new Field("is_anonymous", Boolean.class, true, false, null, false,
+                    (f, v) -> f.setIsAnonymous((Boolean) v))),
+            Map.entry("rating", new Field("overall_rating", Integer.class, true, true, null, true,
+                    (f, v) -> f.setRating((Integer) v))),
+            Map.entry("contentRelevanceRating", new Field("content_relevance_rating", Integer.class, true, true, null,
+                    true, (f, v) -> f.setContentRelevanceRating((Integer) v))),
+            Map.entry("trainerEffectivenessRating", new Field("trainer_effectiveness_rating", Integer.class, true, true,
+                    null, true, (f, v) -> f.setTrainerEffectivenessRating((Integer) v))),
+            Map.entry("wouldRecommend", new Field("would_recommend", Boolean.class, true, true, null, false,
+                    (f, v) -> f.setWouldRecommend((Boolean) v))),
+            Map.entry("courseId", new Field("course_id", Long.class, false, true, null, false,
+                    (f, v) -> f.setCourseId((Long) v))),
+            Map.entry("trainerId", new Field("trainer_id", Long.class, true, true, null, false,
+                    (f, v) -> f.setTrainerId((Long) v))),
+            Map.entry("tags", new Field("tags", String.class, true, true, null, false,
+                    (f, v) -> f.setTags((String) v))));
+
+    private final Map<String, Object> values;
+
+    private FeedbackPatch(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    public static FeedbackPatch of(Map<String, Object> body) {
+        if (body == null || body.isEmpty()) {
+            throw new InvalidPatchException("no fields to change");
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        body.forEach((name, raw) -> {
+            Field field = FIELDS.get(name);
+            if (field == null) {
+                throw new InvalidPatchException("field '" + name + "' cannot be patched");
+            }
+            values.put(name, convert(name, field, raw));
+        });
+        return new FeedbackPatch(values);
+    }
+
+    public Set<String> fields() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    public boolean touchesDerivedData() {
+        return values.keySet().stream().anyMatch(name -> FIELDS.get(name).derived());
+    }
+
+    // Column -> new value, for a direct UPDATE of patches without derived fields
+    public Map<String, Object> columns() {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        values.forEach((name, value) -> columns.put(FIELDS.get(name).column(), value));
+        return columns;
+    }
+
+    public void applyTo(Feedback feedback) {
+        values.forEach((name, value) -> FIELDS.get(name).setter().accept(feedback, value));
+    }
+
+    private static Object convert(String name, Field field, Object raw) {
+        if (raw == null) {
+            if (!field.nullable()) {
+                throw new InvalidPatchException("'" + name + "' cannot be null");
+            }
+            return null;
+        }
+        Object value;
+        if (field.type() == String.class && raw instanceof String text) {
+            if (!field.nullable() && text.isBlank()) {
+                throw new InvalidPatchException("'" + name + "' cannot be blank");
+            }
+            if (field.maxLength() != null && text.length() > field.maxLength()) {
+                throw new InvalidPatchException("'" + name + "' cannot exceed " + field.maxLength() + " characters");
+            }
+            value = text;
+        } else if (field.type() == Boolean.class && raw instanceof Boolean flag) {
+            value = flag;
+        } else if (field.type() == Integer.class && isIntegral(raw)) {
+            value = ((Number) raw).intValue();
+        } else if (field.type() == Long.class && isIntegral(raw)) {
+            value = ((Number) raw).longValue();
+        } else {
+            throw new InvalidPatchException("'" + name + "' must be a " + field.type().getSimpleName());
+        }
+        if (field.rating() && ((Integer) value < 1 || (Integer) value > 5)) {
+            throw new InvalidPatchException("'" + name + "' must be between 1 and 5");
+        }
+        return value;
+    }
+
+    private static boolean isIntegral(Object raw) {
+        return raw instanceof Integer || raw instanceof Long || raw instanceof Short;
+    }
+}
@@ -0,0 +1,76 @@
+package com.skillsync.model;
+
+import com.skillsync.Exception.InvalidFieldSelectionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The fields a listing fetches from the database and returns, e.g. ?fields=id,rating,status,snippet.
+ * id and submissionTimestamp are always fetched because the page cursor is built from them, but
+ * they are only returned when selected. "all" selects every field with the full comment.
+ */
+public record FeedbackProjection(Set<FeedbackField> fields, int snippetLength) {
+
+    public static final String ALL = "all";
+
+    private static final Set<FeedbackField> FULL = EnumSet.complementOf(EnumSet.of(FeedbackField.SNIPPET));
+    // List views: everything but the admin notes, with a snippet instead of the full comment
+    private static final Set<FeedbackField> LIST = EnumSet.complementOf(
+            EnumSet.of(FeedbackField.COMMENT, FeedbackField.ADMIN_NOTES));
+    private static final Set<FeedbackField> CURSOR = EnumSet.of(FeedbackField.ID, FeedbackField.SUBMISSION_TIMESTAMP);
+
+    public FeedbackProjection {
+        if (fields.isEmpty()) {
+            throw new InvalidFieldSelectionException("select at least one field");
+        }
+        fields = Collections.unmodifiableSet(EnumSet.copyOf(fields));
+    }
+
+    public static FeedbackProjection full() {
+        return new FeedbackProjection(FULL, 0);
+    }
+
+    public static FeedbackProjection list(int snippetLength) {
+        return new FeedbackProjection(LIST, snippetLength);
+    }
+
+    // A comma-separated list of field names, "all", or nothing for the given default
+    public static FeedbackProjection parse(String fields, FeedbackProjection ifAbsent) {
+        if (fields == null || fields.isBlank()) {
+            return ifAbsent;
+        }
+        if (fields.trim().equalsIgnoreCase(ALL)) {
+            return new FeedbackProjection(FULL, ifAbsent.snippetLength());
+        }
+        Set<FeedbackField> selected = EnumSet.noneOf(FeedbackField.class);
+        List<String> unknown = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            FeedbackField field = FeedbackField.fromJsonName(name);
+            if (field == null) {
+                unknown.add(name.trim());
+            } else {
+                selected.add(field);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldSelectionException("unknown field(s) " + unknown + "; known fields are "
+                    + Arrays.stream(FeedbackField.values()).map(FeedbackField::jsonName).toList() + " or " + ALL);
+        }
+        return new FeedbackProjection(selected, ifAbsent.snippetLength());
+    }
+
+    // The selected fields plus the cursor columns, in declaration order
+    public Set<FeedbackField> fetched() {
+        Set<FeedbackField> fetched = EnumSet.copyOf(fields);
+        fetched.addAll(CURSOR);
+        return fetched;
+    }
+}
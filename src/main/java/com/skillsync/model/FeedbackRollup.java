@@ -0,0 +1,60 @@
+package com.skillsync.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+// Rating tallies of the feedback submitted in one time bucket, per course or per trainer.
+// Maintained in the same transaction as every feedback write, like CourseRatingAggregate.
+@Data
+@Entity
+@IdClass(FeedbackRollup.Key.class)
+@Table(name = "feedback_rollup")
+public class FeedbackRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", length = 16)
+    private RollupScope scope;
+
+    @Id
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", length = 8)
+    private RollupGranularity granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Embedded
+    private RatingStats stats = new RatingStats();
+
+    @Column(name = "last_updated_timestamp")
+    private LocalDateTime lastUpdatedTimestamp;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        // Primary-key order; writers touch rows in this order so they never deadlock each other
+        public static final Comparator<Key> ORDER = Comparator.comparing(Key::getScope)
+                .thenComparing(Key::getScopeId)
+                .thenComparing(Key::getGranularity)
+                .thenComparing(Key::getBucketStart);
+
+        private RollupScope scope;
+        private Long scopeId;
+        private RollupGranularity granularity;
+        private LocalDateTime bucketStart;
+    }
+}
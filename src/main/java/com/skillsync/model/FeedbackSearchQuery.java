@@ -0,0 +1,20 @@
+package com.skillsync.model;
+
+import java.util.List;
+
+// Full-text search criteria: free text over comment and admin notes ('+' and '|' combine terms,
+// '-' excludes, "..." matches a phrase, a trailing '*' a prefix) plus optional structured filters.
+// Every tag must match; null components are not applied.
+public record FeedbackSearchQuery(
+        String q,
+        Long courseId,
+        Long trainerId,
+        Integer minRating,
+        Integer maxRating,
+        String status,
+        List<String> tags) {
+
+    public boolean hasText() {
+        return q != null && !q.isBlank();
+    }
+}
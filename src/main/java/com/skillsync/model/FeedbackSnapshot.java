@@ -0,0 +1,42 @@
+package com.skillsync.model;
+
+import java.time.LocalDateTime;
+
+// Immutable copy of a Feedback row, taken before/after a mutation so listeners
+// can see the old values even though the managed entity is changed in place.
+public record FeedbackSnapshot(
+        Long id,
+        String comment,
+        Integer rating,
+        Long userId,
+        Long courseId,
+        Long trainerId,
+        Integer contentRelevanceRating,
+        Integer trainerEffectivenessRating,
+        Boolean wouldRecommend,
+        Boolean isAnonymous,
+        String tags,
+        String status,
+        String adminNotes,
+        LocalDateTime submissionTimestamp,
+        LocalDateTime lastUpdatedTimestamp) {
+
+    public static FeedbackSnapshot of(Feedback feedback) {
+        return new FeedbackSnapshot(
+                feedback.getId(),
+                feedback.getComment(),
+                feedback.getRating(),
+                feedback.getUserId(),
+                feedback.getCourseId(),
+                feedback.getTrainerId(),
+                feedback.getContentRelevanceRating(),
+                feedback.getTrainerEffectivenessRating(),
+                feedback.getWouldRecommend(),
+                feedback.getIsAnonymous(),
+                feedback.getTags(),
+                feedback.getStatus(),
+                feedback.getAdminNotes(),
+                feedback.getSubmissionTimestamp(),
+                feedback.getLastUpdatedTimestamp());
+    }
+}
@@ -0,0 +1,39 @@
+package com.skillsync.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// The feedback a user has given for a course, one row per (user, course); only maintained while the
+// one-feedback-per-user-and-course policy is on. The primary key is what finally rejects a duplicate.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(FeedbackSubmission.Key.class)
+@Table(name = "feedback_submission",
+        indexes = @Index(name = "idx_feedback_submission_feedback", columnList = "feedback_id"))
+public class FeedbackSubmission {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "feedback_id", nullable = false)
+    private Long feedbackId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long courseId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.skillsync.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Normalized tag storage: one row per (feedback, tag). Tag lookups go through
+// idx_feedback_tag_tag; Feedback.tags keeps the joined text for responses.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(FeedbackTag.Key.class)
+@Table(name = "feedback_tag", indexes = @Index(name = "idx_feedback_tag_tag", columnList = "tag, feedback_id"))
+public class FeedbackTag {
+
+    @Id
+    @Column(name = "feedback_id")
+    private Long feedbackId;
+
+    @Id
+    @Column(name = "tag", length = FeedbackTags.MAX_TAG_LENGTH)
+    private String tag;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long feedbackId;
+        private String tag;
+    }
+}
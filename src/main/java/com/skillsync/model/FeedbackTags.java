@@ -0,0 +1,33 @@
+package com.skillsync.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// Conversions between the comma-separated Feedback.tags text and the normalized feedback_tag rows.
+public final class FeedbackTags {
+
+    public static final int MAX_TAG_LENGTH = 255;
+
+    private FeedbackTags() {
+    }
+
+    // Trimmed, de-duplicated, sorted; blank entries and null input yield an empty set
+    public static SortedSet<String> parse(String tags) {
+        if (tags == null || tags.isBlank()) {
+            return new TreeSet<>();
+        }
+        return Arrays.stream(tags.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .map(tag -> tag.length() > MAX_TAG_LENGTH ? tag.substring(0, MAX_TAG_LENGTH) : tag)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    // Canonical column text for a tag set; null when there are no tags
+    public static String join(Collection<String> tags) {
+        return tags == null || tags.isEmpty() ? null : String.join(",", new TreeSet<>(tags));
+    }
+}
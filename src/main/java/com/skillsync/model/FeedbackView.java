@@ -0,0 +1,57 @@
+package com.skillsync.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * One listing row read with a {@link FeedbackProjection}: only the fetched columns, held in an
+ * array indexed by {@link FeedbackField} ordinal. Serializes to exactly the selected fields
+ * (nulls included) in the same order and format as the full {@link Feedback} JSON.
+ */
+@JsonSerialize(using = FeedbackView.Serializer.class)
+public final class FeedbackView {
+
+    private final Set<FeedbackField> fields;
+    private final Object[] values;
+
+    public FeedbackView(Set<FeedbackField> fields, Object[] values) {
+        this.fields = fields;
+        this.values = values;
+    }
+
+    public Object get(FeedbackField field) {
+        return values[field.ordinal()];
+    }
+
+    // Always fetched, whatever the selection (see FeedbackProjection#fetched)
+    public Long getId() {
+        return (Long) get(FeedbackField.ID);
+    }
+
+    public LocalDateTime getSubmissionTimestamp() {
+        return (LocalDateTime) get(FeedbackField.SUBMISSION_TIMESTAMP);
+    }
+
+    public static final class Serializer extends StdSerializer<FeedbackView> {
+
+        public Serializer() {
+            super(FeedbackView.class);
+        }
+
+        @Override
+        public void serialize(FeedbackView view, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(view);
+            for (FeedbackField field : view.fields) {
+                gen.writeFieldName(field.jsonName());
+                provider.defaultSerializeValue(view.get(field), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.skillsync.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Where a running background job has got to, saved with each chunk it commits; the row exists only
+// while the job runs, so one still there at startup marks a run to resume.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "job_checkpoint")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    // Rows up to this id are done
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "full_scan", nullable = false)
+    private Boolean fullScan;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
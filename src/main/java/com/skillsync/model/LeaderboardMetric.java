@@ -0,0 +1,39 @@
+package com.skillsync.model;
+
+// What a trainer leaderboard ranks by. Each metric is a mean over a tally's samples in its own
+// unit: 1..5 for the two ratings, 0..100 (share of 'yes' answers) for recommendations.
+public enum LeaderboardMetric {
+
+    TRAINER_EFFECTIVENESS(RatingTally.TRAINER_EFFECTIVENESS, 5.0),
+    RATING(RatingTally.RATING, 5.0),
+    RECOMMEND(-1, 100.0);
+
+    private final int offset;
+    private final double maxValue;
+
+    LeaderboardMetric(int offset, double maxValue) {
+        this.offset = offset;
+        this.maxValue = maxValue;
+    }
+
+    // Rows that answered the question
+    public long samples(RatingTally tally) {
+        return this == RECOMMEND
+                ? tally.get(RatingTally.RECOMMEND_YES) + tally.get(RatingTally.RECOMMEND_NO)
+                : tally.get(offset);
+    }
+
+    // Sum of the answers, so that total / samples is the plain mean
+    public double total(RatingTally tally) {
+        return this == RECOMMEND ? 100.0 * tally.get(RatingTally.RECOMMEND_YES) : tally.get(offset + 1);
+    }
+
+    public Double mean(RatingTally tally) {
+        long samples = samples(tally);
+        return samples == 0 ? null : total(tally) / samples;
+    }
+
+    public double maxValue() {
+        return maxValue;
+    }
+}
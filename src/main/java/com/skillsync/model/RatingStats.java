@@ -0,0 +1,118 @@
+package com.skillsync.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+
+// Column-per-counter mapping of RatingTally.COLUMNS, embedded by the aggregate entities.
+// Counters are only ever changed through SQL increments (see RatingTallySql), never via setters.
+@Data
+@Embeddable
+public class RatingStats {
+
+    @Column(name = "feedback_count", nullable = false)
+    private long feedbackCount;
+
+    // --- Overall rating ---
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+    @Column(name = "rating_1", nullable = false)
+    private long rating1;
+    @Column(name = "rating_2", nullable = false)
+    private long rating2;
+    @Column(name = "rating_3", nullable = false)
+    private long rating3;
+    @Column(name = "rating_4", nullable = false)
+    private long rating4;
+    @Column(name = "rating_5", nullable = false)
+    private long rating5;
+
+    // --- Content relevance ---
+    @Column(name = "content_relevance_count", nullable = false)
+    private long contentRelevanceCount;
+    @Column(name = "content_relevance_sum", nullable = false)
+    private long contentRelevanceSum;
+    @Column(name = "content_relevance_1", nullable = false)
+    private long contentRelevance1;
+    @Column(name = "content_relevance_2", nullable = false)
+    private long contentRelevance2;
+    @Column(name = "content_relevance_3", nullable = false)
+    private long contentRelevance3;
+    @Column(name = "content_relevance_4", nullable = false)
+    private long contentRelevance4;
+    @Column(name = "content_relevance_5", nullable = false)
+    private long contentRelevance5;
+
+    // --- Trainer effectiveness ---
+    @Column(name = "trainer_effectiveness_count", nullable = false)
+    private long trainerEffectivenessCount;
+    @Column(name = "trainer_effectiveness_sum", nullable = false)
+    private long trainerEffectivenessSum;
+    @Column(name = "trainer_effectiveness_1", nullable = false)
+    private long trainerEffectiveness1;
+    @Column(name = "trainer_effectiveness_2", nullable = false)
+    private long trainerEffectiveness2;
+    @Column(name = "trainer_effectiveness_3", nullable = false)
+    private long trainerEffectiveness3;
+    @Column(name = "trainer_effectiveness_4", nullable = false)
+    private long trainerEffectiveness4;
+    @Column(name = "trainer_effectiveness_5", nullable = false)
+    private long trainerEffectiveness5;
+
+    // --- Would recommend ---
+    @Column(name = "recommend_yes_count", nullable = false)
+    private long recommendYesCount;
+    @Column(name = "recommend_no_count", nullable = false)
+    private long recommendNoCount;
+
+    public Double averageRating() {
+        return average(ratingSum, ratingCount);
+    }
+
+    public Double averageContentRelevance() {
+        return average(contentRelevanceSum, contentRelevanceCount);
+    }
+
+    public Double averageTrainerEffectiveness() {
+        return average(trainerEffectivenessSum, trainerEffectivenessCount);
+    }
+
+    // Share of 'yes' among the rows that answered the question, 0..100
+    public Double recommendPercentage() {
+        long answered = recommendYesCount + recommendNoCount;
+        return answered == 0 ? null : 100.0 * recommendYesCount / answered;
+    }
+
+    public long[] ratingHistogram() {
+        return new long[] {rating1, rating2, rating3, rating4, rating5};
+    }
+
+    public long[] contentRelevanceHistogram() {
+        return new long[] {contentRelevance1, contentRelevance2, contentRelevance3, contentRelevance4, contentRelevance5};
+    }
+
+    public long[] trainerEffectivenessHistogram() {
+        return new long[] {trainerEffectiveness1, trainerEffectiveness2, trainerEffectiveness3,
+                trainerEffectiveness4, trainerEffectiveness5};
+    }
+
+    @JsonIgnore
+    public RatingTally toTally() {
+        return RatingTally.ofValues(new long[] {
+                feedbackCount,
+                ratingCount, ratingSum, rating1, rating2, rating3, rating4, rating5,
+                contentRelevanceCount, contentRelevanceSum,
+                contentRelevance1, contentRelevance2, contentRelevance3, contentRelevance4, contentRelevance5,
+                trainerEffectivenessCount, trainerEffectivenessSum,
+                trainerEffectiveness1, trainerEffectiveness2, trainerEffectiveness3,
+                trainerEffectiveness4, trainerEffectiveness5,
+                recommendYesCount, recommendNoCount});
+    }
+
+    private static Double average(long sum, long count) {
+        return count == 0 ? null : (double) sum / count;
+    }
+}
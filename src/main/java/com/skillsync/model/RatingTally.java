@@ -0,0 +1,135 @@
+package com.skillsync.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vector of additive counters describing a set of feedback rows: counts, sums and
+ * 1..5 histograms for the three rating dimensions plus the wouldRecommend answers.
+ * Used both as a delta (applied with SQL increments) and as an absolute total.
+ * The order of {@link #COLUMNS} is the order of {@link #values()}.
+ */
+public final class RatingTally {
+
+    public static final List<String> COLUMNS = List.of(
+            "feedback_count",
+            "rating_count", "rating_sum",
+            "rating_1", "rating_2", "rating_3", "rating_4", "rating_5",
+            "content_relevance_count", "content_relevance_sum",
+            "content_relevance_1", "content_relevance_2", "content_relevance_3",
+            "content_relevance_4", "content_relevance_5",
+            "trainer_effectiveness_count", "trainer_effectiveness_sum",
+            "trainer_effectiveness_1", "trainer_effectiveness_2", "trainer_effectiveness_3",
+            "trainer_effectiveness_4", "trainer_effectiveness_5",
+            "recommend_yes_count", "recommend_no_count");
+
+    static final int FEEDBACK_COUNT = 0;
+    static final int RATING = 1;
+    static final int CONTENT_RELEVANCE = 8;
+    static final int TRAINER_EFFECTIVENESS = 15;
+    static final int RECOMMEND_YES = 22;
+    static final int RECOMMEND_NO = 23;
+
+    private final long[] values;
+
+    public RatingTally() {
+        this.values = new long[COLUMNS.size()];
+    }
+
+    private RatingTally(long[] values) {
+        this.values = values;
+    }
+
+    public static RatingTally ofValues(long[] values) {
+        if (values.length != COLUMNS.size()) {
+            throw new IllegalArgumentException("Expected " + COLUMNS.size() + " values but got " + values.length);
+        }
+        return new RatingTally(values.clone());
+    }
+
+    public static RatingTally of(FeedbackSnapshot feedback) {
+        return new RatingTally().add(feedback);
+    }
+
+    public RatingTally add(FeedbackSnapshot feedback) {
+        apply(feedback, 1);
+        return this;
+    }
+
+    public RatingTally subtract(FeedbackSnapshot feedback) {
+        apply(feedback, -1);
+        return this;
+    }
+
+    public RatingTally add(RatingTally other) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] += other.values[i];
+        }
+        return this;
+    }
+
+    public RatingTally subtract(RatingTally other) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] -= other.values[i];
+        }
+        return this;
+    }
+
+    private void apply(FeedbackSnapshot feedback, int sign) {
+        values[FEEDBACK_COUNT] += sign;
+        applyRating(RATING, feedback.rating(), sign);
+        applyRating(CONTENT_RELEVANCE, feedback.contentRelevanceRating(), sign);
+        applyRating(TRAINER_EFFECTIVENESS, feedback.trainerEffectivenessRating(), sign);
+        if (feedback.wouldRecommend() != null) {
+            values[feedback.wouldRecommend() ? RECOMMEND_YES : RECOMMEND_NO] += sign;
+        }
+    }
+
+    // Layout per dimension: count, sum, histogram[1..5]
+    private void applyRating(int offset, Integer rating, int sign) {
+        if (rating == null) {
+            return;
+        }
+        values[offset] += sign;
+        values[offset + 1] += (long) sign * rating;
+        if (rating >= 1 && rating <= 5) {
+            values[offset + 1 + rating] += sign;
+        }
+    }
+
+    public boolean isZero() {
+        for (long value : values) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long[] values() {
+        return values.clone();
+    }
+
+    public long get(int column) {
+        return values[column];
+    }
+
+    public long feedbackCount() {
+        return values[FEEDBACK_COUNT];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RatingTally other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "RatingTally" + Arrays.toString(values);
+    }
+}
@@ -0,0 +1,7 @@
+package com.skillsync.model;
+
+// What a rollup row is keyed by besides its time bucket
+public enum RollupScope {
+    COURSE,
+    TRAINER
+}
@@ -0,0 +1,7 @@
+package com.skillsync.model;
+
+// How a multi-tag filter combines its tags
+public enum TagMatch {
+    ALL, // feedback carries every requested tag
+    ANY  // feedback carries at least one of them
+}
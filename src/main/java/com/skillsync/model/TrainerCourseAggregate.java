@@ -0,0 +1,46 @@
+package com.skillsync.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+// Running totals per (trainer, course), maintained in the same transaction as every feedback
+// write like CourseRatingAggregate. A trainer's overall numbers are the sum over its courses.
+@Data
+@Entity
+@IdClass(TrainerCourseAggregate.Key.class)
+@Table(name = "trainer_course_aggregate")
+public class TrainerCourseAggregate {
+
+    @Id
+    @Column(name = "trainer_id")
+    private Long trainerId;
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Embedded
+    private RatingStats stats = new RatingStats();
+
+    @Column(name = "last_updated_timestamp")
+    private LocalDateTime lastUpdatedTimestamp;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        // Primary-key order; writers touch rows in this order so they never deadlock each other
+        public static final Comparator<Key> ORDER = Comparator.comparing(Key::getTrainerId)
+                .thenComparing(Key::getCourseId);
+
+        private Long trainerId;
+        private Long courseId;
+    }
+}
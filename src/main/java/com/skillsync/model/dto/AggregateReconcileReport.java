@@ -0,0 +1,8 @@
+package com.skillsync.model.dto;
+
+public record AggregateReconcileReport(
+        int coursesScanned,
+        int coursesCorrected,
+        int coursesRemoved,
+        long elapsedMillis) {
+}
@@ -0,0 +1,11 @@
+package com.skillsync.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+// Progress of the latest archiver run; rows submitted and last changed before the cutoff are archived
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ArchiveRunStatus(boolean running, LocalDateTime cutoff, int chunks, long archived,
+                               LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+}
@@ -0,0 +1,14 @@
+package com.skillsync.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Progress of the latest auto-tagger run: rows read up to lastId, how many got new tags and which,
+// and the rate so far
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AutoTagRunStatus(boolean running, boolean fullScan, long lastId, long scanned, long tagged,
+                               long tagsAdded, Map<String, Long> tagCounts, double rowsPerSecond,
+                               LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+}
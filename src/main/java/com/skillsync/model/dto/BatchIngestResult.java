@@ -0,0 +1,13 @@
+package com.skillsync.model.dto;
+
+import java.util.List;
+
+public record BatchIngestResult(
+        long received,
+        long inserted,
+        long rejected,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<BatchItemError> errors,
+        boolean errorsTruncated) {
+}
@@ -0,0 +1,7 @@
+package com.skillsync.model.dto;
+
+import java.util.List;
+
+// Why the item at 'index' (0-based position in the submitted batch) was not stored
+public record BatchItemError(long index, List<String> messages) {
+}
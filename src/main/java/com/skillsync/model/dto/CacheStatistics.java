@@ -0,0 +1,9 @@
+package com.skillsync.model.dto;
+
+public record CacheStatistics(
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions) {
+}
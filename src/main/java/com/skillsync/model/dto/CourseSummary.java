@@ -0,0 +1,49 @@
+package com.skillsync.model.dto;
+
+import com.skillsync.model.RatingStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Everything a course dashboard shows, in one response. Distributions map star value (1..5) to row count.
+// The counts, averages, distributions and status breakdown cover archived feedback too; topTags ranks the
+// live feedback only, since archiving drops a row's tag index entries.
+public record CourseSummary(
+        Long courseId,
+        long feedbackCount,
+        Double averageRating,
+        Double averageContentRelevance,
+        Double averageTrainerEffectiveness,
+        Double recommendPercentage,
+        Map<Integer, Long> ratingDistribution,
+        Map<Integer, Long> contentRelevanceDistribution,
+        Map<Integer, Long> trainerEffectivenessDistribution,
+        Map<String, Long> statusCounts,
+        Map<String, Long> topTags) {
+
+    public static CourseSummary of(Long courseId, RatingStats stats, Map<String, Long> statusCounts,
+                                   Map<String, Long> topTags) {
+        if (stats == null) {
+            stats = new RatingStats();
+        }
+        return new CourseSummary(courseId,
+                stats.getFeedbackCount(),
+                stats.averageRating(),
+                stats.averageContentRelevance(),
+                stats.averageTrainerEffectiveness(),
+                stats.recommendPercentage(),
+                distribution(stats.ratingHistogram()),
+                distribution(stats.contentRelevanceHistogram()),
+                distribution(stats.trainerEffectivenessHistogram()),
+                statusCounts != null ? statusCounts : Map.of(),
+                topTags != null ? topTags : Map.of());
+    }
+
+    static Map<Integer, Long> distribution(long[] histogram) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < histogram.length; i++) {
+            distribution.put(i + 1, histogram[i]);
+        }
+        return distribution;
+    }
+}
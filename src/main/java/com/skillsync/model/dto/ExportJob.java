@@ -0,0 +1,15 @@
+package com.skillsync.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.skillsync.model.ExportFormat;
+
+import java.time.LocalDateTime;
+
+// Progress of a file export. rowsWritten/bytesWritten only ever cover whole committed chunks;
+// a FAILED or INTERRUPTED job continues from there when resumed.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExportJob(String jobId, State state, ExportFormat format, long rowsWritten, long bytesWritten,
+                        int resumes, String error, LocalDateTime startedAt, LocalDateTime finishedAt) {
+
+    public enum State { RUNNING, COMPLETED, FAILED, INTERRUPTED }
+}
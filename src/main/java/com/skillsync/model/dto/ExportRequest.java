@@ -0,0 +1,9 @@
+package com.skillsync.model.dto;
+
+import com.skillsync.model.ExportFormat;
+import com.skillsync.model.FeedbackFilter;
+
+// Body of POST /api/feedback/exports: the rows to export (no filter = every row), the format
+// (CSV when absent) and an optional ?fields=-style column list
+public record ExportRequest(FeedbackFilter filter, ExportFormat format, String fields) {
+}
@@ -0,0 +1,54 @@
+package com.skillsync.model.dto;
+
+import com.skillsync.model.Feedback;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+// Body of POST /api/feedback and PUT /api/feedback/{id}: only the client-writable fields, so id,
+// version and the timestamps cannot be set through the API. Absent isAnonymous/status keep the
+// entity defaults, as before.
+public record FeedbackRequest(
+        @NotBlank(message = "Comment cannot be blank")
+        @Size(max = 2000, message = "Comment cannot exceed 2000 characters")
+        String comment,
+        @Min(value = 1, message = "Rating must be at least 1")
+        @Max(value = 5, message = "Rating cannot be more than 5")
+        Integer rating,
+        @NotNull(message = "User ID cannot be null")
+        Long userId,
+        @NotNull(message = "Course ID cannot be null")
+        Long courseId,
+        Long trainerId,
+        @Min(value = 1, message = "Content relevance rating must be at least 1")
+        @Max(value = 5, message = "Content relevance rating cannot be more than 5")
+        Integer contentRelevanceRating,
+        @Min(value = 1, message = "Trainer effectiveness rating must be at least 1")
+        @Max(value = 5, message = "Trainer effectiveness rating cannot be more than 5")
+        Integer trainerEffectivenessRating,
+        Boolean wouldRecommend,
+        Boolean isAnonymous,
+        String tags,
+        String status,
+        @Size(max = 1000, message = "Admin notes cannot exceed 1000 characters")
+        String adminNotes) {
+
+    public Feedback toFeedback() {
+        Feedback feedback = new Feedback(comment, rating, userId, courseId);
+        feedback.setTrainerId(trainerId);
+        feedback.setContentRelevanceRating(contentRelevanceRating);
+        feedback.setTrainerEffectivenessRating(trainerEffectivenessRating);
+        feedback.setWouldRecommend(wouldRecommend);
+        if (isAnonymous != null) {
+            feedback.setIsAnonymous(isAnonymous);
+        }
+        feedback.setTags(tags);
+        if (status != null) {
+            feedback.setStatus(status);
+        }
+        feedback.setAdminNotes(adminNotes);
+        return feedback;
+    }
+}
@@ -0,0 +1,9 @@
+package com.skillsync.model.dto;
+
+import com.skillsync.model.Feedback;
+
+import java.util.Map;
+
+// One ranked match; highlights maps "comment"/"adminNotes" to a snippet with the matched terms in <b>...</b>
+public record FeedbackSearchHit(Feedback feedback, float score, Map<String, String> highlights) {
+}
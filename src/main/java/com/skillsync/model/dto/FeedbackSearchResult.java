@@ -0,0 +1,9 @@
+package com.skillsync.model.dto;
+
+import java.util.List;
+
+// One page of search hits, best first. totalHits is a lower bound when totalHitsExact is false
+// (counting stops early on very broad queries to keep them fast).
+public record FeedbackSearchResult(long totalHits, boolean totalHitsExact, int page, int size,
+                                   List<FeedbackSearchHit> hits) {
+}
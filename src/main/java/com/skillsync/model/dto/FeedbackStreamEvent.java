@@ -0,0 +1,12 @@
+package com.skillsync.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.skillsync.model.FeedbackSnapshot;
+
+import java.util.Set;
+
+// Data of one live feed event; the SSE event name carries the change type. feedback is the row after
+// the change (before it for deletes); fields lists the changed fields of a partial update.
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record FeedbackStreamEvent(Long feedbackId, FeedbackSnapshot feedback, Set<String> fields) {
+}
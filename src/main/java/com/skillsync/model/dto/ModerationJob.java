@@ -0,0 +1,16 @@
+package com.skillsync.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Progress and per-id outcome of a bulk moderation. total is only known up front for id lists;
+// processed counts the ids handled so far, in committed chunks.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ModerationJob(String jobId, State state, Long total, long processed,
+                            List<Long> updatedIds, List<Long> notFoundIds, String error,
+                            LocalDateTime startedAt, LocalDateTime finishedAt) {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+}
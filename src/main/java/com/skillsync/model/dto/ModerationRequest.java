@@ -0,0 +1,10 @@
+package com.skillsync.model.dto;
+
+import com.skillsync.model.FeedbackFilter;
+
+import java.util.List;
+
+// Targets either the listed ids or every row matching the filter; sets the status and/or appends the tags
+// (comma-separated, like Feedback.tags)
+public record ModerationRequest(List<Long> ids, FeedbackFilter filter, String status, String tags) {
+}
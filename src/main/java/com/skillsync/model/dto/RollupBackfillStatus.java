@@ -0,0 +1,12 @@
+package com.skillsync.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+// Progress of the latest rollup backfill; a window is one week of submissions
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RollupBackfillStatus(boolean running, int windowsTotal, int windowsDone, long feedbackScanned,
+                                   long bucketsCorrected, LocalDateTime startedAt, LocalDateTime finishedAt,
+                                   String error) {
+}
@@ -0,0 +1,5 @@
+package com.skillsync.model.dto;
+
+// One item of a bulk status change; version (optional) makes it conditional on the row being unchanged
+public record StatusUpdate(Long id, String status, Long version) {
+}
@@ -0,0 +1,7 @@
+package com.skillsync.model.dto;
+
+// Per-item outcome of a bulk status change. CONFLICT: the row's version no longer matched.
+public record StatusUpdateResult(Long id, Outcome outcome) {
+
+    public enum Outcome { UPDATED, CONFLICT, NOT_FOUND }
+}
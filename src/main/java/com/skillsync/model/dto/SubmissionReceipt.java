@@ -0,0 +1,22 @@
+package com.skillsync.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Status of a write-behind submission. feedbackId is set once the row is written.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SubmissionReceipt(String trackingId, State state, Long feedbackId, String error) {
+
+    public enum State { QUEUED, WRITTEN, FAILED }
+
+    public static SubmissionReceipt queued(String trackingId) {
+        return new SubmissionReceipt(trackingId, State.QUEUED, null, null);
+    }
+
+    public static SubmissionReceipt written(String trackingId, Long feedbackId) {
+        return new SubmissionReceipt(trackingId, State.WRITTEN, feedbackId, null);
+    }
+
+    public static SubmissionReceipt failed(String trackingId, String error) {
+        return new SubmissionReceipt(trackingId, State.FAILED, null, error);
+    }
+}
@@ -0,0 +1,29 @@
+package com.skillsync.model.dto;
+
+import com.skillsync.model.FeedbackRollup;
+import com.skillsync.model.RatingStats;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// One time bucket of a trend chart; ratingDistribution maps star value (1..5) to row count
+public record TimeseriesPoint(
+        LocalDateTime bucketStart,
+        long feedbackCount,
+        Double averageRating,
+        Double averageContentRelevance,
+        Double averageTrainerEffectiveness,
+        Double recommendPercentage,
+        Map<Integer, Long> ratingDistribution) {
+
+    public static TimeseriesPoint of(FeedbackRollup rollup) {
+        RatingStats stats = rollup.getStats();
+        return new TimeseriesPoint(rollup.getBucketStart(),
+                stats.getFeedbackCount(),
+                stats.averageRating(),
+                stats.averageContentRelevance(),
+                stats.averageTrainerEffectiveness(),
+                stats.recommendPercentage(),
+                CourseSummary.distribution(stats.ratingHistogram()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.skillsync.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.skillsync.model.LeaderboardMetric;
+
+import java.util.List;
+
+// Top or bottom slice of a trainer ranking, overall (courseId null) or within one course.
+// Scores shrink each trainer's mean towards priorMean with the weight of priorWeight samples;
+// trainers with fewer than minSamples answers are not ranked.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TrainerLeaderboard(LeaderboardMetric metric, Long courseId, Order order, Double priorMean,
+                                 double priorWeight, long minSamples, int rankedTrainers,
+                                 List<TrainerRanking> entries) {
+
+    public enum Order { TOP, BOTTOM }
+}
@@ -0,0 +1,7 @@
+package com.skillsync.model.dto;
+
+// One leaderboard row. score is the confidence-adjusted (Bayesian) mean the board is sorted by,
+// average the plain mean over the trainer's samples; rank 1 is the best trainer of the board.
+public record TrainerRanking(int rank, long trainerId, double score, double average, long samples,
+                             long feedbackCount) {
+}
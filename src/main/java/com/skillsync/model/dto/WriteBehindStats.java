@@ -0,0 +1,16 @@
+package com.skillsync.model.dto;
+
+public record WriteBehindStats(
+        boolean enabled,
+        int queueDepth,
+        int queueCapacity,
+        long accepted,
+        long rejected,
+        long written,
+        long failed,
+        long flushes,
+        long lastFlushMillis,
+        double averageFlushMillis,
+        long maxFlushMillis,
+        long journalBytes) {
+}
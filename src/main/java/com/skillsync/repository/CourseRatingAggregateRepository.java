@@ -0,0 +1,21 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.CourseRatingAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CourseRatingAggregateRepository
+        extends JpaRepository<CourseRatingAggregate, Long>, CourseRatingAggregateRepositoryCustom {
+
+    // Blocks concurrent feedback writers of the course until the caller's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from CourseRatingAggregate a where a.courseId = :courseId")
+    Optional<CourseRatingAggregate> findForUpdate(@Param("courseId") Long courseId);
+}
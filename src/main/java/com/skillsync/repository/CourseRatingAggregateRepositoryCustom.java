@@ -0,0 +1,19 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.RatingTally;
+
+import java.util.Map;
+
+public interface CourseRatingAggregateRepositoryCustom {
+
+    // Adds each delta to the course's counters, creating the row on first use
+    void applyDeltas(Map<Long, RatingTally> deltasByCourse);
+
+    // Overwrites the course's counters with an absolute tally
+    void replaceTally(Long courseId, RatingTally tally);
+
+    // Recomputes the tallies of every course straight from the feedback rows, archived ones included
+    Map<Long, RatingTally> tallyFeedbackByCourse();
+
+    RatingTally tallyFeedbackForCourse(Long courseId);
+}
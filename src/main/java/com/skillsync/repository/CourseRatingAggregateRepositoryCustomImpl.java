@@ -0,0 +1,70 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.RatingTally;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CourseRatingAggregateRepositoryCustomImpl implements CourseRatingAggregateRepositoryCustom {
+
+    private static final String TABLE = "course_rating_aggregate";
+    private static final List<String> KEY_COLUMNS = List.of("course_id");
+
+    private static final String INCREMENT_SQL = RatingTallySql.incrementUpsert(TABLE, KEY_COLUMNS);
+    private static final String REPLACE_SQL = RatingTallySql.replaceUpsert(TABLE, KEY_COLUMNS);
+    // Archived feedback still counts towards its course. Both tables are read by one statement, so a row
+    // the archiver moves meanwhile is seen exactly once (one snapshot), never in both or in neither.
+    private static final String SOURCE_COLUMNS = "course_id, " + RatingTallySql.sourceColumns();
+    private static final String TALLY_BY_COURSE_SQL = "SELECT f.course_id, " + RatingTallySql.tallyExpressions()
+            + " FROM (SELECT " + SOURCE_COLUMNS + " FROM feedback"
+            + " UNION ALL SELECT " + SOURCE_COLUMNS + " FROM feedback_archive) f GROUP BY f.course_id";
+    private static final String TALLY_FOR_COURSE_SQL = "SELECT " + RatingTallySql.tallyExpressions()
+            + " FROM (SELECT " + SOURCE_COLUMNS + " FROM feedback WHERE course_id = ?"
+            + " UNION ALL SELECT " + SOURCE_COLUMNS + " FROM feedback_archive WHERE course_id = ?) f";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CourseRatingAggregateRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDeltas(Map<Long, RatingTally> deltasByCourse) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(deltasByCourse.size());
+        // Sorted so concurrent multi-course writers always lock aggregate rows in the same order
+        deltasByCourse.entrySet().stream()
+                .filter(e -> !e.getValue().isZero())
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> batch.add(RatingTallySql.upsertParameters(List.of(e.getKey()), e.getValue(), now)));
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+        }
+    }
+
+    @Override
+    public void replaceTally(Long courseId, RatingTally tally) {
+        jdbcTemplate.update(REPLACE_SQL, RatingTallySql.upsertParameters(List.of(courseId), tally, LocalDateTime.now()));
+    }
+
+    @Override
+    public Map<Long, RatingTally> tallyFeedbackByCourse() {
+        Map<Long, RatingTally> tallies = new HashMap<>();
+        jdbcTemplate.query(TALLY_BY_COURSE_SQL, rs -> {
+            tallies.put(rs.getLong(1), RatingTallySql.readTally(rs, 2));
+        });
+        return tallies;
+    }
+
+    @Override
+    public RatingTally tallyFeedbackForCourse(Long courseId) {
+        return jdbcTemplate.queryForObject(TALLY_FOR_COURSE_SQL, (rs, rowNum) -> RatingTallySql.readTally(rs, 1),
+                courseId, courseId);
+    }
+}
@@ -2,13 +2,15 @@ package com.skillsync.repository; // Keep original package path
 
 import com.skillsync.model.Feedback; // Corrected import path for Feedback model
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+public interface FeedbackRepository extends JpaRepository<Feedback, Long>, FeedbackRepositoryCustom {
 
     List<Feedback> findByCourseId(Long courseId);
     List<Feedback> findByUserId(Long userId);
@@ -18,10 +20,21 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
 
     // New queries for management and filtering
     List<Feedback> findByStatus(String status);
-    List<Feedback> findByTagsContaining(String tag); // For simple tag search
+    // Exact tag match through the normalized feedback_tag table
+    @Query("select f from Feedback f where f.id in (select t.feedbackId from FeedbackTag t where t.tag = :tag)")
+    List<Feedback> findByTag(@Param("tag") String tag);
     List<Feedback> findByCourseIdAndStatus(Long courseId, String status);
 
     long countByCourseId(Long courseId);
+
+    @Query("select min(f.id) from Feedback f")
+    Long findMinId();
+
+    @Query("select max(f.id) from Feedback f")
+    Long findMaxId();
+
+    @Query("select min(f.submissionTimestamp) from Feedback f")
+    LocalDateTime findFirstSubmissionTimestamp();
 }
 
 
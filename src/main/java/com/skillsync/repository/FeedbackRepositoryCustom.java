@@ -0,0 +1,102 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackCursor;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackProjection;
+import com.skillsync.model.FeedbackView;
+import com.skillsync.model.dto.StatusUpdate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface FeedbackRepositoryCustom {
+
+    // Up to 'limit' rows matching the filter, newest first, strictly after the cursor (null = first page);
+    // only the projection's columns are selected. Archived rows are merged in when the filter asks for them.
+    List<FeedbackView> findPage(FeedbackFilter filter, FeedbackProjection projection, FeedbackCursor after, int limit);
+
+    // Same as findPage, restricted to the given ids; the filter's tags are assumed to be satisfied already
+    List<FeedbackView> findPageWithin(Collection<Long> ids, FeedbackFilter filter, FeedbackProjection projection,
+                                      FeedbackCursor after, int limit);
+
+    // Full rows of findPageWithin, as detached entities
+    List<Feedback> findPageWithin(Collection<Long> ids, FeedbackFilter filter, FeedbackCursor after, int limit);
+
+    // Multi-row JDBC batch insert; assigns the generated ids to the given (new) entities
+    void insertAll(List<Feedback> feedback);
+
+    // Hands every matching row to the consumer as it comes off a fetch-size bounded JDBC cursor
+    void forEach(FeedbackFilter filter, FeedbackProjection projection, Consumer<FeedbackView> consumer);
+
+    // Streams the rows with afterId < id <= upToId, in no particular order (primary-key range scan)
+    void forEachInIdRange(long afterId, long upToId, Consumer<Feedback> consumer);
+
+    // Streams the rows submitted in [from, to), in no particular order (submission timestamp index range);
+    // with includeArchived the archived rows of the range follow the live ones
+    void forEachSubmittedBetween(LocalDateTime from, LocalDateTime to, boolean includeArchived,
+                                 Consumer<Feedback> consumer);
+
+    // Earliest submission timestamp in feedback_archive, null while it is empty
+    LocalDateTime findFirstArchivedSubmissionTimestamp();
+
+    // Per course: row count by status, archived rows included (null status reported as "UNSET")
+    Map<Long, Map<String, Long>> countStatusByCourse(Collection<Long> courseIds);
+
+    // Per course: the 'limit' most used tags of its live rows with their counts, most used first
+    Map<Long, Map<String, Long>> topTagsByCourse(Collection<Long> courseIds, int limit);
+
+    // Single UPDATE of the given columns that also bumps version and last_updated_timestamp; with an
+    // expectedVersion it only applies while the row still has that version. Returns the rows changed (0 or 1).
+    int updateColumns(Long id, Map<String, Object> columns, Long expectedVersion);
+
+    // The status changes as one JDBC batch; per update true when the row was changed
+    boolean[] updateStatuses(List<StatusUpdate> updates);
+
+    // Set-based status change of the given rows (bumping their versions); returns the rows changed
+    int updateStatus(Collection<Long> ids, String status);
+
+    // Re-derives the tags column from feedback_tag inside the UPDATE itself, so concurrent appends cannot
+    // overwrite each other's tags. Returns the rows changed (missing ids are skipped).
+    int refreshTagsColumns(Collection<Long> ids);
+
+    // Keyset positions of up to 'limit' matching live rows after the cursor, in listing order, without loading
+    // the rows. Archived rows are never included: they are not updated in place.
+    List<FeedbackCursor> findKeys(FeedbackFilter filter, FeedbackCursor after, int limit);
+
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    // Ids of up to 'limit' rows with the status that were submitted and last changed before the cutoff,
+    // oldest first
+    List<Long> findArchivableIds(String status, LocalDateTime cutoff, int limit);
+
+    // Locks those of the given rows that are still archivable and returns them; only meaningful inside the
+    // transaction that then moves them
+    List<Feedback> lockArchivable(Collection<Long> ids, String status, LocalDateTime cutoff);
+
+    // Copies the rows to feedback_archive and deletes them and their feedback_tag rows; returns the rows moved
+    int moveToArchive(Collection<Long> ids, LocalDateTime archivedAt);
+
+    // Upper bounds of the feedback table's range partitions in ascending order, without the MAXVALUE one;
+    // empty when the table is not partitioned (only the MySQL migrations partition it)
+    List<LocalDateTime> findPartitionBounds();
+
+    // Splits the partition [last bound, upTo) off the catch-all p_future partition
+    void addPartition(String name, LocalDateTime upTo);
+
+    // Up to 'limit' live rows after the id in id order: those the auto-tagger has not read since their
+    // comment last changed, or all of them with allRows
+    List<Feedback> findAutoTagCandidates(long afterId, boolean allRows, int limit);
+
+    // Records that the rows were auto-tagged, as one JDBC batch; per row true when it still had the version
+    // it was read with (a row changed meanwhile is left for the next run). Touches neither version nor
+    // last_updated_timestamp.
+    boolean[] markAutoTagged(List<Feedback> rows, LocalDateTime taggedAt);
+
+    // Makes the auto-tagger read the rows again
+    int clearAutoTagged(Collection<Long> ids);
+}
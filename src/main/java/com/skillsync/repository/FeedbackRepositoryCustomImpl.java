@@ -0,0 +1,555 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackCursor;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackProjection;
+import com.skillsync.model.FeedbackView;
+import com.skillsync.model.TagMatch;
+import com.skillsync.model.dto.StatusUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class FeedbackRepositoryCustomImpl implements FeedbackRepositoryCustom {
+
+    private static final String LIVE_TABLE = "feedback";
+    private static final String ARCHIVE_TABLE = "feedback_archive";
+    private static final String ORDER_BY = " ORDER BY f.submission_timestamp DESC, f.id DESC";
+    private static final String INSERT_SQL = "INSERT INTO feedback (comment_text, overall_rating, user_id, course_id,"
+            + " trainer_id, content_relevance_rating, trainer_effectiveness_rating, would_recommend, is_anonymous,"
+            + " tags, status, admin_notes, submission_timestamp, last_updated_timestamp)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Bumping version here keeps the JPA @Version check meaningful for writers going through the entity
+    private static final String UPDATE_STATUS_SQL = "UPDATE feedback SET status = ?, last_updated_timestamp = ?,"
+            + " version = version + 1 WHERE id = ? AND version = COALESCE(?, version)";
+    private static final String REFRESH_TAGS_SQL = "UPDATE feedback SET tags = (SELECT GROUP_CONCAT(t.tag"
+            + " ORDER BY t.tag SEPARATOR ',') FROM feedback_tag t WHERE t.feedback_id = feedback.id),"
+            + " last_updated_timestamp = :now, version = version + 1 WHERE id IN (:ids)";
+
+    private static final String UNSET_STATUS = "UNSET";
+    private static final DateTimeFormatter PARTITION_BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Live and archived rows in one statement, so the breakdown adds up to the course aggregate's count
+    private static final String STATUS_BY_COURSE_SQL = "SELECT f.course_id, f.status, COUNT(*) FROM ("
+            + " SELECT course_id, status FROM feedback WHERE course_id IN (:courseIds)"
+            + " UNION ALL SELECT course_id, status FROM feedback_archive WHERE course_id IN (:courseIds)) f"
+            + " GROUP BY f.course_id, f.status ORDER BY f.course_id, f.status";
+    // Ranking inside the database keeps the transfer at 'limit' rows per course whatever the tag count
+    private static final String TOP_TAGS_BY_COURSE_SQL = "SELECT course_id, tag, tag_count FROM ("
+            + " SELECT f.course_id, t.tag, COUNT(*) AS tag_count,"
+            + " ROW_NUMBER() OVER (PARTITION BY f.course_id ORDER BY COUNT(*) DESC, t.tag) AS tag_rank"
+            + " FROM feedback_tag t JOIN feedback f ON f.id = t.feedback_id"
+            + " WHERE f.course_id IN (:courseIds) GROUP BY f.course_id, t.tag) ranked"
+            + " WHERE tag_rank <= :limit ORDER BY course_id, tag_rank";
+
+    // Closed long enough ago and not touched since; rows without a last update count as untouched
+    private static final String ARCHIVABLE = " f.status = :status AND f.submission_timestamp < :cutoff"
+            + " AND (f.last_updated_timestamp IS NULL OR f.last_updated_timestamp < :cutoff)";
+    private static final String ARCHIVABLE_IDS_SQL = "SELECT f.id FROM feedback f WHERE" + ARCHIVABLE
+            + " ORDER BY f.submission_timestamp, f.id LIMIT :limit";
+    private static final String LOCK_ARCHIVABLE_SQL = "SELECT " + FeedbackRowMapper.COLUMNS + " FROM feedback f"
+            + " WHERE f.id IN (:ids) AND" + ARCHIVABLE + " FOR UPDATE";
+    private static final String ARCHIVE_SQL = "INSERT INTO feedback_archive (id, comment_text, overall_rating,"
+            + " user_id, course_id, trainer_id, content_relevance_rating, trainer_effectiveness_rating,"
+            + " would_recommend, is_anonymous, tags, status, admin_notes, submission_timestamp,"
+            + " last_updated_timestamp, version, archived_at) SELECT " + FeedbackRowMapper.COLUMNS + ", :archivedAt"
+            + " FROM feedback f WHERE f.id IN (:ids)";
+
+    private static final String AUTO_TAG_CANDIDATES_SQL = "SELECT " + FeedbackRowMapper.COLUMNS
+            + " FROM feedback f WHERE f.auto_tagged_at IS NULL AND f.id > :afterId ORDER BY f.id LIMIT :limit";
+    private static final String ALL_AUTO_TAG_CANDIDATES_SQL = "SELECT " + FeedbackRowMapper.COLUMNS
+            + " FROM feedback f WHERE f.id > :afterId ORDER BY f.id LIMIT :limit";
+    private static final String MARK_AUTO_TAGGED_SQL =
+            "UPDATE feedback SET auto_tagged_at = ? WHERE id = ? AND version = ?";
+
+    private static final String PARTITION_BOUNDS_SQL = "SELECT p.partition_description"
+            + " FROM information_schema.partitions p WHERE p.table_schema = DATABASE() AND p.table_name = 'feedback'"
+            + " AND p.partition_description IS NOT NULL AND p.partition_description <> 'MAXVALUE'"
+            + " ORDER BY p.partition_ordinal_position";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+    private final int fetchSize;
+    private volatile Boolean mysql;
+
+    // MySQL Connector/J only honours the fetch size with 'useCursorFetch=true' on the JDBC URL;
+    // without it the driver buffers the whole result set before returning the first row.
+    @Autowired
+    public FeedbackRepositoryCustomImpl(DataSource dataSource,
+                                        @Value("${skillsync.feedback.stream.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(fetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public List<FeedbackView> findPage(FeedbackFilter filter, FeedbackProjection projection, FeedbackCursor after,
+                                       int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        FeedbackViewRowMapper mapper = new FeedbackViewRowMapper(projection);
+        String sql = filter.includesArchive()
+                ? withArchiveQuery(mapper, filter, params, after, limit)
+                : keysetQuery(mapper.columns(), LIVE_TABLE, filterConditions(filter, params, true), params, after, limit);
+        return jdbcTemplate.query(sql, params, mapper);
+    }
+
+    // Live and archived rows merged in listing order. Each side reads at most 'limit' rows off its own
+    // index, so the merge sorts no more than two pages. Columns are aliased by position (expressions
+    // such as the snippet have no usable name) and the sort keys are selected once more under fixed names.
+    private static String withArchiveQuery(FeedbackViewRowMapper mapper, FeedbackFilter filter,
+                                           MapSqlParameterSource params, FeedbackCursor after, int limit) {
+        List<String> expressions = mapper.expressions();
+        List<String> aliased = new ArrayList<>();
+        List<String> selected = new ArrayList<>();
+        for (int i = 0; i < expressions.size(); i++) {
+            aliased.add(expressions.get(i) + " AS c" + i);
+            selected.add("c" + i);
+        }
+        aliased.add("f.submission_timestamp AS sort_ts");
+        aliased.add("f.id AS sort_id");
+        String columns = String.join(", ", aliased);
+        String live = keysetQuery(columns, LIVE_TABLE, filterConditions(filter, params, true), params, after, limit);
+        List<String> archiveConditions = filterConditions(filter, params, false);
+        if (filter.hasTags()) {
+            archiveConditions.add(archivedTagCondition(filter, params));
+        }
+        String archived = keysetQuery(columns, ARCHIVE_TABLE, archiveConditions, params, after, limit);
+        return "SELECT " + String.join(", ", selected) + " FROM ((" + live + ") UNION ALL (" + archived + ")) u"
+                + " ORDER BY sort_ts DESC, sort_id DESC LIMIT :limit";
+    }
+
+    @Override
+    public List<FeedbackView> findPageWithin(Collection<Long> ids, FeedbackFilter filter, FeedbackProjection projection,
+                                             FeedbackCursor after, int limit) {
+        FeedbackViewRowMapper mapper = new FeedbackViewRowMapper(projection);
+        return findPageWithin(ids, filter, mapper.columns(), mapper, after, limit);
+    }
+
+    @Override
+    public List<Feedback> findPageWithin(Collection<Long> ids, FeedbackFilter filter, FeedbackCursor after, int limit) {
+        return findPageWithin(ids, filter, FeedbackRowMapper.COLUMNS, FeedbackRowMapper.INSTANCE, after, limit);
+    }
+
+    private <T> List<T> findPageWithin(Collection<Long> ids, FeedbackFilter filter, String columns,
+                                       RowMapper<T> mapper, FeedbackCursor after, int limit) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> conditions = filterConditions(filter, params, false);
+        conditions.add("f.id IN (:ids)");
+        params.addValue("ids", ids);
+        return jdbcTemplate.query(keysetQuery(columns, LIVE_TABLE, conditions, params, after, limit), params, mapper);
+    }
+
+    @Override
+    public List<FeedbackCursor> findKeys(FeedbackFilter filter, FeedbackCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = keysetQuery("f.submission_timestamp, f.id", LIVE_TABLE, filterConditions(filter, params, true),
+                params, after, limit);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) ->
+                new FeedbackCursor(rs.getObject(1, LocalDateTime.class), rs.getLong(2)));
+    }
+
+    private static String keysetQuery(String columns, String table, List<String> conditions,
+                                      MapSqlParameterSource params, FeedbackCursor after, int limit) {
+        if (after != null) {
+            conditions.add("(f.submission_timestamp < :cursorTimestamp"
+                    + " OR (f.submission_timestamp = :cursorTimestamp AND f.id < :cursorId))");
+            params.addValue("cursorTimestamp", after.submissionTimestamp());
+            params.addValue("cursorId", after.id());
+        }
+        params.addValue("limit", limit);
+        return "SELECT " + columns + " FROM " + table + " f" + where(conditions) + ORDER_BY + " LIMIT :limit";
+    }
+
+    // IDENTITY ids stop Hibernate from batching, so inserts go through one JDBC batch here.
+    // With MySQL, 'rewriteBatchedStatements=true' on the URL turns it into multi-row INSERTs.
+    @Override
+    public void insertAll(List<Feedback> feedback) {
+        if (feedback.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Feedback f : feedback) {
+                    if (f.getSubmissionTimestamp() == null) {
+                        f.setSubmissionTimestamp(now);
+                    }
+                    if (f.getLastUpdatedTimestamp() == null) {
+                        f.setLastUpdatedTimestamp(now);
+                    }
+                    ps.setString(1, f.getComment());
+                    ps.setObject(2, f.getRating(), Types.INTEGER);
+                    ps.setObject(3, f.getUserId(), Types.BIGINT);
+                    ps.setObject(4, f.getCourseId(), Types.BIGINT);
+                    ps.setObject(5, f.getTrainerId(), Types.BIGINT);
+                    ps.setObject(6, f.getContentRelevanceRating(), Types.INTEGER);
+                    ps.setObject(7, f.getTrainerEffectivenessRating(), Types.INTEGER);
+                    ps.setObject(8, f.getWouldRecommend(), Types.BOOLEAN);
+                    ps.setObject(9, f.getIsAnonymous(), Types.BOOLEAN);
+                    ps.setString(10, f.getTags());
+                    ps.setString(11, f.getStatus());
+                    ps.setString(12, f.getAdminNotes());
+                    ps.setObject(13, f.getSubmissionTimestamp());
+                    ps.setObject(14, f.getLastUpdatedTimestamp());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < feedback.size()) {
+                        Feedback inserted = feedback.get(i++);
+                        inserted.setId(keys.getLong(1));
+                        inserted.setVersion(0L); // column default
+                    }
+                    if (i != feedback.size()) {
+                        throw new IllegalStateException("Expected " + feedback.size() + " generated ids but got " + i);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void forEach(FeedbackFilter filter, FeedbackProjection projection, Consumer<FeedbackView> consumer) {
+        if (filter.includesArchive()) {
+            // No single index spans both tables, so walk the merged listing a page at a time instead
+            List<FeedbackView> rows;
+            FeedbackCursor after = null;
+            do {
+                rows = findPage(filter, projection, after, fetchSize);
+                rows.forEach(consumer);
+                if (!rows.isEmpty()) {
+                    after = FeedbackCursor.after(rows.get(rows.size() - 1));
+                }
+            } while (rows.size() == fetchSize);
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        FeedbackViewRowMapper mapper = new FeedbackViewRowMapper(projection);
+        String sql = "SELECT " + mapper.columns() + " FROM feedback f"
+                + where(filterConditions(filter, params, true)) + ORDER_BY;
+        streamingJdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(mapper.mapRow(rs, rs.getRow()));
+        });
+    }
+
+    @Override
+    public void forEachInIdRange(long afterId, long upToId, Consumer<Feedback> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId).addValue("upToId", upToId);
+        streamingJdbcTemplate.query("SELECT " + FeedbackRowMapper.COLUMNS + " FROM feedback f"
+                + " WHERE f.id > :afterId AND f.id <= :upToId", params, rs -> {
+                    consumer.accept(FeedbackRowMapper.INSTANCE.mapRow(rs, rs.getRow()));
+                });
+    }
+
+    @Override
+    public void forEachSubmittedBetween(LocalDateTime from, LocalDateTime to, boolean includeArchived,
+                                        Consumer<Feedback> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource("from", from).addValue("to", to);
+        for (String table : includeArchived ? List.of(LIVE_TABLE, ARCHIVE_TABLE) : List.of(LIVE_TABLE)) {
+            streamingJdbcTemplate.query("SELECT " + FeedbackRowMapper.COLUMNS + " FROM " + table + " f"
+                    + " WHERE f.submission_timestamp >= :from AND f.submission_timestamp < :to", params, rs -> {
+                        consumer.accept(FeedbackRowMapper.INSTANCE.mapRow(rs, rs.getRow()));
+                    });
+        }
+    }
+
+    @Override
+    public LocalDateTime findFirstArchivedSubmissionTimestamp() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT MIN(f.submission_timestamp) FROM feedback_archive f", LocalDateTime.class);
+    }
+
+    private static List<String> filterConditions(FeedbackFilter filter, MapSqlParameterSource params,
+                                                 boolean includeTags) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.courseId() != null) {
+            conditions.add("f.course_id = :courseId");
+            params.addValue("courseId", filter.courseId());
+        }
+        if (filter.userId() != null) {
+            conditions.add("f.user_id = :userId");
+            params.addValue("userId", filter.userId());
+        }
+        if (filter.trainerId() != null) {
+            conditions.add("f.trainer_id = :trainerId");
+            params.addValue("trainerId", filter.trainerId());
+        }
+        if (filter.status() != null) {
+            conditions.add("f.status = :status");
+            params.addValue("status", filter.status());
+        }
+        if (includeTags && filter.hasTags()) {
+            conditions.add(tagCondition(filter, params));
+        }
+        if (filter.minRating() != null) {
+            conditions.add("f.overall_rating >= :minRating");
+            params.addValue("minRating", filter.minRating());
+        }
+        if (filter.startDate() != null) {
+            conditions.add("f.submission_timestamp >= :startDate");
+            params.addValue("startDate", filter.startDate());
+        }
+        if (filter.endDate() != null) {
+            conditions.add("f.submission_timestamp <= :endDate");
+            params.addValue("endDate", filter.endDate());
+        }
+        return conditions;
+    }
+
+    // Exact matches against feedback_tag. Uncorrelated IN subqueries let the database start from the
+    // (tag, feedback_id) index and probe feedback by primary key instead of scanning feedback.
+    private static String tagCondition(FeedbackFilter filter, MapSqlParameterSource params) {
+        if (filter.effectiveTagMatch() == TagMatch.ANY) {
+            params.addValue("anyTags", filter.tags());
+            return "f.id IN (SELECT t.feedback_id FROM feedback_tag t WHERE t.tag IN (:anyTags))";
+        }
+        List<String> matches = new ArrayList<>();
+        for (int i = 0; i < filter.tags().size(); i++) {
+            matches.add("f.id IN (SELECT t" + i + ".feedback_id FROM feedback_tag t" + i + " WHERE t" + i
+                    + ".tag = :tag" + i + ")");
+            params.addValue("tag" + i, filter.tags().get(i));
+        }
+        return String.join(" AND ", matches);
+    }
+
+    // Archived rows have no feedback_tag rows; their canonical tags column is matched element-wise instead
+    private static String archivedTagCondition(FeedbackFilter filter, MapSqlParameterSource params) {
+        List<String> matches = new ArrayList<>();
+        for (int i = 0; i < filter.tags().size(); i++) {
+            matches.add("LOCATE(CONCAT(',', :archivedTag" + i + ", ','), CONCAT(',', f.tags, ',')) > 0");
+            params.addValue("archivedTag" + i, filter.tags().get(i));
+        }
+        return "(" + String.join(filter.effectiveTagMatch() == TagMatch.ANY ? " OR " : " AND ", matches) + ")";
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    @Override
+    public Map<Long, Map<String, Long>> countStatusByCourse(Collection<Long> courseIds) {
+        Map<Long, Map<String, Long>> counts = new HashMap<>();
+        if (courseIds.isEmpty()) {
+            return counts;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("courseIds", courseIds);
+        jdbcTemplate.query(STATUS_BY_COURSE_SQL, params, rs -> {
+            String status = rs.getString(2);
+            counts.computeIfAbsent(rs.getLong(1), k -> new LinkedHashMap<>())
+                    .put(status != null ? status : UNSET_STATUS, rs.getLong(3));
+        });
+        return counts;
+    }
+
+    @Override
+    public Map<Long, Map<String, Long>> topTagsByCourse(Collection<Long> courseIds, int limit) {
+        Map<Long, Map<String, Long>> tags = new HashMap<>();
+        if (courseIds.isEmpty() || limit < 1) {
+            return tags;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("courseIds", courseIds).addValue("limit", limit);
+        jdbcTemplate.query(TOP_TAGS_BY_COURSE_SQL, params, rs -> {
+            tags.computeIfAbsent(rs.getLong(1), k -> new LinkedHashMap<>()).put(rs.getString(2), rs.getLong(3));
+        });
+        return tags;
+    }
+
+    // Column names come from FeedbackPatch's fixed field list, never from the request
+    @Override
+    public int updateColumns(Long id, Map<String, Object> columns, Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id)
+                .addValue("now", LocalDateTime.now());
+        StringBuilder sql = new StringBuilder("UPDATE feedback SET ");
+        int i = 0;
+        for (Map.Entry<String, Object> column : columns.entrySet()) {
+            sql.append(column.getKey()).append(" = :v").append(i).append(", ");
+            params.addValue("v" + i++, column.getValue());
+        }
+        sql.append("last_updated_timestamp = :now, version = version + 1 WHERE id = :id");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :expectedVersion");
+            params.addValue("expectedVersion", expectedVersion);
+        }
+        return jdbcTemplate.update(sql.toString(), params);
+    }
+
+    @Override
+    public boolean[] updateStatuses(List<StatusUpdate> updates) {
+        boolean[] changed = new boolean[updates.size()];
+        if (updates.isEmpty()) {
+            return changed;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = updates.stream()
+                .map(update -> new Object[] {update.status(), now, update.id(), update.version()})
+                .toList();
+        int[] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_STATUS_SQL, batch,
+                new int[] {Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT, Types.BIGINT});
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO: the driver ran the statement but could not report a count
+            changed[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+        }
+        return changed;
+    }
+
+    @Override
+    public int updateStatus(Collection<Long> ids, String status) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("status", status)
+                .addValue("now", LocalDateTime.now());
+        return jdbcTemplate.update("UPDATE feedback SET status = :status, last_updated_timestamp = :now,"
+                + " version = version + 1 WHERE id IN (:ids)", params);
+    }
+
+    @Override
+    public int refreshTagsColumns(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids).addValue("now", LocalDateTime.now());
+        return jdbcTemplate.update(REFRESH_TAGS_SQL, params);
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        if (ids.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query("SELECT f.id FROM feedback f WHERE f.id IN (:ids)", new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    existing.add(rs.getLong(1));
+                });
+        return existing;
+    }
+
+    @Override
+    public List<Long> findArchivableIds(String status, LocalDateTime cutoff, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("status", status)
+                .addValue("cutoff", cutoff)
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(ARCHIVABLE_IDS_SQL, params, Long.class);
+    }
+
+    @Override
+    public List<Feedback> lockArchivable(Collection<Long> ids, String status, LocalDateTime cutoff) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("status", status)
+                .addValue("cutoff", cutoff);
+        return jdbcTemplate.query(LOCK_ARCHIVABLE_SQL, params, FeedbackRowMapper.INSTANCE);
+    }
+
+    @Override
+    public int moveToArchive(Collection<Long> ids, LocalDateTime archivedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids).addValue("archivedAt", archivedAt);
+        jdbcTemplate.update(ARCHIVE_SQL, params);
+        jdbcTemplate.update("DELETE FROM feedback_tag WHERE feedback_id IN (:ids)", params);
+        return jdbcTemplate.update("DELETE FROM feedback WHERE id IN (:ids)", params);
+    }
+
+    @Override
+    public List<Feedback> findAutoTagCandidates(long afterId, boolean allRows, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId).addValue("limit", limit);
+        return jdbcTemplate.query(allRows ? ALL_AUTO_TAG_CANDIDATES_SQL : AUTO_TAG_CANDIDATES_SQL, params,
+                FeedbackRowMapper.INSTANCE);
+    }
+
+    @Override
+    public boolean[] markAutoTagged(List<Feedback> rows, LocalDateTime taggedAt) {
+        boolean[] marked = new boolean[rows.size()];
+        if (rows.isEmpty()) {
+            return marked;
+        }
+        List<Object[]> batch = rows.stream()
+                .map(row -> new Object[] {taggedAt, row.getId(), row.getVersion()})
+                .toList();
+        int[] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(MARK_AUTO_TAGGED_SQL, batch,
+                new int[] {Types.TIMESTAMP, Types.BIGINT, Types.BIGINT});
+        for (int i = 0; i < counts.length; i++) {
+            marked[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+        }
+        return marked;
+    }
+
+    @Override
+    public int clearAutoTagged(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("UPDATE feedback SET auto_tagged_at = NULL WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+
+    @Override
+    public List<LocalDateTime> findPartitionBounds() {
+        if (!isMySql()) {
+            return List.of();
+        }
+        return jdbcTemplate.getJdbcTemplate().query(PARTITION_BOUNDS_SQL,
+                (rs, rowNum) -> parsePartitionBound(rs.getString(1)));
+    }
+
+    // The DDL cannot take bind parameters; the name and bound are built by the caller from dates only
+    @Override
+    public void addPartition(String name, LocalDateTime upTo) {
+        jdbcTemplate.getJdbcTemplate().execute("ALTER TABLE feedback REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION " + name + " VALUES LESS THAN ('" + upTo.format(PARTITION_BOUND) + "'), "
+                + "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+    }
+
+    private boolean isMySql() {
+        if (mysql == null) {
+            mysql = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection ->
+                    "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        }
+        return mysql;
+    }
+
+    // RANGE COLUMNS bounds are reported as quoted literals, e.g. '2026-11-01' or '2026-11-01 00:00:00'
+    private static LocalDateTime parsePartitionBound(String description) {
+        String literal = description.replace("'", "").trim();
+        return literal.length() == 10
+                ? LocalDate.parse(literal).atStartOfDay()
+                : LocalDateTime.parse(literal, PARTITION_BOUND);
+    }
+}
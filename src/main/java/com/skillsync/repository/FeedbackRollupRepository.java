@@ -0,0 +1,27 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.FeedbackRollup;
+import com.skillsync.model.RollupGranularity;
+import com.skillsync.model.RollupScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FeedbackRollupRepository
+        extends JpaRepository<FeedbackRollup, FeedbackRollup.Key>, FeedbackRollupRepositoryCustom {
+
+    // Primary-key range read; buckets without feedback are absent
+    @Query("select r from FeedbackRollup r where r.scope = :scope and r.scopeId = :scopeId"
+            + " and r.granularity = :granularity and r.bucketStart >= :from and r.bucketStart < :to"
+            + " and r.stats.feedbackCount > 0 order by r.bucketStart")
+    List<FeedbackRollup> findSeries(@Param("scope") RollupScope scope,
+                                    @Param("scopeId") Long scopeId,
+                                    @Param("granularity") RollupGranularity granularity,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,19 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.FeedbackRollup;
+import com.skillsync.model.RatingTally;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface FeedbackRollupRepositoryCustom {
+
+    // Adds each delta to the bucket's counters, creating the row on first use
+    void applyDeltas(Map<FeedbackRollup.Key, RatingTally> deltas);
+
+    // Stored tallies of every bucket starting in [from, to) (plain consistent read, no locks)
+    Map<FeedbackRollup.Key, RatingTally> findTalliesStartingBetween(LocalDateTime from, LocalDateTime to);
+
+    // Drops the buckets in [from, to) whose counters all went back to zero
+    int deleteEmptyStartingBetween(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,68 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.FeedbackRollup;
+import com.skillsync.model.RatingTally;
+import com.skillsync.model.RollupGranularity;
+import com.skillsync.model.RollupScope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FeedbackRollupRepositoryCustomImpl implements FeedbackRollupRepositoryCustom {
+
+    private static final String TABLE = "feedback_rollup";
+    private static final List<String> KEY_COLUMNS = List.of("scope", "scope_id", "granularity", "bucket_start");
+
+    private static final String INCREMENT_SQL = RatingTallySql.incrementUpsert(TABLE, KEY_COLUMNS);
+    private static final String TALLIES_SQL = "SELECT r.scope, r.scope_id, r.granularity, r.bucket_start, "
+            + String.join(", ", RatingTally.COLUMNS.stream().map(c -> "r." + c).toList())
+            + " FROM feedback_rollup r WHERE r.bucket_start >= ? AND r.bucket_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public FeedbackRollupRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDeltas(Map<FeedbackRollup.Key, RatingTally> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.entrySet().stream()
+                .filter(e -> !e.getValue().isZero())
+                .sorted(Map.Entry.comparingByKey(FeedbackRollup.Key.ORDER))
+                .forEach(e -> {
+                    FeedbackRollup.Key key = e.getKey();
+                    List<Object> keys = List.of(key.getScope().name(), key.getScopeId(), key.getGranularity().name(),
+                            Timestamp.valueOf(key.getBucketStart()));
+                    batch.add(RatingTallySql.upsertParameters(keys, e.getValue(), now));
+                });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+        }
+    }
+
+    @Override
+    public Map<FeedbackRollup.Key, RatingTally> findTalliesStartingBetween(LocalDateTime from, LocalDateTime to) {
+        Map<FeedbackRollup.Key, RatingTally> tallies = new HashMap<>();
+        jdbcTemplate.query(TALLIES_SQL, rs -> {
+            FeedbackRollup.Key key = new FeedbackRollup.Key(RollupScope.valueOf(rs.getString(1)), rs.getLong(2),
+                    RollupGranularity.valueOf(rs.getString(3)), rs.getTimestamp(4).toLocalDateTime());
+            tallies.put(key, RatingTallySql.readTally(rs, 5));
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return tallies;
+    }
+
+    @Override
+    public int deleteEmptyStartingBetween(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update("DELETE FROM feedback_rollup WHERE bucket_start >= ? AND bucket_start < ?"
+                + " AND feedback_count = 0", Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+}
@@ -0,0 +1,43 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.Feedback;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// Maps a full 'feedback' row to a detached entity for the JDBC read paths (paging, streaming).
+public final class FeedbackRowMapper implements RowMapper<Feedback> {
+
+    public static final String COLUMNS = "f.id, f.comment_text, f.overall_rating, f.user_id, f.course_id, f.trainer_id, "
+            + "f.content_relevance_rating, f.trainer_effectiveness_rating, f.would_recommend, f.is_anonymous, "
+            + "f.tags, f.status, f.admin_notes, f.submission_timestamp, f.last_updated_timestamp, f.version";
+
+    public static final FeedbackRowMapper INSTANCE = new FeedbackRowMapper();
+
+    private FeedbackRowMapper() {
+    }
+
+    @Override
+    public Feedback mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Feedback feedback = new Feedback();
+        feedback.setId(rs.getLong("id"));
+        feedback.setComment(rs.getString("comment_text"));
+        feedback.setRating(rs.getObject("overall_rating", Integer.class));
+        feedback.setUserId(rs.getObject("user_id", Long.class));
+        feedback.setCourseId(rs.getObject("course_id", Long.class));
+        feedback.setTrainerId(rs.getObject("trainer_id", Long.class));
+        feedback.setContentRelevanceRating(rs.getObject("content_relevance_rating", Integer.class));
+        feedback.setTrainerEffectivenessRating(rs.getObject("trainer_effectiveness_rating", Integer.class));
+        feedback.setWouldRecommend(rs.getObject("would_recommend", Boolean.class));
+        feedback.setIsAnonymous(rs.getObject("is_anonymous", Boolean.class));
+        feedback.setTags(rs.getString("tags"));
+        feedback.setStatus(rs.getString("status"));
+        feedback.setAdminNotes(rs.getString("admin_notes"));
+        feedback.setSubmissionTimestamp(rs.getObject("submission_timestamp", LocalDateTime.class));
+        feedback.setLastUpdatedTimestamp(rs.getObject("last_updated_timestamp", LocalDateTime.class));
+        feedback.setVersion(rs.getLong("version"));
+        return feedback;
+    }
+}
@@ -0,0 +1,10 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.FeedbackSubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FeedbackSubmissionRepository
+        extends JpaRepository<FeedbackSubmission, FeedbackSubmission.Key>, FeedbackSubmissionRepositoryCustom {
+}
@@ -0,0 +1,28 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.FeedbackSubmission;
+
+import java.util.Collection;
+
+public interface FeedbackSubmissionRepositoryCustom {
+
+    // One JDBC batch of plain INSERTs: a (user, course) that already has a row fails it with a
+    // DuplicateKeyException
+    void insertAll(Collection<FeedbackSubmission> submissions);
+
+    // Drops the rows of the given feedback. Where another feedback of the same user and course is left
+    // (duplicates from before the policy), the row is re-pointed at the oldest of them instead.
+    void release(Collection<FeedbackSubmission> submissions);
+
+    // Brings the table in line with feedback and feedback_archive after a time without the policy:
+    // removes rows whose feedback is gone or moved, adds the missing pairs. Returns the rows changed.
+    int reconcile();
+
+    // Streams every (user, course) pair
+    void forEachKey(KeyHandler handler);
+
+    @FunctionalInterface
+    interface KeyHandler {
+        void accept(long userId, long courseId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.FeedbackSubmission;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FeedbackSubmissionRepositoryCustomImpl implements FeedbackSubmissionRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO feedback_submission (user_id, course_id, feedback_id) VALUES (?, ?, ?)";
+    // The released feedback may not be flushed yet (a JPA delete or course change), so it is excluded by id
+    private static final String REPOINT_SQL = "INSERT INTO feedback_submission (user_id, course_id, feedback_id)"
+            + " SELECT f.user_id, f.course_id, MIN(f.id) FROM feedback f"
+            + " WHERE f.user_id = :userId AND f.course_id = :courseId AND f.id NOT IN (:releasedIds)"
+            + " AND NOT EXISTS (SELECT 1 FROM feedback_submission s"
+            + " WHERE s.user_id = :userId AND s.course_id = :courseId)"
+            + " GROUP BY f.user_id, f.course_id";
+    private static final String DELETE_STALE_SQL = "DELETE FROM feedback_submission WHERE NOT EXISTS ("
+            + "SELECT 1 FROM feedback f WHERE f.id = feedback_submission.feedback_id"
+            + " AND f.user_id = feedback_submission.user_id AND f.course_id = feedback_submission.course_id)"
+            + " AND NOT EXISTS (SELECT 1 FROM feedback_archive a WHERE a.id = feedback_submission.feedback_id"
+            + " AND a.user_id = feedback_submission.user_id AND a.course_id = feedback_submission.course_id)";
+    // Archived feedback still counts as given
+    private static final String INSERT_MISSING_SQL =
+            "INSERT INTO feedback_submission (user_id, course_id, feedback_id)"
+            + " SELECT u.user_id, u.course_id, MIN(u.id) FROM ("
+            + "SELECT f.user_id, f.course_id, f.id FROM feedback f"
+            + " UNION ALL SELECT a.user_id, a.course_id, a.id FROM feedback_archive a) u"
+            + " WHERE NOT EXISTS (SELECT 1 FROM feedback_submission s"
+            + " WHERE s.user_id = u.user_id AND s.course_id = u.course_id)"
+            + " GROUP BY u.user_id, u.course_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    @Autowired
+    public FeedbackSubmissionRepositoryCustomImpl(DataSource dataSource,
+                                                  @Value("${skillsync.feedback.stream.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public void insertAll(Collection<FeedbackSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = submissions.stream()
+                .map(s -> new Object[] {s.getUserId(), s.getCourseId(), s.getFeedbackId()})
+                .toList();
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, batch);
+    }
+
+    @Override
+    public void release(Collection<FeedbackSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return;
+        }
+        List<Long> releasedIds = submissions.stream().map(FeedbackSubmission::getFeedbackId).toList();
+        jdbcTemplate.update("DELETE FROM feedback_submission WHERE feedback_id IN (:ids)",
+                new MapSqlParameterSource("ids", releasedIds));
+        Map<FeedbackSubmission.Key, MapSqlParameterSource> pairs = new LinkedHashMap<>();
+        for (FeedbackSubmission s : submissions) {
+            pairs.putIfAbsent(new FeedbackSubmission.Key(s.getUserId(), s.getCourseId()),
+                    new MapSqlParameterSource("userId", s.getUserId())
+                            .addValue("courseId", s.getCourseId())
+                            .addValue("releasedIds", releasedIds));
+        }
+        jdbcTemplate.batchUpdate(REPOINT_SQL, pairs.values().toArray(MapSqlParameterSource[]::new));
+    }
+
+    @Override
+    public int reconcile() {
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        return jdbc.update(DELETE_STALE_SQL) + jdbc.update(INSERT_MISSING_SQL);
+    }
+
+    @Override
+    public void forEachKey(KeyHandler handler) {
+        streamingJdbcTemplate.query("SELECT s.user_id, s.course_id FROM feedback_submission s", rs -> {
+            handler.accept(rs.getLong(1), rs.getLong(2));
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.FeedbackTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FeedbackTagRepository extends JpaRepository<FeedbackTag, FeedbackTag.Key>, FeedbackTagRepositoryCustom {
+
+    @Query("select t.tag from FeedbackTag t where t.feedbackId = :feedbackId order by t.tag")
+    List<String> findTagsByFeedbackId(@Param("feedbackId") Long feedbackId);
+
+    @Modifying
+    @Query("delete from FeedbackTag t where t.feedbackId = :feedbackId")
+    int deleteByFeedbackId(@Param("feedbackId") Long feedbackId);
+
+    @Modifying
+    @Query("delete from FeedbackTag t where t.feedbackId = :feedbackId and t.tag in :tags")
+    int deleteTags(@Param("feedbackId") Long feedbackId, @Param("tags") Collection<String> tags);
+}
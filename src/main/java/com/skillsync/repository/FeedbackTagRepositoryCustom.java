@@ -0,0 +1,23 @@
+package com.skillsync.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface FeedbackTagRepositoryCustom {
+
+    // Inserts the (feedback, tag) pairs, silently skipping the ones that already exist
+    void insertIgnoringDuplicates(Map<Long, ? extends Collection<String>> tagsByFeedback);
+
+    // Streams every (feedback, tag) pair, ordered by tag
+    void forEachTag(TagRowHandler handler);
+
+    Map<String, Long> countByTag();
+
+    // (feedback, tag) pairs of the given feedback in one query
+    void forEachTagOf(Collection<Long> feedbackIds, TagRowHandler handler);
+
+    @FunctionalInterface
+    interface TagRowHandler {
+        void accept(long feedbackId, String tag);
+    }
+}
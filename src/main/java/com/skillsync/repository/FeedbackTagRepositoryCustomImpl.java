@@ -0,0 +1,68 @@
+package com.skillsync.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FeedbackTagRepositoryCustomImpl implements FeedbackTagRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT IGNORE INTO feedback_tag (feedback_id, tag) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    @Autowired
+    public FeedbackTagRepositoryCustomImpl(DataSource dataSource,
+                                           @Value("${skillsync.feedback.stream.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public void insertIgnoringDuplicates(Map<Long, ? extends Collection<String>> tagsByFeedback) {
+        List<Object[]> batch = new ArrayList<>();
+        tagsByFeedback.forEach((feedbackId, tags) -> tags.forEach(tag -> batch.add(new Object[] {feedbackId, tag})));
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+
+    @Override
+    public void forEachTag(TagRowHandler handler) {
+        streamingJdbcTemplate.query("SELECT t.feedback_id, t.tag FROM feedback_tag t ORDER BY t.tag",
+                rs -> {
+                    handler.accept(rs.getLong(1), rs.getString(2));
+                });
+    }
+
+    @Override
+    public Map<String, Long> countByTag() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT t.tag, COUNT(*) FROM feedback_tag t GROUP BY t.tag ORDER BY t.tag",
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    @Override
+    public void forEachTagOf(Collection<Long> feedbackIds, TagRowHandler handler) {
+        if (feedbackIds.isEmpty()) {
+            return;
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(
+                "SELECT t.feedback_id, t.tag FROM feedback_tag t WHERE t.feedback_id IN (:ids)",
+                Map.of("ids", feedbackIds), rs -> {
+                    handler.accept(rs.getLong(1), rs.getString(2));
+                });
+    }
+}
@@ -0,0 +1,75 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.FeedbackField;
+import com.skillsync.model.FeedbackProjection;
+import com.skillsync.model.FeedbackView;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Maps the narrow SELECT of a projection to a FeedbackView; only the fetched columns are read.
+public final class FeedbackViewRowMapper implements RowMapper<FeedbackView> {
+
+    private static final Map<FeedbackField, String> COLUMNS = new EnumMap<>(Map.ofEntries(
+            Map.entry(FeedbackField.ID, "f.id"),
+            Map.entry(FeedbackField.COMMENT, "f.comment_text"),
+            Map.entry(FeedbackField.SNIPPET, "f.comment_text"),
+            Map.entry(FeedbackField.RATING, "f.overall_rating"),
+            Map.entry(FeedbackField.USER_ID, "f.user_id"),
+            Map.entry(FeedbackField.COURSE_ID, "f.course_id"),
+            Map.entry(FeedbackField.TRAINER_ID, "f.trainer_id"),
+            Map.entry(FeedbackField.CONTENT_RELEVANCE_RATING, "f.content_relevance_rating"),
+            Map.entry(FeedbackField.TRAINER_EFFECTIVENESS_RATING, "f.trainer_effectiveness_rating"),
+            Map.entry(FeedbackField.WOULD_RECOMMEND, "f.would_recommend"),
+            Map.entry(FeedbackField.IS_ANONYMOUS, "f.is_anonymous"),
+            Map.entry(FeedbackField.TAGS, "f.tags"),
+            Map.entry(FeedbackField.STATUS, "f.status"),
+            Map.entry(FeedbackField.ADMIN_NOTES, "f.admin_notes"),
+            Map.entry(FeedbackField.SUBMISSION_TIMESTAMP, "f.submission_timestamp"),
+            Map.entry(FeedbackField.LAST_UPDATED_TIMESTAMP, "f.last_updated_timestamp"),
+            Map.entry(FeedbackField.VERSION, "f.version")));
+
+    private static final String ELLIPSIS = "…";
+
+    private final FeedbackProjection projection;
+    private final List<FeedbackField> fetched;
+
+    public FeedbackViewRowMapper(FeedbackProjection projection) {
+        this.projection = projection;
+        this.fetched = List.copyOf(projection.fetched());
+    }
+
+    // The SELECT list, one expression per fetched field in declaration order. The snippet is cut in
+    // the database (one character over the limit, to know whether it was cut) so long comments never
+    // leave it; the length is a configuration value, not request input.
+    public String columns() {
+        return String.join(", ", expressions());
+    }
+
+    // The same expressions one by one, for queries that alias them (the archive union)
+    public List<String> expressions() {
+        return fetched.stream()
+                .map(field -> field == FeedbackField.SNIPPET
+                        ? "SUBSTRING(f.comment_text, 1, " + (projection.snippetLength() + 1) + ")"
+                        : COLUMNS.get(field))
+                .toList();
+    }
+
+    @Override
+    public FeedbackView mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Object[] values = new Object[FeedbackField.values().length];
+        for (int i = 0; i < fetched.size(); i++) {
+            FeedbackField field = fetched.get(i);
+            Object value = rs.getObject(i + 1, field.type());
+            if (field == FeedbackField.SNIPPET && value instanceof String text && text.length() > projection.snippetLength()) {
+                value = text.substring(0, projection.snippetLength()) + ELLIPSIS;
+            }
+            values[field.ordinal()] = value;
+        }
+        return new FeedbackView(projection.fields(), values);
+    }
+}
@@ -0,0 +1,96 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.RatingTally;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// SQL fragments shared by the tables that embed RatingStats (one column per RatingTally counter).
+final class RatingTallySql {
+
+    private static final String[][] DIMENSIONS = {
+            {"rating", "overall_rating"},
+            {"content_relevance", "content_relevance_rating"},
+            {"trainer_effectiveness", "trainer_effectiveness_rating"}
+    };
+
+    private RatingTallySql() {
+    }
+
+    // The feedback columns tallyExpressions() reads, for selecting them out of each table of a UNION ALL
+    static String sourceColumns() {
+        List<String> columns = new ArrayList<>();
+        for (String[] dimension : DIMENSIONS) {
+            columns.add(dimension[1]);
+        }
+        columns.add("would_recommend");
+        return String.join(", ", columns);
+    }
+
+    // Aggregate expressions over the feedback table (aliased 'f') in RatingTally.COLUMNS order
+    static String tallyExpressions() {
+        List<String> expressions = new ArrayList<>();
+        expressions.add("COUNT(*)");
+        for (String[] dimension : DIMENSIONS) {
+            String source = "f." + dimension[1];
+            expressions.add("COUNT(" + source + ")");
+            expressions.add("COALESCE(SUM(" + source + "), 0)");
+            for (int rating = 1; rating <= 5; rating++) {
+                expressions.add("SUM(CASE WHEN " + source + " = " + rating + " THEN 1 ELSE 0 END)");
+            }
+        }
+        expressions.add("SUM(CASE WHEN f.would_recommend = TRUE THEN 1 ELSE 0 END)");
+        expressions.add("SUM(CASE WHEN f.would_recommend = FALSE THEN 1 ELSE 0 END)");
+        return String.join(", ", expressions);
+    }
+
+    // INSERT ... ON DUPLICATE KEY UPDATE that adds the given values to the existing counters
+    static String incrementUpsert(String table, List<String> keyColumns) {
+        return upsert(table, keyColumns, column -> column + " = " + column + " + VALUES(" + column + ")");
+    }
+
+    // INSERT ... ON DUPLICATE KEY UPDATE that overwrites the counters with the given values
+    static String replaceUpsert(String table, List<String> keyColumns) {
+        return upsert(table, keyColumns, column -> column + " = VALUES(" + column + ")");
+    }
+
+    private static String upsert(String table, List<String> keyColumns,
+                                 Function<String, String> assignment) {
+        List<String> columns = new ArrayList<>(keyColumns);
+        columns.addAll(RatingTally.COLUMNS);
+        columns.add("last_updated_timestamp");
+        String placeholders = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        String updates = RatingTally.COLUMNS.stream().map(assignment).collect(Collectors.joining(", "));
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")"
+                + " ON DUPLICATE KEY UPDATE " + updates
+                + ", last_updated_timestamp = VALUES(last_updated_timestamp)";
+    }
+
+    static Object[] upsertParameters(List<Object> keys, RatingTally tally, LocalDateTime now) {
+        long[] values = tally.values();
+        Object[] parameters = new Object[keys.size() + values.length + 1];
+        int i = 0;
+        for (Object key : keys) {
+            parameters[i++] = key;
+        }
+        for (long value : values) {
+            parameters[i++] = value;
+        }
+        parameters[i] = Timestamp.valueOf(now);
+        return parameters;
+    }
+
+    static RatingTally readTally(ResultSet rs, int firstColumn) throws SQLException {
+        long[] values = new long[RatingTally.COLUMNS.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rs.getLong(firstColumn + i);
+        }
+        return RatingTally.ofValues(values);
+    }
+}
@@ -0,0 +1,10 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.TrainerCourseAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrainerCourseAggregateRepository
+        extends JpaRepository<TrainerCourseAggregate, TrainerCourseAggregate.Key>, TrainerCourseAggregateRepositoryCustom {
+}
@@ -0,0 +1,18 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.RatingTally;
+import com.skillsync.model.TrainerCourseAggregate;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface TrainerCourseAggregateRepositoryCustom {
+
+    // Adds each delta to the (trainer, course) counters, creating the row on first use
+    void applyDeltas(Map<TrainerCourseAggregate.Key, RatingTally> deltas);
+
+    // Current counters straight from the table (never from the persistence context); absent keys have no row
+    Map<TrainerCourseAggregate.Key, RatingTally> findTallies(Collection<TrainerCourseAggregate.Key> keys);
+
+    Map<TrainerCourseAggregate.Key, RatingTally> findAllTallies();
+}
@@ -0,0 +1,88 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.RatingTally;
+import com.skillsync.model.TrainerCourseAggregate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class TrainerCourseAggregateRepositoryCustomImpl implements TrainerCourseAggregateRepositoryCustom {
+
+    private static final String TABLE = "trainer_course_aggregate";
+    private static final List<String> KEY_COLUMNS = List.of("trainer_id", "course_id");
+
+    private static final String INCREMENT_SQL = RatingTallySql.incrementUpsert(TABLE, KEY_COLUMNS);
+    private static final String TALLIES_SQL = "SELECT a.trainer_id, a.course_id, "
+            + String.join(", ", RatingTally.COLUMNS.stream().map(c -> "a." + c).toList())
+            + " FROM trainer_course_aggregate a";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TrainerCourseAggregateRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDeltas(Map<TrainerCourseAggregate.Key, RatingTally> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.entrySet().stream()
+                .filter(e -> !e.getValue().isZero())
+                .sorted(Map.Entry.comparingByKey(TrainerCourseAggregate.Key.ORDER))
+                .forEach(e -> batch.add(RatingTallySql.upsertParameters(
+                        List.of(e.getKey().getTrainerId(), e.getKey().getCourseId()), e.getValue(), now)));
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+        }
+    }
+
+    @Override
+    public Map<TrainerCourseAggregate.Key, RatingTally> findTallies(Collection<TrainerCourseAggregate.Key> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        // Two IN lists over the primary key rather than a row-value IN, which not every engine
+        // can answer from the index; pairs that were not asked for are dropped afterwards
+        Set<Long> trainerIds = new TreeSet<>();
+        Set<Long> courseIds = new TreeSet<>();
+        keys.forEach(key -> {
+            trainerIds.add(key.getTrainerId());
+            courseIds.add(key.getCourseId());
+        });
+        List<Object> parameters = new ArrayList<>(trainerIds);
+        parameters.addAll(courseIds);
+        Map<TrainerCourseAggregate.Key, RatingTally> tallies = queryTallies(TALLIES_SQL
+                + " WHERE a.trainer_id IN (" + placeholders(trainerIds.size()) + ")"
+                + " AND a.course_id IN (" + placeholders(courseIds.size()) + ")", parameters.toArray());
+        tallies.keySet().retainAll(new HashSet<>(keys));
+        return tallies;
+    }
+
+    @Override
+    public Map<TrainerCourseAggregate.Key, RatingTally> findAllTallies() {
+        return queryTallies(TALLIES_SQL);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private Map<TrainerCourseAggregate.Key, RatingTally> queryTallies(String sql, Object... parameters) {
+        Map<TrainerCourseAggregate.Key, RatingTally> tallies = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            tallies.put(new TrainerCourseAggregate.Key(rs.getLong(1), rs.getLong(2)), RatingTallySql.readTally(rs, 3));
+        }, parameters);
+        return tallies;
+    }
+}
@@ -0,0 +1,18 @@
+-- MySQL only (db/migration-{vendor}). Range partitions on submission_timestamp: everything before
+-- the current month in p_history, the rest in p_future, which FeedbackArchiveService splits into
+-- monthly partitions ahead of time. Date-range listings and exports then only touch their months.
+-- Every unique key of a partitioned table must contain the partitioning column, hence the wider
+-- primary key; ids still come from AUTO_INCREMENT and stay unique on their own.
+ALTER TABLE feedback DROP PRIMARY KEY, ADD PRIMARY KEY (id, submission_timestamp);
+
+-- The first boundary depends on when the migration runs, so the statement is assembled here
+SET @partition_feedback = CONCAT(
+    'ALTER TABLE feedback PARTITION BY RANGE COLUMNS (submission_timestamp) (',
+    'PARTITION p_history VALUES LESS THAN (''', DATE_FORMAT(CURRENT_DATE, '%Y-%m-01'), '''), ',
+    'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE partition_feedback FROM @partition_feedback;
+EXECUTE partition_feedback;
+DEALLOCATE PREPARE partition_feedback;
+
+-- Archived rows are written once and rarely read: trade some CPU for a much smaller table
+ALTER TABLE feedback_archive ROW_FORMAT = COMPRESSED;
@@ -0,0 +1,45 @@
+-- Fills course_rating_aggregate from the existing feedback, like V5 does for trainer_course_aggregate:
+-- the table was only maintained by writes made since it was introduced, so courses whose feedback
+-- predates it read as empty (or count only their newer feedback) until the nightly reconciliation.
+-- Runs before the application takes writes, so the stored rows are simply replaced. Archived
+-- feedback counts too.
+DELETE FROM course_rating_aggregate;
+
+INSERT INTO course_rating_aggregate (
+    course_id, feedback_count,
+    rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5,
+    content_relevance_count, content_relevance_sum,
+    content_relevance_1, content_relevance_2, content_relevance_3, content_relevance_4, content_relevance_5,
+    trainer_effectiveness_count, trainer_effectiveness_sum,
+    trainer_effectiveness_1, trainer_effectiveness_2, trainer_effectiveness_3,
+    trainer_effectiveness_4, trainer_effectiveness_5,
+    recommend_yes_count, recommend_no_count, last_updated_timestamp)
+SELECT f.course_id, COUNT(*),
+       COUNT(f.overall_rating), COALESCE(SUM(f.overall_rating), 0),
+       SUM(CASE WHEN f.overall_rating = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.overall_rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.overall_rating = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.overall_rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.overall_rating = 5 THEN 1 ELSE 0 END),
+       COUNT(f.content_relevance_rating), COALESCE(SUM(f.content_relevance_rating), 0),
+       SUM(CASE WHEN f.content_relevance_rating = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.content_relevance_rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.content_relevance_rating = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.content_relevance_rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.content_relevance_rating = 5 THEN 1 ELSE 0 END),
+       COUNT(f.trainer_effectiveness_rating), COALESCE(SUM(f.trainer_effectiveness_rating), 0),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 5 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.would_recommend = TRUE THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.would_recommend = FALSE THEN 1 ELSE 0 END),
+       CURRENT_TIMESTAMP(6)
+FROM (SELECT course_id, overall_rating, content_relevance_rating, trainer_effectiveness_rating, would_recommend
+      FROM feedback
+      UNION ALL
+      SELECT course_id, overall_rating, content_relevance_rating, trainer_effectiveness_rating, would_recommend
+      FROM feedback_archive) f
+WHERE f.course_id IS NOT NULL
+GROUP BY f.course_id;
@@ -0,0 +1,58 @@
+-- Schema as previously created by Hibernate auto-DDL. IF NOT EXISTS lets this run unchanged
+-- against databases that were created that way (Flyway baselines them at version 0).
+
+CREATE TABLE IF NOT EXISTS feedback (
+    id                           BIGINT        NOT NULL AUTO_INCREMENT,
+    comment_text                 VARCHAR(2000),
+    overall_rating               INTEGER,
+    user_id                      BIGINT        NOT NULL,
+    course_id                    BIGINT        NOT NULL,
+    trainer_id                   BIGINT,
+    content_relevance_rating     INTEGER,
+    trainer_effectiveness_rating INTEGER,
+    would_recommend              BIT,
+    is_anonymous                 BIT,
+    tags                         VARCHAR(255),
+    status                       VARCHAR(255),
+    admin_notes                  VARCHAR(1000),
+    submission_timestamp         DATETIME(6)   NOT NULL,
+    last_updated_timestamp       DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS feedback_tag (
+    feedback_id BIGINT       NOT NULL,
+    tag         VARCHAR(255) NOT NULL,
+    PRIMARY KEY (feedback_id, tag),
+    INDEX idx_feedback_tag_tag (tag, feedback_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS course_rating_aggregate (
+    course_id                   BIGINT NOT NULL,
+    feedback_count              BIGINT NOT NULL,
+    rating_count                BIGINT NOT NULL,
+    rating_sum                  BIGINT NOT NULL,
+    rating_1                    BIGINT NOT NULL,
+    rating_2                    BIGINT NOT NULL,
+    rating_3                    BIGINT NOT NULL,
+    rating_4                    BIGINT NOT NULL,
+    rating_5                    BIGINT NOT NULL,
+    content_relevance_count     BIGINT NOT NULL,
+    content_relevance_sum       BIGINT NOT NULL,
+    content_relevance_1         BIGINT NOT NULL,
+    content_relevance_2         BIGINT NOT NULL,
+    content_relevance_3         BIGINT NOT NULL,
+    content_relevance_4         BIGINT NOT NULL,
+    content_relevance_5         BIGINT NOT NULL,
+    trainer_effectiveness_count BIGINT NOT NULL,
+    trainer_effectiveness_sum   BIGINT NOT NULL,
+    trainer_effectiveness_1     BIGINT NOT NULL,
+    trainer_effectiveness_2     BIGINT NOT NULL,
+    trainer_effectiveness_3     BIGINT NOT NULL,
+    trainer_effectiveness_4     BIGINT NOT NULL,
+    trainer_effectiveness_5     BIGINT NOT NULL,
+    recommend_yes_count         BIGINT NOT NULL,
+    recommend_no_count          BIGINT NOT NULL,
+    last_updated_timestamp      DATETIME(6),
+    PRIMARY KEY (course_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,24 @@
+-- One index per FeedbackRepository finder / listing filter. Each ends with the listing order
+-- (submission_timestamp DESC, id DESC), so keyset pages are read straight off the index
+-- without a sort. InnoDB would append the primary key anyway; it is listed for other engines.
+
+-- findByCourseId, /course/{id} listing, per-course summaries
+CREATE INDEX idx_feedback_course_submitted ON feedback (course_id, submission_timestamp, id);
+
+-- findByCourseIdAndStatus, course + status listing, status breakdown of the course summary
+CREATE INDEX idx_feedback_course_status_submitted ON feedback (course_id, status, submission_timestamp, id);
+
+-- findByUserId, /user/{id} listing
+CREATE INDEX idx_feedback_user_submitted ON feedback (user_id, submission_timestamp, id);
+
+-- findByTrainerId, /trainer/{id} listing
+CREATE INDEX idx_feedback_trainer_submitted ON feedback (trainer_id, submission_timestamp, id);
+
+-- findByStatus, /status/{status} listing
+CREATE INDEX idx_feedback_status_submitted ON feedback (status, submission_timestamp, id);
+
+-- findBySubmissionTimestampBetween, /date-range and the unfiltered listing / export order
+CREATE INDEX idx_feedback_submitted ON feedback (submission_timestamp, id);
+
+-- findByRatingGreaterThanEqual, minRating filter
+CREATE INDEX idx_feedback_rating ON feedback (overall_rating);
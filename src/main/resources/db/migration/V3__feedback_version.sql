@@ -0,0 +1,2 @@
+-- Optimistic-locking version: bumped by every update, checked by conditional UPDATEs and @Version
+ALTER TABLE feedback ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,35 @@
+-- Rating tallies per time bucket (HOUR, DAY, WEEK) per course and per trainer, for trend charts.
+-- Same counter columns as course_rating_aggregate.
+CREATE TABLE feedback_rollup (
+    scope                       VARCHAR(16)  NOT NULL,
+    scope_id                    BIGINT       NOT NULL,
+    granularity                 VARCHAR(8)   NOT NULL,
+    bucket_start                DATETIME(6)  NOT NULL,
+    feedback_count              BIGINT NOT NULL,
+    rating_count                BIGINT NOT NULL,
+    rating_sum                  BIGINT NOT NULL,
+    rating_1                    BIGINT NOT NULL,
+    rating_2                    BIGINT NOT NULL,
+    rating_3                    BIGINT NOT NULL,
+    rating_4                    BIGINT NOT NULL,
+    rating_5                    BIGINT NOT NULL,
+    content_relevance_count     BIGINT NOT NULL,
+    content_relevance_sum       BIGINT NOT NULL,
+    content_relevance_1         BIGINT NOT NULL,
+    content_relevance_2         BIGINT NOT NULL,
+    content_relevance_3         BIGINT NOT NULL,
+    content_relevance_4         BIGINT NOT NULL,
+    content_relevance_5         BIGINT NOT NULL,
+    trainer_effectiveness_count BIGINT NOT NULL,
+    trainer_effectiveness_sum   BIGINT NOT NULL,
+    trainer_effectiveness_1     BIGINT NOT NULL,
+    trainer_effectiveness_2     BIGINT NOT NULL,
+    trainer_effectiveness_3     BIGINT NOT NULL,
+    trainer_effectiveness_4     BIGINT NOT NULL,
+    trainer_effectiveness_5     BIGINT NOT NULL,
+    recommend_yes_count         BIGINT NOT NULL,
+    recommend_no_count          BIGINT NOT NULL,
+    last_updated_timestamp      DATETIME(6),
+    PRIMARY KEY (scope, scope_id, granularity, bucket_start),
+    INDEX idx_feedback_rollup_bucket (bucket_start)
+) ENGINE = InnoDB;
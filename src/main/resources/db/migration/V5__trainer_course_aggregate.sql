@@ -0,0 +1,68 @@
+-- Running rating tallies per (trainer, course), the source of the trainer leaderboards.
+-- Same counter columns as course_rating_aggregate; filled from the existing feedback here
+-- and maintained in the same transaction as every feedback write afterwards.
+CREATE TABLE trainer_course_aggregate (
+    trainer_id                  BIGINT NOT NULL,
+    course_id                   BIGINT NOT NULL,
+    feedback_count              BIGINT NOT NULL,
+    rating_count                BIGINT NOT NULL,
+    rating_sum                  BIGINT NOT NULL,
+    rating_1                    BIGINT NOT NULL,
+    rating_2                    BIGINT NOT NULL,
+    rating_3                    BIGINT NOT NULL,
+    rating_4                    BIGINT NOT NULL,
+    rating_5                    BIGINT NOT NULL,
+    content_relevance_count     BIGINT NOT NULL,
+    content_relevance_sum       BIGINT NOT NULL,
+    content_relevance_1         BIGINT NOT NULL,
+    content_relevance_2         BIGINT NOT NULL,
+    content_relevance_3         BIGINT NOT NULL,
+    content_relevance_4         BIGINT NOT NULL,
+    content_relevance_5         BIGINT NOT NULL,
+    trainer_effectiveness_count BIGINT NOT NULL,
+    trainer_effectiveness_sum   BIGINT NOT NULL,
+    trainer_effectiveness_1     BIGINT NOT NULL,
+    trainer_effectiveness_2     BIGINT NOT NULL,
+    trainer_effectiveness_3     BIGINT NOT NULL,
+    trainer_effectiveness_4     BIGINT NOT NULL,
+    trainer_effectiveness_5     BIGINT NOT NULL,
+    recommend_yes_count         BIGINT NOT NULL,
+    recommend_no_count          BIGINT NOT NULL,
+    last_updated_timestamp      DATETIME(6),
+    PRIMARY KEY (trainer_id, course_id)
+) ENGINE = InnoDB;
+
+INSERT INTO trainer_course_aggregate (
+    trainer_id, course_id, feedback_count,
+    rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5,
+    content_relevance_count, content_relevance_sum,
+    content_relevance_1, content_relevance_2, content_relevance_3, content_relevance_4, content_relevance_5,
+    trainer_effectiveness_count, trainer_effectiveness_sum,
+    trainer_effectiveness_1, trainer_effectiveness_2, trainer_effectiveness_3,
+    trainer_effectiveness_4, trainer_effectiveness_5,
+    recommend_yes_count, recommend_no_count, last_updated_timestamp)
+SELECT f.trainer_id, f.course_id, COUNT(*),
+       COUNT(f.overall_rating), COALESCE(SUM(f.overall_rating), 0),
+       SUM(CASE WHEN f.overall_rating = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.overall_rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.overall_rating = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.overall_rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.overall_rating = 5 THEN 1 ELSE 0 END),
+       COUNT(f.content_relevance_rating), COALESCE(SUM(f.content_relevance_rating), 0),
+       SUM(CASE WHEN f.content_relevance_rating = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.content_relevance_rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.content_relevance_rating = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.content_relevance_rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.content_relevance_rating = 5 THEN 1 ELSE 0 END),
+       COUNT(f.trainer_effectiveness_rating), COALESCE(SUM(f.trainer_effectiveness_rating), 0),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.trainer_effectiveness_rating = 5 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.would_recommend = TRUE THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.would_recommend = FALSE THEN 1 ELSE 0 END),
+       CURRENT_TIMESTAMP(6)
+FROM feedback f
+WHERE f.trainer_id IS NOT NULL AND f.course_id IS NOT NULL
+GROUP BY f.trainer_id, f.course_id;
@@ -0,0 +1,29 @@
+-- Closed feedback moved out of the live table by the archiver: the same columns plus the time of
+-- the move. Archived rows have no feedback_tag rows; their tags are kept in the canonical tags column.
+-- Indexes cover the listing filters that can ask for archived rows, each ending in listing order.
+CREATE TABLE feedback_archive (
+    id                           BIGINT        NOT NULL,
+    comment_text                 VARCHAR(2000),
+    overall_rating               INTEGER,
+    user_id                      BIGINT        NOT NULL,
+    course_id                    BIGINT        NOT NULL,
+    trainer_id                   BIGINT,
+    content_relevance_rating     INTEGER,
+    trainer_effectiveness_rating INTEGER,
+    would_recommend              BIT,
+    is_anonymous                 BIT,
+    tags                         VARCHAR(255),
+    status                       VARCHAR(255),
+    admin_notes                  VARCHAR(1000),
+    submission_timestamp         DATETIME(6)   NOT NULL,
+    last_updated_timestamp       DATETIME(6),
+    version                      BIGINT        NOT NULL,
+    archived_at                  DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_feedback_archive_course_submitted ON feedback_archive (course_id, submission_timestamp, id);
+CREATE INDEX idx_feedback_archive_user_submitted ON feedback_archive (user_id, submission_timestamp, id);
+CREATE INDEX idx_feedback_archive_trainer_submitted ON feedback_archive (trainer_id, submission_timestamp, id);
+CREATE INDEX idx_feedback_archive_status_submitted ON feedback_archive (status, submission_timestamp, id);
+CREATE INDEX idx_feedback_archive_submitted ON feedback_archive (submission_timestamp, id);
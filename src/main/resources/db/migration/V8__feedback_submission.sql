@@ -0,0 +1,12 @@
+-- One row per (user, course) that has feedback, pointing at its first feedback; the primary key
+-- enforces the optional one-feedback-per-user-and-course policy. It cannot live on feedback itself:
+-- unique keys of the partitioned MySQL table must include submission_timestamp. Filled and
+-- maintained by DuplicateSubmissionGuard while the policy is enabled.
+CREATE TABLE feedback_submission (
+    user_id     BIGINT NOT NULL,
+    course_id   BIGINT NOT NULL,
+    feedback_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, course_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_feedback_submission_feedback ON feedback_submission (feedback_id);
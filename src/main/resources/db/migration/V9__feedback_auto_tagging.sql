@@ -0,0 +1,15 @@
+-- When the auto-tagger last read the comment; NULL for new rows and rows whose comment changed since.
+-- Not mapped on the entity, so JPA updates leave it alone.
+ALTER TABLE feedback ADD COLUMN auto_tagged_at DATETIME(6);
+
+-- The auto-tagger's keyset scan over rows still to do, in id order
+CREATE INDEX idx_feedback_auto_tagged ON feedback (auto_tagged_at, id);
+
+-- Where an interrupted background job picks up again after a restart; one row per unfinished job
+CREATE TABLE job_checkpoint (
+    job_name    VARCHAR(64) NOT NULL PRIMARY KEY,
+    last_id     BIGINT      NOT NULL,
+    full_scan   BOOLEAN     NOT NULL,
+    started_at  DATETIME(6) NOT NULL,
+    updated_at  DATETIME(6) NOT NULL
+) ENGINE = InnoDB;
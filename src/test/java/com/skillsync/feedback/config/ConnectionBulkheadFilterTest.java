@@ -0,0 +1,57 @@
+package com.skillsync.feedback.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionBulkheadFilterTest {
+
+    private final ConnectionBulkheadFilter filter = new ConnectionBulkheadFilter(1, 50);
+
+    @Test
+    void rejectsApiRequestsBeyondThePoolSize() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        AtomicBoolean innerRan = new AtomicBoolean();
+
+        // The outer request holds the only slot while the inner one arrives
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/feedback"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/api/feedback/1"), rejected,
+                        (innerRequest, innerResponse) -> innerRan.set(true)));
+
+        assertFalse(innerRan.get());
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void leavesOtherPathsAlone() throws Exception {
+        AtomicBoolean healthRan = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/feedback"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"),
+                        new MockHttpServletResponse(), (innerRequest, innerResponse) -> healthRan.set(true)));
+
+        assertTrue(healthRan.get());
+    }
+
+    @Test
+    void releasesTheSlotWhenTheHandlerFails() {
+        try {
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/feedback"), new MockHttpServletResponse(),
+                    (request, response) -> {
+                        throw new IllegalStateException("handler failed");
+                    });
+        } catch (Exception expected) {
+            // The handler's failure is passed on; only the slot matters here
+        }
+        assertEquals(1, filter.availablePermits());
+    }
+}
@@ -0,0 +1,51 @@
+package com.skillsync.feedback.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LegacyTagRowsMigrationTest {
+
+    private final DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @Test
+    void copiesTheTagsTextOfRowsWithoutTagRows() {
+        flyway("10").migrate();
+        insertFeedback(1, " ui, audio ,ui,, ");
+        insertFeedback(2, null);
+        insertFeedback(3, "");
+        insertFeedback(4, "pace");
+        // Already copied: left as it is
+        jdbcTemplate.update("INSERT INTO feedback_tag (feedback_id, tag) VALUES (4, 'pace')");
+
+        flyway("11").migrate();
+
+        assertEquals(List.of("1:audio", "1:ui", "4:pace"), jdbcTemplate.queryForList(
+                "SELECT CONCAT(feedback_id, ':', tag) FROM feedback_tag ORDER BY feedback_id, tag", String.class));
+        // Applied once: a later start finds nothing to do
+        assertEquals(0, flyway("11").migrate().migrationsExecuted);
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .javaMigrations(new LegacyTagRowsMigration())
+                .target(target)
+                .load();
+    }
+
+    private void insertFeedback(long id, String tags) {
+        jdbcTemplate.update("INSERT INTO feedback (id, user_id, course_id, tags, submission_timestamp)"
+                + " VALUES (?, 1, 1, ?, CURRENT_TIMESTAMP)", id, tags);
+    }
+}
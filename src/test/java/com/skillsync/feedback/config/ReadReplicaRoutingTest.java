@@ -0,0 +1,161 @@
+package com.skillsync.feedback.config;
+
+import com.skillsync.feedback.SkillsyncFeedbackApplication;
+import com.skillsync.feedback.service.FeedbackService;
+import com.skillsync.model.Feedback;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The primary is the test profile's H2; the replica is a second H2 that never receives the primary's
+// writes, so which database answered shows in the rows a read returns
+@SpringBootTest(classes = SkillsyncFeedbackApplication.class)
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica-" + UUID.randomUUID()
+            + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_ONLY = "replica only";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(
+            new SimpleDriverDataSource(new org.h2.Driver(), REPLICA_URL, "sa", ""));
+
+    @DynamicPropertySource
+    static void replicas(DynamicPropertyRegistry registry) {
+        registry.add("skillsync.feedback.replicas.enabled", () -> "true");
+        registry.add("skillsync.feedback.replicas.urls", () -> REPLICA_URL);
+        registry.add("skillsync.feedback.replicas.health-check-interval-ms", () -> "3600000");
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getDataSource())
+                .locations("classpath:db/migration")
+                .javaMigrations(new LegacyTagRowsMigration())
+                .load()
+                .migrate();
+        replica.update("INSERT INTO feedback (id, user_id, course_id, comment_text, submission_timestamp)"
+                + " VALUES (900000001, 1, 1, ?, CURRENT_TIMESTAMP)", REPLICA_ONLY);
+    }
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReadReplicaConfig readReplicaConfig;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    @BeforeEach
+    void checkReplicas() {
+        readReplicaConfig.checkReplicas();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() {
+        assertTrue(comments(feedbackService.getAllFeedback()).contains(REPLICA_ONLY));
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        Feedback saved = save("written to the primary");
+
+        // Outside a transaction the router hands out primary connections
+        assertEquals(1, new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM feedback WHERE id = ?", Integer.class, saved.getId()));
+        assertEquals(0, replica.queryForObject(
+                "SELECT COUNT(*) FROM feedback WHERE id = ?", Integer.class, saved.getId()));
+        assertFalse(comments(feedbackService.getAllFeedback()).contains("written to the primary"));
+    }
+
+    @Test
+    void theRecentWriteCookieReadsFromThePrimary() throws Exception {
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/feedback");
+        MockHttpServletResponse posted = new MockHttpServletResponse();
+        List<String> written = new ArrayList<>();
+        readYourWritesFilter.doFilter(post, posted,
+                (request, response) -> written.add(save("just submitted").getComment()));
+        Cookie cookie = posted.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/feedback");
+        get.setCookies(cookie);
+        List<String> read = new ArrayList<>();
+        readYourWritesFilter.doFilter(get, new MockHttpServletResponse(),
+                (request, response) -> read.addAll(comments(feedbackService.getAllFeedback())));
+
+        assertTrue(read.containsAll(written));
+        assertFalse(read.contains(REPLICA_ONLY));
+        // Without the cookie the same listing comes from the replica again
+        assertFalse(comments(feedbackService.getAllFeedback()).contains("just submitted"));
+    }
+
+    @Test
+    void healthIsDegradedWithoutAHealthyReplica() {
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+        HikariDataSource missing = new HikariDataSource();
+        // IFEXISTS refuses to create the database, so every connection attempt fails
+        missing.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        missing.setConnectionTimeout(250);
+        missing.setInitializationFailTimeout(-1);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary,
+                List.of(new ReplicaRoutingDataSource.Replica("replica-1", missing)), null, 1000);
+        try {
+            router.checkReplicas();
+            Health health = router.health();
+            assertEquals(ReplicaRoutingDataSource.DEGRADED, health.getStatus());
+            assertEquals(0L, health.getDetails().get("healthy"));
+        } finally {
+            router.close();
+        }
+    }
+
+    @Test
+    void healthIsUpWithAHealthyReplica() {
+        assertEquals(Status.UP, readReplicaConfig.readReplicasHealthIndicator(dataSource).health().getStatus());
+    }
+
+    private Feedback save(String comment) {
+        Feedback feedback = new Feedback();
+        feedback.setUserId(1L);
+        feedback.setCourseId(1L);
+        feedback.setRating(4);
+        feedback.setComment(comment);
+        feedback.setStatus("Open");
+        return feedbackService.saveFeedback(feedback);
+    }
+
+    private static List<String> comments(List<Feedback> feedback) {
+        return feedback.stream().map(Feedback::getComment).toList();
+    }
+}
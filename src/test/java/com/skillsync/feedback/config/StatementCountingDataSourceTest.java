@@ -0,0 +1,38 @@
+package com.skillsync.feedback.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StatementCountingDataSourceTest {
+
+    private final StatementCountingDataSource dataSource = new StatementCountingDataSource(
+            new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @Test
+    void countsEveryExecuteOnTheCallingThread() throws Exception {
+        jdbcTemplate.execute("CREATE TABLE t (id INT)");
+        StatementCountingDataSource.reset();
+
+        jdbcTemplate.update("INSERT INTO t VALUES (?)", 1);
+        jdbcTemplate.queryForList("SELECT id FROM t", Integer.class);
+        // One batch is one round trip
+        jdbcTemplate.batchUpdate("INSERT INTO t VALUES (?)", List.of(new Object[]{2}, new Object[]{3}));
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM t")) {
+            statement.executeQuery().close();
+        }
+
+        assertEquals(4, StatementCountingDataSource.count());
+        StatementCountingDataSource.reset();
+        assertEquals(0, StatementCountingDataSource.count());
+    }
+}
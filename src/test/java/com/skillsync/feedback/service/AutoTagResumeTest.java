@@ -0,0 +1,85 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.feedback.SkillsyncFeedbackApplication;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackTags;
+import com.skillsync.model.JobCheckpoint;
+import com.skillsync.model.dto.AutoTagRunStatus;
+import com.skillsync.repository.FeedbackRepository;
+import com.skillsync.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = SkillsyncFeedbackApplication.class)
+@ActiveProfiles("test")
+class AutoTagResumeTest {
+
+    @Autowired
+    private AutoTagService autoTagService;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Test
+    void anUnfinishedRunResumesAfterItsCheckpoint() throws InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ids.add(save("The audio kept cutting out").getId());
+        }
+        // A run that committed the chunks up to the third row, then stopped
+        LocalDateTime startedAt = LocalDateTime.now().minusMinutes(5);
+        jobCheckpointRepository.save(new JobCheckpoint("auto-tag", ids.get(2), false, startedAt, startedAt));
+
+        assertTrue(autoTagService.startRun(false));
+        AutoTagRunStatus status = await();
+
+        assertNull(status.error());
+        // Rows other tests left behind may be read too, but never the three before the checkpoint
+        assertTrue(status.scanned() >= 3, "scanned " + status.scanned());
+        for (int i = 0; i < ids.size(); i++) {
+            boolean tagged = FeedbackTags.parse(feedbackRepository.findById(ids.get(i)).orElseThrow().getTags())
+                    .contains("audio");
+            assertEquals(i > 2, tagged, "row " + i);
+        }
+        // Finished: nothing left to resume
+        assertFalse(jobCheckpointRepository.existsById("auto-tag"));
+    }
+
+    private AutoTagRunStatus await() throws InterruptedException {
+        for (int i = 0; i < 1000; i++) {
+            AutoTagRunStatus status = autoTagService.getStatus();
+            if (!status.running() && status.finishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("auto-tag run did not finish");
+    }
+
+    private Feedback save(String comment) {
+        Feedback feedback = new Feedback();
+        feedback.setUserId(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+        feedback.setCourseId(ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE));
+        feedback.setRating(2);
+        feedback.setComment(comment);
+        return feedbackService.saveFeedback(feedback);
+    }
+}
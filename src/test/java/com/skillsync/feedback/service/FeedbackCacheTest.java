@@ -0,0 +1,140 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.feedback.event.FeedbackCacheInvalidation;
+import com.skillsync.feedback.event.FeedbackChange;
+import com.skillsync.feedback.event.FeedbackChangeEvent;
+import com.skillsync.feedback.event.LocalCacheInvalidationBus;
+import com.skillsync.model.FeedbackField;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackPage;
+import com.skillsync.model.FeedbackProjection;
+import com.skillsync.model.FeedbackSnapshot;
+import com.skillsync.model.FeedbackView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class FeedbackCacheTest {
+
+    private static final FeedbackProjection PROJECTION = FeedbackProjection.list(80);
+
+    private final FeedbackCache cache = new FeedbackCache(new LocalCacheInvalidationBus(), true,
+            100, 60, 100, 60, false, 1000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void aChangeInTheCourseRetiresItsPages() {
+        page(1L, () -> page(10L));
+        page(1L, () -> page(10L));
+        assertEquals(1, loads.get());
+
+        cache.apply(new FeedbackCacheInvalidation(Set.of(11L), Set.of(1L), Set.of(), false));
+        page(1L, () -> page(10L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void aChangeInAnotherCourseKeepsThePages() {
+        page(1L, () -> page(10L));
+        cache.apply(new FeedbackCacheInvalidation(Set.of(20L), Set.of(2L), Set.of(), false));
+        page(1L, () -> page(10L));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void aPageLoadedDuringAWriteIsNotServedAfterIt() {
+        // The write commits while the (now stale) page is being read
+        page(1L, () -> {
+            cache.apply(new FeedbackCacheInvalidation(Set.of(11L), Set.of(1L), Set.of(), false));
+            return page(10L);
+        });
+        page(1L, () -> page(10L, 11L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void anUnscopedChangeRetiresEveryPage() {
+        page(1L, () -> page(10L));
+        page(2L, () -> page(20L));
+        cache.apply(new FeedbackCacheInvalidation(Set.of(10L), Set.of(), Set.of(), true));
+        page(1L, () -> page(10L));
+        page(2L, () -> page(20L));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void aPageLoadedDuringAPatchIsNotServedAfterIt() {
+        // A status patch without scope information commits while the page is being read
+        page(1L, () -> {
+            cache.apply(new FeedbackCacheInvalidation(Set.of(10L), Set.of(), Set.of(), true));
+            return page(10L);
+        });
+        page(1L, () -> page(10L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void versionsFollowTheGenerations() {
+        FeedbackFilter course = FeedbackFilter.byCourse(1L);
+        String listing = cache.listingVersion(course).tag();
+        String aggregate = cache.aggregateVersion(FeedbackCache.Scope.COURSE, 1L).tag();
+        String global = cache.globalVersion().tag();
+
+        // An in-place patch changes the listings but never the aggregates
+        cache.apply(new FeedbackCacheInvalidation(Set.of(10L), Set.of(), Set.of(), true));
+        assertNotEquals(listing, cache.listingVersion(course).tag());
+        assertEquals(aggregate, cache.aggregateVersion(FeedbackCache.Scope.COURSE, 1L).tag());
+        assertNotEquals(global, cache.globalVersion().tag());
+
+        listing = cache.listingVersion(course).tag();
+        cache.onFeedbackChange(new FeedbackChangeEvent(List.of(FeedbackChange.created(snapshot(12L, 1L, 7L)))));
+        assertNotEquals(listing, cache.listingVersion(course).tag());
+        assertNotEquals(aggregate, cache.aggregateVersion(FeedbackCache.Scope.COURSE, 1L).tag());
+        assertEquals(1, cache.generation(FeedbackCache.Scope.TRAINER, 7L));
+        assertEquals(0, cache.generation(FeedbackCache.Scope.COURSE, 2L));
+    }
+
+    @Test
+    void invalidateAllStartsANewEpoch() {
+        page(1L, () -> page(10L));
+        String aggregate = cache.aggregateVersion(FeedbackCache.Scope.COURSE, 1L).tag();
+
+        cache.invalidateAll();
+
+        assertNotEquals(aggregate, cache.aggregateVersion(FeedbackCache.Scope.COURSE, 1L).tag());
+        page(1L, () -> page(10L));
+        assertEquals(2, loads.get());
+    }
+
+    private void page(Long courseId, Supplier<FeedbackPage> loader) {
+        cache.getPage(FeedbackFilter.byCourse(courseId), PROJECTION, null, 20, () -> {
+            loads.incrementAndGet();
+            return loader.get();
+        });
+    }
+
+    private static FeedbackPage page(Long... ids) {
+        LocalDateTime now = LocalDateTime.now();
+        List<FeedbackView> items = new ArrayList<>();
+        for (Long id : ids) {
+            Object[] values = new Object[FeedbackField.values().length];
+            values[FeedbackField.ID.ordinal()] = id;
+            values[FeedbackField.SUBMISSION_TIMESTAMP.ordinal()] = now;
+            items.add(new FeedbackView(PROJECTION.fields(), values));
+        }
+        return new FeedbackPage(items, null);
+    }
+
+    private static FeedbackSnapshot snapshot(Long id, Long courseId, Long trainerId) {
+        return new FeedbackSnapshot(id, null, 4, 1L, courseId, trainerId, null, null, null, false, null, null,
+                null, LocalDateTime.now(), null);
+    }
+}
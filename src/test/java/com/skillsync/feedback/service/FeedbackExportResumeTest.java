@@ -0,0 +1,161 @@
+package com.skillsync.feedback.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.model.ExportFormat;
+import com.skillsync.model.FeedbackCursor;
+import com.skillsync.model.FeedbackField;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackProjection;
+import com.skillsync.model.FeedbackView;
+import com.skillsync.model.dto.ExportJob;
+import com.skillsync.model.dto.ExportRequest;
+import com.skillsync.repository.FeedbackRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FeedbackExportResumeTest {
+
+    private static final int CHUNK_SIZE = 10;
+    private static final Comparator<FeedbackView> LISTING_ORDER = Comparator
+            .comparing(FeedbackView::getSubmissionTimestamp).thenComparing(FeedbackView::getId).reversed();
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final FeedbackRepository repository = mock(FeedbackRepository.class);
+    private final List<FeedbackView> rows = new ArrayList<>();
+    private final AtomicInteger failOnCall = new AtomicInteger(-1);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<FeedbackExportServiceImpl> services = new ArrayList<>();
+
+    @AfterEach
+    void shutDown() throws InterruptedException {
+        for (FeedbackExportServiceImpl service : services) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void aFailedJobResumesAfterItsLastChunk() throws Exception {
+        seed(25);
+        FeedbackExportServiceImpl service = service();
+        byte[] expected = exportAtOnce(service);
+
+        // The third read fails: two chunks are committed, then a partial third is left in the file
+        failOnCall.set(calls.get() + 3);
+        ExportJob job = service.start(new ExportRequest(FeedbackFilter.none(), ExportFormat.CSV, null));
+        ExportJob failed = await(service, job.jobId());
+        assertEquals(ExportJob.State.FAILED, failed.state());
+        assertEquals(2 * CHUNK_SIZE, failed.rowsWritten());
+        Files.writeString(directory.resolve(job.jobId() + ".csv"), "torn,row", StandardOpenOption.APPEND);
+
+        service.resume(job.jobId());
+        ExportJob completed = await(service, job.jobId());
+
+        assertEquals(ExportJob.State.COMPLETED, completed.state());
+        assertEquals(25, completed.rowsWritten());
+        assertEquals(1, completed.resumes());
+        assertArrayEquals(expected, Files.readAllBytes(service.getFile(job.jobId()).orElseThrow()));
+    }
+
+    @Test
+    void aJobCutOffByAShutdownIsResumableAfterARestart() throws Exception {
+        seed(25);
+        FeedbackExportServiceImpl before = service();
+        byte[] expected = exportAtOnce(before);
+
+        failOnCall.set(calls.get() + 2);
+        ExportJob job = before.start(new ExportRequest(FeedbackFilter.none(), ExportFormat.CSV, null));
+        await(before, job.jobId());
+        // As if the process had died mid-job: the checkpoint on disk still says RUNNING
+        Path checkpoint = directory.resolve(job.jobId() + ".checkpoint.json");
+        Files.writeString(checkpoint, Files.readString(checkpoint).replace("\"FAILED\"", "\"RUNNING\""));
+
+        FeedbackExportServiceImpl after = service();
+        after.run(null);
+        assertEquals(ExportJob.State.INTERRUPTED, after.getJob(job.jobId()).orElseThrow().state());
+        assertEquals(CHUNK_SIZE, after.getJob(job.jobId()).orElseThrow().rowsWritten());
+
+        after.resume(job.jobId());
+        assertEquals(ExportJob.State.COMPLETED, await(after, job.jobId()).state());
+        assertArrayEquals(expected, Files.readAllBytes(after.getFile(job.jobId()).orElseThrow()));
+    }
+
+    private FeedbackExportServiceImpl service() {
+        when(repository.findPage(any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == failOnCall.get()) {
+                throw new IllegalStateException("database went away");
+            }
+            return page(invocation.getArgument(2), invocation.getArgument(3));
+        });
+        FeedbackExportServiceImpl service = new FeedbackExportServiceImpl(repository, objectMapper,
+                directory.toString(), CHUNK_SIZE, 1, false, 72, 200);
+        services.add(service);
+        return service;
+    }
+
+    private byte[] exportAtOnce(FeedbackExportServiceImpl service) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(FeedbackFilter.none(), ExportFormat.CSV, null, out);
+        return out.toByteArray();
+    }
+
+    private static ExportJob await(FeedbackExportServiceImpl service, String jobId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            ExportJob job = service.getJob(jobId).orElseThrow();
+            if (job.state() != ExportJob.State.RUNNING) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("export " + jobId + " did not finish");
+    }
+
+    // Several rows share a timestamp, so the id half of the cursor matters
+    private void seed(int count) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (long id = 1; id <= count; id++) {
+            Object[] values = new Object[FeedbackField.values().length];
+            values[FeedbackField.ID.ordinal()] = id;
+            values[FeedbackField.SUBMISSION_TIMESTAMP.ordinal()] = base.plusMinutes(id / 3);
+            values[FeedbackField.RATING.ordinal()] = (int) (id % 5) + 1;
+            values[FeedbackField.COMMENT.ordinal()] = "comment, \"" + id + "\"";
+            rows.add(new FeedbackView(FeedbackProjection.full().fields(), values));
+        }
+        rows.sort(LISTING_ORDER);
+    }
+
+    private List<FeedbackView> page(FeedbackCursor after, int limit) {
+        return rows.stream()
+                .filter(row -> after == null || LISTING_ORDER.compare(row, view(after)) > 0)
+                .limit(limit)
+                .toList();
+    }
+
+    private static FeedbackView view(FeedbackCursor cursor) {
+        Object[] values = new Object[FeedbackField.values().length];
+        values[FeedbackField.ID.ordinal()] = cursor.id();
+        values[FeedbackField.SUBMISSION_TIMESTAMP.ordinal()] = cursor.submissionTimestamp();
+        return new FeedbackView(FeedbackProjection.full().fields(), values);
+    }
+}
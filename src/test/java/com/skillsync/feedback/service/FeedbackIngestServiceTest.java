@@ -0,0 +1,66 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.feedback.SkillsyncFeedbackApplication;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.dto.BatchIngestResult;
+import com.skillsync.repository.FeedbackRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The service behind POST /api/feedback/batch
+@SpringBootTest(classes = SkillsyncFeedbackApplication.class)
+@ActiveProfiles("test")
+class FeedbackIngestServiceTest {
+
+    @Autowired
+    private FeedbackIngestService feedbackIngestService;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Test
+    void ignoresServerManagedFieldsSentByTheClient() throws Exception {
+        long courseId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+        LocalDateTime before = LocalDateTime.now().minusMinutes(1);
+        String item = "{\"version\":7,\"submissionTimestamp\":\"2001-01-01T00:00:00\","
+                + "\"lastUpdatedTimestamp\":\"2001-01-01T00:00:00\",\"comment\":\"Backdated\",\"rating\":5,"
+                + "\"userId\":1,\"courseId\":" + courseId + "}";
+
+        assertEquals(1, ingest("[" + item + "]", false).inserted());
+        assertEquals(1, ingest(item + "\n", true).inserted());
+
+        List<Feedback> stored = feedbackRepository.findAll().stream()
+                .filter(f -> f.getCourseId() == courseId)
+                .toList();
+        assertEquals(2, stored.size());
+        for (Feedback feedback : stored) {
+            assertEquals(0L, feedback.getVersion());
+            assertTrue(feedback.getSubmissionTimestamp().isAfter(before));
+            assertTrue(feedback.getLastUpdatedTimestamp().isAfter(before));
+        }
+    }
+
+    @Test
+    void rejectsItemsThatFailTheRequestValidation() throws Exception {
+        BatchIngestResult result = ingest("[{\"comment\":\"\",\"rating\":9,\"userId\":1,\"courseId\":1}, null]", false);
+
+        assertEquals(0, result.inserted());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of("Comment cannot be blank", "Rating cannot be more than 5"), result.errors().get(0).messages());
+    }
+
+    private BatchIngestResult ingest(String body, boolean ndjson) throws Exception {
+        return feedbackIngestService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ndjson);
+    }
+}
@@ -0,0 +1,94 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.Exception.FeedbackNotFoundException;
+import com.skillsync.Exception.FeedbackVersionConflictException;
+import com.skillsync.feedback.SkillsyncFeedbackApplication;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.RatingStats;
+import com.skillsync.repository.CourseRatingAggregateRepository;
+import com.skillsync.repository.FeedbackRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(classes = SkillsyncFeedbackApplication.class)
+@ActiveProfiles("test")
+class FeedbackPatchVersionTest {
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private CourseRatingAggregateRepository aggregateRepository;
+
+    @Test
+    void aColumnPatchAppliesOnlyAtTheExpectedVersion() {
+        Feedback saved = save();
+        long version = saved.getVersion();
+
+        feedbackService.patchFeedback(saved.getId(), Map.of("status", "Reviewed"), version);
+        // A second client still holding the old version
+        assertThrows(FeedbackVersionConflictException.class,
+                () -> feedbackService.patchFeedback(saved.getId(), Map.of("status", "Closed"), version));
+
+        Feedback current = feedbackRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("Reviewed", current.getStatus());
+        assertEquals(version + 1, current.getVersion());
+    }
+
+    @Test
+    void aDerivedPatchAppliesOnlyAtTheExpectedVersion() {
+        Feedback saved = save();
+        long version = saved.getVersion();
+
+        feedbackService.patchFeedback(saved.getId(), Map.of("rating", 2), version);
+        assertThrows(FeedbackVersionConflictException.class,
+                () -> feedbackService.patchFeedback(saved.getId(), Map.of("rating", 5), version));
+
+        assertEquals(2, feedbackRepository.findById(saved.getId()).orElseThrow().getRating());
+        // The refused patch left the course counters alone too
+        RatingStats stats = aggregateRepository.findById(saved.getCourseId()).orElseThrow().getStats();
+        assertEquals(1, stats.getFeedbackCount());
+        assertEquals(2.0, stats.averageRating());
+    }
+
+    @Test
+    void withoutAVersionTheLastPatchWins() {
+        Feedback saved = save();
+        feedbackService.patchFeedback(saved.getId(), Map.of("status", "Reviewed"), null);
+        feedbackService.patchFeedback(saved.getId(), Map.of("status", "Closed", "rating", 3), null);
+
+        Feedback current = feedbackRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("Closed", current.getStatus());
+        assertEquals(3, current.getRating());
+    }
+
+    @Test
+    void aMissingRowIsNotFoundRatherThanAConflict() {
+        assertThrows(FeedbackNotFoundException.class,
+                () -> feedbackService.patchFeedback(Long.MAX_VALUE, Map.of("status", "Reviewed"), 0L));
+        assertThrows(FeedbackNotFoundException.class,
+                () -> feedbackService.patchFeedback(Long.MAX_VALUE, Map.of("rating", 4), 0L));
+    }
+
+    // A course of its own, so the aggregate only counts this row
+    private Feedback save() {
+        Feedback feedback = new Feedback();
+        feedback.setUserId(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+        feedback.setCourseId(ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE));
+        feedback.setRating(4);
+        feedback.setComment("Clear and well paced");
+        feedback.setStatus("Open");
+        return feedbackService.saveFeedback(feedback);
+    }
+}
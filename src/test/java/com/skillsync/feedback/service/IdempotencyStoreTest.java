@@ -0,0 +1,77 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.Exception.IdempotencyKeyInUseException;
+import com.skillsync.Exception.IdempotencyKeyMismatchException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(100, 60);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void aRetryReplaysTheFirstResponse() {
+        ResponseEntity<?> first = store.execute("k1", Map.of("rating", 5), this::created);
+        ResponseEntity<?> retry = store.execute("k1", Map.of("rating", 5), this::created);
+
+        assertEquals(1, runs.get());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals(first.getHeaders().getLocation(), retry.getHeaders().getLocation());
+    }
+
+    @Test
+    void aDifferentBodyUnderTheSameKeyIsRefused() {
+        store.execute("k1", Map.of("rating", 5), this::created);
+        // 422
+        assertThrows(IdempotencyKeyMismatchException.class,
+                () -> store.execute("k1", Map.of("rating", 4), this::created));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void aRetryWhileTheFirstIsRunningIsRefused() {
+        ResponseEntity<?> response = store.execute("k1", Map.of("rating", 5), () -> {
+            // 409
+            assertThrows(IdempotencyKeyInUseException.class,
+                    () -> store.execute("k1", Map.of("rating", 5), this::created));
+            return created();
+        });
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void aFailedRequestCanBeRetriedWithTheSameKey() {
+        assertThrows(IllegalStateException.class, () -> store.execute("k1", Map.of("rating", 5), () -> {
+            throw new IllegalStateException("database down");
+        }));
+        store.execute("k1", Map.of("rating", 5), this::created);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void keysAreIndependent() {
+        store.execute("k1", Map.of("rating", 5), this::created);
+        store.execute("k2", Map.of("rating", 5), this::created);
+        assertEquals(2, runs.get());
+    }
+
+    private ResponseEntity<?> created() {
+        int run = runs.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Location", "/api/feedback/" + run)
+                .body(Map.of("id", run));
+    }
+}
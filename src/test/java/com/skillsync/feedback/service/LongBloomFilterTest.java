@@ -0,0 +1,37 @@
+package com.skillsync.feedback.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongBloomFilterTest {
+
+    @Test
+    void neverMissesAnAddedKey() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        LongStream.range(0, 10_000).map(i -> i * 7919 - 5_000_000).forEach(filter::put);
+        LongStream.range(0, 10_000).map(i -> i * 7919 - 5_000_000)
+                .forEach(key -> assertTrue(filter.mightContain(key), "lost " + key));
+    }
+
+    @Test
+    void keepsCloseToTheTargetFalsePositiveRate() {
+        LongBloomFilter filter = new LongBloomFilter(100_000, 0.01);
+        LongStream.range(0, 100_000).forEach(filter::put);
+        long falsePositives = LongStream.range(1_000_000, 1_100_000).filter(filter::mightContain).count();
+        assertTrue(falsePositives < 2_000, falsePositives + " false positives in 100000");
+    }
+
+    @Test
+    void anEmptyFilterContainsNothing() {
+        LongBloomFilter filter = new LongBloomFilter(0, 0.01);
+        assertFalse(filter.mightContain(0));
+        assertFalse(filter.mightContain(Long.MIN_VALUE));
+        filter.put(Long.MIN_VALUE);
+        assertTrue(filter.mightContain(Long.MIN_VALUE));
+        assertTrue(filter.sizeInBytes() > 0);
+    }
+}
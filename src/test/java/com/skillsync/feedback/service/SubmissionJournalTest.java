@@ -0,0 +1,129 @@
+package com.skillsync.feedback.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubmissionJournalTest {
+
+    private static final long NO_COMPACTION = Long.MAX_VALUE;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysUncommittedEntriesInAppendOrder() throws Exception {
+        Path path = dir.resolve("journal.log");
+        try (SubmissionJournal journal = new SubmissionJournal(path, true, NO_COMPACTION)) {
+            journal.recover();
+            journal.append("a", "{\"n\":1}");
+            journal.append("b", "{\"n\":2}");
+            journal.append("c", "{\"n\":3}");
+            journal.commit(List.of("b"));
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(path, true, NO_COMPACTION)) {
+            assertEquals(List.of(new SubmissionJournal.Entry("a", "{\"n\":1}"),
+                    new SubmissionJournal.Entry("c", "{\"n\":3}")), journal.recover());
+        }
+    }
+
+    @Test
+    void cutsOffATornLastLine() throws Exception {
+        Path path = dir.resolve("journal.log");
+        try (SubmissionJournal journal = new SubmissionJournal(path, true, NO_COMPACTION)) {
+            journal.recover();
+            journal.append("a", "{\"n\":1}");
+        }
+        long whole = Files.size(path);
+        // A crash in the middle of the second append
+        Files.writeString(path, "A\tb\t{\"n\"", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (SubmissionJournal journal = new SubmissionJournal(path, true, NO_COMPACTION)) {
+            assertEquals(List.of(new SubmissionJournal.Entry("a", "{\"n\":1}")), journal.recover());
+            assertEquals(whole, journal.size());
+            // New entries start on a fresh line, not glued to the torn one
+            journal.append("c", "{\"n\":3}");
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(path, true, NO_COMPACTION)) {
+            assertEquals(List.of("a", "c"), journal.recover().stream().map(SubmissionJournal.Entry::trackingId).toList());
+        }
+    }
+
+    @Test
+    void truncatesOnceNothingIsOutstanding() throws Exception {
+        try (SubmissionJournal journal = new SubmissionJournal(dir.resolve("journal.log"), true, NO_COMPACTION)) {
+            journal.recover();
+            journal.append("a", "{}");
+            journal.append("b", "{}");
+            journal.commit(List.of("a", "b"));
+            assertEquals(0, journal.size());
+        }
+    }
+
+    @Test
+    void compactsToTheOutstandingEntries() throws Exception {
+        Path path = dir.resolve("journal.log");
+        try (SubmissionJournal journal = new SubmissionJournal(path, true, 1024)) {
+            journal.recover();
+            journal.append("kept", "{\"n\":0}");
+            for (int i = 1; i <= 200; i++) {
+                journal.append("t" + i, "{\"n\":" + i + "}");
+                journal.commit(List.of("t" + i));
+                assertTrue(journal.size() <= 2048, "journal grew to " + journal.size() + " bytes");
+            }
+            // Appends keep working on the swapped-in file
+            journal.append("later", "{\"n\":201}");
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(path, true, 1024)) {
+            assertEquals(List.of(new SubmissionJournal.Entry("kept", "{\"n\":0}"),
+                    new SubmissionJournal.Entry("later", "{\"n\":201}")), journal.recover());
+        }
+    }
+
+    @Test
+    void concurrentAppendsShareForces() throws Exception {
+        Path path = dir.resolve("journal.log");
+        int threads = 16;
+        int perThread = 50;
+        try (SubmissionJournal journal = new SubmissionJournal(path, true, NO_COMPACTION)) {
+            journal.recover();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(thread + "-" + i, "{}");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            assertTrue(journal.syncs() < threads * perThread,
+                    journal.syncs() + " forces for " + threads * perThread + " appends");
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(path, true, NO_COMPACTION)) {
+            assertEquals(threads * perThread, journal.recover().size());
+        }
+    }
+}
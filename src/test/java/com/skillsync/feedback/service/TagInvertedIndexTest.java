@@ -0,0 +1,76 @@
+package com.skillsync.feedback.service;
+
+import com.skillsync.model.TagMatch;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TagInvertedIndexTest {
+
+    @Test
+    void matchesAllOrAnyOfTheTags() {
+        TagInvertedIndex index = new TagInvertedIndex();
+        index.add("ui", 1);
+        index.add("ui", 2);
+        index.add("audio", 2);
+        index.add("audio", 3);
+
+        assertArrayEquals(new long[] {2}, index.match(List.of("ui", "audio"), TagMatch.ALL).toArray());
+        assertArrayEquals(new long[] {1, 2, 3}, index.match(List.of("ui", "audio"), TagMatch.ANY).toArray());
+        // An unknown tag empties an ALL match and is ignored by an ANY match
+        assertArrayEquals(new long[0], index.match(List.of("ui", "pace"), TagMatch.ALL).toArray());
+        assertArrayEquals(new long[] {1, 2}, index.match(List.of("ui", "pace"), TagMatch.ANY).toArray());
+    }
+
+    @Test
+    void resultsAreCopies() {
+        TagInvertedIndex index = new TagInvertedIndex();
+        index.add("ui", 1);
+        index.match(List.of("ui"), TagMatch.ANY).addLong(99);
+        assertArrayEquals(new long[] {1}, index.match(List.of("ui"), TagMatch.ANY).toArray());
+    }
+
+    @Test
+    void removingTheLastIdDropsTheTag() {
+        TagInvertedIndex index = new TagInvertedIndex();
+        index.add("ui", 1);
+        index.add("ui", 2);
+        index.remove("ui", 1);
+        assertEquals(Map.of("ui", 1L), index.counts());
+        index.remove("ui", 2);
+        index.remove("audio", 2);
+        assertEquals(Map.of(), index.counts());
+    }
+
+    @Test
+    void rebuildReplaysUpdatesMadeWhileLoading() {
+        TagInvertedIndex index = new TagInvertedIndex();
+        index.add("stale", 9);
+        index.rebuild(postings -> {
+            postings.computeIfAbsent("ui", t -> new Roaring64Bitmap()).addLong(1);
+            postings.computeIfAbsent("ui", t -> new Roaring64Bitmap()).addLong(2);
+            // Writes committed after the loader read their rows
+            index.add("audio", 3);
+            index.remove("ui", 2);
+        });
+        assertEquals(Map.of("ui", 1L, "audio", 1L), index.counts());
+    }
+
+    @Test
+    void aFailedRebuildKeepsTheOldPostings() {
+        TagInvertedIndex index = new TagInvertedIndex();
+        index.add("ui", 1);
+        assertThrows(IllegalStateException.class, () -> index.rebuild(postings -> {
+            postings.put("partial", new Roaring64Bitmap());
+            throw new IllegalStateException("database went away");
+        }));
+        index.add("audio", 2);
+        assertEquals(Map.of("ui", 1L, "audio", 1L), index.counts());
+    }
+}
@@ -0,0 +1,49 @@
+package com.skillsync.model;
+
+import com.skillsync.Exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedbackCursorTest {
+
+    @Test
+    void roundTrips() {
+        FeedbackCursor cursor = new FeedbackCursor(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000), 42L);
+        String token = cursor.encode();
+
+        assertEquals(cursor, FeedbackCursor.decode(token));
+        // Safe to put in a query string as is
+        assertFalse(token.contains("=") || token.contains("+") || token.contains("/"), token);
+    }
+
+    @Test
+    void roundTripsAWholeSecond() {
+        // LocalDateTime.toString() drops the seconds when they are zero
+        FeedbackCursor cursor = new FeedbackCursor(LocalDateTime.of(2024, 3, 1, 9, 30), Long.MAX_VALUE);
+        assertEquals(cursor, FeedbackCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String token = new FeedbackCursor(LocalDateTime.of(2024, 3, 1, 9, 30, 15), 42L).encode();
+
+        assertThrows(InvalidCursorException.class, () -> FeedbackCursor.decode("not a cursor!"));
+        assertThrows(InvalidCursorException.class, () -> FeedbackCursor.decode(token.substring(0, token.length() - 3)));
+        assertThrows(InvalidCursorException.class, () -> FeedbackCursor.decode("x" + token));
+        assertThrows(InvalidCursorException.class, () -> FeedbackCursor.decode(encode("2024-03-01T09:30:15")));
+        assertThrows(InvalidCursorException.class, () -> FeedbackCursor.decode(encode("2024-03-01T09:30:15|4x2")));
+        assertThrows(InvalidCursorException.class, () -> FeedbackCursor.decode(encode("yesterday|42")));
+        assertThrows(InvalidCursorException.class, () -> FeedbackCursor.decode(encode("2024-03-01T09:30:15|")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+package com.skillsync.model;
+
+import com.skillsync.Exception.InvalidPatchException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FeedbackPatchTest {
+
+    @Test
+    void changesOnlyThePresentFieldsAndNullClears() {
+        Feedback feedback = feedback();
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", "Reviewed");
+        body.put("adminNotes", null);
+
+        FeedbackPatch.of(body).applyTo(feedback);
+
+        assertEquals("Reviewed", feedback.getStatus());
+        assertNull(feedback.getAdminNotes());
+        assertEquals("Great course", feedback.getComment());
+        assertEquals(4, feedback.getRating());
+        assertEquals(3L, feedback.getCourseId());
+    }
+
+    @Test
+    void mapsFieldsToColumnsInRequestOrder() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("isAnonymous", true);
+        body.put("comment", "Better now");
+
+        FeedbackPatch patch = FeedbackPatch.of(body);
+
+        assertEquals(Map.of("is_anonymous", true, "comment_text", "Better now"), patch.columns());
+        assertEquals(Set.of("isAnonymous", "comment"), patch.fields());
+        assertFalse(patch.touchesDerivedData());
+    }
+
+    @Test
+    void ratingsCourseTrainerAndTagsNeedTheOldValues() {
+        assertTrue(FeedbackPatch.of(Map.of("rating", 5)).touchesDerivedData());
+        assertTrue(FeedbackPatch.of(Map.of("courseId", 9)).touchesDerivedData());
+        assertTrue(FeedbackPatch.of(Map.of("tags", "ui")).touchesDerivedData());
+        assertTrue(FeedbackPatch.of(Map.of("status", "Open", "wouldRecommend", false)).touchesDerivedData());
+    }
+
+    @Test
+    void convertsJsonNumbersToTheFieldType() {
+        Feedback feedback = feedback();
+        // Jackson reads small numbers as Integer, whatever the target field
+        FeedbackPatch.of(Map.of("courseId", 9, "trainerId", 12L, "rating", 2)).applyTo(feedback);
+        assertEquals(9L, feedback.getCourseId());
+        assertEquals(12L, feedback.getTrainerId());
+        assertEquals(2, feedback.getRating());
+    }
+
+    @Test
+    void rejectsInvalidPatches() {
+        Map<String, Object> nullComment = new HashMap<>();
+        nullComment.put("comment", null);
+
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of()));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(null));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of("id", 5)));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of("userId", 5)));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of("version", 2)));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(nullComment));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of("comment", "  ")));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of("comment", "x".repeat(2001))));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of("rating", 6)));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of("rating", 4.5)));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of("rating", "4")));
+        assertThrows(InvalidPatchException.class, () -> FeedbackPatch.of(Map.of("isAnonymous", "yes")));
+    }
+
+    private static Feedback feedback() {
+        Feedback feedback = new Feedback();
+        feedback.setComment("Great course");
+        feedback.setRating(4);
+        feedback.setCourseId(3L);
+        feedback.setTrainerId(7L);
+        feedback.setStatus("Open");
+        feedback.setAdminNotes("checked");
+        return feedback;
+    }
+}
@@ -0,0 +1,85 @@
+package com.skillsync.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RatingTallyTest {
+
+    @Test
+    void countsEveryDimensionOfARow() {
+        RatingTally tally = RatingTally.of(snapshot(4, 5, null, true));
+
+        assertEquals(1, tally.feedbackCount());
+        assertEquals(1, tally.get(RatingTally.RATING));
+        assertEquals(4, tally.get(RatingTally.RATING + 1));
+        assertEquals(1, tally.get(RatingTally.RATING + 1 + 4));
+        assertEquals(5, tally.get(RatingTally.CONTENT_RELEVANCE + 1));
+        assertEquals(1, tally.get(RatingTally.CONTENT_RELEVANCE + 1 + 5));
+        // A missing rating is neither counted nor summed
+        assertEquals(0, tally.get(RatingTally.TRAINER_EFFECTIVENESS));
+        assertEquals(1, tally.get(RatingTally.RECOMMEND_YES));
+        assertEquals(0, tally.get(RatingTally.RECOMMEND_NO));
+    }
+
+    @Test
+    void anUpdateDeltaMovesTheRowBetweenBuckets() {
+        FeedbackSnapshot before = snapshot(2, 3, 3, false);
+        FeedbackSnapshot after = snapshot(5, 3, null, true);
+
+        RatingTally delta = new RatingTally().subtract(before).add(after);
+
+        assertEquals(0, delta.feedbackCount());
+        assertEquals(3, delta.get(RatingTally.RATING + 1));
+        assertEquals(-1, delta.get(RatingTally.RATING + 1 + 2));
+        assertEquals(1, delta.get(RatingTally.RATING + 1 + 5));
+        // Unchanged dimension: nothing to write
+        assertEquals(0, delta.get(RatingTally.CONTENT_RELEVANCE));
+        assertEquals(0, delta.get(RatingTally.CONTENT_RELEVANCE + 1 + 3));
+        assertEquals(-1, delta.get(RatingTally.TRAINER_EFFECTIVENESS));
+        assertEquals(-3, delta.get(RatingTally.TRAINER_EFFECTIVENESS + 1));
+        assertEquals(1, delta.get(RatingTally.RECOMMEND_YES));
+        assertEquals(-1, delta.get(RatingTally.RECOMMEND_NO));
+
+        // Applying the delta to the old total gives the new total
+        assertEquals(RatingTally.of(after), RatingTally.of(before).add(delta));
+    }
+
+    @Test
+    void aDeleteUndoesTheCreate() {
+        FeedbackSnapshot row = snapshot(1, 2, 3, null);
+        assertTrue(RatingTally.of(row).subtract(row).isZero());
+        assertTrue(new RatingTally().add(RatingTally.of(row)).subtract(RatingTally.of(row)).isZero());
+    }
+
+    @Test
+    void outOfRangeRatingsCountButStayOutOfTheHistogram() {
+        RatingTally tally = RatingTally.of(snapshot(7, null, null, null));
+        assertEquals(1, tally.get(RatingTally.RATING));
+        assertEquals(7, tally.get(RatingTally.RATING + 1));
+        for (int star = 1; star <= 5; star++) {
+            assertEquals(0, tally.get(RatingTally.RATING + 1 + star));
+        }
+    }
+
+    @Test
+    void valuesAreCopiedInAndOut() {
+        long[] values = new long[RatingTally.COLUMNS.size()];
+        values[0] = 3;
+        RatingTally tally = RatingTally.ofValues(values);
+        values[0] = 99;
+        tally.values()[0] = 99;
+        assertEquals(3, tally.feedbackCount());
+        assertThrows(IllegalArgumentException.class, () -> RatingTally.ofValues(new long[2]));
+    }
+
+    private static FeedbackSnapshot snapshot(Integer rating, Integer contentRelevance, Integer trainerEffectiveness,
+                                             Boolean wouldRecommend) {
+        return new FeedbackSnapshot(1L, null, rating, 1L, 1L, 1L, contentRelevance, trainerEffectiveness,
+                wouldRecommend, false, null, null, null, LocalDateTime.now(), null);
+    }
+}
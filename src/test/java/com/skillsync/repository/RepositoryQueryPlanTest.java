@@ -0,0 +1,376 @@
+package com.skillsync.repository;
+
+import com.skillsync.feedback.SkillsyncFeedbackApplication;
+import com.skillsync.model.Feedback;
+import com.skillsync.model.FeedbackCursor;
+import com.skillsync.model.FeedbackFilter;
+import com.skillsync.model.FeedbackProjection;
+import com.skillsync.model.FeedbackRollup;
+import com.skillsync.model.FeedbackSubmission;
+import com.skillsync.model.FeedbackTag;
+import com.skillsync.model.RatingTally;
+import com.skillsync.model.RollupGranularity;
+import com.skillsync.model.RollupScope;
+import com.skillsync.model.TagMatch;
+import com.skillsync.model.TrainerCourseAggregate;
+import com.skillsync.model.dto.StatusUpdate;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Calls every query method of every repository (the methods the repository interfaces and their
+ * Custom interfaces declare, plus the primary-key lookups), against a migrated H2 in MySQL mode with
+ * some feedback in it. Each call must send SQL, no more statements than its budget (one unless listed
+ * in STATEMENT_BUDGETS, so an N+1 fails), and no statement whose EXPLAIN reads a whole table. A new
+ * repository method is covered as soon as it exists; one with a parameter type the test has no
+ * sample for fails until a sample is added below.
+ */
+@SpringBootTest(classes = {SkillsyncFeedbackApplication.class, RepositoryQueryPlanTest.Recording.class})
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    // Not probed, and why; keyed by interface and method name
+    private static final Map<String, String> EXEMPT = Map.of(
+            "CourseRatingAggregateRepositoryCustom.tallyFeedbackByCourse", "reconciliation reads every row",
+            "TrainerCourseAggregateRepositoryCustom.findAllTallies", "reconciliation reads every row",
+            "FeedbackTagRepositoryCustom.forEachTag", "index rebuild reads every row",
+            "FeedbackTagRepositoryCustom.countByTag", "counts over every row",
+            "FeedbackSubmissionRepositoryCustom.reconcile", "reconciliation reads every row",
+            "FeedbackSubmissionRepositoryCustom.forEachKey", "filter rebuild reads every row",
+            "FeedbackRepositoryCustom.findPartitionBounds", "MySQL only; sends nothing on H2",
+            "FeedbackRepositoryCustom.addPartition", "MySQL only; sends nothing on H2");
+
+    // Methods that legitimately send more than one statement per call
+    private static final Map<String, Integer> STATEMENT_BUDGETS = Map.of(
+            // feedback, then feedback_archive
+            "FeedbackRepositoryCustom.forEachSubmittedBetween", 2,
+            // copy, tag rows, rows
+            "FeedbackRepositoryCustom.moveToArchive", 3,
+            // the claims, then the next-oldest feedback of each pair takes them over
+            "FeedbackSubmissionRepositoryCustom.release", 2);
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    // Variants a method with a filter parameter is called with, one per listing the API offers
+    private static final List<Sample> FILTERS = List.of(
+            new Sample("course", () -> FeedbackFilter.byCourse(1L)),
+            new Sample("user", () -> FeedbackFilter.byUser(1L)),
+            new Sample("trainer", () -> FeedbackFilter.byTrainer(1L)),
+            new Sample("status", () -> FeedbackFilter.byStatus("New")),
+            new Sample("tag", () -> FeedbackFilter.byTag("ui")),
+            new Sample("tags, all", () -> new FeedbackFilter(null, null, null, null, List.of("ui", "audio"),
+                    TagMatch.ALL, null, null, null, null)),
+            new Sample("min rating", () -> new FeedbackFilter(null, null, null, null, null, null, 4, null, null, null)),
+            new Sample("date range", () -> FeedbackFilter.byDateRange(NOW.minusDays(7), NOW)),
+            new Sample("course, status", () -> new FeedbackFilter(1L, null, null, "New", null, null, null, null, null,
+                    null)),
+            new Sample("course, archived", () -> new FeedbackFilter(1L, null, null, null, null, null, null, null, null,
+                    true)));
+
+    private static final Map<Class<?>, List<Sample>> SAMPLES = new HashMap<>();
+
+    static {
+        sample(Long.class, 1L);
+        sample(long.class, 0L);
+        sample(Integer.class, 4);
+        sample(int.class, 50);
+        SAMPLES.put(boolean.class, List.of(new Sample("false", () -> false), new Sample("true", () -> true)));
+        sample(String.class, "New");
+        sample(FeedbackProjection.class, FeedbackProjection.list(200));
+        sample(FeedbackCursor.class, new FeedbackCursor(NOW, Long.MAX_VALUE));
+        SAMPLES.put(FeedbackFilter.class, FILTERS);
+        SAMPLES.put(Feedback.class, List.of(new Sample(null, () -> {
+            Feedback feedback = new Feedback("probe", 4, 1L, 1L);
+            feedback.setId(1L);
+            feedback.setVersion(0L);
+            return feedback;
+        })));
+        SAMPLES.put(RatingTally.class, List.of(new Sample(null, () -> {
+            long[] values = new long[RatingTally.COLUMNS.size()];
+            values[0] = 1;
+            return RatingTally.ofValues(values);
+        })));
+        sample(StatusUpdate.class, new StatusUpdate(1L, "Reviewed", 0L));
+        sample(FeedbackTag.Key.class, new FeedbackTag.Key(1L, "ui"));
+        sample(FeedbackSubmission.Key.class, new FeedbackSubmission.Key(1L, 1L));
+        sample(FeedbackSubmission.class, new FeedbackSubmission(1L, 1L, 1L));
+        sample(TrainerCourseAggregate.Key.class, new TrainerCourseAggregate.Key(1L, 1L));
+        sample(FeedbackRollup.Key.class, new FeedbackRollup.Key(RollupScope.COURSE, 1L, RollupGranularity.DAY,
+                NOW.truncatedTo(ChronoUnit.DAYS)));
+    }
+
+    private record Sample(String label, Supplier<Object> value) {
+    }
+
+    private record Probe(String name, Object repository, Method method, List<Sample> arguments) {
+    }
+
+    // Routes all connections through the recorder; registered by the test only, not picked up by scanning
+    static class Recording {
+
+        @Bean
+        static BeanPostProcessor sqlRecordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? SqlRecorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    @Autowired
+    private FeedbackTagRepository feedbackTagRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        seed();
+        return probes().stream().map(probe -> DynamicTest.dynamicTest(probe.name(), () -> check(probe)));
+    }
+
+    // Enough rows for a query that loads per row to show it
+    private void seed() {
+        List<Feedback> rows = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Feedback feedback = new Feedback("seed comment " + i, 1 + i % 5, 1L + i % 4, 1L + i % 2);
+            feedback.setTrainerId(1L + i % 3);
+            feedback.setSubmissionTimestamp(NOW.minusDays(i));
+            rows.add(feedback);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            feedbackRepository.insertAll(rows);
+            Map<Long, List<String>> tags = rows.stream()
+                    .collect(Collectors.toMap(Feedback::getId, feedback -> List.of("ui", "audio")));
+            feedbackTagRepository.insertIgnoringDuplicates(tags);
+            feedbackRepository.refreshTagsColumns(tags.keySet());
+        });
+    }
+
+    private List<Probe> probes() {
+        List<Probe> probes = new ArrayList<>();
+        for (String beanName : context.getBeanNamesForType(JpaRepository.class)) {
+            Object repository = context.getBean(beanName);
+            Class<?> type = Arrays.stream(repository.getClass().getInterfaces())
+                    .filter(candidate -> candidate.getPackage() == FeedbackRepository.class.getPackage())
+                    .findFirst()
+                    .orElseThrow();
+            for (Method method : queryMethods(type)) {
+                String key = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+                if (EXEMPT.containsKey(key)) {
+                    continue;
+                }
+                for (List<Sample> arguments : arguments(type, method)) {
+                    String labels = arguments.stream()
+                            .map(Sample::label)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.joining(", "));
+                    String name = type.getSimpleName() + "." + method.getName()
+                            + (labels.isEmpty() ? "" : "(" + labels + ")");
+                    probes.add(new Probe(name, repository, method, arguments));
+                }
+            }
+        }
+        probes.sort(Comparator.comparing(Probe::name));
+        return probes;
+    }
+
+    // Declared by the repository interface and its interfaces in the same package, plus the lookups by id.
+    // Those are left out for composite ids: Hibernate sends them as a row-value IN, which H2 (unlike
+    // MySQL) does not match to the primary key, and nothing looks those entities up by id.
+    private static List<Method> queryMethods(Class<?> repository) {
+        List<Method> methods = new ArrayList<>();
+        List<Class<?>> types = new ArrayList<>(List.of(repository));
+        Arrays.stream(repository.getInterfaces())
+                .filter(type -> type.getPackage() == repository.getPackage())
+                .forEach(types::add);
+        for (Class<?> type : types) {
+            Arrays.stream(type.getDeclaredMethods())
+                    .filter(method -> !Modifier.isStatic(method.getModifiers()) && !method.isDefault())
+                    .forEach(methods::add);
+        }
+        Class<?> id = ResolvableType.forClass(repository).as(JpaRepository.class).getGeneric(1).toClass();
+        boolean compositeId = id.getPackage() == FeedbackTag.class.getPackage();
+        for (String lookup : compositeId ? List.<String>of() : List.of("findById", "findAllById", "existsById")) {
+            Arrays.stream(repository.getMethods())
+                    .filter(method -> method.getName().equals(lookup) && !method.isBridge())
+                    .findFirst()
+                    .ifPresent(methods::add);
+        }
+        methods.sort(Comparator.comparing(Method::getName));
+        return methods;
+    }
+
+    // Every combination of the parameters' samples
+    private static List<List<Sample>> arguments(Class<?> repository, Method method) {
+        List<List<Sample>> combinations = List.of(List.of());
+        int dates = 0;
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            List<Sample> samples;
+            if (method.getParameterTypes()[i] == LocalDateTime.class) {
+                // Windows end now; a lone date is a cutoff a week back
+                LocalDateTime date = dates++ == 0 ? NOW.minusDays(7) : NOW;
+                samples = List.of(new Sample(null, () -> date));
+            } else {
+                // The lookups by id are generic in the id type; resolve it against the repository
+                samples = samples(ResolvableType.forMethodParameter(method, i, repository), method);
+            }
+            List<List<Sample>> next = new ArrayList<>();
+            for (List<Sample> combination : combinations) {
+                for (Sample sample : samples) {
+                    List<Sample> extended = new ArrayList<>(combination);
+                    extended.add(sample);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+        return combinations;
+    }
+
+    private static List<Sample> samples(ResolvableType type, Method method) {
+        Class<?> raw = type.toClass();
+        if (Iterable.class.isAssignableFrom(raw)) {
+            Sample element = samples(type.as(Iterable.class).getGeneric(0), method).get(0);
+            Supplier<Object> value = Set.class.isAssignableFrom(raw)
+                    ? () -> Set.of(element.value().get())
+                    : () -> List.of(element.value().get());
+            return List.of(new Sample(null, value));
+        }
+        if (Map.class.isAssignableFrom(raw)) {
+            ResolvableType map = type.as(Map.class);
+            if (map.getGeneric(1).toClass() == Object.class) {
+                // Column values for updateColumns
+                return List.of(new Sample(null, () -> Map.of("status", "Reviewed")));
+            }
+            Sample key = samples(map.getGeneric(0), method).get(0);
+            Sample value = samples(map.getGeneric(1), method).get(0);
+            return List.of(new Sample(null, () -> Map.of(key.value().get(), value.value().get())));
+        }
+        if (raw.isEnum()) {
+            Object first = raw.getEnumConstants()[0];
+            return List.of(new Sample(null, () -> first));
+        }
+        if (raw.isInterface() && isFunctional(raw)) {
+            // Row handlers and consumers: accept everything, do nothing
+            Object noOp = Proxy.newProxyInstance(raw.getClassLoader(), new Class<?>[] {raw},
+                    (proxy, invoked, args) -> invoked.getName().equals("toString") ? "no-op" : null);
+            return List.of(new Sample(null, () -> noOp));
+        }
+        List<Sample> samples = SAMPLES.get(raw);
+        if (samples == null) {
+            fail("No sample argument for " + type + " in " + method + "; add one to SAMPLES");
+        }
+        return samples;
+    }
+
+    private static boolean isFunctional(Class<?> type) {
+        return Arrays.stream(type.getMethods())
+                .filter(method -> Modifier.isAbstract(method.getModifiers()))
+                .count() == 1;
+    }
+
+    private static void sample(Class<?> type, Object value) {
+        SAMPLES.put(type, List.of(new Sample(null, () -> value)));
+    }
+
+    private void check(Probe probe) {
+        // Writes are rolled back, so every probe sees the seeded rows
+        List<SqlRecorder.RecordedStatement> statements = SqlRecorder.record(
+                () -> transactionTemplate.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    call(probe);
+                }));
+        String key = probe.method().getDeclaringClass().getSimpleName() + "." + probe.method().getName();
+        int budget = STATEMENT_BUDGETS.getOrDefault(key, 1);
+        List<String> violations = new ArrayList<>();
+        if (statements.isEmpty()) {
+            violations.add("no SQL was sent");
+        }
+        if (statements.size() > budget) {
+            violations.add(statements.size() + " statements, budget " + budget + ": " + statements.stream()
+                    .map(SqlRecorder.RecordedStatement::sql).toList());
+        }
+        for (SqlRecorder.RecordedStatement statement : statements) {
+            if (statement.reads()) {
+                fullScans(statement).forEach(scan -> violations.add(scan + " in " + statement.sql()));
+            }
+        }
+        assertTrue(violations.isEmpty(), () -> probe.name() + ": " + String.join("; ", violations));
+    }
+
+    private static void call(Probe probe) {
+        Object[] arguments = probe.arguments().stream().map(sample -> sample.value().get()).toArray();
+        try {
+            probe.method().invoke(probe.repository(), arguments);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(probe.name() + " failed", e.getTargetException());
+        }
+    }
+
+    private List<String> fullScans(SqlRecorder.RecordedStatement statement) {
+        List<String> scans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (int i = 0; i < statement.parameters().size(); i++) {
+                explain.setObject(i + 1, statement.parameters().get(i));
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    // H2: a single plan text; scans are annotated /* PUBLIC.TABLE.tableScan */
+                    String text = plan.getString(1);
+                    if (text.contains(".tableScan")) {
+                        scans.add("tableScan in plan " + text.replaceAll("\\s+", " "));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            scans.add("EXPLAIN failed (" + e.getMessage() + ")");
+        }
+        return scans;
+    }
+}
@@ -0,0 +1,122 @@
+package com.skillsync.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Captures the statements (with bound parameters) a piece of code sends through the wrapped DataSource,
+// whether they come from Hibernate or from JdbcTemplate. A JDBC batch counts as one statement.
+final class SqlRecorder {
+
+    record RecordedStatement(String sql, List<Object> parameters) {
+
+        // Statements whose plan can read a table: anything but a plain INSERT ... VALUES
+        boolean reads() {
+            String text = sql.stripLeading().toLowerCase();
+            return text.startsWith("select") || text.startsWith("update") || text.startsWith("delete")
+                    || (text.startsWith("insert") && text.contains(" select "));
+        }
+    }
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final ThreadLocal<List<RecordedStatement>> RECORDING = new ThreadLocal<>();
+
+    private SqlRecorder() {
+    }
+
+    static List<RecordedStatement> record(Runnable action) {
+        List<RecordedStatement> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            action.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return statements;
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return recordingConnection(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return recordingConnection(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private static void add(String sql, List<Object> parameters) {
+        List<RecordedStatement> recording = RECORDING.get();
+        if (recording != null) {
+            recording.add(new RecordedStatement(sql, parameters));
+        }
+    }
+
+    private static Connection recordingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (method.getName().equals("prepareStatement") && args != null && args[0] instanceof String sql) {
+                return recordingStatement((PreparedStatement) result, sql);
+            }
+            if (method.getName().equals("createStatement")) {
+                return plainStatement((Statement) result);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (EXECUTE_METHODS.contains(name) && (args == null || args.length == 0)) {
+                add(sql, new ArrayList<>(parameters.values()));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Statement plainStatement(Statement statement) {
+        return proxy(Statement.class, statement, (proxy, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                add(sql, List.of());
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlRecorder.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}